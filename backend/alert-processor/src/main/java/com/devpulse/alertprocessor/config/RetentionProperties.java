@@ -0,0 +1,62 @@
+package com.devpulse.alertprocessor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration holder for retention of the time-series alert collection
+ * (app.storage.mode=TIMESERIES).
+ * Values are loaded from application.yml under prefix "app.retention".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.retention")
+public class RetentionProperties {
+
+    /**
+     * Expiry of alerts whose severity has no entry in ttlBySeverity. Zero keeps them forever.
+     */
+    private Duration defaultTtl = Duration.ofDays(90);
+
+    /**
+     * Expiry of alerts per severity (INFO, WARNING, CRITICAL). Zero keeps them forever.
+     */
+    private Map<String, Duration> ttlBySeverity = new HashMap<>();
+
+    /**
+     * Bucketing granularity of the time-series collection; alerts are sparse, so minutes by default.
+     */
+    private Granularity granularity = Granularity.MINUTES;
+
+    private Downsample downsample = new Downsample();
+
+    @Data
+    public static class Downsample {
+
+        /** Roll alerts up into per-minute counts (alert_counts_1m) that outlive the raw alerts */
+        private boolean enabled = true;
+
+        /** Minutes younger than this are not rolled up yet */
+        private Duration lag = Duration.ofMinutes(2);
+
+        /** Expiry of the per-minute counts. Zero keeps them forever. */
+        private Duration ttl = Duration.ofDays(365);
+    }
+
+    /**
+     * Alert expiry for the given severity, or null when such alerts never expire.
+     */
+    public Duration ttlFor(String severity) {
+        Duration ttl = severity == null ? null : ttlBySeverity.get(severity);
+        if (ttl == null) {
+            ttl = defaultTtl;
+        }
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+}
@@ -0,0 +1,26 @@
+package com.devpulse.alertprocessor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the alert storage layout.
+ * Values are loaded from application.yml under prefix "app.storage".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    /**
+     * DOCUMENT: plain "alerts" collection (default).
+     * TIMESERIES: native time-series collection "alerts_ts" with per-severity expiry (see app.retention).
+     */
+    private Mode mode = Mode.DOCUMENT;
+
+    public enum Mode {
+        DOCUMENT,
+        TIMESERIES
+    }
+}
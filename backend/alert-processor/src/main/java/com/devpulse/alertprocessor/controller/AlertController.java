@@ -1,11 +1,10 @@
 package com.devpulse.alertprocessor.controller;
 
 import com.devpulse.alertprocessor.model.AlertDocument;
-import com.devpulse.alertprocessor.repository.AlertRepository;
+import com.devpulse.alertprocessor.store.AlertStore;
 import com.devpulse.common.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,11 +18,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AlertController {
 
-    private final AlertRepository alertRepository;
+    private final AlertStore alertStore;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<AlertDocument>>> getAllAlerts() {
-        List<AlertDocument> alerts = alertRepository.findAll(Sort.by(Sort.Direction.DESC, "timestamp"));
+        List<AlertDocument> alerts = alertStore.findAllNewestFirst();
         return ResponseEntity.ok(ApiResponse.<List<AlertDocument>>builder()
                 .success(true)
                 .message("Alerts fetched successfully")
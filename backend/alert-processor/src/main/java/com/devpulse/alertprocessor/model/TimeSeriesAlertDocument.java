@@ -0,0 +1,45 @@
+package com.devpulse.alertprocessor.model;
+
+import com.devpulse.common.enums.AlertSeverity;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Alert measurement in the native time-series collection "alerts_ts"
+ * (app.storage.mode=TIMESERIES).
+ *
+ * timestamp is the timeField and meta (service + severity) the metaField, which
+ * lets alerts expire per severity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "alerts_ts")
+public class TimeSeriesAlertDocument {
+
+    @Id
+    private String id;
+
+    private Instant timestamp;
+
+    private Meta meta;
+
+    private String message;
+    private String traceId;
+    private String ruleId;
+    private String details;
+    private Map<String, Object> context;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Meta {
+        private String serviceName;
+        private AlertSeverity severity;
+    }
+}
@@ -0,0 +1,94 @@
+package com.devpulse.alertprocessor.retention;
+
+import com.devpulse.alertprocessor.config.RetentionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Rolls time-series alerts up into per-minute counts per service and severity
+ * ("alert_counts_1m") so long-range alert trends survive alert expiry.
+ *
+ * Each run aggregates the closed minutes since the last run (at most one day at a
+ * time while catching up) and $merges them by (service, severity, minute) key, so
+ * re-running a window simply replaces its counts. The watermark is recovered from
+ * the newest stored count after a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class AlertDownsampler {
+
+    private static final Duration MAX_SPAN = Duration.ofDays(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final AlertTimeSeriesProvisioner provisioner;
+    private final RetentionProperties props;
+
+    /** Start of the first minute not rolled up yet */
+    private Instant watermark;
+
+    @Scheduled(fixedDelayString = "${app.retention.downsample.interval-ms:60000}")
+    public synchronized void downsample() {
+        if (!props.getDownsample().isEnabled()) {
+            return;
+        }
+        try {
+            provisioner.ensure();
+            Instant upTo = Instant.now().minus(props.getDownsample().getLag()).truncatedTo(ChronoUnit.MINUTES);
+            Instant from = watermark != null ? watermark : recoverWatermark(upTo);
+            if (!from.isBefore(upTo)) {
+                return;
+            }
+            Instant to = from.plus(MAX_SPAN).isBefore(upTo) ? from.plus(MAX_SPAN) : upTo;
+
+            mongoTemplate.getCollection(AlertTimeSeriesProvisioner.ALERTS).aggregate(pipeline(from, to))
+                    .allowDiskUse(true)
+                    .toCollection();
+            watermark = to;
+            log.debug("Downsampled alerts in [{}, {})", from, to);
+        } catch (Exception ex) {
+            log.warn("Failed to downsample alerts: {}", ex.getMessage());
+        }
+    }
+
+    private Instant recoverWatermark(Instant upTo) {
+        Document newest = mongoTemplate.getCollection(AlertTimeSeriesProvisioner.COUNTS).find()
+                .sort(new Document("minute", -1)).limit(1).first();
+        if (newest != null) {
+            return newest.getDate("minute").toInstant().plus(1, ChronoUnit.MINUTES);
+        }
+        Document oldest = mongoTemplate.getCollection(AlertTimeSeriesProvisioner.ALERTS).find()
+                .sort(new Document("timestamp", 1)).limit(1).first();
+        return oldest != null ? oldest.getDate("timestamp").toInstant().truncatedTo(ChronoUnit.MINUTES) : upTo;
+    }
+
+    static List<Document> pipeline(Instant from, Instant to) {
+        Document minute = new Document("$dateTrunc", new Document("date", "$timestamp").append("unit", "minute"));
+        return List.of(
+                new Document("$match", new Document("timestamp",
+                        new Document("$gte", Date.from(from)).append("$lt", Date.from(to)))),
+                new Document("$group", new Document("_id", new Document("serviceName", "$meta.serviceName")
+                        .append("severity", "$meta.severity")
+                        .append("minute", minute))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$set", new Document("serviceName", "$_id.serviceName")
+                        .append("severity", "$_id.severity")
+                        .append("minute", "$_id.minute")),
+                new Document("$merge", new Document("into", AlertTimeSeriesProvisioner.COUNTS)
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+    }
+}
@@ -0,0 +1,161 @@
+package com.devpulse.alertprocessor.retention;
+
+import com.devpulse.alertprocessor.config.RetentionProperties;
+import com.devpulse.common.enums.AlertSeverity;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the time-series alert collection and keeps its retention in line with
+ * app.retention (app.storage.mode=TIMESERIES).
+ *
+ * Same scheme as log-collector's logs: the collection expires after the longest
+ * TTL and severities that expire earlier get partial TTL indexes on meta.severity
+ * (MongoDB 6.3+).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class AlertTimeSeriesProvisioner {
+
+    public static final String ALERTS = "alerts_ts";
+    public static final String COUNTS = "alert_counts_1m";
+
+    private static final String TTL_INDEX_PREFIX = "ttl_";
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+
+    private final MongoTemplate mongoTemplate;
+    private final RetentionProperties props;
+
+    private volatile boolean provisioned;
+
+    /**
+     * Idempotent; cheap after the first successful call.
+     */
+    public void ensure() {
+        if (provisioned) {
+            return;
+        }
+        synchronized (this) {
+            if (provisioned) {
+                return;
+            }
+            Duration ceiling = longestTtl();
+            ensureCollection(ceiling);
+            ensureSeverityTtls(ceiling);
+            ensureQueryIndexes();
+            ensureCounts();
+            provisioned = true;
+        }
+    }
+
+    /**
+     * Longest alert TTL over all severities, or null when some severity is kept forever.
+     */
+    Duration longestTtl() {
+        Duration longest = Duration.ZERO;
+        for (AlertSeverity severity : AlertSeverity.values()) {
+            Duration ttl = props.ttlFor(severity.name());
+            if (ttl == null) {
+                return null;
+            }
+            if (ttl.compareTo(longest) > 0) {
+                longest = ttl;
+            }
+        }
+        Duration fallback = props.ttlFor(null);
+        if (fallback == null) {
+            return null;
+        }
+        return fallback.compareTo(longest) > 0 ? fallback : longest;
+    }
+
+    private void ensureCollection(Duration ceiling) {
+        if (!mongoTemplate.collectionExists(ALERTS)) {
+            CollectionOptions.TimeSeriesOptions options = CollectionOptions.TimeSeriesOptions.timeSeries("timestamp")
+                    .metaField("meta")
+                    .granularity(props.getGranularity());
+            if (ceiling != null) {
+                options = options.expireAfter(ceiling);
+            }
+            mongoTemplate.createCollection(ALERTS, CollectionOptions.empty().timeSeries(options));
+            log.info("Created time-series collection {} (expireAfter={})", ALERTS, ceiling);
+            return;
+        }
+        mongoTemplate.executeCommand(new Document("collMod", ALERTS)
+                .append("expireAfterSeconds", ceiling != null ? (Object) ceiling.toSeconds() : "off"));
+    }
+
+    private void ensureSeverityTtls(Duration ceiling) {
+        MongoCollection<Document> alerts = mongoTemplate.getCollection(ALERTS);
+        for (AlertSeverity severity : AlertSeverity.values()) {
+            String name = TTL_INDEX_PREFIX + severity.name();
+            Duration ttl = props.ttlFor(severity.name());
+            if (ttl == null || Objects.equals(ttl, ceiling)) {
+                // the collection-level expiry already covers this severity
+                dropIfPresent(alerts, name);
+                continue;
+            }
+            try {
+                alerts.createIndex(Indexes.ascending("timestamp"), new IndexOptions()
+                        .name(name)
+                        .expireAfter(ttl.toSeconds(), TimeUnit.SECONDS)
+                        .partialFilterExpression(new Document("meta.severity", severity.name())));
+            } catch (MongoCommandException ex) {
+                if (ex.getErrorCode() != INDEX_OPTIONS_CONFLICT) {
+                    throw ex;
+                }
+                mongoTemplate.executeCommand(new Document("collMod", ALERTS)
+                        .append("index", new Document("name", name).append("expireAfterSeconds", ttl.toSeconds())));
+            }
+        }
+    }
+
+    private void ensureQueryIndexes() {
+        MongoCollection<Document> alerts = mongoTemplate.getCollection(ALERTS);
+        alerts.createIndex(Indexes.compoundIndex(Indexes.ascending("meta.serviceName"), Indexes.descending("timestamp")));
+        alerts.createIndex(Indexes.compoundIndex(Indexes.ascending("meta.severity"), Indexes.descending("timestamp")));
+        alerts.createIndex(Indexes.descending("timestamp"));
+    }
+
+    private void ensureCounts() {
+        Duration ttl = props.getDownsample().getTtl();
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            dropIfPresent(mongoTemplate.getCollection(COUNTS), "ttl_minute");
+            return;
+        }
+        try {
+            mongoTemplate.getCollection(COUNTS).createIndex(Indexes.ascending("minute"),
+                    new IndexOptions().name("ttl_minute").expireAfter(ttl.toSeconds(), TimeUnit.SECONDS));
+        } catch (MongoCommandException ex) {
+            if (ex.getErrorCode() != INDEX_OPTIONS_CONFLICT) {
+                throw ex;
+            }
+            mongoTemplate.executeCommand(new Document("collMod", COUNTS)
+                    .append("index", new Document("name", "ttl_minute").append("expireAfterSeconds", ttl.toSeconds())));
+        }
+    }
+
+    private static void dropIfPresent(MongoCollection<Document> collection, String index) {
+        boolean present = collection.listIndexes().into(new ArrayList<>()).stream()
+                .anyMatch(i -> index.equals(i.getString("name")));
+        if (present) {
+            collection.dropIndex(index);
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.devpulse.alertprocessor.service;
 
 import com.devpulse.common.dto.AlertMessageDto;
 import com.devpulse.alertprocessor.model.AlertDocument;
-import com.devpulse.alertprocessor.repository.AlertRepository;
+import com.devpulse.alertprocessor.store.AlertStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,7 +21,7 @@ import java.util.HashMap;
 @RequiredArgsConstructor
 public class AlertService {
 
-    private final AlertRepository repository;
+    private final AlertStore alertStore;
     private final WebSocketAlertPublisher wsPublisher;
     private final EmailAlertService emailService;
 
@@ -30,7 +30,7 @@ public class AlertService {
      *
      * Responsibilities:
      *  - Normalize incoming DTO timestamp (fall back to Instant.now()).
-     *  - Convert DTO to {@link com.devpulse.alertprocessor.model.AlertDocument} and persist via {@link com.devpulse.alertprocessor.repository.AlertRepository}.
+     *  - Convert DTO to {@link com.devpulse.alertprocessor.model.AlertDocument} and persist via {@link com.devpulse.alertprocessor.store.AlertStore}.
      *  - Broadcast the saved document to WebSocket subscribers.
      *  - Trigger email notifications for non-INFO severities (best-effort; failures are logged).
      *
@@ -56,7 +56,7 @@ public class AlertService {
                 .context(dto.getContext() == null ? new HashMap<>() : dto.getContext())
                 .build();
 
-        AlertDocument saved = repository.save(doc);
+        AlertDocument saved = alertStore.save(doc);
         log.info("Saved alert {} rule={}", saved.getId(), saved.getRuleId());
 
         // broadcast (non-blocking)
@@ -0,0 +1,16 @@
+package com.devpulse.alertprocessor.store;
+
+import com.devpulse.alertprocessor.model.AlertDocument;
+
+import java.util.List;
+
+/**
+ * Alert persistence. The active implementation is selected by app.storage.mode;
+ * callers always work with {@link AlertDocument}.
+ */
+public interface AlertStore {
+
+    AlertDocument save(AlertDocument alert);
+
+    List<AlertDocument> findAllNewestFirst();
+}
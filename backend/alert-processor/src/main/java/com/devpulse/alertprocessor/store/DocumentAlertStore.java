@@ -0,0 +1,31 @@
+package com.devpulse.alertprocessor.store;
+
+import com.devpulse.alertprocessor.model.AlertDocument;
+import com.devpulse.alertprocessor.repository.AlertRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default storage: plain documents in the "alerts" collection.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "document", matchIfMissing = true)
+public class DocumentAlertStore implements AlertStore {
+
+    private final AlertRepository repository;
+
+    @Override
+    public AlertDocument save(AlertDocument alert) {
+        return repository.save(alert);
+    }
+
+    @Override
+    public List<AlertDocument> findAllNewestFirst() {
+        return repository.findAll(Sort.by(Sort.Direction.DESC, "timestamp"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.devpulse.alertprocessor.store;
+
+import com.devpulse.alertprocessor.model.AlertDocument;
+import com.devpulse.alertprocessor.model.TimeSeriesAlertDocument;
+import com.devpulse.alertprocessor.retention.AlertTimeSeriesProvisioner;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Time-series storage (app.storage.mode=TIMESERIES): alerts are measurements in
+ * "alerts_ts" and expire per severity.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class TimeSeriesAlertStore implements AlertStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final AlertTimeSeriesProvisioner provisioner;
+
+    @Override
+    public AlertDocument save(AlertDocument alert) {
+        provisioner.ensure();
+        if (alert.getId() == null) {
+            alert.setId(new ObjectId().toHexString());
+        }
+        mongoTemplate.insert(TimeSeriesAlertDocument.builder()
+                .id(alert.getId())
+                .timestamp(alert.getTimestamp())
+                .meta(new TimeSeriesAlertDocument.Meta(alert.getServiceName(), alert.getSeverity()))
+                .message(alert.getMessage())
+                .traceId(alert.getTraceId())
+                .ruleId(alert.getRuleId())
+                .details(alert.getDetails())
+                .context(alert.getContext())
+                .build());
+        return alert;
+    }
+
+    @Override
+    public List<AlertDocument> findAllNewestFirst() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "timestamp"));
+        return mongoTemplate.find(query, TimeSeriesAlertDocument.class).stream()
+                .map(TimeSeriesAlertStore::decode)
+                .toList();
+    }
+
+    private static AlertDocument decode(TimeSeriesAlertDocument t) {
+        TimeSeriesAlertDocument.Meta meta = t.getMeta();
+        return AlertDocument.builder()
+                .id(t.getId())
+                .serviceName(meta != null ? meta.getServiceName() : null)
+                .severity(meta != null ? meta.getSeverity() : null)
+                .message(t.getMessage())
+                .timestamp(t.getTimestamp())
+                .traceId(t.getTraceId())
+                .ruleId(t.getRuleId())
+                .details(t.getDetails())
+                .context(t.getContext())
+                .build();
+    }
+}
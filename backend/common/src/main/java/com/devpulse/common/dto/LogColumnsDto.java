@@ -0,0 +1,46 @@
+package com.devpulse.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of logs in columnar form (?format=columnar on the log list endpoints): one array
+ * per field instead of one object per log. Row i is made of element i of every column.
+ *
+ * Low-cardinality fields (serviceName, level, sourceType) hold indexes into the
+ * per-response dictionaries (-1 for null); timestamps are epoch millis. Only the paging
+ * fields of the source (Page or keyset slice) are set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LogColumnsDto {
+    private int rows;
+
+    // Column names in response order
+    private List<String> fields;
+
+    // Values of the dictionary-encoded columns, by column name
+    private Map<String, List<String>> dictionaries;
+
+    // Column arrays, by column name
+    private Map<String, Object> columns;
+
+    // Page: exact total, zero-based page number and page size
+    private Long totalElements;
+    private Integer page;
+    private Integer size;
+
+    // Keyset slice (see LogSliceDto)
+    private String nextCursor;
+    private Boolean hasNext;
+    private Long approximateTotal;
+
+    // Which storage answered (see LogSliceDto)
+    private String tier;
+}
@@ -0,0 +1,41 @@
+package com.devpulse.common.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Log counts over a time range in fixed-width buckets, one series per group
+ * (service and/or level, or a single series when not grouped).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogHistogramDto {
+
+    // Bucket width: 1m, 1h or 1d
+    private String interval;
+
+    // Start of the first bucket (aligned down from the requested "from") and end of the range
+    private Instant from;
+    private Instant to;
+
+    private List<Series> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Series {
+        // Null when the histogram is not grouped by that field
+        private String serviceName;
+        private String level;
+
+        private long total;
+
+        // counts[i] is the number of logs in [from + i * interval, from + (i + 1) * interval)
+        private long[] counts;
+    }
+}
@@ -3,6 +3,7 @@ package com.devpulse.common.dto;
 import com.devpulse.common.enums.LogLevel;
 import lombok.*;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -18,4 +19,14 @@ public class LogResponseDto {
     private Instant timestamp;
     private Map<String, Object> metadata;
     private String sourceType;
+
+    // Collapsed repeats: one row may stand for `count` identical logs
+    private long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+    private List<String> sampleTraceIds;
+
+    // Template mining: message = template with params substituted into its wildcards
+    private String templateId;
+    private List<String> templateParams;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.devpulse.common.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Full-text search result: matching logs newest first, and where they came from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogSearchDto {
+    private List<LogResponseDto> content;
+
+    // Logs from this instant on were answered by the in-memory index (null: index not used)
+    private Instant indexedFrom;
+
+    // How older logs were searched: "text-index", "scan" or null when the index sufficed
+    private String fallback;
+
+    // The fallback scan stopped at its limit; older matches may exist
+    private boolean truncated;
+}
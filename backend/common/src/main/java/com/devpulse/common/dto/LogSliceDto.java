@@ -0,0 +1,27 @@
+package com.devpulse.common.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One keyset (cursor) page of logs. Unlike a Page it carries no exact total, so
+ * fetching it never needs a count query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogSliceDto {
+    private List<LogResponseDto> content;
+
+    // Opaque cursor of the following slice; null when this slice is the last one
+    private String nextCursor;
+    private boolean hasNext;
+
+    // Only when requested: estimated number of matching logs (filtered estimates are capped)
+    private Long approximateTotal;
+
+    // Which storage answered: "memory", "database" or "memory+database"
+    private String tier;
+}
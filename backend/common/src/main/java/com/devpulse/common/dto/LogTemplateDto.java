@@ -0,0 +1,17 @@
+package com.devpulse.common.dto;
+
+import lombok.*;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogTemplateDto {
+    private String templateId;
+    private String serviceName;
+    private String template;
+    private long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+}
@@ -0,0 +1,37 @@
+package com.devpulse.common.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Live health of one service, derived from the logs the dashboard has received.
+ * Rates are exponentially decaying averages over 1, 5 and 15 minutes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceHealthDto {
+    private String serviceName;
+
+    // When the dashboard last received a log of this service
+    private Instant lastSeen;
+
+    // Logs per second
+    private double rate1m;
+    private double rate5m;
+    private double rate15m;
+
+    // Share of logs at ERROR level, 0..1
+    private double errorRate1m;
+    private double errorRate5m;
+    private double errorRate15m;
+
+    private Instant lastErrorAt;
+    private String lastErrorMessage;
+
+    // Logs received since this dashboard instance started
+    private long total;
+    private long errors;
+}
@@ -0,0 +1,9 @@
+package com.devpulse.common.store;
+
+import java.util.List;
+
+/**
+ * One page of a {@link LogStore} lookup plus the total number of matching logs.
+ */
+public record LogPage(List<LogRecord> content, long total) {
+}
@@ -0,0 +1,59 @@
+package com.devpulse.common.store;
+
+import lombok.Builder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Filter of a {@link LogStore} lookup. Null fields do not filter; from/to are inclusive.
+ */
+@Builder(toBuilder = true)
+public record LogQuery(String serviceName, String level, String templateId, Instant from, Instant to) {
+
+    public static LogQuery all() {
+        return LogQuery.builder().build();
+    }
+
+    /**
+     * Logs strictly after from and strictly before to, the bounds of the /range endpoints,
+     * as inclusive bounds: stored timestamps have millisecond precision, so these are the
+     * first and last millisecond inside the range.
+     */
+    public static LogQuery between(Instant from, Instant to) {
+        Instant lastInside = to.truncatedTo(ChronoUnit.MILLIS);
+        return LogQuery.builder()
+                .from(from.truncatedTo(ChronoUnit.MILLIS).plusMillis(1))
+                .to(lastInside.equals(to) ? lastInside.minusMillis(1) : lastInside)
+                .build();
+    }
+
+    /**
+     * Whether the query filters on anything besides time.
+     */
+    public boolean hasFieldFilter() {
+        return serviceName != null || level != null || templateId != null;
+    }
+
+    /**
+     * Whether logs with timestamps within [minMillis, maxMillis] may match.
+     */
+    public boolean overlaps(long minMillis, long maxMillis) {
+        return (from == null || maxMillis >= from.toEpochMilli()) && (to == null || minMillis <= to.toEpochMilli());
+    }
+
+    /**
+     * Whether every log with a timestamp within [minMillis, maxMillis] is inside the time bounds.
+     */
+    public boolean covers(long minMillis, long maxMillis) {
+        return (from == null || minMillis >= from.toEpochMilli()) && (to == null || maxMillis <= to.toEpochMilli());
+    }
+
+    public boolean matches(LogRecord r) {
+        if (serviceName != null && !serviceName.equals(r.getServiceName())) return false;
+        if (level != null && !level.equals(r.getLevel())) return false;
+        if (templateId != null && !templateId.equals(r.getTemplateId())) return false;
+        long ts = r.getTimestamp() != null ? r.getTimestamp().toEpochMilli() : Long.MIN_VALUE;
+        return overlaps(ts, ts);
+    }
+}
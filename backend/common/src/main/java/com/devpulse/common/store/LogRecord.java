@@ -0,0 +1,34 @@
+package com.devpulse.common.store;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Storage-neutral log entry exchanged through {@link LogStore}; same fields as the
+ * services' LogDocument models.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogRecord {
+    private String id;
+    private String serviceName;
+    private String level;
+    private String message;
+    private Instant timestamp;
+    private String traceId;
+
+    // Collapsed repeats
+    private Long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+    private List<String> sampleTraceIds;
+
+    // Template mining
+    private String templateId;
+    private Integer templateVersion;
+    private List<String> templateParams;
+}
@@ -0,0 +1,16 @@
+package com.devpulse.common.store;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repeats of an already stored log, to be added to its collapse counters.
+ *
+ * @param id        id of the stored log
+ * @param timestamp timestamp of the stored log
+ * @param count     number of additional occurrences
+ * @param lastSeen  latest occurrence timestamp
+ * @param traceIds  traceIds to append to the sample
+ */
+public record LogRepeat(String id, Instant timestamp, long count, Instant lastSeen, List<String> traceIds) {
+}
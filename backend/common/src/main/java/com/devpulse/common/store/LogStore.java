@@ -0,0 +1,43 @@
+package com.devpulse.common.store;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine SPI shared by the writing (log-collector) and reading (log-dashboard)
+ * services, so both sides of an engine use one implementation and file format.
+ *
+ * MongoDB stays the default: the services' LogWriter/LogReader implementations for
+ * the Mongo layouts are used unless app.storage.mode selects an engine built on this
+ * interface (e.g. SEGMENT, {@link com.devpulse.common.store.segment.SegmentLogStore}).
+ *
+ * Lookups return logs newest first with collapsed repeats already folded in.
+ */
+public interface LogStore extends AutoCloseable {
+
+    void append(LogRecord record);
+
+    /**
+     * Adds repeats to already appended logs (see the log-collector dedup stage).
+     */
+    void appendRepeats(List<LogRepeat> repeats);
+
+    LogPage find(LogQuery query, long offset, int limit);
+
+    /**
+     * Visits every matching log, newest first; meant for aggregations.
+     */
+    void scan(LogQuery query, Consumer<LogRecord> consumer);
+
+    default List<LogRecord> recent(int limit) {
+        return find(LogQuery.all(), 0, limit).content();
+    }
+
+    /**
+     * Makes appended data visible to readers in other processes.
+     */
+    void flush();
+
+    @Override
+    void close();
+}
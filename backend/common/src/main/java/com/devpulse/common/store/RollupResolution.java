@@ -0,0 +1,59 @@
+package com.devpulse.common.store;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Granularities of the per-service/level log counts maintained by log-collector at
+ * ingest time, one collection each ({_id, serviceName, level, bucket, count}).
+ */
+public enum RollupResolution {
+
+    MINUTE("1m", Duration.ofMinutes(1), "log_rollups_1m"),
+    HOUR("1h", Duration.ofHours(1), "log_rollups_1h"),
+    DAY("1d", Duration.ofDays(1), "log_rollups_1d");
+
+    private final String label;
+    private final Duration step;
+    private final String collection;
+
+    RollupResolution(String label, Duration step, String collection) {
+        this.label = label;
+        this.step = step;
+        this.collection = collection;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Duration step() {
+        return step;
+    }
+
+    public String collection() {
+        return collection;
+    }
+
+    /**
+     * Start of the bucket containing the instant (UTC-aligned).
+     */
+    public Instant bucketStart(Instant instant) {
+        long stepMillis = step.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), stepMillis) * stepMillis);
+    }
+
+    /**
+     * The resolution with the given label ("1m", "1h", "1d").
+     *
+     * @throws IllegalArgumentException for an unknown label
+     */
+    public static RollupResolution ofLabel(String label) {
+        for (RollupResolution r : values()) {
+            if (r.label.equalsIgnoreCase(label)) {
+                return r;
+            }
+        }
+        throw new IllegalArgumentException("Unknown interval: " + label);
+    }
+}
@@ -0,0 +1,257 @@
+package com.devpulse.common.store.archive;
+
+import com.devpulse.common.store.LogPage;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.store.LogRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier: a directory of {@link ColumnarSegment} files, one per archived time chunk.
+ *
+ * Files are named after their chunk, {@code <startMillis>-<endMillis>.col}, so a time
+ * range is pruned from the listing alone. Writing a chunk again merges it with the
+ * existing file (deduplicated by log id) and replaces it atomically, which makes
+ * archiving idempotent and lets readers in other processes see either the old or the
+ * new file, never a partial one.
+ */
+public final class ColumnarArchive {
+
+    private static final String SUFFIX = ".col";
+    private static final Pattern NAME = Pattern.compile("(\\d{20})-(\\d{20})\\.col");
+    private static final int CACHED_SEGMENTS = 16;
+
+    private final Path directory;
+
+    /** Recently read segments keyed by path, invalidated by size and modification time */
+    private final Map<Path, Cached> cache = new LinkedHashMap<>(CACHED_SEGMENTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Cached> eldest) {
+            return size() > CACHED_SEGMENTS;
+        }
+    };
+
+    private record Chunk(Path path, long start, long end) {
+    }
+
+    private record Cached(long size, FileTime modified, ColumnarSegment segment) {
+    }
+
+    public ColumnarArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Archives the logs of the chunk [start, end), merging with what the chunk already holds.
+     */
+    public void write(Instant start, Instant end, List<LogRecord> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(String.format("%020d-%020d%s", start.toEpochMilli(), end.toEpochMilli(), SUFFIX));
+
+            Map<String, LogRecord> merged = new LinkedHashMap<>();
+            if (Files.exists(target)) {
+                for (LogRecord r : ColumnarSegment.read(target).decodeAll()) {
+                    merged.put(r.getId(), r);
+                }
+            }
+            for (LogRecord r : logs) {
+                merged.put(r.getId(), r);
+            }
+
+            Path tmp = directory.resolve(target.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                ColumnarSegment.write(new ArrayList<>(merged.values()), out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Whether any archived chunk overlaps [from, to] (either bound may be null).
+     */
+    public boolean overlaps(Instant from, Instant to) {
+        LogQuery range = LogQuery.builder().from(from).to(to).build();
+        return chunks().stream().anyMatch(c -> range.overlaps(c.start(), c.end() - 1));
+    }
+
+    /**
+     * Newest-first page of archived logs matching the query, plus the number of matches.
+     * Only the timestamp column (and service/level/template columns when filtered on) is
+     * decoded for counting; whole rows are decoded only for chunks contributing to the page.
+     */
+    public LogPage find(LogQuery query, long offset, int limit) {
+        List<LogRecord> content = new ArrayList<>();
+        long total = 0;
+        try {
+            for (Chunk chunk : chunks()) {
+                if (!query.overlaps(chunk.start(), chunk.end() - 1)) {
+                    continue;
+                }
+                ColumnarSegment segment = load(chunk.path());
+                if (segment == null || segment.rows() == 0
+                        || !query.overlaps(segment.minTimestamp(), segment.maxTimestamp())) {
+                    continue;
+                }
+                int[] matches = matches(segment, query);
+                if (content.size() < limit && offset < total + matches.length) {
+                    List<LogRecord> rows = segment.decodeAll();
+                    for (int i = matches.length - 1; i >= 0 && content.size() < limit; i--) {
+                        long position = total + (matches.length - 1 - i);
+                        if (position >= offset) {
+                            content.add(rows.get(matches[i]));
+                        }
+                    }
+                }
+                total += matches.length;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new LogPage(content, total);
+    }
+
+    /**
+     * Visits archived logs matching the query newest first, decoding one chunk at a time,
+     * so memory stays bounded by the largest chunk however many logs match.
+     */
+    public void forEach(LogQuery query, Consumer<LogRecord> action) {
+        stream(query).forEach(action);
+    }
+
+    /**
+     * Archived logs matching the query newest first, as a lazy stream: a chunk is only
+     * read and decoded once the consumer pulls past the previous one.
+     */
+    public Stream<LogRecord> stream(LogQuery query) {
+        return chunks().stream()
+                .filter(chunk -> query.overlaps(chunk.start(), chunk.end() - 1))
+                .flatMap(chunk -> matching(chunk, query).stream());
+    }
+
+    private List<LogRecord> matching(Chunk chunk, LogQuery query) {
+        try {
+            ColumnarSegment segment = load(chunk.path());
+            if (segment == null || segment.rows() == 0
+                    || !query.overlaps(segment.minTimestamp(), segment.maxTimestamp())) {
+                return List.of();
+            }
+            int[] matches = matches(segment, query);
+            if (matches.length == 0) {
+                return List.of();
+            }
+            List<LogRecord> rows = segment.decodeAll();
+            List<LogRecord> out = new ArrayList<>(matches.length);
+            for (int i = matches.length - 1; i >= 0; i--) {
+                out.add(rows.get(matches[i]));
+            }
+            return out;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Deletes chunks that end at or before the cutoff. Returns the number of deleted files.
+     */
+    public int deleteBefore(Instant cutoff) {
+        int deleted = 0;
+        for (Chunk chunk : chunks()) {
+            if (chunk.end() <= cutoff.toEpochMilli()) {
+                try {
+                    Files.deleteIfExists(chunk.path());
+                    deleted++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static int[] matches(ColumnarSegment segment, LogQuery query) throws IOException {
+        long[] ts = segment.timestamps();
+        String[] services = query.serviceName() != null ? segment.services() : null;
+        String[] levels = query.level() != null ? segment.levels() : null;
+        String[] templates = query.templateId() != null ? segment.templateIds() : null;
+
+        int[] out = new int[ts.length];
+        int n = 0;
+        for (int i = 0; i < ts.length; i++) {
+            if (!query.overlaps(ts[i], ts[i])) continue;
+            if (services != null && !query.serviceName().equals(services[i])) continue;
+            if (levels != null && !query.level().equals(levels[i])) continue;
+            if (templates != null && !query.templateId().equals(templates[i])) continue;
+            out[n++] = i;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Archived chunks, newest first.
+     */
+    private List<Chunk> chunks() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> {
+                        Matcher m = NAME.matcher(path.getFileName().toString());
+                        return m.matches() ? new Chunk(path, Long.parseLong(m.group(1)), Long.parseLong(m.group(2))) : null;
+                    })
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingLong(Chunk::start).reversed())
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private ColumnarSegment load(Path path) throws IOException {
+        try {
+            long size = Files.size(path);
+            FileTime modified = Files.getLastModifiedTime(path);
+            synchronized (cache) {
+                Cached cached = cache.get(path);
+                if (cached != null && cached.size() == size && cached.modified().equals(modified)) {
+                    return cached.segment();
+                }
+            }
+            ColumnarSegment segment = ColumnarSegment.read(path);
+            synchronized (cache) {
+                cache.put(path, new Cached(size, modified, segment));
+            }
+            return segment;
+        } catch (NoSuchFileException ex) {
+            return null; // deleted by retention between listing and reading
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.devpulse.common.store.archive;
+
+import com.devpulse.common.store.LogRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One immutable, column-oriented archive file of logs sorted by timestamp.
+ *
+ * Layout: magic, version, row count, min/max timestamp, service and level
+ * dictionaries, then one deflate-compressed block per column:
+ * - timestamps: first value, then varint deltas
+ * - service / level: varint dictionary codes
+ * - firstSeen / lastSeen: zigzag varint offsets from the row timestamp
+ * - strings (ids, messages, traceIds, templates): varint length + UTF-8
+ *
+ * Columns are decompressed independently, so time and service/level filters are
+ * evaluated on small columns and the large ones (messages, params) are only
+ * inflated when rows of the file are actually returned.
+ */
+public final class ColumnarSegment {
+
+    private static final int MAGIC = 0x44504C43; // "DPLC"
+    private static final byte VERSION = 1;
+
+    private static final int COL_TIMESTAMP = 0;
+    private static final int COL_SERVICE = 1;
+    private static final int COL_LEVEL = 2;
+    private static final int COL_ID = 3;
+    private static final int COL_MESSAGE = 4;
+    private static final int COL_TRACE_ID = 5;
+    private static final int COL_COUNT = 6;
+    private static final int COL_FIRST_SEEN = 7;
+    private static final int COL_LAST_SEEN = 8;
+    private static final int COL_SAMPLE_TRACE_IDS = 9;
+    private static final int COL_TEMPLATE_ID = 10;
+    private static final int COL_TEMPLATE_VERSION = 11;
+    private static final int COL_TEMPLATE_PARAMS = 12;
+    private static final int COLUMNS = 13;
+
+    private final int rows;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final List<String> services;
+    private final List<String> levels;
+    private final byte[] file;
+    private final int[] columnOffsets;
+    private final int[] columnLengths;
+
+    private ColumnarSegment(int rows, long minTimestamp, long maxTimestamp, List<String> services,
+                            List<String> levels, byte[] file, int[] columnOffsets, int[] columnLengths) {
+        this.rows = rows;
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.services = services;
+        this.levels = levels;
+        this.file = file;
+        this.columnOffsets = columnOffsets;
+        this.columnLengths = columnLengths;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public long minTimestamp() {
+        return minTimestamp;
+    }
+
+    public long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    // ---------------------------------------------------------------- write
+
+    /**
+     * Encodes the logs (any order; they are sorted by timestamp) into the given stream.
+     */
+    public static void write(List<LogRecord> logs, OutputStream target) throws IOException {
+        List<LogRecord> sorted = new ArrayList<>(logs);
+        sorted.sort(Comparator.comparing(LogRecord::getTimestamp));
+
+        Map<String, Integer> serviceCodes = new HashMap<>();
+        Map<String, Integer> levelCodes = new HashMap<>();
+        List<String> services = new ArrayList<>();
+        List<String> levels = new ArrayList<>();
+        for (LogRecord r : sorted) {
+            code(r.getServiceName(), serviceCodes, services);
+            code(r.getLevel(), levelCodes, levels);
+        }
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(sorted.size());
+        out.writeLong(sorted.isEmpty() ? 0 : sorted.get(0).getTimestamp().toEpochMilli());
+        out.writeLong(sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1).getTimestamp().toEpochMilli());
+        writeDictionary(out, services);
+        writeDictionary(out, levels);
+
+        for (int column = 0; column < COLUMNS; column++) {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            DataOutputStream col = new DataOutputStream(raw);
+            long previous = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                LogRecord r = sorted.get(i);
+                long ts = r.getTimestamp().toEpochMilli();
+                switch (column) {
+                    case COL_TIMESTAMP -> {
+                        if (i == 0) col.writeLong(ts);
+                        else writeVarLong(col, ts - previous);
+                        previous = ts;
+                    }
+                    case COL_SERVICE -> writeVarLong(col, codeOf(r.getServiceName(), serviceCodes));
+                    case COL_LEVEL -> writeVarLong(col, codeOf(r.getLevel(), levelCodes));
+                    case COL_ID -> writeString(col, r.getId());
+                    case COL_MESSAGE -> writeString(col, r.getMessage());
+                    case COL_TRACE_ID -> writeString(col, r.getTraceId());
+                    case COL_COUNT -> writeVarLong(col, r.getCount() == null ? 0 : r.getCount() + 1);
+                    case COL_FIRST_SEEN -> writeOffset(col, r.getFirstSeen(), ts);
+                    case COL_LAST_SEEN -> writeOffset(col, r.getLastSeen(), ts);
+                    case COL_SAMPLE_TRACE_IDS -> writeStrings(col, r.getSampleTraceIds());
+                    case COL_TEMPLATE_ID -> writeString(col, r.getTemplateId());
+                    case COL_TEMPLATE_VERSION -> writeVarLong(col, r.getTemplateVersion() == null ? 0 : r.getTemplateVersion() + 1);
+                    case COL_TEMPLATE_PARAMS -> writeStrings(col, r.getTemplateParams());
+                    default -> throw new IllegalStateException("Unknown column " + column);
+                }
+            }
+            col.flush();
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (DeflaterOutputStream z = new DeflaterOutputStream(compressed, deflater)) {
+                raw.writeTo(z);
+            } finally {
+                deflater.end();
+            }
+            out.writeInt(compressed.size());
+            compressed.writeTo(out);
+        }
+        out.flush();
+    }
+
+    // ---------------------------------------------------------------- read
+
+    public static ColumnarSegment read(Path path) throws IOException {
+        return parse(Files.readAllBytes(path));
+    }
+
+    static ColumnarSegment parse(byte[] file) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a columnar log segment");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported columnar segment version " + version);
+        }
+        int rows = in.readInt();
+        long min = in.readLong();
+        long max = in.readLong();
+        List<String> services = readDictionary(in);
+        List<String> levels = readDictionary(in);
+
+        int position = file.length - in.available();
+        int[] offsets = new int[COLUMNS];
+        int[] lengths = new int[COLUMNS];
+        for (int column = 0; column < COLUMNS; column++) {
+            int length = in.readInt();
+            offsets[column] = position + 4;
+            lengths[column] = length;
+            in.skipNBytes(length);
+            position += 4 + length;
+        }
+        return new ColumnarSegment(rows, min, max, services, levels, file, offsets, lengths);
+    }
+
+    public long[] timestamps() throws IOException {
+        long[] ts = new long[rows];
+        DataInputStream in = column(COL_TIMESTAMP);
+        for (int i = 0; i < rows; i++) {
+            ts[i] = i == 0 ? in.readLong() : ts[i - 1] + readVarLong(in);
+        }
+        return ts;
+    }
+
+    /**
+     * Service name per row.
+     */
+    public String[] services() throws IOException {
+        return dictionaryColumn(COL_SERVICE, services);
+    }
+
+    /**
+     * Level per row.
+     */
+    public String[] levels() throws IOException {
+        return dictionaryColumn(COL_LEVEL, levels);
+    }
+
+    public String[] templateIds() throws IOException {
+        String[] values = new String[rows];
+        DataInputStream in = column(COL_TEMPLATE_ID);
+        for (int i = 0; i < rows; i++) {
+            values[i] = readString(in);
+        }
+        return values;
+    }
+
+    /**
+     * Materializes all rows; callers pick what they need (columns are not randomly accessible).
+     */
+    public List<LogRecord> decodeAll() throws IOException {
+        long[] ts = timestamps();
+        String[] svc = services();
+        String[] lvl = levels();
+        DataInputStream ids = column(COL_ID);
+        DataInputStream messages = column(COL_MESSAGE);
+        DataInputStream traceIds = column(COL_TRACE_ID);
+        DataInputStream counts = column(COL_COUNT);
+        DataInputStream firstSeen = column(COL_FIRST_SEEN);
+        DataInputStream lastSeen = column(COL_LAST_SEEN);
+        DataInputStream samples = column(COL_SAMPLE_TRACE_IDS);
+        DataInputStream templateIds = column(COL_TEMPLATE_ID);
+        DataInputStream templateVersions = column(COL_TEMPLATE_VERSION);
+        DataInputStream templateParams = column(COL_TEMPLATE_PARAMS);
+
+        List<LogRecord> out = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long count = readVarLong(counts);
+            long version = readVarLong(templateVersions);
+            out.add(LogRecord.builder()
+                    .timestamp(Instant.ofEpochMilli(ts[i]))
+                    .serviceName(svc[i])
+                    .level(lvl[i])
+                    .id(readString(ids))
+                    .message(readString(messages))
+                    .traceId(readString(traceIds))
+                    .count(count == 0 ? null : count - 1)
+                    .firstSeen(readOffset(firstSeen, ts[i]))
+                    .lastSeen(readOffset(lastSeen, ts[i]))
+                    .sampleTraceIds(readStrings(samples))
+                    .templateId(readString(templateIds))
+                    .templateVersion(version == 0 ? null : (int) (version - 1))
+                    .templateParams(readStrings(templateParams))
+                    .build());
+        }
+        return out;
+    }
+
+    private String[] dictionaryColumn(int column, List<String> dictionary) throws IOException {
+        String[] values = new String[rows];
+        DataInputStream in = column(column);
+        for (int i = 0; i < rows; i++) {
+            int code = (int) readVarLong(in);
+            values[i] = code == 0 ? null : dictionary.get(code - 1);
+        }
+        return values;
+    }
+
+    private DataInputStream column(int column) {
+        InputStream raw = new ByteArrayInputStream(file, columnOffsets[column], columnLengths[column]);
+        return new DataInputStream(new InflaterInputStream(raw));
+    }
+
+    // ---------------------------------------------------------------- encoding helpers
+
+    private static void code(String value, Map<String, Integer> codes, List<String> dictionary) {
+        if (value != null && !codes.containsKey(value)) {
+            dictionary.add(value);
+            codes.put(value, dictionary.size()); // 0 is reserved for null
+        }
+    }
+
+    private static int codeOf(String value, Map<String, Integer> codes) {
+        return value == null ? 0 : codes.get(value);
+    }
+
+    private static void writeDictionary(DataOutputStream out, List<String> dictionary) throws IOException {
+        out.writeInt(dictionary.size());
+        for (String value : dictionary) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readDictionary(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> dictionary = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dictionary.add(in.readUTF());
+        }
+        return dictionary;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Null-aware zigzag offset from the row timestamp: 0 = null, n + 1 = zigzag(offset).
+     */
+    private static void writeOffset(DataOutputStream out, Instant value, long base) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        long delta = value.toEpochMilli() - base;
+        writeVarLong(out, ((delta << 1) ^ (delta >> 63)) + 1);
+    }
+
+    private static Instant readOffset(DataInputStream in, long base) throws IOException {
+        long encoded = readVarLong(in);
+        if (encoded == 0) {
+            return null;
+        }
+        long zigzag = encoded - 1;
+        long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+        return Instant.ofEpochMilli(base + delta);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) (length - 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> list) throws IOException {
+        if (list == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        writeVarLong(out, list.size() + 1L);
+        for (String s : list) {
+            writeString(out, s);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        long size = readVarLong(in);
+        if (size == 0) {
+            return null;
+        }
+        List<String> list = new ArrayList<>((int) (size - 1));
+        for (int i = 0; i < size - 1; i++) {
+            list.add(readString(in));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,203 @@
+package com.devpulse.common.store.segment;
+
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.LogRepeat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary framing of segment entries.
+ *
+ * Frame: int payload length, int CRC32 of the payload, payload. A payload starts
+ * with the entry type and its timestamp (epoch millis), so block statistics can be
+ * taken without decoding the rest. Strings are int length + UTF-8 (-1 = null).
+ */
+final class RecordCodec {
+
+    static final int HEADER_BYTES = 8;
+
+    static final byte TYPE_LOG = 0;
+    static final byte TYPE_REPEAT = 1;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private RecordCodec() {
+    }
+
+    static byte[] encode(LogRecord r) {
+        return frame(out -> {
+            out.writeByte(TYPE_LOG);
+            out.writeLong(r.getTimestamp().toEpochMilli());
+            writeString(out, r.getId());
+            writeString(out, r.getServiceName());
+            writeString(out, r.getLevel());
+            writeString(out, r.getMessage());
+            writeString(out, r.getTraceId());
+            out.writeLong(r.getCount() != null ? r.getCount() : -1);
+            writeTime(out, r.getFirstSeen());
+            writeTime(out, r.getLastSeen());
+            writeStrings(out, r.getSampleTraceIds());
+            writeString(out, r.getTemplateId());
+            out.writeInt(r.getTemplateVersion() != null ? r.getTemplateVersion() : -1);
+            writeStrings(out, r.getTemplateParams());
+        });
+    }
+
+    static byte[] encode(LogRepeat r) {
+        return frame(out -> {
+            out.writeByte(TYPE_REPEAT);
+            out.writeLong(r.timestamp().toEpochMilli());
+            writeString(out, r.id());
+            out.writeLong(r.count());
+            writeTime(out, r.lastSeen());
+            writeStrings(out, r.traceIds());
+        });
+    }
+
+    /**
+     * Returns the payload of the frame at the buffer's position and advances past it,
+     * or null (position unchanged) when the frame is incomplete or corrupt.
+     */
+    static ByteBuffer nextPayload(ByteBuffer buf) {
+        if (buf.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = buf.position();
+        int length = buf.getInt(start);
+        int crc = buf.getInt(start + 4);
+        if (length < 9 || length > buf.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer payload = buf.slice(start + HEADER_BYTES, length);
+        CRC32 check = new CRC32();
+        check.update(payload.duplicate());
+        if ((int) check.getValue() != crc) {
+            return null;
+        }
+        buf.position(start + HEADER_BYTES + length);
+        return payload;
+    }
+
+    static byte type(ByteBuffer payload) {
+        return payload.get(0);
+    }
+
+    static long timestamp(ByteBuffer payload) {
+        return payload.getLong(1);
+    }
+
+    static LogRecord decodeLog(ByteBuffer payload) {
+        ByteBuffer in = payload.duplicate().position(1);
+        Instant ts = Instant.ofEpochMilli(in.getLong());
+        LogRecord r = new LogRecord();
+        r.setTimestamp(ts);
+        r.setId(readString(in));
+        r.setServiceName(readString(in));
+        r.setLevel(readString(in));
+        r.setMessage(readString(in));
+        r.setTraceId(readString(in));
+        long count = in.getLong();
+        r.setCount(count < 0 ? null : count);
+        r.setFirstSeen(readTime(in));
+        r.setLastSeen(readTime(in));
+        r.setSampleTraceIds(readStrings(in));
+        r.setTemplateId(readString(in));
+        int version = in.getInt();
+        r.setTemplateVersion(version < 0 ? null : version);
+        r.setTemplateParams(readStrings(in));
+        return r;
+    }
+
+    static LogRepeat decodeRepeat(ByteBuffer payload) {
+        ByteBuffer in = payload.duplicate().position(1);
+        Instant ts = Instant.ofEpochMilli(in.getLong());
+        String id = readString(in);
+        long count = in.getLong();
+        Instant lastSeen = readTime(in);
+        List<String> traceIds = readStrings(in);
+        return new LogRepeat(id, ts, count, lastSeen, traceIds == null ? List.of() : traceIds);
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] frame(Writer writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(0); // header placeholder
+            writer.write(out);
+            out.flush();
+            byte[] frame = bytes.toByteArray();
+            int length = frame.length - HEADER_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(frame, HEADER_BYTES, length);
+            ByteBuffer.wrap(frame).putInt(length).putInt((int) crc.getValue());
+            return frame;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> list) throws IOException {
+        if (list == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(list.size());
+        for (String s : list) {
+            writeString(out, s);
+        }
+    }
+
+    private static void writeTime(DataOutputStream out, Instant t) throws IOException {
+        out.writeLong(t != null ? t.toEpochMilli() : NULL_TIME);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int size = in.getInt();
+        if (size < 0) {
+            return null;
+        }
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readString(in));
+        }
+        return list;
+    }
+
+    private static Instant readTime(ByteBuffer in) {
+        long millis = in.getLong();
+        return millis == NULL_TIME ? null : Instant.ofEpochMilli(millis);
+    }
+}
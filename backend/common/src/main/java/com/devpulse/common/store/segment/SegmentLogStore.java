@@ -0,0 +1,535 @@
+package com.devpulse.common.store.segment;
+
+import com.devpulse.common.store.LogPage;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.LogRepeat;
+import com.devpulse.common.store.LogStore;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only segment-file log engine.
+ *
+ * Layout of the store directory:
+ * - NNN.seg: framed entries (see {@link RecordCodec}) in arrival order; a new segment
+ *   is started once the current one reaches the configured size
+ * - NNN.idx: sparse index, one fixed-size entry per block of up to blockRecords
+ *   entries: byte range, min/max timestamp, entry count and log count
+ *
+ * Writes are buffered sequential appends; there are no in-place updates. Collapsed
+ * repeats are appended as separate entries carrying the stored log's timestamp and
+ * are folded into the log at read time (they always follow the log, and lookups run
+ * newest first, so they are seen before it).
+ *
+ * Lookups skip whole segments and blocks by their min/max timestamps, count fully
+ * covered blocks from the index alone when only time filters apply, and decode the
+ * rest. One process writes ({@link #open}); any number of processes may read the same
+ * directory ({@link #openReadOnly}) and see everything up to the writer's last flush.
+ * The unindexed tail of a segment (the block still being written) is scanned, and a
+ * torn last entry is ignored by readers and truncated by the writer on reopen.
+ */
+public class SegmentLogStore implements LogStore {
+
+    /**
+     * @param segmentBytes size after which a new segment is started
+     * @param blockRecords entries per sparse index entry
+     * @param retention    sealed segments whose newest log is older than this are deleted (null = keep)
+     */
+    public record Options(long segmentBytes, int blockRecords, Duration retention) {
+    }
+
+    static final int INDEX_ENTRY_BYTES = 40;
+
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final Options options;
+    private final boolean readOnly;
+
+    /** Parsed views of segments that no longer grow */
+    private final Map<Long, SegmentView> sealed = new ConcurrentHashMap<>();
+
+    // writer state, guarded by this
+    private long sequence;
+    private OutputStream data;
+    private OutputStream index;
+    private long position;
+    private long blockStart;
+    private int blockEntries;
+    private int blockLogs;
+    private long blockMin;
+    private long blockMax;
+
+    private SegmentLogStore(Path directory, Options options, boolean readOnly) {
+        this.directory = directory;
+        this.options = options;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Opens the store for writing, recovering the newest segment after an unclean shutdown.
+     */
+    public static SegmentLogStore open(Path directory, Options options) {
+        SegmentLogStore store = new SegmentLogStore(directory, options, false);
+        try {
+            Files.createDirectories(directory);
+            store.recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return store;
+    }
+
+    /**
+     * Opens the store for lookups only; the directory may be written by another process.
+     */
+    public static SegmentLogStore openReadOnly(Path directory) {
+        return new SegmentLogStore(directory, null, true);
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    @Override
+    public synchronized void append(LogRecord record) {
+        checkWritable();
+        if (record.getTimestamp() == null) {
+            record.setTimestamp(record.getFirstSeen() != null ? record.getFirstSeen() : Instant.now());
+        }
+        write(RecordCodec.encode(record), record.getTimestamp().toEpochMilli(), true);
+    }
+
+    @Override
+    public synchronized void appendRepeats(List<LogRepeat> repeats) {
+        checkWritable();
+        for (LogRepeat repeat : repeats) {
+            write(RecordCodec.encode(repeat), repeat.timestamp().toEpochMilli(), false);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (readOnly || data == null) {
+            return;
+        }
+        try {
+            // data first: readers ignore index entries pointing past the data they can see
+            data.flush();
+            index.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (readOnly || data == null) {
+            return;
+        }
+        try {
+            closeBlock();
+            data.close();
+            index.close();
+            data = null;
+            index = null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void write(byte[] frame, long timestamp, boolean log) {
+        try {
+            if (blockEntries == 0) {
+                blockStart = position;
+                blockMin = timestamp;
+                blockMax = timestamp;
+            }
+            data.write(frame);
+            position += frame.length;
+            blockEntries++;
+            if (log) blockLogs++;
+            blockMin = Math.min(blockMin, timestamp);
+            blockMax = Math.max(blockMax, timestamp);
+
+            if (blockEntries >= options.blockRecords()) {
+                closeBlock();
+            }
+            if (position >= options.segmentBytes()) {
+                roll();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeBlock() throws IOException {
+        if (blockEntries == 0) {
+            return;
+        }
+        index.write(ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+                .putLong(blockStart)
+                .putLong(position)
+                .putLong(blockMin)
+                .putLong(blockMax)
+                .putInt(blockEntries)
+                .putInt(blockLogs)
+                .array());
+        blockEntries = 0;
+        blockLogs = 0;
+    }
+
+    private void roll() throws IOException {
+        closeBlock();
+        data.close();
+        index.close();
+        sequence++;
+        position = 0;
+        openStreams();
+        enforceRetention();
+    }
+
+    private void recover() throws IOException {
+        List<Long> sequences = sequencesDescending();
+        sequence = sequences.isEmpty() ? 1 : sequences.get(0);
+        if (!sequences.isEmpty()) {
+            SegmentView view = load(sequence);
+            truncate(dataPath(sequence), view.validLength());
+            truncate(indexPath(sequence), (long) view.indexedBlocks() * INDEX_ENTRY_BYTES);
+            position = view.validLength();
+            if (view.blocks().size() > view.indexedBlocks()) {
+                // continue the unindexed tail block
+                Block tail = view.blocks().get(view.blocks().size() - 1);
+                blockStart = tail.start();
+                blockMin = tail.minTimestamp();
+                blockMax = tail.maxTimestamp();
+                blockEntries = tail.entries();
+                blockLogs = tail.logCount();
+            }
+        }
+        openStreams();
+        enforceRetention();
+    }
+
+    private void openStreams() throws IOException {
+        data = new BufferedOutputStream(Files.newOutputStream(dataPath(sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), WRITE_BUFFER_BYTES);
+        index = new BufferedOutputStream(Files.newOutputStream(indexPath(sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    private void enforceRetention() throws IOException {
+        if (options.retention() == null || options.retention().isZero()) {
+            return;
+        }
+        long cutoff = Instant.now().minus(options.retention()).toEpochMilli();
+        for (long seq : sequencesDescending()) {
+            if (seq >= sequence) continue;
+            SegmentView view = view(seq, false);
+            if (view != null && view.maxTimestamp() < cutoff) {
+                Files.deleteIfExists(dataPath(seq));
+                Files.deleteIfExists(indexPath(seq));
+                sealed.remove(seq);
+            }
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly || data == null) {
+            throw new IllegalStateException("Segment store is not open for writing: " + directory);
+        }
+    }
+
+    private static void truncate(Path path, long length) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            if (ch.size() > length) {
+                ch.truncate(length);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    @Override
+    public LogPage find(LogQuery query, long offset, int limit) {
+        return find(query, offset, limit, true);
+    }
+
+    @Override
+    public List<LogRecord> recent(int limit) {
+        return find(LogQuery.all(), 0, limit, false).content();
+    }
+
+    @Override
+    public void scan(LogQuery query, Consumer<LogRecord> consumer) {
+        Map<String, LogRepeat> repeats = new HashMap<>();
+        forEachBlock(query, (block, payloads) -> {
+            List<ByteBuffer> entries = payloads.read(block);
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                LogRecord log = visit(entries.get(i), query, repeats, true);
+                if (log != null) {
+                    consumer.accept(fold(log, repeats.remove(log.getId())));
+                }
+            }
+            return true;
+        });
+    }
+
+    private LogPage find(LogQuery query, long offset, int limit, boolean withTotal) {
+        List<LogRecord> page = new ArrayList<>(Math.min(limit, 1024));
+        Map<String, LogRepeat> repeats = new HashMap<>();
+        long[] matched = {0};
+
+        forEachBlock(query, (block, payloads) -> {
+            boolean pageFull = page.size() >= limit;
+            if (pageFull && !withTotal) {
+                return false;
+            }
+            if (pageFull && !query.hasFieldFilter() && query.covers(block.minTimestamp(), block.maxTimestamp())) {
+                // only the total is still needed and every log in the block matches
+                matched[0] += block.logCount();
+                return true;
+            }
+            List<ByteBuffer> entries = payloads.read(block);
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                LogRecord log = visit(entries.get(i), query, repeats, page.size() < limit);
+                if (log == null) continue;
+                if (matched[0]++ >= offset && page.size() < limit) {
+                    page.add(fold(log, repeats.remove(log.getId())));
+                }
+            }
+            return true;
+        });
+        return new LogPage(page, withTotal ? matched[0] : page.size());
+    }
+
+    /**
+     * Decodes one entry: repeats are collected (when still needed), matching logs returned.
+     */
+    private static LogRecord visit(ByteBuffer payload, LogQuery query, Map<String, LogRepeat> repeats,
+                                   boolean collectRepeats) {
+        long ts = RecordCodec.timestamp(payload);
+        if (!query.overlaps(ts, ts)) {
+            return null;
+        }
+        if (RecordCodec.type(payload) == RecordCodec.TYPE_REPEAT) {
+            if (collectRepeats) {
+                LogRepeat older = RecordCodec.decodeRepeat(payload);
+                repeats.merge(older.id(), older, (newer, o) -> combine(o, newer));
+            }
+            return null;
+        }
+        LogRecord log = RecordCodec.decodeLog(payload);
+        return query.matches(log) ? log : null;
+    }
+
+    private static LogRepeat combine(LogRepeat older, LogRepeat newer) {
+        List<String> traceIds = new ArrayList<>(older.traceIds());
+        traceIds.addAll(newer.traceIds());
+        Instant lastSeen = older.lastSeen() == null ? newer.lastSeen()
+                : newer.lastSeen() == null || older.lastSeen().isAfter(newer.lastSeen()) ? older.lastSeen() : newer.lastSeen();
+        return new LogRepeat(newer.id(), newer.timestamp(), older.count() + newer.count(), lastSeen, traceIds);
+    }
+
+    private static LogRecord fold(LogRecord log, LogRepeat repeat) {
+        if (repeat == null) {
+            return log;
+        }
+        log.setCount((log.getCount() != null ? log.getCount() : 1) + repeat.count());
+        if (repeat.lastSeen() != null && (log.getLastSeen() == null || repeat.lastSeen().isAfter(log.getLastSeen()))) {
+            log.setLastSeen(repeat.lastSeen());
+        }
+        if (!repeat.traceIds().isEmpty()) {
+            List<String> traceIds = log.getSampleTraceIds() != null ? new ArrayList<>(log.getSampleTraceIds()) : new ArrayList<>();
+            traceIds.addAll(repeat.traceIds());
+            log.setSampleTraceIds(traceIds);
+        }
+        return log;
+    }
+
+    private interface BlockVisitor {
+        /** @return false to stop the lookup */
+        boolean visit(Block block, BlockReader payloads) throws IOException;
+    }
+
+    private interface BlockReader {
+        List<ByteBuffer> read(Block block) throws IOException;
+    }
+
+    /**
+     * Visits candidate blocks newest first, skipping segments and blocks outside the time bounds.
+     */
+    private void forEachBlock(LogQuery query, BlockVisitor visitor) {
+        try {
+            List<Long> sequences = sequencesDescending();
+            sealed.keySet().retainAll(sequences);
+            for (int s = 0; s < sequences.size(); s++) {
+                SegmentView view = view(sequences.get(s), s == 0);
+                if (view == null || view.blocks().isEmpty()
+                        || !query.overlaps(view.minTimestamp(), view.maxTimestamp())) {
+                    continue;
+                }
+                try (FileChannel ch = FileChannel.open(view.data(), StandardOpenOption.READ)) {
+                    for (int b = view.blocks().size() - 1; b >= 0; b--) {
+                        Block block = view.blocks().get(b);
+                        if (!query.overlaps(block.minTimestamp(), block.maxTimestamp())) continue;
+                        if (!visitor.visit(block, blk -> entries(read(ch, blk.start(), blk.end())))) {
+                            return;
+                        }
+                    }
+                } catch (NoSuchFileException ex) {
+                    // deleted by retention while being read
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // ---------------------------------------------------------------- segment files
+
+    /**
+     * Blocks of one segment: the indexed blocks followed by the unindexed tail, if any.
+     */
+    record SegmentView(Path data, List<Block> blocks, int indexedBlocks, long validLength) {
+
+        long minTimestamp() {
+            return blocks.stream().mapToLong(Block::minTimestamp).min().orElse(Long.MAX_VALUE);
+        }
+
+        long maxTimestamp() {
+            return blocks.stream().mapToLong(Block::maxTimestamp).max().orElse(Long.MIN_VALUE);
+        }
+    }
+
+    record Block(long start, long end, long minTimestamp, long maxTimestamp, int entries, int logCount) {
+    }
+
+    /**
+     * The newest segment may still grow and is re-read on every call; older ones are cached.
+     */
+    private SegmentView view(long seq, boolean growing) throws IOException {
+        try {
+            if (growing) {
+                return load(seq);
+            }
+            SegmentView cached = sealed.get(seq);
+            if (cached == null) {
+                cached = load(seq);
+                sealed.put(seq, cached);
+            }
+            return cached;
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+
+    private SegmentView load(long seq) throws IOException {
+        Path data = dataPath(seq);
+        long dataLength = Files.size(data);
+
+        List<Block> blocks = new ArrayList<>();
+        Path indexFile = indexPath(seq);
+        if (Files.exists(indexFile)) {
+            ByteBuffer idx = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+            while (idx.remaining() >= INDEX_ENTRY_BYTES) {
+                Block block = new Block(idx.getLong(), idx.getLong(), idx.getLong(), idx.getLong(), idx.getInt(), idx.getInt());
+                if (block.end() > dataLength) {
+                    break; // index flushed ahead of the data
+                }
+                blocks.add(block);
+            }
+        }
+        int indexed = blocks.size();
+        long tailStart = blocks.isEmpty() ? 0 : blocks.get(indexed - 1).end();
+        long validLength = tailStart;
+
+        if (tailStart < dataLength) {
+            ByteBuffer tail;
+            try (FileChannel ch = FileChannel.open(data, StandardOpenOption.READ)) {
+                tail = read(ch, tailStart, dataLength);
+            }
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            int entries = 0;
+            int logs = 0;
+            ByteBuffer payload;
+            while ((payload = RecordCodec.nextPayload(tail)) != null) {
+                long ts = RecordCodec.timestamp(payload);
+                min = Math.min(min, ts);
+                max = Math.max(max, ts);
+                entries++;
+                if (RecordCodec.type(payload) == RecordCodec.TYPE_LOG) logs++;
+            }
+            validLength = tailStart + tail.position();
+            if (entries > 0) {
+                blocks.add(new Block(tailStart, validLength, min, max, entries, logs));
+            }
+        }
+        return new SegmentView(data, List.copyOf(blocks), indexed, validLength);
+    }
+
+    private static ByteBuffer read(FileChannel ch, long start, long end) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(end - start));
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, start + buf.position()) < 0) {
+                break;
+            }
+        }
+        return buf.flip();
+    }
+
+    private static List<ByteBuffer> entries(ByteBuffer block) {
+        List<ByteBuffer> entries = new ArrayList<>();
+        ByteBuffer payload;
+        while ((payload = RecordCodec.nextPayload(block)) != null) {
+            entries.add(payload);
+        }
+        return entries;
+    }
+
+    private List<Long> sequencesDescending() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(DATA_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - DATA_SUFFIX.length()))
+                    .filter(name -> !name.isEmpty() && name.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .toList();
+        }
+    }
+
+    private Path dataPath(long seq) {
+        return directory.resolve(String.format("%020d%s", seq, DATA_SUFFIX));
+    }
+
+    private Path indexPath(long seq) {
+        return directory.resolve(String.format("%020d%s", seq, INDEX_SUFFIX));
+    }
+}
@@ -0,0 +1,31 @@
+package com.devpulse.common.util;
+
+import java.util.List;
+
+/**
+ * Rendering of log templates shared by the collector, which mines them, and the
+ * dashboard, which turns stored template id + params back into messages.
+ *
+ * A template is a token list in which variable positions are the {@value #WILDCARD}
+ * token; the params of a log fill them in order.
+ */
+public class LogTemplates {
+
+    public static final String WILDCARD = "<*>";
+
+    /**
+     * Rebuilds a message from template tokens by substituting parameters into wildcards in order.
+     */
+    public static String render(List<String> templateTokens, List<String> params) {
+        StringBuilder sb = new StringBuilder();
+        int p = 0;
+        for (String t : templateTokens) {
+            if (WILDCARD.equals(t) && params != null && p < params.size()) {
+                sb.append(params.get(p++));
+            } else {
+                sb.append(t);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.devpulse.common.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filter bit positions of traceIds, shared by log-collector (sets bits) and
+ * log-dashboard (probes them).
+ *
+ * Filters are stored as 64-bit words so that a writer can OR single words into place
+ * and a probe only needs to read the words holding its bits. Positions come from
+ * double hashing (h1 + i * h2) of one 64-bit hash of the UTF-8 traceId.
+ */
+public class TraceBloom {
+
+    public static int[] positions(String traceId, int bits, int hashes) {
+        long h = 0xcbf29ce484222325L; // FNV-1a
+        for (byte b : traceId.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        long h1 = mix(h);
+        long h2 = mix(h ^ 0x9e3779b97f4a7c15L) | 1;
+        int[] positions = new int[hashes];
+        for (int i = 0; i < hashes; i++) {
+            positions[i] = (int) Math.floorMod(h1 + i * h2, (long) bits);
+        }
+        return positions;
+    }
+
+    public static int word(int position) {
+        return position >>> 6;
+    }
+
+    public static long mask(int position) {
+        return 1L << (position & 63);
+    }
+
+    /** Murmur3 finalizer */
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
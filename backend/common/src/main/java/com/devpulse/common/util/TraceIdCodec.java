@@ -0,0 +1,54 @@
+package com.devpulse.common.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Binary encoding of traceIds for compact log storage.
+ *
+ * UUID traceIds (what the producers generate) shrink from 36 characters to 17 bytes:
+ * a tag byte followed by the two UUID longs. Anything else is stored as tagged UTF-8.
+ */
+public class TraceIdCodec {
+
+    private static final byte TAG_TEXT = 0;
+    private static final byte TAG_UUID = 1;
+
+    public static byte[] encode(String traceId) {
+        if (traceId == null) {
+            return null;
+        }
+        if (traceId.length() == 36) {
+            try {
+                UUID uuid = UUID.fromString(traceId);
+                if (uuid.toString().equals(traceId)) {
+                    return ByteBuffer.allocate(17)
+                            .put(TAG_UUID)
+                            .putLong(uuid.getMostSignificantBits())
+                            .putLong(uuid.getLeastSignificantBits())
+                            .array();
+                }
+            } catch (IllegalArgumentException ignored) {
+                // not a UUID, stored as text below
+            }
+        }
+        byte[] text = traceId.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[text.length + 1];
+        out[0] = TAG_TEXT;
+        System.arraycopy(text, 0, out, 1, text.length);
+        return out;
+    }
+
+    public static String decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == TAG_UUID && bytes.length == 17) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes, 1, 16);
+            return new UUID(buf.getLong(), buf.getLong()).toString();
+        }
+        return new String(Arrays.copyOfRange(bytes, 1, bytes.length), StandardCharsets.UTF_8);
+    }
+}
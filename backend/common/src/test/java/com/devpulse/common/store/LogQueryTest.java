@@ -0,0 +1,28 @@
+package com.devpulse.common.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogQueryTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void betweenExcludesBothBounds() {
+        LogQuery query = LogQuery.between(T0, T0.plusSeconds(1));
+        assertEquals(T0.plusMillis(1), query.from());
+        assertEquals(T0.plusMillis(999), query.to());
+        assertFalse(query.overlaps(T0.toEpochMilli(), T0.toEpochMilli()));
+        assertFalse(query.overlaps(T0.plusSeconds(1).toEpochMilli(), T0.plusSeconds(1).toEpochMilli()));
+    }
+
+    @Test
+    void betweenKeepsMillisecondsInsideSubMillisecondBounds() {
+        LogQuery query = LogQuery.between(T0.plusNanos(500_000), T0.plusNanos(2_500_000));
+        assertEquals(T0.plusMillis(1), query.from());
+        assertEquals(T0.plusMillis(2), query.to());
+    }
+}
@@ -0,0 +1,101 @@
+package com.devpulse.common.store.archive;
+
+import com.devpulse.common.store.LogPage;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.store.LogRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarArchiveTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @TempDir
+    Path dir;
+
+    private static LogRecord log(int minute, String service, String level) {
+        return LogRecord.builder()
+                .id("id" + minute)
+                .serviceName(service)
+                .level(level)
+                .message("message " + minute)
+                .timestamp(T0.plus(Duration.ofMinutes(minute)))
+                .build();
+    }
+
+    private void archiveHour(ColumnarArchive archive, int hour, List<LogRecord> logs) {
+        Instant start = T0.plus(HOUR.multipliedBy(hour));
+        archive.write(start, start.plus(HOUR), logs);
+    }
+
+    @Test
+    void roundTripsEveryField() {
+        ColumnarArchive archive = new ColumnarArchive(dir);
+        LogRecord full = log(5, "order", "WARN");
+        full.setTraceId("t-1");
+        full.setCount(3L);
+        full.setFirstSeen(full.getTimestamp());
+        full.setLastSeen(full.getTimestamp().plusSeconds(8));
+        full.setSampleTraceIds(List.of("t-1", "t-2"));
+        full.setTemplateId("tpl");
+        full.setTemplateVersion(2);
+        full.setTemplateParams(List.of("42", "ünïcode"));
+        archiveHour(archive, 0, List.of(full, log(1, null, null)));
+
+        List<LogRecord> found = archive.find(LogQuery.all(), 0, 10).content();
+        assertEquals(List.of(full, log(1, null, null)), found);
+    }
+
+    @Test
+    void pagesNewestFirstAcrossChunksWithFilters() {
+        ColumnarArchive archive = new ColumnarArchive(dir);
+        for (int hour = 0; hour < 3; hour++) {
+            List<LogRecord> logs = new ArrayList<>();
+            for (int m = hour * 60; m < hour * 60 + 60; m += 5) {
+                logs.add(log(m, m % 10 == 0 ? "order" : "product", m % 15 == 0 ? "ERROR" : "INFO"));
+            }
+            archiveHour(archive, hour, logs);
+        }
+
+        LogPage all = archive.find(LogQuery.all(), 10, 4);
+        assertEquals(36, all.total());
+        assertEquals(List.of("id125", "id120", "id115", "id110"), all.content().stream().map(LogRecord::getId).toList());
+
+        LogQuery range = LogQuery.builder().from(T0.plus(Duration.ofMinutes(50))).to(T0.plus(Duration.ofMinutes(70))).build();
+        assertEquals(List.of("id70", "id65", "id60", "id55", "id50"),
+                archive.find(range, 0, 100).content().stream().map(LogRecord::getId).toList());
+
+        LogPage errors = archive.find(LogQuery.builder().level("ERROR").serviceName("order").build(), 0, 100);
+        assertEquals(List.of("id150", "id120", "id90", "id60", "id30", "id0"),
+                errors.content().stream().map(LogRecord::getId).toList());
+
+        List<String> visited = new ArrayList<>();
+        archive.forEach(LogQuery.builder().level("ERROR").serviceName("order").build(), r -> visited.add(r.getId()));
+        assertEquals(errors.content().stream().map(LogRecord::getId).toList(), visited);
+
+        assertTrue(archive.overlaps(T0.minusSeconds(10), T0));
+        assertFalse(archive.overlaps(T0.plus(HOUR.multipliedBy(3)), null));
+    }
+
+    @Test
+    void rewritingAChunkMergesWithoutDuplicatesAndRetentionDropsOldChunks() {
+        ColumnarArchive archive = new ColumnarArchive(dir);
+        archiveHour(archive, 0, List.of(log(1, "order", "INFO"), log(2, "order", "INFO")));
+        archiveHour(archive, 0, List.of(log(2, "order", "INFO"), log(3, "order", "INFO")));
+        archiveHour(archive, 1, List.of(log(61, "order", "INFO")));
+
+        assertEquals(4, archive.find(LogQuery.all(), 0, 10).total());
+
+        assertEquals(1, archive.deleteBefore(T0.plus(HOUR)));
+        assertEquals(List.of("id61"), archive.find(LogQuery.all(), 0, 10).content().stream().map(LogRecord::getId).toList());
+    }
+}
@@ -0,0 +1,144 @@
+package com.devpulse.common.store.segment;
+
+import com.devpulse.common.store.LogPage;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.LogRepeat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogStoreTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private SegmentLogStore openWriter(long segmentBytes) {
+        return SegmentLogStore.open(dir, new SegmentLogStore.Options(segmentBytes, 4, null));
+    }
+
+    private static LogRecord log(int i, String service, String level) {
+        return LogRecord.builder()
+                .id("id" + i)
+                .serviceName(service)
+                .level(level)
+                .message("message " + i)
+                .timestamp(T0.plusSeconds(i))
+                .build();
+    }
+
+    @Test
+    void pagesNewestFirstWithFiltersAndTotals() {
+        try (SegmentLogStore store = openWriter(1024)) {
+            for (int i = 0; i < 30; i++) {
+                store.append(log(i, i % 2 == 0 ? "order" : "product", i % 3 == 0 ? "ERROR" : "INFO"));
+            }
+            store.flush();
+
+            LogPage all = store.find(LogQuery.all(), 5, 3);
+            assertEquals(30, all.total());
+            assertEquals(List.of("id24", "id23", "id22"), all.content().stream().map(LogRecord::getId).toList());
+
+            LogPage orders = store.find(LogQuery.builder().serviceName("order").build(), 0, 2);
+            assertEquals(15, orders.total());
+            assertEquals(List.of("id28", "id26"), orders.content().stream().map(LogRecord::getId).toList());
+
+            LogPage range = store.find(LogQuery.builder().from(T0.plusSeconds(10)).to(T0.plusSeconds(19)).build(), 0, 100);
+            assertEquals(10, range.total());
+            assertEquals("id19", range.content().get(0).getId());
+            assertEquals("id10", range.content().get(9).getId());
+
+            LogPage errors = store.find(LogQuery.builder().level("ERROR").from(T0.plusSeconds(10)).build(), 0, 100);
+            assertEquals(List.of("id27", "id24", "id21", "id18", "id15", "id12"),
+                    errors.content().stream().map(LogRecord::getId).toList());
+        }
+        assertTrue(segmentCount() > 1, "small segment size should have rolled");
+    }
+
+    @Test
+    void foldsAppendedRepeatsIntoTheirLog() {
+        try (SegmentLogStore store = openWriter(1 << 20)) {
+            LogRecord first = log(1, "order", "WARN");
+            first.setCount(1L);
+            first.setSampleTraceIds(List.of("t1"));
+            store.append(first);
+            store.append(log(2, "order", "INFO"));
+            store.appendRepeats(List.of(new LogRepeat("id1", first.getTimestamp(), 2, T0.plusSeconds(5), List.of("t2"))));
+            store.appendRepeats(List.of(new LogRepeat("id1", first.getTimestamp(), 3, T0.plusSeconds(9), List.of("t3"))));
+            store.flush();
+
+            LogRecord folded = store.find(LogQuery.builder().level("WARN").build(), 0, 10).content().get(0);
+            assertEquals(6L, folded.getCount());
+            assertEquals(T0.plusSeconds(9), folded.getLastSeen());
+            assertEquals(List.of("t1", "t2", "t3"), folded.getSampleTraceIds());
+            assertEquals(2, store.find(LogQuery.all(), 0, 10).total());
+        }
+    }
+
+    @Test
+    void readersSeeFlushedDataAndWriterRecoversTornTail() throws IOException {
+        SegmentLogStore writer = openWriter(1 << 20);
+        for (int i = 0; i < 6; i++) {
+            writer.append(log(i, "order", "INFO"));
+        }
+        writer.flush();
+
+        SegmentLogStore reader = SegmentLogStore.openReadOnly(dir);
+        assertEquals(6, reader.find(LogQuery.all(), 0, 10).total());
+
+        // simulate a crash in the middle of an append
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+        assertEquals(6, reader.find(LogQuery.all(), 0, 10).total());
+
+        try (SegmentLogStore reopened = openWriter(1 << 20)) {
+            reopened.append(log(6, "order", "INFO"));
+            reopened.flush();
+            assertEquals(List.of("id6", "id5"), reader.recent(2).stream().map(LogRecord::getId).toList());
+            assertEquals(7, reader.find(LogQuery.all(), 0, 10).total());
+        }
+    }
+
+    @Test
+    void retentionDropsOldSealedSegments() {
+        try (SegmentLogStore store = SegmentLogStore.open(dir, new SegmentLogStore.Options(256, 4, Duration.ofDays(1)))) {
+            for (int i = 0; i < 20; i++) {
+                store.append(log(i, "order", "INFO"));
+            }
+            store.flush();
+            LogRecord fresh = log(100, "order", "INFO");
+            fresh.setTimestamp(Instant.now());
+            for (int i = 0; i < 10; i++) {
+                store.append(fresh);
+            }
+            store.flush();
+            List<LogRecord> kept = store.find(LogQuery.all(), 0, 100).content();
+            assertTrue(kept.size() < 30);
+            assertTrue(kept.stream().noneMatch(r -> r.getId().equals("id0")));
+            assertEquals("id100", kept.get(0).getId());
+        }
+    }
+
+    private long segmentCount() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).count();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.devpulse.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceBloomTest {
+
+    private static final int BITS = 1 << 16;
+    private static final int HASHES = 7;
+
+    @Test
+    void positionsAreStableAndInRange() {
+        int[] first = TraceBloom.positions("trace-1", BITS, HASHES);
+        assertArrayEquals(first, TraceBloom.positions("trace-1", BITS, HASHES));
+        assertEquals(HASHES, first.length);
+        for (int p : first) {
+            assertTrue(p >= 0 && p < BITS);
+        }
+    }
+
+    @Test
+    void filterHasNoFalseNegativesAndFewFalsePositives() {
+        long[] words = new long[BITS / 64];
+        for (int i = 0; i < 5000; i++) {
+            for (int p : TraceBloom.positions("member-" + i, BITS, HASHES)) {
+                words[TraceBloom.word(p)] |= TraceBloom.mask(p);
+            }
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(contains(words, "member-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (contains(words, UUID.randomUUID().toString())) falsePositives++;
+        }
+        // ~1% expected for 5000 entries in 2^16 bits with 7 hashes
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    private static boolean contains(long[] words, String traceId) {
+        for (int p : TraceBloom.positions(traceId, BITS, HASHES)) {
+            if ((words[TraceBloom.word(p)] & TraceBloom.mask(p)) == 0) return false;
+        }
+        return true;
+    }
+}
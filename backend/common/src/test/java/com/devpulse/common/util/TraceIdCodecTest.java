@@ -0,0 +1,35 @@
+package com.devpulse.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceIdCodecTest {
+
+    @Test
+    void uuidsShrinkToSeventeenBytes() {
+        String traceId = UUID.randomUUID().toString();
+        byte[] encoded = TraceIdCodec.encode(traceId);
+        assertEquals(17, encoded.length);
+        assertEquals(traceId, TraceIdCodec.decode(encoded));
+    }
+
+    @Test
+    void otherTraceIdsRoundTripAsText() {
+        for (String traceId : new String[]{"", "req-42", "trace é中", UUID.randomUUID().toString().toUpperCase()}) {
+            byte[] encoded = TraceIdCodec.encode(traceId);
+            assertEquals(traceId.getBytes(StandardCharsets.UTF_8).length + 1, encoded.length);
+            assertEquals(traceId, TraceIdCodec.decode(encoded));
+        }
+    }
+
+    @Test
+    void nullStaysNull() {
+        assertNull(TraceIdCodec.encode(null));
+        assertNull(TraceIdCodec.decode(null));
+        assertNull(TraceIdCodec.decode(new byte[0]));
+    }
+}
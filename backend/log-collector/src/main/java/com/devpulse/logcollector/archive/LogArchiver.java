@@ -0,0 +1,122 @@
+package com.devpulse.logcollector.archive;
+
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.archive.ColumnarArchive;
+import com.devpulse.logcollector.config.ArchiveProperties;
+import com.devpulse.logcollector.config.StorageProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves logs older than app.archive.after out of "logs" into the columnar cold tier
+ * ({@link ColumnarArchive}), one file per time chunk.
+ *
+ * A chunk is written first and its logs deleted afterwards. Rewriting a chunk merges
+ * by log id, so a crash between the two steps (or a late log landing in an already
+ * archived chunk) is repaired by the next run without duplicates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class LogArchiver {
+
+    private static final int DELETE_BATCH = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveProperties props;
+    private final StorageProperties storageProps;
+
+    private ColumnarArchive archive;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:600000}")
+    public synchronized void archive() {
+        if (storageProps.getMode() != StorageProperties.Mode.DOCUMENT) {
+            log.debug("Archiving skipped: storage mode {} is not DOCUMENT", storageProps.getMode());
+            return;
+        }
+        try {
+            Instant cutoff = Instant.now().minus(props.getAfter());
+            long chunkMillis = props.getChunk().toMillis();
+            for (int i = 0; i < props.getMaxChunksPerRun(); i++) {
+                LogDocument oldest = mongoTemplate.findOne(
+                        new Query().with(Sort.by(Sort.Direction.ASC, "timestamp")).limit(1), LogDocument.class);
+                if (oldest == null || oldest.getTimestamp() == null) {
+                    break;
+                }
+                long startMillis = Math.floorDiv(oldest.getTimestamp().toEpochMilli(), chunkMillis) * chunkMillis;
+                Instant start = Instant.ofEpochMilli(startMillis);
+                Instant end = start.plusMillis(chunkMillis);
+                if (end.isAfter(cutoff)) {
+                    break;
+                }
+                archiveChunk(start, end);
+            }
+            expire();
+        } catch (Exception ex) {
+            log.warn("Failed to archive logs: {}", ex.getMessage());
+        }
+    }
+
+    private void archiveChunk(Instant start, Instant end) {
+        List<LogDocument> docs = mongoTemplate.find(
+                Query.query(Criteria.where("timestamp").gte(start).lt(end)), LogDocument.class);
+        store().write(start, end, docs.stream().map(LogArchiver::toRecord).toList());
+
+        List<String> ids = docs.stream().map(LogDocument::getId).toList();
+        for (int i = 0; i < ids.size(); i += DELETE_BATCH) {
+            List<String> batch = ids.subList(i, Math.min(i + DELETE_BATCH, ids.size()));
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(batch)), LogDocument.class);
+        }
+        log.info("Archived {} logs in [{}, {})", docs.size(), start, end);
+    }
+
+    private void expire() {
+        Duration retention = props.getRetention();
+        if (retention == null || retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        int deleted = store().deleteBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} expired archive files", deleted);
+        }
+    }
+
+    private ColumnarArchive store() {
+        if (archive == null) {
+            archive = new ColumnarArchive(Path.of(props.getDirectory()));
+        }
+        return archive;
+    }
+
+    private static LogRecord toRecord(LogDocument doc) {
+        return LogRecord.builder()
+                .id(doc.getId())
+                .serviceName(doc.getServiceName())
+                .level(doc.getLevel())
+                .message(doc.getMessage())
+                .timestamp(doc.getTimestamp())
+                .traceId(doc.getTraceId())
+                .count(doc.getCount())
+                .firstSeen(doc.getFirstSeen())
+                .lastSeen(doc.getLastSeen())
+                .sampleTraceIds(doc.getSampleTraceIds())
+                .templateId(doc.getTemplateId())
+                .templateVersion(doc.getTemplateVersion())
+                .templateParams(doc.getTemplateParams())
+                .build();
+    }
+}
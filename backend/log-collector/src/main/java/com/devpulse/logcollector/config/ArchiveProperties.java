@@ -0,0 +1,48 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the cold tier: logs moved out of MongoDB into compressed
+ * columnar files on local disk (app.storage.mode=DOCUMENT).
+ * Values are loaded from application.yml under prefix "app.archive".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    /**
+     * Move old logs from "logs" into the archive directory.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory of the archive files; log-dashboard must read the same directory.
+     */
+    private String directory = "data/archive";
+
+    /**
+     * Logs older than this are archived; younger ones stay in MongoDB (hot tier).
+     */
+    private Duration after = Duration.ofDays(2);
+
+    /**
+     * Time span covered by one archive file.
+     */
+    private Duration chunk = Duration.ofHours(1);
+
+    /**
+     * Upper bound on chunks archived per run, so catching up does not block for long.
+     */
+    private int maxChunksPerRun = 24;
+
+    /**
+     * Archive files older than this are deleted. Zero keeps them forever.
+     */
+    private Duration retention = Duration.ofDays(365);
+}
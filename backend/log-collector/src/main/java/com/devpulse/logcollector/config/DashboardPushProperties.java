@@ -0,0 +1,21 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for pushing persisted logs to log-dashboard (app.dashboard-url).
+ * Values are loaded from application.yml under prefix "app.dashboard-push".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.dashboard-push")
+public class DashboardPushProperties {
+
+    /**
+     * Push every log over HTTP; turn off when log-dashboard consumes devpulse-logs itself
+     * (its app.live-kafka), which also lets it run more than one instance.
+     */
+    private boolean enabled = true;
+}
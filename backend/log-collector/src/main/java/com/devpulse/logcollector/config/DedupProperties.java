@@ -0,0 +1,35 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for ingest-side deduplication of repeated log lines.
+ * Values are loaded from application.yml under prefix "app.dedup".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.dedup")
+public class DedupProperties {
+
+    /**
+     * Collapse identical (service, level, message) logs into one counted document.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a collapsed document keeps absorbing repeats before a new one is started.
+     */
+    private int windowSeconds = 10;
+
+    /**
+     * Maximum number of traceIds sampled per collapsed document.
+     */
+    private int maxTraceIds = 10;
+
+    /**
+     * Upper bound on tracked open windows; new keys beyond this are stored uncollapsed.
+     */
+    private int maxOpenWindows = 10_000;
+}
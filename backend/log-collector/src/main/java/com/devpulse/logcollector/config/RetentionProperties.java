@@ -0,0 +1,62 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration holder for retention of the time-series log collection
+ * (app.storage.mode=TIMESERIES).
+ * Values are loaded from application.yml under prefix "app.retention".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.retention")
+public class RetentionProperties {
+
+    /**
+     * Expiry of raw logs whose level has no entry in ttlByLevel. Zero keeps them forever.
+     */
+    private Duration defaultTtl = Duration.ofDays(7);
+
+    /**
+     * Expiry of raw logs per level (DEBUG, INFO, WARN, ERROR). Zero keeps them forever.
+     */
+    private Map<String, Duration> ttlByLevel = new HashMap<>();
+
+    /**
+     * Bucketing granularity of the time-series collection; match it to the log rate per service.
+     */
+    private Granularity granularity = Granularity.SECONDS;
+
+    private Downsample downsample = new Downsample();
+
+    @Data
+    public static class Downsample {
+
+        /** Roll raw logs up into per-minute counts (log_counts_1m) that outlive the raw logs */
+        private boolean enabled = true;
+
+        /** Minutes younger than this are not rolled up yet (late logs, collapsed repeats still counting) */
+        private Duration lag = Duration.ofMinutes(2);
+
+        /** Expiry of the per-minute counts. Zero keeps them forever. */
+        private Duration ttl = Duration.ofDays(365);
+    }
+
+    /**
+     * Raw log expiry for the given level, or null when such logs never expire.
+     */
+    public Duration ttlFor(String level) {
+        Duration ttl = level == null ? null : ttlByLevel.get(level);
+        if (ttl == null) {
+            ttl = defaultTtl;
+        }
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+}
@@ -0,0 +1,51 @@
+package com.devpulse.logcollector.config;
+
+import com.devpulse.common.store.RollupResolution;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the per-minute/hour/day log counts per service and level
+ * ("log_rollups_1m", "log_rollups_1h", "log_rollups_1d") read by log-dashboard's histograms.
+ * Values are loaded from application.yml under prefix "app.rollup".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rollup")
+public class RollupProperties {
+
+    /**
+     * Count every ingested log into its minute, hour and day bucket.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Expiry of the per-minute counts. Zero keeps them forever; must match log-dashboard's app.rollup.
+     */
+    private Duration minuteTtl = Duration.ofDays(30);
+
+    /**
+     * Expiry of the per-hour counts. Zero keeps them forever; must match log-dashboard's app.rollup.
+     */
+    private Duration hourTtl = Duration.ofDays(400);
+
+    /**
+     * Expiry of the per-day counts. Zero keeps them forever.
+     */
+    private Duration dayTtl = Duration.ZERO;
+
+    /**
+     * Expiry of the counts of the given resolution, or null when they never expire.
+     */
+    public Duration ttlFor(RollupResolution resolution) {
+        Duration ttl = switch (resolution) {
+            case MINUTE -> minuteTtl;
+            case HOUR -> hourTtl;
+            case DAY -> dayTtl;
+        };
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+}
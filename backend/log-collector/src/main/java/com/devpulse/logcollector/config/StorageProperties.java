@@ -0,0 +1,63 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the log storage layout.
+ * Values are loaded from application.yml under prefix "app.storage".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    /**
+     * DOCUMENT: one readable document per log in "logs" (default).
+     * COMPACT: dictionary-encoded documents with short field names in "logs_c".
+     * BUCKET: per-service, per-minute bucket documents in "log_buckets".
+     * TIMESERIES: native time-series collection "logs_ts" with per-level expiry (see app.retention).
+     * SEGMENT: append-only local segment files (see segment), no MongoDB for logs.
+     */
+    private Mode mode = Mode.DOCUMENT;
+
+    /**
+     * Maximum logs per bucket document before an overflow bucket is started (BUCKET mode).
+     */
+    private int bucketMaxSize = 200;
+
+    /**
+     * Batch size used by the migration tool when copying existing logs.
+     */
+    private int migrationBatchSize = 1000;
+
+    private Segment segment = new Segment();
+
+    public enum Mode {
+        DOCUMENT,
+        COMPACT,
+        BUCKET,
+        TIMESERIES,
+        SEGMENT
+    }
+
+    @Data
+    public static class Segment {
+
+        /** Directory of the segment files; log-dashboard must read the same directory */
+        private String directory = "data/segments";
+
+        /** Size after which a new segment file is started */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /** Logs per sparse time index entry */
+        private int blockRecords = 256;
+
+        /** Sealed segments whose newest log is older than this are deleted. Zero keeps them forever. */
+        private Duration retention = Duration.ofDays(7);
+    }
+}
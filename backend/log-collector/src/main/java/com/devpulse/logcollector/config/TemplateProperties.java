@@ -0,0 +1,51 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for online log template mining (Drain).
+ * Values are loaded from application.yml under prefix "app.template".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.template")
+public class TemplateProperties {
+
+    /**
+     * Assign a template id and extracted parameters to every persisted log.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Keep the full message next to template id + params. When false the dashboard
+     * renders the message from the template dictionary.
+     */
+    private boolean storeMessage = true;
+
+    /**
+     * Number of leading tokens used to route a message through the parse tree.
+     */
+    private int prefixDepth = 2;
+
+    /**
+     * Minimum fraction of equal tokens for a message to join an existing template.
+     */
+    private double similarityThreshold = 0.5;
+
+    /**
+     * Maximum children per parse tree node before tokens fall into the wildcard branch.
+     */
+    private int maxChildren = 100;
+
+    /**
+     * Maximum templates per parse tree leaf; further unmatched messages get no template.
+     */
+    private int maxClustersPerLeaf = 50;
+
+    /**
+     * Maximum templates per service; further unmatched messages get no template.
+     */
+    private int maxClustersPerService = 2000;
+}
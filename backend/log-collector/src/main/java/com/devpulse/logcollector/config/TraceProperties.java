@@ -0,0 +1,43 @@
+package com.devpulse.logcollector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the per-time-bucket Bloom filters of traceIds ("trace_blooms")
+ * that let log-dashboard look up a trace without scanning all logs.
+ * Values are loaded from application.yml under prefix "app.trace".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.trace")
+public class TraceProperties {
+
+    /**
+     * Record the traceId of every ingested log in the filter of its time bucket.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time span covered by one filter; a trace lookup reads the logs of matching buckets only.
+     */
+    private Duration bucket = Duration.ofHours(1);
+
+    /**
+     * Bits per filter. 2^20 bits with 7 hashes stay below 1% false positives up to ~100k traces per bucket.
+     */
+    private int bits = 1 << 20;
+
+    /**
+     * Hash functions per traceId.
+     */
+    private int hashes = 7;
+
+    /**
+     * Filters older than this expire. Keep it at least as long as the log retention.
+     */
+    private Duration retention = Duration.ofDays(30);
+}
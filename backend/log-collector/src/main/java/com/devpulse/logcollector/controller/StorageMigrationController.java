@@ -0,0 +1,43 @@
+package com.devpulse.logcollector.controller;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.devpulse.logcollector.store.CompactMigrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoints for migrating stored logs between storage layouts.
+ * Protect this endpoint later (internal network or auth).
+ */
+@RestController
+@RequestMapping("/api/storage/migrations")
+@RequiredArgsConstructor
+public class StorageMigrationController {
+
+    private final CompactMigrationService compactMigration;
+
+    @PostMapping("/compact")
+    public ResponseEntity<ApiResponse<CompactMigrationService.MigrationStatus>> startCompact() {
+        boolean started = compactMigration.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(ApiResponse.<CompactMigrationService.MigrationStatus>builder()
+                        .success(started)
+                        .message(started ? "Compact migration started" : "Compact migration already running")
+                        .data(compactMigration.status())
+                        .build());
+    }
+
+    @GetMapping("/compact")
+    public ResponseEntity<ApiResponse<CompactMigrationService.MigrationStatus>> compactStatus() {
+        return ResponseEntity.ok(ApiResponse.<CompactMigrationService.MigrationStatus>builder()
+                .success(true)
+                .message("Compact migration status")
+                .data(compactMigration.status())
+                .build());
+    }
+}
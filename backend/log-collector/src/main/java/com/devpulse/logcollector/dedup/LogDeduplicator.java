@@ -0,0 +1,276 @@
+package com.devpulse.logcollector.dedup;
+
+import com.devpulse.logcollector.config.DedupProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import com.devpulse.logcollector.store.LogWriter;
+import com.devpulse.logcollector.store.RepeatUpdate;
+import org.bson.types.ObjectId;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * LogDeduplicator
+ *
+ * Ingest-side dedup stage: identical (service, level, message) logs arriving within
+ * a short window are collapsed into the first persisted document of that window.
+ *
+ * - process(...) persists the first log of a window and absorbs the repeats
+ * - absorbed repeats are accumulated in memory and flushed periodically as
+ *   repeat updates (count, lastSeen, sampled traceIds) through the active LogWriter;
+ *   a failed flush puts them back so the next one retries them
+ *
+ * Repeat counts are at-least-once: a bulk write can apply part of its updates before
+ * it fails, and the retry sends all of them again, so after a failed flush a document
+ * may count some repeats twice (like LogRollupRecorder's counts).
+ *
+ * The first occurrence is written immediately, so dashboards never lag behind ingest.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogDeduplicator {
+
+    private final DedupProperties props;
+    private final LogWriter logWriter;
+
+    // Open windows keyed by (service, level, message)
+    private final Map<DedupKey, Window> windows = new ConcurrentHashMap<>();
+
+    // Windows replaced before the flusher saw their last repeats
+    private final Queue<Window> retired = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs a freshly built document through the dedup stage.
+     *
+     * The first occurrence of a (service, level, message) in its window gets an id and
+     * collapse counters assigned and is handed to the persister; later occurrences are
+     * only counted in memory until the next flush.
+     *
+     * @param doc       document built from the incoming log (id not yet assigned)
+     * @param persister writes the document when it must be stored
+     */
+    public void process(LogDocument doc, Consumer<LogDocument> persister) {
+        if (!props.isEnabled()) {
+            persister.accept(doc);
+            return;
+        }
+
+        DedupKey key = new DedupKey(doc.getServiceName(), doc.getLevel(), doc.getMessage());
+        if (windows.size() >= props.getMaxOpenWindows() && !windows.containsKey(key)) {
+            // too many distinct messages in flight: store uncollapsed rather than grow unbounded
+            persister.accept(doc);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Window[] opened = {null};
+        windows.compute(key, (k, current) -> {
+            if (current != null && current.absorb(doc, now)) {
+                return current;
+            }
+            if (current != null) {
+                retired.add(current);
+            }
+            opened[0] = Window.open(doc, now, props.getWindowSeconds() * 1000L, props.getMaxTraceIds());
+            return opened[0];
+        });
+
+        if (opened[0] == null) {
+            return;
+        }
+        try {
+            persister.accept(doc);
+            // counters may only be flushed once the document they target exists
+            opened[0].markStored();
+        } catch (RuntimeException ex) {
+            windows.remove(key, opened[0]);
+            throw ex;
+        }
+    }
+
+    /**
+     * Periodically writes accumulated repeat counts to MongoDB and closes expired windows.
+     */
+    @Scheduled(fixedDelayString = "${app.dedup.flush-interval-ms:1000}")
+    public void flush() {
+        List<RepeatUpdate> deltas = new ArrayList<>();
+        List<Window> drained = new ArrayList<>();
+        // windows no longer reachable from the map: on failure they must be retried via retired
+        List<Window> closed = new ArrayList<>();
+
+        List<Window> notYetStored = new ArrayList<>();
+        Window w;
+        while ((w = retired.poll()) != null) {
+            if (w.isStored()) {
+                if (addIfPresent(deltas, drained, w)) {
+                    closed.add(w);
+                }
+            } else {
+                notYetStored.add(w);
+            }
+        }
+        retired.addAll(notYetStored);
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<DedupKey, Window> e : windows.entrySet()) {
+            Window window = e.getValue();
+            if (!window.isStored()) {
+                continue;
+            }
+            boolean removed = false;
+            if (window.isExpired(now)) {
+                // once removed no more repeats can be absorbed, so this drain is final
+                removed = windows.remove(e.getKey(), window);
+            }
+            if (addIfPresent(deltas, drained, window) && removed) {
+                closed.add(window);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            logWriter.applyRepeats(deltas);
+            log.debug("Flushed {} collapsed log counters", deltas.size());
+        } catch (Exception ex) {
+            // retried whole, so updates applied before the failure are counted again
+            log.warn("Failed to flush collapsed log counters, retrying on the next flush: {}", ex.getMessage());
+            for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).restore(deltas.get(i));
+            }
+            retired.addAll(closed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Drains the window into deltas; whether it had pending repeats.
+     */
+    private static boolean addIfPresent(List<RepeatUpdate> deltas, List<Window> drained, Window window) {
+        RepeatUpdate delta = window.drain();
+        if (delta == null) {
+            return false;
+        }
+        deltas.add(delta);
+        drained.add(window);
+        return true;
+    }
+
+    private record DedupKey(String serviceName, String level, String message) {
+    }
+
+    /**
+     * One open collapse window. absorb/drain are synchronized per window so the
+     * flusher and the listener never lose increments.
+     */
+    private static final class Window {
+        private final String docId;
+        private final Instant firstSeen;
+        private final long openedAt;
+        private final long windowMillis;
+        private final int maxTraceIds;
+
+        private volatile boolean stored;
+        private int sampledTraceIds;
+        private long pendingCount;
+        private Instant pendingLastSeen;
+        private final List<String> pendingTraceIds = new ArrayList<>();
+
+        private Window(String docId, Instant firstSeen, long openedAt, long windowMillis, int maxTraceIds,
+                       int sampledTraceIds) {
+            this.docId = docId;
+            this.firstSeen = firstSeen;
+            this.openedAt = openedAt;
+            this.windowMillis = windowMillis;
+            this.maxTraceIds = maxTraceIds;
+            this.sampledTraceIds = sampledTraceIds;
+        }
+
+        /**
+         * Opens a window for the given document and initializes its collapse counters.
+         */
+        static Window open(LogDocument doc, long now, long windowMillis, int maxTraceIds) {
+            Instant seen = doc.getTimestamp() != null ? doc.getTimestamp() : Instant.ofEpochMilli(now);
+            List<String> traceIds = new ArrayList<>();
+            if (doc.getTraceId() != null && maxTraceIds > 0) {
+                traceIds.add(doc.getTraceId());
+            }
+
+            doc.setId(new ObjectId().toHexString());
+            doc.setCount(1L);
+            doc.setFirstSeen(seen);
+            doc.setLastSeen(seen);
+            doc.setSampleTraceIds(traceIds);
+            return new Window(doc.getId(), seen, now, windowMillis, maxTraceIds, traceIds.size());
+        }
+
+        synchronized boolean absorb(LogDocument doc, long now) {
+            if (isExpired(now)) {
+                return false;
+            }
+            pendingCount++;
+            Instant seen = doc.getTimestamp() != null ? doc.getTimestamp() : Instant.ofEpochMilli(now);
+            if (pendingLastSeen == null || seen.isAfter(pendingLastSeen)) {
+                pendingLastSeen = seen;
+            }
+            if (doc.getTraceId() != null && sampledTraceIds < maxTraceIds) {
+                pendingTraceIds.add(doc.getTraceId());
+                sampledTraceIds++;
+            }
+            return true;
+        }
+
+        synchronized RepeatUpdate drain() {
+            if (pendingCount == 0) {
+                return null;
+            }
+            RepeatUpdate delta = new RepeatUpdate(docId, firstSeen, pendingCount, pendingLastSeen, List.copyOf(pendingTraceIds));
+            pendingCount = 0;
+            pendingLastSeen = null;
+            pendingTraceIds.clear();
+            return delta;
+        }
+
+        /**
+         * Merges a drained delta that could not be written back into the pending
+         * counters, ahead of repeats absorbed since.
+         */
+        synchronized void restore(RepeatUpdate delta) {
+            pendingCount += delta.count();
+            if (pendingLastSeen == null || delta.lastSeen().isAfter(pendingLastSeen)) {
+                pendingLastSeen = delta.lastSeen();
+            }
+            pendingTraceIds.addAll(0, delta.traceIds());
+        }
+
+        void markStored() {
+            stored = true;
+        }
+
+        boolean isStored() {
+            return stored;
+        }
+
+        boolean isExpired(long now) {
+            return now - openedAt >= windowMillis;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.devpulse.logcollector.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Compact, dictionary-encoded variant of {@link LogDocument} (app.storage.mode=COMPACT).
+ *
+ * Field names are shortened, the service name is replaced by its id in the
+ * service_dict collection, the level by its LogLevel ordinal and traceIds are
+ * stored as binary (see TraceIdCodec). Optional fields are omitted when empty.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "logs_c")
+public class CompactLogDocument {
+
+    @Id
+    private String id;
+
+    @Field("s")
+    private Integer serviceId;
+
+    @Field("l")
+    private Integer level;
+
+    @Field("t")
+    private Instant timestamp;
+
+    @Field("m")
+    private String message;
+
+    @Field("x")
+    private byte[] traceId;
+
+    @Field("c")
+    private Long count;
+
+    @Field("f")
+    private Instant firstSeen;
+
+    @Field("e")
+    private Instant lastSeen;
+
+    @Field("xs")
+    private List<byte[]> sampleTraceIds;
+
+    @Field("ti")
+    private String templateId;
+
+    @Field("tv")
+    private Integer templateVersion;
+
+    @Field("tp")
+    private List<String> templateParams;
+}
@@ -5,6 +5,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -21,4 +22,21 @@ public class LogDocument {
     private String level;
     private Instant timestamp;
     private String traceId;
-}
\ No newline at end of file
+
+    /** Number of identical logs collapsed into this document (null for legacy documents = 1) */
+    private Long count;
+
+    /** First and last occurrence of the collapsed message */
+    private Instant firstSeen;
+    private Instant lastSeen;
+
+    /** Bounded sample of traceIds of the collapsed occurrences */
+    private List<String> sampleTraceIds;
+
+    /** Template dictionary entry (log_templates) and the revision params were extracted with */
+    private String templateId;
+    private Integer templateVersion;
+
+    /** Variable parts of the message, in template wildcard order */
+    private List<String> templateParams;
+}
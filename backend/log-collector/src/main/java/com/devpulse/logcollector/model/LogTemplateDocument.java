@@ -0,0 +1,38 @@
+package com.devpulse.logcollector.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * MongoDB document for the log template dictionary.
+ * Logs reference a template by id and store only the extracted parameters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "log_templates")
+public class LogTemplateDocument {
+
+    @Id
+    private String id;
+
+    private String serviceName;
+
+    /** Current template text, variable positions shown as <*> */
+    private String template;
+
+    /** Current template tokens (words and single delimiter characters) */
+    private List<String> tokens;
+
+    /** Every template revision; logs store the revision their params were extracted with */
+    private List<List<String>> versions;
+
+    private Long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+}
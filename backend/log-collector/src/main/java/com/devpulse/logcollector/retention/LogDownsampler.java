@@ -0,0 +1,94 @@
+package com.devpulse.logcollector.retention;
+
+import com.devpulse.logcollector.config.RetentionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Rolls raw time-series logs up into per-minute counts per service and level
+ * ("log_counts_1m") so long-range charts keep working after raw logs expire.
+ *
+ * Each run aggregates the closed minutes since the last run (at most one day at a
+ * time while catching up) and $merges them by (service, level, minute) key, so
+ * re-running a window simply replaces its counts. The watermark is recovered from
+ * the newest stored count after a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class LogDownsampler {
+
+    private static final Duration MAX_SPAN = Duration.ofDays(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final TimeSeriesProvisioner provisioner;
+    private final RetentionProperties props;
+
+    /** Start of the first minute not rolled up yet */
+    private Instant watermark;
+
+    @Scheduled(fixedDelayString = "${app.retention.downsample.interval-ms:60000}")
+    public synchronized void downsample() {
+        if (!props.getDownsample().isEnabled()) {
+            return;
+        }
+        try {
+            provisioner.ensure();
+            Instant upTo = Instant.now().minus(props.getDownsample().getLag()).truncatedTo(ChronoUnit.MINUTES);
+            Instant from = watermark != null ? watermark : recoverWatermark(upTo);
+            if (!from.isBefore(upTo)) {
+                return;
+            }
+            Instant to = from.plus(MAX_SPAN).isBefore(upTo) ? from.plus(MAX_SPAN) : upTo;
+
+            mongoTemplate.getCollection(TimeSeriesProvisioner.LOGS).aggregate(pipeline(from, to))
+                    .allowDiskUse(true)
+                    .toCollection();
+            watermark = to;
+            log.debug("Downsampled logs in [{}, {})", from, to);
+        } catch (Exception ex) {
+            log.warn("Failed to downsample logs: {}", ex.getMessage());
+        }
+    }
+
+    private Instant recoverWatermark(Instant upTo) {
+        Document newest = mongoTemplate.getCollection(TimeSeriesProvisioner.COUNTS).find()
+                .sort(new Document("minute", -1)).limit(1).first();
+        if (newest != null) {
+            return newest.getDate("minute").toInstant().plus(1, ChronoUnit.MINUTES);
+        }
+        Document oldest = mongoTemplate.getCollection(TimeSeriesProvisioner.LOGS).find()
+                .sort(new Document("timestamp", 1)).limit(1).first();
+        return oldest != null ? oldest.getDate("timestamp").toInstant().truncatedTo(ChronoUnit.MINUTES) : upTo;
+    }
+
+    static List<Document> pipeline(Instant from, Instant to) {
+        Document minute = new Document("$dateTrunc", new Document("date", "$timestamp").append("unit", "minute"));
+        return List.of(
+                new Document("$match", new Document("timestamp",
+                        new Document("$gte", Date.from(from)).append("$lt", Date.from(to)))),
+                new Document("$group", new Document("_id", new Document("serviceName", "$meta.serviceName")
+                        .append("level", "$meta.level")
+                        .append("minute", minute))
+                        .append("count", new Document("$sum", new Document("$ifNull", List.of("$count", 1))))),
+                new Document("$set", new Document("serviceName", "$_id.serviceName")
+                        .append("level", "$_id.level")
+                        .append("minute", "$_id.minute")),
+                new Document("$merge", new Document("into", TimeSeriesProvisioner.COUNTS)
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+    }
+}
@@ -0,0 +1,162 @@
+package com.devpulse.logcollector.retention;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.logcollector.config.RetentionProperties;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the time-series log collection and keeps its retention in line with
+ * app.retention (app.storage.mode=TIMESERIES).
+ *
+ * A time-series collection has a single expireAfterSeconds, so it is set to the
+ * longest configured TTL and every level that expires earlier gets a partial TTL
+ * index on the time field filtered by meta.level (MongoDB 6.3+). Changed TTLs are
+ * applied to existing collections and indexes via collMod.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class TimeSeriesProvisioner {
+
+    public static final String LOGS = "logs_ts";
+    public static final String COUNTS = "log_counts_1m";
+
+    private static final String TTL_INDEX_PREFIX = "ttl_";
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+
+    private final MongoTemplate mongoTemplate;
+    private final RetentionProperties props;
+
+    private volatile boolean provisioned;
+
+    /**
+     * Idempotent; cheap after the first successful call.
+     */
+    public void ensure() {
+        if (provisioned) {
+            return;
+        }
+        synchronized (this) {
+            if (provisioned) {
+                return;
+            }
+            Duration ceiling = longestTtl();
+            ensureCollection(ceiling);
+            ensureLevelTtls(ceiling);
+            ensureQueryIndexes();
+            ensureCounts();
+            provisioned = true;
+        }
+    }
+
+    /**
+     * Longest raw log TTL over all levels, or null when some level is kept forever.
+     */
+    Duration longestTtl() {
+        Duration longest = Duration.ZERO;
+        for (LogLevel level : LogLevel.values()) {
+            Duration ttl = props.ttlFor(level.name());
+            if (ttl == null) {
+                return null;
+            }
+            if (ttl.compareTo(longest) > 0) {
+                longest = ttl;
+            }
+        }
+        Duration fallback = props.ttlFor(null);
+        if (fallback == null) {
+            return null;
+        }
+        return fallback.compareTo(longest) > 0 ? fallback : longest;
+    }
+
+    private void ensureCollection(Duration ceiling) {
+        if (!mongoTemplate.collectionExists(LOGS)) {
+            CollectionOptions.TimeSeriesOptions options = CollectionOptions.TimeSeriesOptions.timeSeries("timestamp")
+                    .metaField("meta")
+                    .granularity(props.getGranularity());
+            if (ceiling != null) {
+                options = options.expireAfter(ceiling);
+            }
+            mongoTemplate.createCollection(LOGS, CollectionOptions.empty().timeSeries(options));
+            log.info("Created time-series collection {} (expireAfter={})", LOGS, ceiling);
+            return;
+        }
+        mongoTemplate.executeCommand(new Document("collMod", LOGS)
+                .append("expireAfterSeconds", ceiling != null ? (Object) ceiling.toSeconds() : "off"));
+    }
+
+    private void ensureLevelTtls(Duration ceiling) {
+        MongoCollection<Document> logs = mongoTemplate.getCollection(LOGS);
+        for (LogLevel level : LogLevel.values()) {
+            String name = TTL_INDEX_PREFIX + level.name();
+            Duration ttl = props.ttlFor(level.name());
+            if (ttl == null || Objects.equals(ttl, ceiling)) {
+                // the collection-level expiry already covers this level
+                dropIfPresent(logs, name);
+                continue;
+            }
+            try {
+                logs.createIndex(Indexes.ascending("timestamp"), new IndexOptions()
+                        .name(name)
+                        .expireAfter(ttl.toSeconds(), TimeUnit.SECONDS)
+                        .partialFilterExpression(new Document("meta.level", level.name())));
+            } catch (MongoCommandException ex) {
+                if (ex.getErrorCode() != INDEX_OPTIONS_CONFLICT) {
+                    throw ex;
+                }
+                mongoTemplate.executeCommand(new Document("collMod", LOGS)
+                        .append("index", new Document("name", name).append("expireAfterSeconds", ttl.toSeconds())));
+            }
+        }
+    }
+
+    private void ensureQueryIndexes() {
+        MongoCollection<Document> logs = mongoTemplate.getCollection(LOGS);
+        logs.createIndex(Indexes.compoundIndex(Indexes.ascending("meta.serviceName"), Indexes.descending("timestamp")));
+        logs.createIndex(Indexes.compoundIndex(Indexes.ascending("meta.level"), Indexes.descending("timestamp")));
+        logs.createIndex(Indexes.compoundIndex(Indexes.ascending("templateId"), Indexes.descending("timestamp")));
+    }
+
+    private void ensureCounts() {
+        Duration ttl = props.getDownsample().getTtl();
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            dropIfPresent(mongoTemplate.getCollection(COUNTS), "ttl_minute");
+            return;
+        }
+        try {
+            mongoTemplate.getCollection(COUNTS).createIndex(Indexes.ascending("minute"),
+                    new IndexOptions().name("ttl_minute").expireAfter(ttl.toSeconds(), TimeUnit.SECONDS));
+        } catch (MongoCommandException ex) {
+            if (ex.getErrorCode() != INDEX_OPTIONS_CONFLICT) {
+                throw ex;
+            }
+            mongoTemplate.executeCommand(new Document("collMod", COUNTS)
+                    .append("index", new Document("name", "ttl_minute").append("expireAfterSeconds", ttl.toSeconds())));
+        }
+    }
+
+    private static void dropIfPresent(MongoCollection<Document> collection, String index) {
+        boolean present = collection.listIndexes().into(new ArrayList<>()).stream()
+                .anyMatch(i -> index.equals(i.getString("name")));
+        if (present) {
+            collection.dropIndex(index);
+        }
+    }
+}
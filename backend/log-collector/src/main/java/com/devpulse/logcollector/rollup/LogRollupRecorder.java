@@ -0,0 +1,156 @@
+package com.devpulse.logcollector.rollup;
+
+import com.devpulse.common.store.RollupResolution;
+import com.devpulse.logcollector.config.RollupProperties;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains log counts per service, level and minute/hour/day bucket at ingest time,
+ * so histograms never have to count raw logs.
+ *
+ * Every log increments an in-memory counter for its bucket in each resolution; a
+ * scheduled flush writes the coalesced counters as one unordered bulk of $inc upserts
+ * per collection ({_id: "bucketMillis|service|level", serviceName, level, bucket, count}).
+ * $inc commutes, so several collector instances need no coordination; a failed flush
+ * puts its counters back for the next run.
+ *
+ * Rollups expire through a TTL index on bucket ("ttl_bucket", or a plain "bucket" index
+ * without a TTL). A changed TTL is applied to the existing index via collMod and a
+ * switch between the two replaces the index; index failures never hold back the counts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogRollupRecorder {
+
+    private record Key(RollupResolution resolution, long bucket, String serviceName, String level) {
+
+        String id() {
+            return bucket + "|" + serviceName + "|" + level;
+        }
+    }
+
+    private static final String TTL_INDEX = "ttl_bucket";
+    private static final String PLAIN_INDEX = "bucket";
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+
+    private final MongoTemplate mongoTemplate;
+    private final RollupProperties props;
+
+    private Map<Key, Long> pending = new HashMap<>();
+
+    private volatile boolean indexed;
+
+    public void record(String serviceName, String level, Instant timestamp) {
+        if (!props.isEnabled() || timestamp == null) {
+            return;
+        }
+        synchronized (this) {
+            for (RollupResolution resolution : RollupResolution.values()) {
+                Key key = new Key(resolution, resolution.bucketStart(timestamp).toEpochMilli(), serviceName, level);
+                pending.merge(key, 1L, Long::sum);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollup.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Key, Long> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            ensureIndexes();
+        } catch (Exception ex) {
+            log.warn("Failed to ensure log rollup indexes, retrying next run: {}", ex.getMessage());
+        }
+        try {
+            Map<RollupResolution, BulkOperations> bulks = new HashMap<>();
+            batch.forEach((key, count) -> bulks
+                    .computeIfAbsent(key.resolution(), r -> mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, r.collection()))
+                    .upsert(Query.query(Criteria.where("_id").is(key.id())), new Update()
+                            .setOnInsert("serviceName", key.serviceName())
+                            .setOnInsert("level", key.level())
+                            .setOnInsert("bucket", new Date(key.bucket()))
+                            .inc("count", count)));
+            // a partially applied bulk is retried whole, so counts are at-least-once on failure
+            for (BulkOperations bulk : bulks.values()) {
+                bulk.execute();
+            }
+            batch.clear();
+        } catch (Exception ex) {
+            log.warn("Failed to flush log rollups, retrying next run: {}", ex.getMessage());
+        } finally {
+            if (!batch.isEmpty()) {
+                synchronized (this) {
+                    batch.forEach((key, count) -> pending.merge(key, count, Long::sum));
+                }
+            }
+        }
+    }
+
+    private void ensureIndexes() {
+        if (indexed) {
+            return;
+        }
+        for (RollupResolution resolution : RollupResolution.values()) {
+            MongoCollection<Document> counts = mongoTemplate.getCollection(resolution.collection());
+            counts.createIndex(Indexes.compoundIndex(Indexes.ascending("serviceName"), Indexes.ascending("bucket")));
+            counts.createIndex(Indexes.compoundIndex(Indexes.ascending("level"), Indexes.ascending("bucket")));
+            ensureBucketIndex(resolution.collection(), counts, props.ttlFor(resolution));
+        }
+        indexed = true;
+    }
+
+    private void ensureBucketIndex(String collection, MongoCollection<Document> counts, Duration ttl) {
+        if (ttl == null) {
+            dropIfPresent(counts, TTL_INDEX);
+            counts.createIndex(Indexes.ascending("bucket"), new IndexOptions().name(PLAIN_INDEX));
+            return;
+        }
+        dropIfPresent(counts, PLAIN_INDEX);
+        try {
+            counts.createIndex(Indexes.ascending("bucket"),
+                    new IndexOptions().name(TTL_INDEX).expireAfter(ttl.toSeconds(), TimeUnit.SECONDS));
+        } catch (MongoCommandException ex) {
+            if (ex.getErrorCode() != INDEX_OPTIONS_CONFLICT) {
+                throw ex;
+            }
+            mongoTemplate.executeCommand(new Document("collMod", collection)
+                    .append("index", new Document("name", TTL_INDEX).append("expireAfterSeconds", ttl.toSeconds())));
+        }
+    }
+
+    private static void dropIfPresent(MongoCollection<Document> collection, String index) {
+        boolean present = collection.listIndexes().into(new ArrayList<>()).stream()
+                .anyMatch(i -> index.equals(i.getString("name")));
+        if (present) {
+            collection.dropIndex(index);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.devpulse.logcollector.service;
 
 import com.devpulse.logcollector.client.DashboardClient;
+import com.devpulse.logcollector.config.DashboardPushProperties;
 import com.devpulse.common.dto.LogMessageDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,8 +13,12 @@ import org.springframework.stereotype.Service;
 public class DashboardPushService {
 
     private final DashboardClient dashboardClient;
+    private final DashboardPushProperties props;
 
     public void pushLog(LogMessageDto logDto) {
+        if (!props.isEnabled()) {
+            return;
+        }
         try {
             dashboardClient.pushLog(logDto);
             log.debug("Pushed log to dashboard: {}", logDto.getTraceId());
@@ -2,16 +2,26 @@ package com.devpulse.logcollector.service;
 
 import com.devpulse.common.dto.LogMessageDto;
 import com.devpulse.logcollector.alert.AlertRuleEngine;
+import com.devpulse.logcollector.dedup.LogDeduplicator;
 import com.devpulse.logcollector.model.LogDocument;
-import com.devpulse.logcollector.repository.LogRepository;
+import com.devpulse.logcollector.rollup.LogRollupRecorder;
+import com.devpulse.logcollector.store.LogWriter;
+import com.devpulse.logcollector.template.LogTemplateService;
+import com.devpulse.logcollector.trace.TraceBloomIndexer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
  * LogPersistService
  *
- * Responsible for saving valid log entries into MongoDB.
+ * Responsible for saving valid log entries into MongoDB (layout chosen by app.storage.mode).
  * Converts the DTO received from Kafka into a MongoDB document.
+ * Repeats of an identical log within the dedup window are collapsed by
+ * LogDeduplicator instead of being stored as separate documents, and every
+ * message is assigned a template by LogTemplateService. TraceIds are recorded in the
+ * per-bucket Bloom filters of TraceBloomIndexer before collapsing, so traces that only
+ * survive as sampled traceIds can still be found; every log is likewise counted into the
+ * histogram rollups of LogRollupRecorder before collapsing.
  */
 
 @Service
@@ -19,8 +29,12 @@ import org.springframework.stereotype.Service;
 public class LogPersistService {
 
     // Doesn't require @Autowired because constructor injection happening using Lombok's @RequiredArgsConstructor
-    private final LogRepository logRepository;
+    private final LogWriter logWriter;
     private final AlertRuleEngine alertRuleEngine;
+    private final LogDeduplicator deduplicator;
+    private final LogTemplateService templateService;
+    private final TraceBloomIndexer traceIndexer;
+    private final LogRollupRecorder rollupRecorder;
 
     /**
      * Saves a valid log message to MongoDB.
@@ -35,7 +49,18 @@ public class LogPersistService {
                 .timestamp(dto.getTimestamp())
                 .traceId(dto.getTraceId())
                 .build();
+        templateService.apply(doc);
         alertRuleEngine.onLog(dto);
-        logRepository.save(doc);
+        traceIndexer.record(doc.getTraceId(), doc.getTimestamp());
+        rollupRecorder.record(doc.getServiceName(), doc.getLevel(), doc.getTimestamp());
+        deduplicator.process(doc, this::persist);
+    }
+
+    private void persist(LogDocument doc) {
+        if (templateService.canDropMessage(doc)) {
+            // message is rendered back from template + params on read
+            doc.setMessage(null);
+        }
+        logWriter.save(doc);
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.logcollector.config.DedupProperties;
+import com.devpulse.logcollector.config.StorageProperties;
+import com.devpulse.logcollector.model.LogBucketDocument;
+import com.devpulse.logcollector.model.LogDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Bucket storage (app.storage.mode=BUCKET): appends logs into per-service, per-minute
+ * documents in "log_buckets" instead of writing one document per log.
+ *
+ * Each append is a single upsert that pushes into the first non-full bucket of the
+ * (service, minute) pair; when all are full the upsert creates an overflow bucket.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "bucket")
+public class BucketLogWriter implements LogWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties storageProperties;
+    private final DedupProperties dedupProperties;
+
+    private volatile boolean indexesEnsured;
+
+    @Override
+    public void save(LogDocument doc) {
+        ensureIndexes();
+        if (doc.getId() == null) {
+            doc.setId(new ObjectId().toHexString());
+        }
+        Instant ts = doc.getTimestamp() != null ? doc.getTimestamp() : Instant.now();
+        Instant minute = ts.truncatedTo(ChronoUnit.MINUTES);
+
+        Query bucket = Query.query(Criteria.where("serviceName").is(doc.getServiceName())
+                .and("minute").is(minute)
+                .and("size").lt(storageProperties.getBucketMaxSize()));
+        Update append = new Update()
+                .push("logs", toEntry(doc))
+                .inc("size", 1)
+                .min("minTimestamp", ts)
+                .max("maxTimestamp", ts);
+        mongoTemplate.upsert(bucket, append, LogBucketDocument.class);
+    }
+
+    @Override
+    public void applyRepeats(List<RepeatUpdate> updates) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LogBucketDocument.class);
+        for (RepeatUpdate u : updates) {
+            Update update = new Update()
+                    .inc("logs.$.count", u.count())
+                    .max("logs.$.lastSeen", u.lastSeen());
+            if (!u.traceIds().isEmpty()) {
+                update.push("logs.$.sampleTraceIds").slice(dedupProperties.getMaxTraceIds()).each(u.traceIds().toArray());
+            }
+            bulk.updateOne(Query.query(Criteria.where("logs.id").is(u.id())), update);
+        }
+        bulk.execute();
+    }
+
+    private static LogBucketDocument.Entry toEntry(LogDocument doc) {
+        return LogBucketDocument.Entry.builder()
+                .id(doc.getId())
+                .level(doc.getLevel())
+                .timestamp(doc.getTimestamp())
+                .message(doc.getMessage())
+                .traceId(doc.getTraceId())
+                .count(doc.getCount())
+                .firstSeen(doc.getFirstSeen())
+                .lastSeen(doc.getLastSeen())
+                .sampleTraceIds(doc.getSampleTraceIds())
+                .templateId(doc.getTemplateId())
+                .templateVersion(doc.getTemplateVersion())
+                .templateParams(doc.getTemplateParams())
+                .build();
+    }
+
+    private void ensureIndexes() {
+        if (indexesEnsured) {
+            return;
+        }
+        IndexOperations ops = mongoTemplate.indexOps(LogBucketDocument.class);
+        // append target lookup, and service + time-range reads
+        ops.createIndex(new Index().on("serviceName", Sort.Direction.ASC).on("minute", Sort.Direction.DESC).on("size", Sort.Direction.ASC));
+        // global time-ordered reads
+        ops.createIndex(new Index().on("minute", Sort.Direction.DESC));
+        // dedup repeat updates address a log inside its bucket
+        ops.createIndex(new Index().on("logs.id", Sort.Direction.ASC));
+        indexesEnsured = true;
+    }
+}
@@ -0,0 +1,90 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.util.TraceIdCodec;
+import com.devpulse.logcollector.config.DedupProperties;
+import com.devpulse.logcollector.model.CompactLogDocument;
+import com.devpulse.logcollector.model.LogDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Compact storage (app.storage.mode=COMPACT): dictionary-encoded documents in "logs_c".
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "compact")
+public class CompactLogWriter implements LogWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceDictionary serviceDictionary;
+    private final DedupProperties dedupProperties;
+
+    @Override
+    public void save(LogDocument doc) {
+        mongoTemplate.insert(toCompact(doc, serviceDictionary));
+    }
+
+    @Override
+    public void applyRepeats(List<RepeatUpdate> updates) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompactLogDocument.class);
+        for (RepeatUpdate u : updates) {
+            Update update = new Update()
+                    .inc("count", u.count())
+                    .max("lastSeen", u.lastSeen());
+            if (!u.traceIds().isEmpty()) {
+                Object[] encoded = u.traceIds().stream().map(TraceIdCodec::encode).toArray();
+                update.push("sampleTraceIds").slice(dedupProperties.getMaxTraceIds()).each(encoded);
+            }
+            bulk.updateOne(Query.query(Criteria.where("_id").is(u.id())), update);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Encodes a readable log into the compact schema, keeping its id.
+     */
+    public static CompactLogDocument toCompact(LogDocument doc, ServiceDictionary dictionary) {
+        return CompactLogDocument.builder()
+                .id(doc.getId())
+                .serviceId(dictionary.idOf(doc.getServiceName()))
+                .level(levelOrdinal(doc.getLevel()))
+                .timestamp(doc.getTimestamp())
+                .message(doc.getMessage())
+                .traceId(TraceIdCodec.encode(doc.getTraceId()))
+                .count(doc.getCount())
+                // first/last seen default to the timestamp on read, so only store them when they differ
+                .firstSeen(differs(doc.getFirstSeen(), doc.getTimestamp()))
+                .lastSeen(differs(doc.getLastSeen(), doc.getTimestamp()))
+                .sampleTraceIds(doc.getSampleTraceIds() == null || doc.getSampleTraceIds().isEmpty() ? null
+                        : doc.getSampleTraceIds().stream().map(TraceIdCodec::encode).toList())
+                .templateId(doc.getTemplateId())
+                .templateVersion(doc.getTemplateVersion())
+                .templateParams(doc.getTemplateParams())
+                .build();
+    }
+
+    private static Integer levelOrdinal(String level) {
+        if (level == null) {
+            return null;
+        }
+        try {
+            return LogLevel.valueOf(level.toUpperCase()).ordinal();
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static Instant differs(Instant value, Instant timestamp) {
+        return value != null && !value.equals(timestamp) ? value : null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.logcollector.config.StorageProperties;
+import com.devpulse.logcollector.model.CompactLogDocument;
+import com.devpulse.logcollector.model.LogDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CompactMigrationService
+ *
+ * Copies existing readable logs ("logs") into the compact schema ("logs_c").
+ * Runs in the background in _id order, batch by batch; documents keep their ids, so
+ * the migration can be re-run safely (already copied logs are skipped as duplicates).
+ * The source collection is left untouched and can be dropped once verified.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompactMigrationService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceDictionary serviceDictionary;
+    private final StorageProperties props;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "compact-migration");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong migrated = new AtomicLong();
+    private volatile String lastId;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    /**
+     * Starts the migration unless one is already running.
+     *
+     * @return false when a migration is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        migrated.set(0);
+        lastId = null;
+        error = null;
+        startedAt = Instant.now();
+        finishedAt = null;
+        executor.submit(this::run);
+        return true;
+    }
+
+    public MigrationStatus status() {
+        return new MigrationStatus(running.get(), migrated.get(), lastId, startedAt, finishedAt, error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            int batchSize = Math.max(1, props.getMigrationBatchSize());
+            while (!Thread.currentThread().isInterrupted()) {
+                Query page = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+                if (lastId != null) {
+                    page.addCriteria(Criteria.where("_id").gt(new ObjectId(lastId)));
+                }
+                List<LogDocument> batch = mongoTemplate.find(page, LogDocument.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompactLogDocument.class);
+                batch.forEach(doc -> bulk.insert(CompactLogWriter.toCompact(doc, serviceDictionary)));
+                try {
+                    bulk.execute();
+                } catch (BulkOperationException ex) {
+                    boolean onlyDuplicates = ex.getErrors().stream().allMatch(e -> e.getCode() == DUPLICATE_KEY);
+                    if (!onlyDuplicates) {
+                        throw ex;
+                    }
+                }
+
+                migrated.addAndGet(batch.size());
+                lastId = batch.get(batch.size() - 1).getId();
+                log.info("Compact migration progress: {} logs (last id {})", migrated.get(), lastId);
+            }
+        } catch (Exception ex) {
+            error = ex.getMessage();
+            log.error("Compact migration failed after {} logs", migrated.get(), ex);
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+    }
+
+    public record MigrationStatus(boolean running, long migrated, String lastId,
+                                  Instant startedAt, Instant finishedAt, String error) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.logcollector.config.DedupProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import com.devpulse.logcollector.repository.LogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default storage: one readable document per log in the "logs" collection.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "document", matchIfMissing = true)
+public class DocumentLogWriter implements LogWriter {
+
+    private final LogRepository logRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DedupProperties dedupProperties;
+
+    @Override
+    public void save(LogDocument doc) {
+        logRepository.save(doc);
+    }
+
+    @Override
+    public void applyRepeats(List<RepeatUpdate> updates) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LogDocument.class);
+        for (RepeatUpdate u : updates) {
+            Update update = new Update()
+                    .inc("count", u.count())
+                    .max("lastSeen", u.lastSeen());
+            if (!u.traceIds().isEmpty()) {
+                update.push("sampleTraceIds").slice(dedupProperties.getMaxTraceIds()).each(u.traceIds().toArray());
+            }
+            bulk.updateOne(Query.query(Criteria.where("_id").is(u.id())), update);
+        }
+        bulk.execute();
+    }
+}
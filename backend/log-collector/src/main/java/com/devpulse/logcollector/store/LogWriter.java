@@ -0,0 +1,22 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.logcollector.model.LogDocument;
+
+import java.util.List;
+
+/**
+ * Write side of log storage. The active implementation is selected by app.storage.mode;
+ * callers always work with the readable {@link LogDocument} model.
+ */
+public interface LogWriter {
+
+    /**
+     * Persists a new log.
+     */
+    void save(LogDocument doc);
+
+    /**
+     * Applies repeats collapsed by the dedup stage to already persisted logs.
+     */
+    void applyRepeats(List<RepeatUpdate> updates);
+}
@@ -0,0 +1,16 @@
+package com.devpulse.logcollector.store;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repeats of one collapsed log to add to its persisted counters.
+ *
+ * @param id        id of the persisted log
+ * @param firstSeen timestamp of the persisted log (locates it in time-partitioned layouts)
+ * @param count     number of additional occurrences
+ * @param lastSeen  latest occurrence timestamp
+ * @param traceIds  traceIds to append to the bounded sample
+ */
+public record RepeatUpdate(String id, Instant firstSeen, long count, Instant lastSeen, List<String> traceIds) {
+}
@@ -0,0 +1,98 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.LogRepeat;
+import com.devpulse.common.store.segment.SegmentLogStore;
+import com.devpulse.logcollector.config.StorageProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Segment storage (app.storage.mode=SEGMENT): appends logs to local append-only
+ * segment files through the shared {@link SegmentLogStore} engine instead of MongoDB.
+ *
+ * Appends are buffered; a periodic flush makes them visible to log-dashboard, which
+ * reads the same directory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "segment")
+public class SegmentLogWriter implements LogWriter {
+
+    private final StorageProperties props;
+
+    private SegmentLogStore store;
+
+    @Override
+    public void save(LogDocument doc) {
+        if (doc.getId() == null) {
+            doc.setId(new ObjectId().toHexString());
+        }
+        store().append(toRecord(doc));
+    }
+
+    @Override
+    public void applyRepeats(List<RepeatUpdate> updates) {
+        store().appendRepeats(updates.stream()
+                .map(u -> new LogRepeat(u.id(), u.firstSeen(), u.count(), u.lastSeen(), u.traceIds()))
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.segment.flush-interval-ms:200}")
+    public void flush() {
+        SegmentLogStore current = store;
+        if (current != null) {
+            try {
+                current.flush();
+            } catch (Exception ex) {
+                log.warn("Failed to flush log segments: {}", ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private synchronized SegmentLogStore store() {
+        if (store == null) {
+            StorageProperties.Segment segment = props.getSegment();
+            Path directory = Path.of(segment.getDirectory());
+            store = SegmentLogStore.open(directory, new SegmentLogStore.Options(
+                    segment.getSegmentSize().toBytes(), segment.getBlockRecords(), segment.getRetention()));
+            log.info("Writing logs to segment files in {}", directory.toAbsolutePath());
+        }
+        return store;
+    }
+
+    private static LogRecord toRecord(LogDocument doc) {
+        return LogRecord.builder()
+                .id(doc.getId())
+                .serviceName(doc.getServiceName())
+                .level(doc.getLevel())
+                .message(doc.getMessage())
+                .timestamp(doc.getTimestamp())
+                .traceId(doc.getTraceId())
+                .count(doc.getCount())
+                .firstSeen(doc.getFirstSeen())
+                .lastSeen(doc.getLastSeen())
+                .sampleTraceIds(doc.getSampleTraceIds())
+                .templateId(doc.getTemplateId())
+                .templateVersion(doc.getTemplateVersion())
+                .templateParams(doc.getTemplateParams())
+                .build();
+    }
+}
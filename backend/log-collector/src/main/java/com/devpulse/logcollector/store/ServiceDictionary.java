@@ -0,0 +1,81 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.logcollector.model.ServiceDictionaryDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ServiceDictionary
+ *
+ * Maps service names to small integer ids (service_dict collection) for compact logs.
+ * Ids are cached in memory; a new service gets max(id) + 1, and concurrent assignment
+ * by several collectors is resolved by the unique index on name (loser re-reads).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceDictionary {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private volatile boolean indexEnsured;
+
+    public Integer idOf(String serviceName) {
+        if (serviceName == null) {
+            return null;
+        }
+        Integer cached = idsByName.get(serviceName);
+        return cached != null ? cached : assign(serviceName);
+    }
+
+    private synchronized Integer assign(String serviceName) {
+        Integer cached = idsByName.get(serviceName);
+        if (cached != null) {
+            return cached;
+        }
+        ensureIndex();
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            ServiceDictionaryDocument existing = mongoTemplate.findOne(
+                    Query.query(Criteria.where("name").is(serviceName)), ServiceDictionaryDocument.class);
+            if (existing != null) {
+                idsByName.put(serviceName, existing.getId());
+                return existing.getId();
+            }
+
+            ServiceDictionaryDocument last = mongoTemplate.findOne(
+                    new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(1), ServiceDictionaryDocument.class);
+            int next = last == null ? 1 : last.getId() + 1;
+            try {
+                mongoTemplate.insert(new ServiceDictionaryDocument(next, serviceName));
+                idsByName.put(serviceName, next);
+                log.info("Registered service '{}' as id {}", serviceName, next);
+                return next;
+            } catch (DuplicateKeyException ex) {
+                // another collector took this id or registered the name first; re-read
+                log.debug("Service id assignment raced for '{}', retrying", serviceName);
+            }
+        }
+        throw new IllegalStateException("Could not assign a service id for " + serviceName);
+    }
+
+    private void ensureIndex() {
+        if (!indexEnsured) {
+            mongoTemplate.indexOps(ServiceDictionaryDocument.class).createIndex(new Index("name", Sort.Direction.ASC).unique());
+            indexEnsured = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.logcollector.config.DedupProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import com.devpulse.logcollector.model.TimeSeriesLogDocument;
+import com.devpulse.logcollector.retention.TimeSeriesProvisioner;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Time-series storage (app.storage.mode=TIMESERIES): writes logs as measurements into
+ * the native time-series collection "logs_ts" with per-level expiry.
+ *
+ * Collapsed repeat counters update measurements in place, which time-series collections
+ * support from MongoDB 7.0; the update filter includes the timestamp so only the
+ * internal buckets covering it are touched.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class TimeSeriesLogWriter implements LogWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final TimeSeriesProvisioner provisioner;
+    private final DedupProperties dedupProperties;
+
+    @Override
+    public void save(LogDocument doc) {
+        provisioner.ensure();
+        if (doc.getId() == null) {
+            doc.setId(new ObjectId().toHexString());
+        }
+        mongoTemplate.insert(toTimeSeries(doc));
+    }
+
+    @Override
+    public void applyRepeats(List<RepeatUpdate> updates) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSeriesLogDocument.class);
+        for (RepeatUpdate u : updates) {
+            Update update = new Update()
+                    .inc("count", u.count())
+                    .max("lastSeen", u.lastSeen());
+            if (!u.traceIds().isEmpty()) {
+                update.push("sampleTraceIds").slice(dedupProperties.getMaxTraceIds()).each(u.traceIds().toArray());
+            }
+            bulk.updateOne(Query.query(Criteria.where("timestamp").is(u.firstSeen()).and("_id").is(u.id())), update);
+        }
+        bulk.execute();
+    }
+
+    static TimeSeriesLogDocument toTimeSeries(LogDocument doc) {
+        // timeField is mandatory; the deduplicator's firstSeen is the log's own timestamp
+        Instant ts = doc.getTimestamp() != null ? doc.getTimestamp()
+                : doc.getFirstSeen() != null ? doc.getFirstSeen() : Instant.now();
+        return TimeSeriesLogDocument.builder()
+                .id(doc.getId())
+                .timestamp(ts)
+                .meta(new TimeSeriesLogDocument.Meta(doc.getServiceName(), doc.getLevel()))
+                .message(doc.getMessage())
+                .traceId(doc.getTraceId())
+                .count(doc.getCount())
+                .firstSeen(doc.getFirstSeen())
+                .lastSeen(doc.getLastSeen())
+                .sampleTraceIds(doc.getSampleTraceIds())
+                .templateId(doc.getTemplateId())
+                .templateVersion(doc.getTemplateVersion())
+                .templateParams(doc.getTemplateParams())
+                .build();
+    }
+}
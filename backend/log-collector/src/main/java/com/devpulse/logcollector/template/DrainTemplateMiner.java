@@ -0,0 +1,347 @@
+package com.devpulse.logcollector.template;
+
+import com.devpulse.common.util.LogTemplates;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * DrainTemplateMiner
+ *
+ * Online log template extraction following the Drain algorithm (fixed-depth parse tree):
+ *   service -> token count -> first N tokens -> leaf clusters
+ * A message joins the most similar cluster of its leaf when similarity reaches the
+ * threshold; positions that differ are generalized to the {@value #WILDCARD} token.
+ *
+ * Messages are tokenized into words and single delimiter characters, so concatenating
+ * a template with its parameters reproduces the original message exactly.
+ * Each generalization adds a template version, letting stored parameters be rendered
+ * against the version they were extracted with.
+ *
+ * Each service has its own subtree and lock, so services are mined concurrently. New
+ * clusters are bounded per leaf and per service: beyond that a message that matches
+ * no cluster gets no template (null) and is stored with its message only.
+ *
+ * Clusters remember how many of their versions were written to the dictionary, so the
+ * caller only drops a message once the version it was extracted with can be read back.
+ */
+public class DrainTemplateMiner {
+
+    public static final String WILDCARD = LogTemplates.WILDCARD;
+
+    private static final String DELIMITERS = " \t=,:;()[]{}\"'";
+
+    private final int prefixDepth;
+    private final double similarityThreshold;
+    private final int maxChildren;
+    private final int maxClustersPerLeaf;
+    private final int maxClustersPerService;
+    private final Supplier<String> idGenerator;
+
+    private final Map<String, ServiceTree> services = new ConcurrentHashMap<>();
+
+    public DrainTemplateMiner(int prefixDepth, double similarityThreshold, int maxChildren, int maxClustersPerLeaf,
+                              int maxClustersPerService, Supplier<String> idGenerator) {
+        this.prefixDepth = prefixDepth;
+        this.similarityThreshold = similarityThreshold;
+        this.maxChildren = maxChildren;
+        this.maxClustersPerLeaf = maxClustersPerLeaf;
+        this.maxClustersPerService = maxClustersPerService;
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Assigns the message to a template, creating or generalizing one when needed; null
+     * when it matches none and the cluster bounds are reached.
+     */
+    public Match match(String serviceName, String message, Instant seen) {
+        List<String> tokens = tokenize(message);
+        ServiceTree tree = tree(serviceName);
+        synchronized (tree) {
+            return match(tree, serviceName, tokens, seen);
+        }
+    }
+
+    private Match match(ServiceTree tree, String serviceName, List<String> tokens, Instant seen) {
+        Node leaf = descend(tree, tokens);
+
+        Cluster best = null;
+        double bestSimilarity = -1;
+        for (Cluster c : leaf.clusters) {
+            double sim = similarity(c.tokens, tokens);
+            if (sim > bestSimilarity) {
+                best = c;
+                bestSimilarity = sim;
+            }
+        }
+
+        if (best == null || bestSimilarity < similarityThreshold) {
+            if (leaf.clusters.size() >= maxClustersPerLeaf || tree.clustersById.size() >= maxClustersPerService) {
+                return null;
+            }
+            best = new Cluster(idGenerator.get(), serviceName, new ArrayList<>(tokens));
+            leaf.clusters.add(best);
+            tree.clustersById.put(best.id, best);
+        } else {
+            best.generalize(tokens);
+        }
+
+        best.count++;
+        best.dirty = true;
+        if (seen != null) {
+            if (best.firstSeen == null || seen.isBefore(best.firstSeen)) best.firstSeen = seen;
+            if (best.lastSeen == null || seen.isAfter(best.lastSeen)) best.lastSeen = seen;
+        }
+        return new Match(best.id, best.versions.size() - 1, best.extractParams(tokens));
+    }
+
+    /**
+     * Re-inserts a template known from a previous run so its id is reused. Restored
+     * templates are kept even beyond the cluster bounds.
+     */
+    public void restore(String id, String serviceName, List<String> templateTokens, List<List<String>> versions) {
+        if (templateTokens == null || templateTokens.isEmpty()) {
+            return;
+        }
+        ServiceTree tree = tree(serviceName);
+        synchronized (tree) {
+            if (tree.clustersById.containsKey(id)) {
+                return;
+            }
+            Cluster c = new Cluster(id, serviceName, new ArrayList<>(templateTokens));
+            if (versions != null && !versions.isEmpty()) {
+                c.versions.clear();
+                versions.forEach(v -> c.versions.add(List.copyOf(v)));
+            }
+            c.storedVersions = c.versions.size();
+            descend(tree, templateTokens).clusters.add(c);
+            tree.clustersById.put(id, c);
+        }
+    }
+
+    /**
+     * Snapshot of all clusters; their mutable state may only be read through {@link #forEachDirty}.
+     */
+    public List<Cluster> clusters() {
+        List<Cluster> all = new ArrayList<>();
+        for (ServiceTree tree : services.values()) {
+            synchronized (tree) {
+                all.addAll(tree.clustersById.values());
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Visits the clusters changed or hit since they were last drained, holding the lock
+     * of their service subtree.
+     */
+    public void forEachDirty(Consumer<Cluster> action) {
+        for (ServiceTree tree : services.values()) {
+            synchronized (tree) {
+                for (Cluster c : tree.clustersById.values()) {
+                    if (c.dirty) {
+                        action.accept(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the given version of a template has been written to the dictionary.
+     */
+    public boolean isStored(String serviceName, String templateId, int version) {
+        ServiceTree tree = services.get(String.valueOf(serviceName));
+        if (tree == null) {
+            return false;
+        }
+        synchronized (tree) {
+            Cluster c = tree.clustersById.get(templateId);
+            return c != null && version < c.storedVersions;
+        }
+    }
+
+    /**
+     * Records that the first versions of a drained cluster were written to the dictionary.
+     */
+    public void markStored(Cluster cluster, int versions) {
+        synchronized (tree(cluster.serviceName)) {
+            cluster.storedVersions = Math.max(cluster.storedVersions, versions);
+        }
+    }
+
+    /**
+     * Puts back a drained count whose write failed and marks the cluster dirty again, so
+     * the next drain retries it together with its versions.
+     */
+    public void restoreCount(Cluster cluster, long count) {
+        synchronized (tree(cluster.serviceName)) {
+            cluster.count += count;
+            cluster.dirty = true;
+        }
+    }
+
+    /**
+     * Splits a message into word tokens and single-character delimiter tokens.
+     */
+    public static List<String> tokenize(String message) {
+        List<String> tokens = new ArrayList<>();
+        if (message == null) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < message.length(); i++) {
+            char ch = message.charAt(i);
+            if (DELIMITERS.indexOf(ch) >= 0) {
+                if (!word.isEmpty()) {
+                    tokens.add(word.toString());
+                    word.setLength(0);
+                }
+                tokens.add(String.valueOf(ch));
+            } else {
+                word.append(ch);
+            }
+        }
+        if (!word.isEmpty()) {
+            tokens.add(word.toString());
+        }
+        return tokens;
+    }
+
+    private ServiceTree tree(String serviceName) {
+        return services.computeIfAbsent(String.valueOf(serviceName), k -> new ServiceTree());
+    }
+
+    private Node descend(ServiceTree tree, List<String> tokens) {
+        Node node = tree.roots.computeIfAbsent(tokens.size(), k -> new Node());
+
+        int depth = 0;
+        for (String token : tokens) {
+            if (depth >= prefixDepth) break;
+            if (isWhitespace(token)) continue;
+
+            String key = hasDigit(token) ? WILDCARD : token;
+            Node child = node.children.get(key);
+            if (child == null) {
+                key = node.children.size() < maxChildren ? key : WILDCARD;
+                child = node.children.computeIfAbsent(key, k -> new Node());
+            }
+            node = child;
+            depth++;
+        }
+        return node;
+    }
+
+    private static double similarity(List<String> template, List<String> tokens) {
+        int considered = 0;
+        int equal = 0;
+        for (int i = 0; i < template.size(); i++) {
+            String t = tokens.get(i);
+            if (isWhitespace(t)) continue;
+            considered++;
+            if (template.get(i).equals(t)) equal++;
+        }
+        return considered == 0 ? 1.0 : (double) equal / considered;
+    }
+
+    private static boolean hasDigit(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(String token) {
+        return token.length() == 1 && Character.isWhitespace(token.charAt(0));
+    }
+
+    /**
+     * The parse tree and clusters of one service; guarded by its own monitor.
+     */
+    private static final class ServiceTree {
+        // token count -> prefix tree
+        private final Map<Integer, Node> roots = new HashMap<>();
+        private final Map<String, Cluster> clustersById = new HashMap<>();
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Cluster> clusters = new ArrayList<>();
+    }
+
+    /**
+     * A template cluster; mutable state is only touched under its service subtree's lock.
+     */
+    public static final class Cluster {
+        private final String id;
+        private final String serviceName;
+        private final List<String> tokens;
+        private final List<List<String>> versions = new ArrayList<>();
+        private long count;
+        private int storedVersions;
+        private Instant firstSeen;
+        private Instant lastSeen;
+        private boolean dirty;
+
+        private Cluster(String id, String serviceName, List<String> tokens) {
+            this.id = id;
+            this.serviceName = serviceName;
+            this.tokens = tokens;
+            this.versions.add(List.copyOf(tokens));
+        }
+
+        private void generalize(List<String> other) {
+            boolean changed = false;
+            for (int i = 0; i < tokens.size(); i++) {
+                if (!WILDCARD.equals(tokens.get(i)) && !tokens.get(i).equals(other.get(i))) {
+                    tokens.set(i, WILDCARD);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                versions.add(List.copyOf(tokens));
+            }
+        }
+
+        private List<String> extractParams(List<String> message) {
+            List<String> params = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                if (WILDCARD.equals(tokens.get(i))) params.add(message.get(i));
+            }
+            return params;
+        }
+
+        public String getId() { return id; }
+        public String getServiceName() { return serviceName; }
+        public List<String> getTokens() { return List.copyOf(tokens); }
+        public List<List<String>> getVersions() { return List.copyOf(versions); }
+        public String getTemplate() { return String.join("", tokens); }
+        public Instant getFirstSeen() { return firstSeen; }
+        public Instant getLastSeen() { return lastSeen; }
+
+        /**
+         * Returns occurrences counted since the last drain and clears the dirty flag.
+         */
+        public long drainCount() {
+            long c = count;
+            count = 0;
+            dirty = false;
+            return c;
+        }
+
+        public boolean isDirty() { return dirty; }
+    }
+
+    /**
+     * Result of matching one message: template id, version used for extraction and parameters.
+     */
+    public record Match(String templateId, int templateVersion, List<String> params) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.devpulse.logcollector.template;
+
+import com.devpulse.logcollector.config.TemplateProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import com.devpulse.logcollector.model.LogTemplateDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LogTemplateService
+ *
+ * Runs every log through the Drain template miner and maintains the template
+ * dictionary (log_templates collection).
+ *
+ * - apply(...) sets templateId, templateVersion and templateParams on the document
+ * - the dictionary is restored lazily on first use so template ids survive restarts;
+ *   until a restore succeeds logs get no template, and the flush retries it
+ * - new/changed templates and occurrence counts are upserted periodically; a failed
+ *   upsert puts the counts back (so they are at-least-once) and keeps the templates
+ *   dirty for the next flush
+ * - a message is only dropped once the template version it was extracted with is
+ *   in the dictionary, so every stored log can be rendered back
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogTemplateService {
+
+    private final TemplateProperties props;
+    private final MongoTemplate mongoTemplate;
+
+    private volatile DrainTemplateMiner miner;
+
+    // set when restoring the dictionary failed; the next flush retries it
+    private volatile boolean restoreFailed;
+
+    /**
+     * Assigns a template to the document. When message storage is disabled the message
+     * is kept on the document here and only dropped right before it is written.
+     * Concurrent calls only contend within one service (see DrainTemplateMiner).
+     */
+    public void apply(LogDocument doc) {
+        if (!props.isEnabled() || doc.getMessage() == null) {
+            return;
+        }
+        DrainTemplateMiner current = miner();
+        if (current == null) {
+            return;
+        }
+        DrainTemplateMiner.Match match = current.match(doc.getServiceName(), doc.getMessage(), doc.getTimestamp());
+        if (match == null) {
+            return;
+        }
+        doc.setTemplateId(match.templateId());
+        doc.setTemplateVersion(match.templateVersion());
+        doc.setTemplateParams(match.params());
+    }
+
+    /**
+     * Whether persisted documents may omit the message: it can be rendered from a template
+     * version already in the dictionary.
+     */
+    public boolean canDropMessage(LogDocument doc) {
+        DrainTemplateMiner current = miner;
+        return props.isEnabled() && !props.isStoreMessage() && doc.getTemplateId() != null && current != null
+                && current.isStored(doc.getServiceName(), doc.getTemplateId(), doc.getTemplateVersion());
+    }
+
+    /**
+     * Periodically upserts templates that changed or were hit since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${app.template.flush-interval-ms:5000}")
+    public void flush() {
+        if (restoreFailed) {
+            restoreFailed = false;
+            miner();
+        }
+        DrainTemplateMiner current = miner;
+        if (current == null) {
+            return;
+        }
+        List<DrainTemplateMiner.Cluster> clusters = new ArrayList<>();
+        List<LogTemplateDocument> dirty = new ArrayList<>();
+        current.forEachDirty(c -> {
+            clusters.add(c);
+            dirty.add(LogTemplateDocument.builder()
+                    .id(c.getId())
+                    .serviceName(c.getServiceName())
+                    .template(c.getTemplate())
+                    .tokens(c.getTokens())
+                    .versions(c.getVersions())
+                    .count(c.drainCount())
+                    .firstSeen(c.getFirstSeen())
+                    .lastSeen(c.getLastSeen())
+                    .build());
+        });
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LogTemplateDocument.class);
+            for (LogTemplateDocument t : dirty) {
+                Update update = new Update()
+                        .set("serviceName", t.getServiceName())
+                        .set("template", t.getTemplate())
+                        .set("tokens", t.getTokens())
+                        .set("versions", t.getVersions())
+                        .inc("count", t.getCount());
+                if (t.getFirstSeen() != null) update.min("firstSeen", t.getFirstSeen());
+                if (t.getLastSeen() != null) update.max("lastSeen", t.getLastSeen());
+                bulk.upsert(Query.query(Criteria.where("_id").is(t.getId())), update);
+            }
+            bulk.execute();
+            log.debug("Flushed {} log templates", dirty.size());
+        } catch (Exception ex) {
+            log.warn("Failed to flush log templates, retrying on the next flush: {}", ex.getMessage());
+            for (int i = 0; i < clusters.size(); i++) {
+                current.restoreCount(clusters.get(i), dirty.get(i).getCount());
+            }
+            return;
+        }
+        for (int i = 0; i < clusters.size(); i++) {
+            current.markStored(clusters.get(i), dirty.get(i).getVersions().size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * The miner with the stored dictionary restored, or null while restoring fails.
+     */
+    private DrainTemplateMiner miner() {
+        DrainTemplateMiner current = miner;
+        if (current != null || restoreFailed) {
+            return current;
+        }
+        synchronized (this) {
+            if (miner == null && !restoreFailed) {
+                DrainTemplateMiner created = new DrainTemplateMiner(props.getPrefixDepth(), props.getSimilarityThreshold(),
+                        props.getMaxChildren(), props.getMaxClustersPerLeaf(), props.getMaxClustersPerService(),
+                        () -> new ObjectId().toHexString());
+                try {
+                    List<LogTemplateDocument> known = mongoTemplate.findAll(LogTemplateDocument.class);
+                    known.forEach(t -> created.restore(t.getId(), t.getServiceName(), t.getTokens(), t.getVersions()));
+                    log.info("Restored {} log templates", known.size());
+                } catch (Exception ex) {
+                    // mining on an empty dictionary would give known templates new ids
+                    log.warn("Could not restore log templates, retrying on the next flush: {}", ex.getMessage());
+                    restoreFailed = true;
+                    return null;
+                }
+                miner = created;
+            }
+            return miner;
+        }
+    }
+}
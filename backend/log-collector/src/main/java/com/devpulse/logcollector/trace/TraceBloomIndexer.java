@@ -0,0 +1,99 @@
+package com.devpulse.logcollector.trace;
+
+import com.devpulse.common.util.TraceBloom;
+import com.devpulse.logcollector.config.TraceProperties;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds one Bloom filter of traceIds per time bucket in "trace_blooms".
+ *
+ * Bits set since the last flush are kept per bucket and word, then OR-ed into the
+ * stored filter with $bit on just those words ({_id: bucket start millis,
+ * bucket, bits, hashes, w: {wordIndex: long}}). OR is idempotent and commutative,
+ * so several collector instances and retried flushes need no coordination.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TraceBloomIndexer {
+
+    public static final String COLLECTION = "trace_blooms";
+
+    private final MongoTemplate mongoTemplate;
+    private final TraceProperties props;
+
+    /** bucket start millis -> word index -> bits to set */
+    private Map<Long, Map<Integer, Long>> pending = new HashMap<>();
+
+    private volatile boolean indexed;
+
+    public void record(String traceId, Instant timestamp) {
+        if (!props.isEnabled() || traceId == null || traceId.isBlank() || timestamp == null) {
+            return;
+        }
+        long bucketMillis = props.getBucket().toMillis();
+        long bucket = Math.floorDiv(timestamp.toEpochMilli(), bucketMillis) * bucketMillis;
+        int[] positions = TraceBloom.positions(traceId, props.getBits(), props.getHashes());
+        synchronized (this) {
+            Map<Integer, Long> words = pending.computeIfAbsent(bucket, b -> new HashMap<>());
+            for (int p : positions) {
+                words.merge(TraceBloom.word(p), TraceBloom.mask(p), (a, b) -> a | b);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trace.flush-interval-ms:2000}")
+    public void flush() {
+        Map<Long, Map<Integer, Long>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            ensureIndex();
+            for (Map.Entry<Long, Map<Integer, Long>> bucket : batch.entrySet()) {
+                Update update = new Update()
+                        .setOnInsert("bucket", new Date(bucket.getKey()))
+                        .setOnInsert("bits", props.getBits())
+                        .setOnInsert("hashes", props.getHashes());
+                bucket.getValue().forEach((word, mask) -> update.bitwise("w." + word).or(mask));
+                mongoTemplate.upsert(Query.query(Criteria.where("_id").is(bucket.getKey())), update, COLLECTION);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to flush trace filters, retrying next run: {}", ex.getMessage());
+            synchronized (this) {
+                batch.forEach((bucket, words) -> {
+                    Map<Integer, Long> target = pending.computeIfAbsent(bucket, b -> new HashMap<>());
+                    words.forEach((word, mask) -> target.merge(word, mask, (a, b) -> a | b));
+                });
+            }
+        }
+    }
+
+    private void ensureIndex() {
+        if (indexed) {
+            return;
+        }
+        mongoTemplate.getCollection(COLLECTION).createIndex(Indexes.ascending("bucket"),
+                new IndexOptions().name("ttl_bucket").expireAfter(props.getRetention().toSeconds(), TimeUnit.SECONDS));
+        indexed = true;
+    }
+}
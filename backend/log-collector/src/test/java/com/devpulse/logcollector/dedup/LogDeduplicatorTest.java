@@ -0,0 +1,105 @@
+package com.devpulse.logcollector.dedup;
+
+import com.devpulse.logcollector.config.DedupProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import com.devpulse.logcollector.store.LogWriter;
+import com.devpulse.logcollector.store.RepeatUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogDeduplicatorTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    /**
+     * Stores documents in a list and fails the next applyRepeats calls on demand.
+     */
+    static class RecordingWriter implements LogWriter {
+        final List<LogDocument> saved = new ArrayList<>();
+        final List<RepeatUpdate> applied = new ArrayList<>();
+        int failures;
+
+        @Override
+        public void save(LogDocument doc) {
+            saved.add(doc);
+        }
+
+        @Override
+        public void applyRepeats(List<RepeatUpdate> updates) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("write failed");
+            }
+            applied.addAll(updates);
+        }
+    }
+
+    private final RecordingWriter writer = new RecordingWriter();
+
+    private LogDeduplicator deduplicator(int windowSeconds) {
+        DedupProperties props = new DedupProperties();
+        props.setWindowSeconds(windowSeconds);
+        return new LogDeduplicator(props, writer);
+    }
+
+    private static LogDocument doc(int second, String traceId) {
+        return LogDocument.builder().serviceName("order").level("ERROR").message("db timeout")
+                .timestamp(T0.plusSeconds(second)).traceId(traceId).build();
+    }
+
+    @Test
+    void collapsesRepeatsIntoTheFirstStoredDocument() {
+        LogDeduplicator dedup = deduplicator(60);
+        for (int i = 0; i < 4; i++) {
+            dedup.process(doc(i, "t" + i), writer::save);
+        }
+        dedup.flush();
+
+        assertEquals(1, writer.saved.size());
+        LogDocument stored = writer.saved.get(0);
+        assertEquals(1L, stored.getCount());
+        assertEquals(List.of(new RepeatUpdate(stored.getId(), T0, 3, T0.plusSeconds(3), List.of("t1", "t2", "t3"))),
+                writer.applied);
+    }
+
+    @Test
+    void failedFlushKeepsTheCountsForTheNextOne() {
+        LogDeduplicator dedup = deduplicator(60);
+        for (int i = 0; i < 3; i++) {
+            dedup.process(doc(i, "t" + i), writer::save);
+        }
+        writer.failures = 1;
+        dedup.flush();
+        assertTrue(writer.applied.isEmpty());
+
+        dedup.process(doc(5, "t5"), writer::save);
+        dedup.flush();
+
+        String id = writer.saved.get(0).getId();
+        assertEquals(List.of(new RepeatUpdate(id, T0, 3, T0.plusSeconds(5), List.of("t1", "t2", "t5"))), writer.applied,
+                "restored repeats merged with the ones absorbed since");
+    }
+
+    @Test
+    void failedFlushOfAnExpiredWindowIsRetried() throws InterruptedException {
+        LogDeduplicator dedup = deduplicator(1);
+        for (int i = 0; i < 3; i++) {
+            dedup.process(doc(i, null), writer::save);
+        }
+        Thread.sleep(1100);
+        writer.failures = 1;
+        dedup.flush();
+
+        dedup.flush();
+        assertEquals(1, writer.applied.size());
+        assertEquals(2, writer.applied.get(0).count());
+
+        dedup.flush();
+        assertEquals(1, writer.applied.size(), "written once");
+    }
+}
@@ -0,0 +1,105 @@
+package com.devpulse.logcollector.rollup;
+
+import com.devpulse.common.store.RollupResolution;
+import com.devpulse.logcollector.config.RollupProperties;
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogRollupRecorderTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> collection(String... indexNames) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        ListIndexesIterable<Document> indexes = mock(ListIndexesIterable.class);
+        when(indexes.into(any())).thenAnswer(invocation -> {
+            List<Document> into = invocation.getArgument(0);
+            for (String name : indexNames) {
+                into.add(new Document("name", name));
+            }
+            return into;
+        });
+        when(collection.listIndexes()).thenReturn(indexes);
+        return collection;
+    }
+
+    private LogRollupRecorder recorder(MongoCollection<Document> collection) {
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), anyString())).thenReturn(bulk);
+        LogRollupRecorder recorder = new LogRollupRecorder(mongoTemplate, new RollupProperties());
+        recorder.record("order", "ERROR", Instant.parse("2026-01-01T00:00:00Z"));
+        return recorder;
+    }
+
+    private static MongoCommandException conflict() {
+        return new MongoCommandException(new BsonDocument("ok", new BsonInt32(0))
+                .append("code", new BsonInt32(85))
+                .append("errmsg", new BsonString("Index with name: ttl_bucket already exists with different options")),
+                new ServerAddress());
+    }
+
+    @Test
+    void changedTtlsAreAppliedToTheExistingIndex() {
+        MongoCollection<Document> collection = collection("ttl_bucket");
+        when(collection.createIndex(any(Bson.class), argThat((IndexOptions o) -> o != null && "ttl_bucket".equals(o.getName()))))
+                .thenThrow(conflict());
+        LogRollupRecorder recorder = recorder(collection);
+
+        recorder.flush();
+
+        // minute and hour counts expire by default, day counts are kept
+        verify(mongoTemplate, times(2)).executeCommand(argThat((Document command) -> command.containsKey("collMod")));
+        verify(collection).dropIndex("ttl_bucket");
+        verify(bulk, times(RollupResolution.values().length)).execute();
+    }
+
+    @Test
+    void switchingBetweenTtlAndNoTtlReplacesTheIndex() {
+        MongoCollection<Document> collection = collection("bucket");
+        LogRollupRecorder recorder = recorder(collection);
+
+        recorder.flush();
+
+        verify(collection, times(2)).dropIndex("bucket");
+        verify(collection, never()).dropIndex("ttl_bucket");
+    }
+
+    @Test
+    void indexFailuresDoNotHoldBackTheCounts() {
+        MongoCollection<Document> collection = collection();
+        when(collection.createIndex(any(Bson.class))).thenThrow(new IllegalStateException("not primary"));
+        LogRollupRecorder recorder = recorder(collection);
+
+        recorder.flush();
+        verify(bulk, times(RollupResolution.values().length)).execute();
+
+        recorder.record("order", "ERROR", Instant.parse("2026-01-01T00:01:00Z"));
+        recorder.flush();
+        verify(collection, times(2)).createIndex(any(Bson.class));
+    }
+}
@@ -0,0 +1,78 @@
+package com.devpulse.logcollector.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.util.TraceIdCodec;
+import com.devpulse.logcollector.model.CompactLogDocument;
+import com.devpulse.logcollector.model.LogDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompactLogWriterTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MappingMongoConverter converter = converter();
+
+    /** Maps documents the way MongoTemplate does, without a database */
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static ServiceDictionary dictionary() {
+        ServiceDictionary dictionary = mock(ServiceDictionary.class);
+        when(dictionary.idOf("producer-order")).thenReturn(3);
+        return dictionary;
+    }
+
+    @Test
+    void encodesIntoShortFieldsAndBack() {
+        String traceId = UUID.randomUUID().toString();
+        LogDocument doc = LogDocument.builder().id("65a000000000000000000001").serviceName("producer-order")
+                .level("error").timestamp(T0).message("Order failed").traceId(traceId).count(4L)
+                .firstSeen(T0).lastSeen(T0.plusSeconds(5)).sampleTraceIds(List.of(traceId, "req-1")).build();
+
+        Document stored = new Document();
+        converter.write(CompactLogWriter.toCompact(doc, dictionary()), stored);
+        assertEquals(3, stored.get("s"));
+        assertEquals(LogLevel.ERROR.ordinal(), stored.get("l"));
+        assertFalse(stored.containsKey("f"), "firstSeen equal to the timestamp is omitted");
+        assertFalse(stored.containsKey("serviceName"));
+
+        CompactLogDocument read = converter.read(CompactLogDocument.class, stored);
+        assertEquals(doc.getId(), read.getId());
+        assertEquals(T0, read.getTimestamp());
+        assertEquals(T0.plusSeconds(5), read.getLastSeen());
+        assertEquals(traceId, TraceIdCodec.decode(read.getTraceId()));
+        assertEquals(List.of(traceId, "req-1"), read.getSampleTraceIds().stream().map(TraceIdCodec::decode).toList());
+        assertEquals(4L, read.getCount());
+    }
+
+    @Test
+    void unknownLevelsAndEmptySamplesAreOmitted() {
+        LogDocument doc = LogDocument.builder().serviceName("producer-order").level("verbose").timestamp(T0)
+                .message("m").sampleTraceIds(List.of()).build();
+
+        CompactLogDocument compact = CompactLogWriter.toCompact(doc, dictionary());
+        assertNull(compact.getLevel());
+        assertNull(compact.getSampleTraceIds());
+        assertNull(compact.getTraceId());
+    }
+}
@@ -0,0 +1,102 @@
+package com.devpulse.logcollector.template;
+
+import com.devpulse.common.util.LogTemplates;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrainTemplateMinerTest {
+
+    private final AtomicInteger ids = new AtomicInteger();
+    private final DrainTemplateMiner miner =
+            new DrainTemplateMiner(2, 0.5, 100, 3, 5, () -> "t" + ids.incrementAndGet());
+
+    @Test
+    void groupsMessagesWithDifferentParametersUnderOneTemplate() {
+        var first = miner.match("producer-order", "Order created: orderId=a1, productId=p1, qty=2", Instant.now());
+        var second = miner.match("producer-order", "Order created: orderId=b7, productId=p9, qty=5", Instant.now());
+
+        assertEquals(first.templateId(), second.templateId());
+        assertEquals(List.of("b7", "p9", "5"), second.params());
+
+        var cluster = miner.clusters().iterator().next();
+        assertEquals("Order created: orderId=<*>, productId=<*>, qty=<*>", cluster.getTemplate());
+    }
+
+    @Test
+    void rendersEveryVersionBackToTheOriginalMessage() {
+        String a = "Order created: orderId=a1, productId=p1, qty=2";
+        String b = "Order created: orderId=b7, productId=p9, qty=5";
+        var ma = miner.match("producer-order", a, Instant.now());
+        var mb = miner.match("producer-order", b, Instant.now());
+
+        var cluster = miner.clusters().iterator().next();
+        assertEquals(a, LogTemplates.render(cluster.getVersions().get(ma.templateVersion()), ma.params()));
+        assertEquals(b, LogTemplates.render(cluster.getVersions().get(mb.templateVersion()), mb.params()));
+    }
+
+    @Test
+    void keepsDissimilarMessagesAndServicesApart() {
+        var order = miner.match("producer-order", "Order deleted: orderId=a1", Instant.now());
+        var product = miner.match("producer-product", "Order deleted: orderId=a1", Instant.now());
+        var other = miner.match("producer-order", "Cache miss for region eu", Instant.now());
+
+        assertNotEquals(order.templateId(), product.templateId());
+        assertNotEquals(order.templateId(), other.templateId());
+    }
+
+    @Test
+    void restoredTemplatesKeepTheirIds() {
+        miner.restore("known", "producer-product",
+                DrainTemplateMiner.tokenize("Product deleted: productId=<*>"), null);
+
+        var match = miner.match("producer-product", "Product deleted: productId=42", Instant.now());
+
+        assertEquals("known", match.templateId());
+        assertEquals(List.of("42"), match.params());
+    }
+
+    @Test
+    void boundsClustersPerLeafAndPerService() {
+        // same leaf (token count and first words), too dissimilar to share a template
+        for (String tail : List.of("alpha beta gamma", "delta epsilon zeta", "eta theta iota")) {
+            assertNotNull(miner.match("producer-order", "Cache miss " + tail, Instant.now()));
+        }
+        assertNull(miner.match("producer-order", "Cache miss kappa lambda mu", Instant.now()), "leaf full");
+        assertNotNull(miner.match("producer-order", "Cache miss alpha beta gamma", Instant.now()), "existing templates still match");
+
+        assertNotNull(miner.match("producer-order", "Order shipped", Instant.now()));
+        assertNotNull(miner.match("producer-order", "Payment declined by bank", Instant.now()));
+        assertNull(miner.match("producer-order", "Inventory sync started now", Instant.now()), "service full");
+        assertNotNull(miner.match("producer-product", "Inventory sync started now", Instant.now()), "other services unaffected");
+        assertEquals(6, miner.clusters().size());
+    }
+
+    @Test
+    void servicesAreMinedConcurrently() throws InterruptedException {
+        DrainTemplateMiner shared = new DrainTemplateMiner(2, 0.5, 100, 50, 2000, () -> "t" + ids.incrementAndGet());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            String service = "svc-" + (t % 2);
+            pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    shared.match(service, "Order created: orderId=a" + i + ", qty=" + (i % 7), Instant.now());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(2, shared.clusters().size());
+        long[] count = {0};
+        shared.forEachDirty(c -> count[0] += c.drainCount());
+        assertEquals(20_000, count[0]);
+    }
+}
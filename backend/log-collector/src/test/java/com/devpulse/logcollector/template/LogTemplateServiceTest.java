@@ -0,0 +1,88 @@
+package com.devpulse.logcollector.template;
+
+import com.devpulse.logcollector.config.TemplateProperties;
+import com.devpulse.logcollector.model.LogDocument;
+import com.devpulse.logcollector.model.LogTemplateDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogTemplateServiceTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+
+    private LogTemplateService service() {
+        TemplateProperties props = new TemplateProperties();
+        props.setStoreMessage(false);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LogTemplateDocument.class)).thenReturn(bulk);
+        return new LogTemplateService(props, mongoTemplate);
+    }
+
+    private static LogDocument doc(String orderId) {
+        return LogDocument.builder().serviceName("order").message("Order created: orderId=" + orderId).timestamp(T0).build();
+    }
+
+    @Test
+    void messagesAreKeptUntilTheirTemplateIsStored() {
+        LogTemplateService service = service();
+        when(mongoTemplate.findAll(LogTemplateDocument.class)).thenReturn(List.of());
+        when(bulk.execute()).thenThrow(new IllegalStateException("write failed")).thenReturn(null);
+
+        LogDocument first = doc("a1");
+        service.apply(first);
+        assertNotNull(first.getTemplateId());
+        assertFalse(service.canDropMessage(first), "template not in the dictionary yet");
+
+        service.flush();
+        LogDocument second = doc("b2");
+        service.apply(second);
+        assertFalse(service.canDropMessage(second), "failed flush");
+
+        service.flush();
+        assertTrue(service.canDropMessage(second));
+        // one dirty template per flush, retried after the failure
+        verify(bulk, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulk, times(2)).execute();
+
+        service.flush();
+        verify(bulk, times(2)).execute();
+    }
+
+    @Test
+    void aFailedRestoreIsRetriedInsteadOfMiningAnEmptyDictionary() {
+        LogTemplateService service = service();
+        when(mongoTemplate.findAll(LogTemplateDocument.class))
+                .thenThrow(new IllegalStateException("unreachable"))
+                .thenReturn(List.of(LogTemplateDocument.builder().id("known").serviceName("order")
+                        .tokens(DrainTemplateMiner.tokenize("Order created: orderId=<*>")).build()));
+
+        LogDocument untemplated = doc("a1");
+        service.apply(untemplated);
+        assertNull(untemplated.getTemplateId());
+        service.apply(doc("b2"));
+        verify(mongoTemplate, times(1)).findAll(LogTemplateDocument.class);
+
+        service.flush();
+        LogDocument restored = doc("c3");
+        service.apply(restored);
+        assertEquals("known", restored.getTemplateId());
+        assertTrue(service.canDropMessage(restored));
+        verify(mongoTemplate, times(2)).findAll(eq(LogTemplateDocument.class));
+    }
+}
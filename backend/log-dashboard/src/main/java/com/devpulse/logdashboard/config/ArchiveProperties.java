@@ -0,0 +1,25 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the cold tier written by log-collector's archiver.
+ * Values are loaded from application.yml under prefix "app.archive".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    /**
+     * Include archived logs in time-range queries.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Archive directory written by log-collector (shared volume when not on the same host).
+     */
+    private String directory = "data/archive";
+}
@@ -0,0 +1,20 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for streaming log exports (/api/logs/export).
+ * Values are loaded from application.yml under prefix "app.export".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    /**
+     * Exports running at the same time; further requests are rejected with 429.
+     */
+    private int maxConcurrent = 4;
+}
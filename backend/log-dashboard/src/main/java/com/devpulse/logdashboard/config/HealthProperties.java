@@ -0,0 +1,20 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the live per-service health summary (/api/logs/services/health).
+ * Values are loaded from application.yml under prefix "app.health".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.health")
+public class HealthProperties {
+
+    /**
+     * Services tracked at most; logs of further services are not summarized.
+     */
+    private int maxServices = 1000;
+}
@@ -0,0 +1,55 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the in-memory tail of pushed logs that serves /recent
+ * without a database read, and for its time index answering the recent part of
+ * range and keyset queries.
+ * Values are loaded from application.yml under prefix "app.hot-tail".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.hot-tail")
+public class HotTailProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Most recent logs kept overall (rounded up to a power of two).
+     */
+    private int capacity = 2048;
+
+    private Index index = new Index();
+
+    @Data
+    public static class Index {
+
+        /**
+         * Off by default: the index is trusted to hold every stored log since it started
+         * covering, so it only comes on together with app.live-kafka.enabled and with
+         * repeatsCollapsed=false.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Whether log-collector collapses repeats (its app.dedup.enabled). Streamed logs
+         * are not collapsed, so the index would disagree with storage and stays off.
+         */
+        private boolean repeatsCollapsed = true;
+
+        /**
+         * How far back the index reaches at most.
+         */
+        private Duration window = Duration.ofMinutes(15);
+
+        /**
+         * Logs indexed at most; the oldest seconds are dropped beyond that, shortening the window.
+         */
+        private int maxLogs = 100_000;
+    }
+}
@@ -0,0 +1,51 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the adaptive concurrency limits of the query endpoints.
+ * Values are loaded from application.yml under prefix "app.limits".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.limits")
+public class LimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Paged and keyset lists, traces and templates.
+     */
+    private Limit interactive = new Limit(20, 4, 64, Duration.ofSeconds(5));
+
+    /**
+     * Range queries, histograms, full-text search and template stats.
+     */
+    private Limit historical = new Limit(8, 2, 16, Duration.ofSeconds(20));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /** Concurrent requests admitted before any latency has been observed */
+        private int initialLimit;
+
+        private int minLimit;
+
+        /**
+         * Upper bound of the adapted limit; keep the sum over classes below the MongoDB
+         * connection pool size (100 by default) so live endpoints always get a connection.
+         */
+        private int maxLimit;
+
+        /** Server-side time limit (maxTimeMS) of each MongoDB operation of a request */
+        private Duration maxTime;
+    }
+}
@@ -0,0 +1,26 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for feeding the live stream straight from Kafka (devpulse-logs).
+ * Values are loaded from application.yml under prefix "app.live-kafka".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.live-kafka")
+public class LiveKafkaProperties {
+
+    /**
+     * Consume devpulse-logs on every instance instead of relying on log-collector's pushes,
+     * which are then ignored.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Prefix of the consumer group; each instance appends a random id so it sees every log.
+     */
+    private String groupPrefix = "log-dashboard-live";
+}
@@ -0,0 +1,21 @@
+package com.devpulse.logdashboard.config;
+
+import com.devpulse.logdashboard.limit.TimeLimitedMongoTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Replaces the auto-configured MongoTemplate with one that applies each request's query
+ * time limit (app.limits.*.maxTime) as maxTimeMS.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new TimeLimitedMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+}
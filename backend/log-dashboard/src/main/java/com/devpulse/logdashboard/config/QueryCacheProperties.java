@@ -0,0 +1,30 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for the cache of paged and keyset query results in LogQueryService.
+ * Values are loaded from application.yml under prefix "app.query-cache".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.query-cache")
+public class QueryCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Cached results kept at most; the least recently used one is evicted beyond that.
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * Upper bound on staleness for changes the dashboard is not told about
+     * (logs not pushed to it, archiving, retention).
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,32 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the reactive mode (spring.main.web-application-type=reactive).
+ * Values are loaded from application.yml under prefix "app.reactive".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveProperties {
+
+    /**
+     * Threads running blocking storage reads; bounds concurrent database work, not connections.
+     */
+    private int readThreads = 64;
+
+    /**
+     * readThreads in the DOCUMENT layout, whose list, keyset and export reads go through the
+     * reactive MongoDB driver; only the remaining reads (ranges, traces, histograms, search,
+     * archive) take a thread.
+     */
+    private int documentReadThreads = 16;
+
+    /**
+     * Reads waiting for a thread at most; further ones fail instead of piling up.
+     */
+    private int queuedReads = 10000;
+}
@@ -0,0 +1,55 @@
+package com.devpulse.logdashboard.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Reactive mode (spring.main.web-application-type=reactive): requests are served by
+ * Netty event loops, and the storage reads that stay blocking (the readers shared with
+ * the servlet mode) run on one bounded pool of app.reactive.readThreads, or of
+ * app.reactive.documentReadThreads in the DOCUMENT layout, where the busiest reads use
+ * the reactive driver instead (see ReactiveLogQueryService).
+ * Controllers that return plain values (templates, diagnostics) are invoked on that
+ * pool as well, so nothing blocks an event loop. Netty is chosen explicitly because
+ * Tomcat, which the servlet mode needs on the classpath, would otherwise be preferred.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ReactiveProperties props;
+    private final StorageProperties storageProps;
+
+    public ReactiveWebConfig(ReactiveProperties props, StorageProperties storageProps) {
+        this.props = props;
+        this.storageProps = storageProps;
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor logReadExecutor() {
+        int threads = storageProps.getMode() == StorageProperties.Mode.DOCUMENT
+                ? props.getDocumentReadThreads() : props.getReadThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(props.getQueuedReads());
+        executor.setThreadNamePrefix("log-read-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(logReadExecutor());
+    }
+}
@@ -0,0 +1,27 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for histograms over log-collector's rollups ("log_rollups_1m|1h|1d").
+ * The TTLs must match the collector's app.rollup.
+ * Values are loaded from application.yml under prefix "app.rollup".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rollup")
+public class RollupProperties {
+
+    private Duration minuteTtl = Duration.ofDays(30);
+
+    private Duration hourTtl = Duration.ofDays(400);
+
+    /**
+     * Most buckets per series; longer ranges switch to a coarser interval.
+     */
+    private int maxBuckets = 1500;
+}
@@ -0,0 +1,59 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for full-text search over log messages: an in-memory inverted
+ * index of recently pushed logs, with MongoDB as the fallback for older ranges.
+ * Values are loaded from application.yml under prefix "app.search".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * Index pushed logs in memory. When false every search goes to MongoDB.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time span of one index partition; whole partitions are dropped as they age out.
+     */
+    private Duration partition = Duration.ofMinutes(5);
+
+    /**
+     * How far back the in-memory index reaches.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Logs held by the index at most; the oldest partitions are dropped beyond that.
+     */
+    private int maxDocs = 200_000;
+
+    /**
+     * Range searched when no "from" is given.
+     */
+    private Duration lookback = Duration.ofDays(1);
+
+    /**
+     * Create a text index on message and template parameters (DOCUMENT mode) for older ranges.
+     * Other layouts, or DOCUMENT without it, fall back to a bounded scan.
+     */
+    private boolean mongoTextIndex = true;
+
+    /**
+     * Logs examined at most by the fallback scan.
+     */
+    private int scanLimit = 50_000;
+
+    /**
+     * Largest accepted result limit.
+     */
+    private int maxResults = 500;
+}
@@ -0,0 +1,48 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the log storage layout written by log-collector.
+ * Values are loaded from application.yml under prefix "app.storage" and must
+ * match the collector's setting.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    /**
+     * DOCUMENT: readable documents in "logs" (default).
+     * COMPACT: dictionary-encoded documents in "logs_c".
+     * BUCKET: per-service, per-minute bucket documents in "log_buckets".
+     * TIMESERIES: native time-series collection "logs_ts" with per-level expiry (see app.retention).
+     * SEGMENT: append-only segment files written by log-collector (see segment).
+     */
+    private Mode mode = Mode.DOCUMENT;
+
+    /**
+     * Create the indexes declared on the log model of the active layout at startup
+     * (DOCUMENT, COMPACT; the collector provisions BUCKET and TIMESERIES indexes).
+     */
+    private boolean provisionIndexes = true;
+
+    private Segment segment = new Segment();
+
+    public enum Mode {
+        DOCUMENT,
+        COMPACT,
+        BUCKET,
+        TIMESERIES,
+        SEGMENT
+    }
+
+    @Data
+    public static class Segment {
+
+        /** Segment directory written by log-collector (shared volume when not on the same host) */
+        private String directory = "data/segments";
+    }
+}
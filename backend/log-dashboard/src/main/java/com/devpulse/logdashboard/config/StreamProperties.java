@@ -0,0 +1,41 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the live log stream (/api/logs/stream).
+ * Values are loaded from application.yml under prefix "app.stream".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.stream")
+public class StreamProperties {
+
+    /**
+     * Events buffered per client; further events are dropped until the client catches up.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Events written to a client in one frame (one write and flush) at most.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Events a client may miss in a row before it is disconnected (it reconnects on its own).
+     */
+    private int maxDropped = 5000;
+
+    /**
+     * Most recent events kept for clients resuming with Last-Event-ID (0 disables replay).
+     */
+    private int replayCapacity = 10000;
+
+    /**
+     * Logs per second sent to one subscription at most; ERROR logs always pass, DEBUG/INFO
+     * are sampled (0 = unlimited). Skipped counts are reported every summary-interval-ms.
+     */
+    private int maxPerSecond = 200;
+}
@@ -0,0 +1,29 @@
+package com.devpulse.logdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration holder for trace lookups through log-collector's per-bucket Bloom
+ * filters ("trace_blooms"). bucket, bits and hashes must match the collector's app.trace.
+ * Values are loaded from application.yml under prefix "app.trace".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.trace")
+public class TraceProperties {
+
+    private Duration bucket = Duration.ofHours(1);
+
+    private int bits = 1 << 20;
+
+    private int hashes = 7;
+
+    /**
+     * How far back a trace lookup without an explicit "from" searches.
+     */
+    private Duration lookback = Duration.ofDays(7);
+}
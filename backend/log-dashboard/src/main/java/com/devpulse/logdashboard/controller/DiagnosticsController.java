@@ -0,0 +1,42 @@
+package com.devpulse.logdashboard.controller;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.devpulse.logdashboard.service.QueryPlanService;
+import com.devpulse.logdashboard.store.IndexProvisioner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * DiagnosticsController
+ *
+ * - GET /api/diagnostics/query-plans => explain plan summary of every log query shape
+ * - POST /api/diagnostics/indexes => (re)create the declared log indexes now
+ */
+@RestController
+@RequestMapping("/api/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final QueryPlanService queryPlanService;
+    private final IndexProvisioner indexProvisioner;
+
+    @GetMapping("/query-plans")
+    public ResponseEntity<ApiResponse<?>> queryPlans() {
+        var result = queryPlanService.explainAll();
+        boolean allOk = result.stream().allMatch(QueryPlanService.QueryPlanReport::ok);
+        var resp = ApiResponse.<Object>builder()
+                .success(true)
+                .message(allOk ? "All query shapes are index-backed" : "Some query shapes are not index-backed")
+                .data(result)
+                .build();
+        return ResponseEntity.ok(resp);
+    }
+
+    @PostMapping("/indexes")
+    public ResponseEntity<ApiResponse<?>> provisionIndexes() {
+        var result = indexProvisioner.provision();
+        var resp = ApiResponse.<Object>builder().success(true).message("Log indexes ensured").data(result).build();
+        return ResponseEntity.ok(resp);
+    }
+}
@@ -0,0 +1,112 @@
+package com.devpulse.logdashboard.controller;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.service.LogExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ExportController
+ *
+ * - GET /api/logs/export?format=ndjson|csv&from=&to=&serviceName=&level=&templateId=&gzip=
+ *   => every matching log, newest first, streamed as a file download
+ *
+ * The body is written from a database cursor while the client reads it; nothing is
+ * buffered beyond the output buffer.
+ *
+ * The export slot is taken before answering 429 and released once, by the body or by
+ * the completion of the async request when the body never runs (executor rejection,
+ * client gone, timeout, error).
+ *
+ * Servlet mode only; ReactiveLogController serves /api/logs/export in the reactive mode.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/logs/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final LogExportService exportService;
+
+    @GetMapping
+    public ResponseEntity<?> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(value = "serviceName", required = false) String serviceName,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "templateId", required = false) String templateId,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+
+        LogExportService.Format exportFormat;
+        LogQuery query;
+        try {
+            exportFormat = LogExportService.Format.valueOf(format.toUpperCase());
+            query = LogQuery.builder()
+                    .serviceName(serviceName)
+                    .level(level != null ? LogLevel.valueOf(level.toUpperCase()).name() : null)
+                    .templateId(templateId)
+                    .from(fromIso != null ? Instant.parse(fromIso) : null)
+                    .to(toIso != null ? Instant.parse(toIso) : null)
+                    .build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.<Object>builder().success(false).message("Invalid export request").build());
+        }
+        if (!exportService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(ApiResponse.<Object>builder().success(false).message("Too many exports running").build());
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exportService.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportController.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                });
+
+        StreamingResponseBody body = out -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_BYTES) : new BufferedOutputStream(out, BUFFER_BYTES);
+                exportService.export(query, exportFormat, target);
+                target.close();
+            } finally {
+                release.run();
+            }
+        };
+        String filename = "logs." + exportFormat.extension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -1,51 +1,93 @@
 package com.devpulse.logdashboard.controller;
 
 import com.devpulse.common.dto.ApiResponse;
+import com.devpulse.common.dto.LogColumnsDto;
 import com.devpulse.common.dto.LogMessageDto;
 import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSliceDto;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.LiveKafkaProperties;
+import com.devpulse.logdashboard.live.LiveLogFeed;
+import com.devpulse.logdashboard.live.LogBroadcaster;
+import com.devpulse.logdashboard.live.ServiceHealthTracker;
+import com.devpulse.logdashboard.live.StreamFilter;
+import com.devpulse.logdashboard.service.LogHistogramService;
+import com.devpulse.logdashboard.service.LogListFormat;
 import com.devpulse.logdashboard.service.LogQueryService;
+import com.devpulse.logdashboard.service.LogSearchService;
+import com.devpulse.logdashboard.service.QueryTier;
+import com.devpulse.logdashboard.service.TieredPage;
+import com.devpulse.logdashboard.store.InvalidCursorException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * LogController
  *
  * - GET /api/logs?page=&size= => paged logs
+ *   (/api/logs, /service, /level and /range also accept cursor=&size=&approxTotal= for
+ *   keyset pages without counts; pass an empty cursor for the first one)
+ *   (list endpoints also accept format=columnar&fields= for column arrays, see LogListFormat)
+ *   (/range and keyset pages report the tier that answered in the X-Query-Tier header:
+ *   memory, database or memory+database, see LogQueryService)
  * - GET /api/logs/service/{service} => logs by service
  * - GET /api/logs/level/{level} => logs by level (INFO/WARN/ERROR/DEBUG)
  * - GET /api/logs/recent => top 100 recent logs
+ * - GET /api/logs/trace/{traceId}?from=&to= => all logs of a trace, oldest first
+ * - GET /api/logs/histogram?from=&to=&serviceName=&level=&groupBy=&interval= => log counts
+ *   per time bucket from the ingest-time rollups
+ * - GET /api/logs/search?q=&serviceName=&level=&from=&to=&limit= => full-text search over messages
  * - GET /api/logs/stream => Server-Sent Events (SSE) real-time stream of recent
  * logs
  *
- * SSE approach keeps client simple (no STOMP).
+ * SSE approach keeps client simple (no STOMP); slow clients never hold up /push
+ * (see LogBroadcaster).
+ *
+ * Servlet mode only; ReactiveLogController serves the same API in the reactive mode.
  */
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/logs")
 @RequiredArgsConstructor
 public class LogController {
 
     private final LogQueryService queryService;
+    private final LogHistogramService histogramService;
+    private final LogSearchService searchService;
 
-    // Keep a simple broadcaster for SSE clients
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final LogBroadcaster broadcaster;
+    private final LiveLogFeed liveLogFeed;
+    private final ServiceHealthTracker healthTracker;
+    private final LiveKafkaProperties liveKafkaProperties;
 
     @GetMapping
     public ResponseEntity<ApiResponse<?>> getAll(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = listFormat(format, fields);
 
+        if (cursor != null) {
+            return slice(LogQuery.all(), cursor, size, approxTotal, "Logs fetched", listFormat);
+        }
         var result = queryService.findAll(page, size);
-        var resp = ApiResponse.<Object>builder().success(true).message("Logs fetched").data(result).build();
+        var resp = ApiResponse.<Object>builder().success(true).message("Logs fetched").data(listFormat.apply(result)).build();
         return ResponseEntity.ok(resp);
     }
 
@@ -53,10 +95,19 @@ public class LogController {
     public ResponseEntity<ApiResponse<?>> getByService(
             @PathVariable("serviceName") String serviceName,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = listFormat(format, fields);
 
+        if (cursor != null) {
+            return slice(LogQuery.builder().serviceName(serviceName).build(), cursor, size, approxTotal, "Logs for service", listFormat);
+        }
         var result = queryService.findByService(serviceName, page, size);
-        var resp = ApiResponse.<Object>builder().success(true).message("Logs for service").data(result).build();
+        var resp = ApiResponse.<Object>builder().success(true).message("Logs for service").data(listFormat.apply(result)).build();
         return ResponseEntity.ok(resp);
     }
 
@@ -64,87 +115,213 @@ public class LogController {
     public ResponseEntity<ApiResponse<?>> getByLevel(
             @PathVariable("level") String level,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = listFormat(format, fields);
 
+        if (cursor != null) {
+            return slice(LogQuery.builder().level(level).build(), cursor, size, approxTotal, "Logs by level", listFormat);
+        }
         var result = queryService.findByLevel(level, page, size);
-        var resp = ApiResponse.<Object>builder().success(true).message("Logs by level").data(result).build();
+        var resp = ApiResponse.<Object>builder().success(true).message("Logs by level").data(listFormat.apply(result)).build();
         return ResponseEntity.ok(resp);
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<ApiResponse<?>> recent() {
+    public ResponseEntity<ApiResponse<?>> recent(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = listFormat(format, fields);
         List<LogResponseDto> list = queryService.recentTop100();
-        var resp = ApiResponse.<Object>builder().success(true).message("Recent logs").data(list).build();
+        var resp = ApiResponse.<Object>builder().success(true).message("Recent logs").data(listFormat.apply(list)).build();
+        return ResponseEntity.ok(resp);
+    }
+
+    @GetMapping("/trace/{traceId}")
+    public ResponseEntity<ApiResponse<?>> trace(
+            @PathVariable("traceId") String traceId,
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = listFormat(format, fields);
+        List<LogResponseDto> list = queryService.findTrace(traceId,
+                fromIso != null ? Instant.parse(fromIso) : null,
+                toIso != null ? Instant.parse(toIso) : null);
+        var resp = ApiResponse.<Object>builder().success(true).message("Logs for trace").data(listFormat.apply(list)).build();
         return ResponseEntity.ok(resp);
     }
 
     /**
-     * SSE streaming endpoint — clients connect and receive pushed events.
-     * Implementation: log-collector (or alert-processor) can POST to an internal
-     * endpoint to broadcast new logs,
-     * or we can wire direct DB tailable cursor later. For now log-collector can
-     * POST to /api/logs/push (below).
+     * Histogram of log counts; groupBy is a comma-separated subset of "service,level".
+     * Defaults to the last hour.
      */
-    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream() {
-        SseEmitter emitter = new SseEmitter(0L); // no timeout
-        emitters.add(emitter);
+    @GetMapping("/histogram")
+    public ResponseEntity<ApiResponse<?>> histogram(
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(value = "serviceName", required = false) String serviceName,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "groupBy", required = false) List<String> groupBy,
+            @RequestParam(value = "interval", required = false) String interval) {
 
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onCompletion(() -> emitters.remove(emitter));
+        Instant to = toIso != null ? Instant.parse(toIso) : Instant.now();
+        Instant from = fromIso != null ? Instant.parse(fromIso) : to.minus(Duration.ofHours(1));
+        boolean byService = groupBy != null && groupBy.contains("service");
+        boolean byLevel = groupBy != null && groupBy.contains("level");
+        try {
+            var result = histogramService.histogram(from, to, serviceName, level, byService, byLevel, interval);
+            return ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Log histogram").data(result).build());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.<Object>builder().success(false).message(ex.getMessage()).build());
+        }
+    }
+
+    /**
+     * Full-text search: every word of q must occur; "quoted phrases" must occur as written.
+     * Defaults to the last app.search.lookback.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<?>> search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "serviceName", required = false) String serviceName,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        // Send initial event to establish connection immediately
         try {
-            emitter.send(SseEmitter.event().name("init").data("Connected"));
-        } catch (IOException e) {
-            emitters.remove(emitter);
+            var result = searchService.search(q, serviceName, level,
+                    fromIso != null ? Instant.parse(fromIso) : null,
+                    toIso != null ? Instant.parse(toIso) : null,
+                    limit);
+            return ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Search results").data(result).build());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.<Object>builder().success(false).message(ex.getMessage()).build());
         }
+    }
 
-        return emitter;
+    /**
+     * Live health of every service (last seen, logs/s and error rate over 1/5/15 minutes,
+     * last error), maintained in memory from the pushed logs.
+     */
+    @GetMapping("/services/health")
+    public ResponseEntity<ApiResponse<?>> servicesHealth() {
+        return ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Service health")
+                .data(healthTracker.snapshot()).build());
+    }
+
+    /**
+     * SSE streaming endpoint — clients connect and receive pushed events.
+     * log-collector POSTs every persisted log to /api/logs/push (below), which hands it
+     * to the LogBroadcaster; each client is written to from its own bounded queue.
+     * Optional filters are applied server-side: serviceName, level (comma-separated)
+     * and q (case-insensitive message substring).
+     * A client reconnecting with Last-Event-ID (or ?lastEventId=) first receives the
+     * logs it missed from the broadcaster's replay ring, or a "reset" event when they
+     * are no longer retained.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String q,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        StreamFilter filter;
+        try {
+            filter = StreamFilter.of(serviceName, level, q);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown level: " + level);
+        }
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        Long resumeId = null;
+        if (resumeFrom != null && !resumeFrom.isBlank()) {
+            try {
+                resumeId = Long.parseLong(resumeFrom.trim());
+            } catch (NumberFormatException ex) {
+                resumeId = -1L; // not one of ours: the client gets a reset
+            }
+        }
+        return broadcaster.subscribe(filter, resumeId);
     }
 
     /**
      * Internal push endpoint: log-collector (or producer) can call this to push a
-     * newly persisted log to all SSE clients.
+     * newly persisted log to all SSE clients. Ignored while this instance consumes
+     * devpulse-logs itself (app.live-kafka), so a log is never streamed twice.
      * Protect this endpoint later (internal network or auth).
      */
     @PostMapping("/push")
     public ResponseEntity<ApiResponse<?>> push(@RequestBody LogMessageDto dto) {
-        // Convert to ResponseDto for frontend (add ID)
-        LogResponseDto responseDto = LogResponseDto.builder()
-                .id(java.util.UUID.randomUUID().toString())
-                .serviceName(dto.getServiceName())
-                .level(dto.getLevel())
-                .message(dto.getMessage())
-                .traceId(dto.getTraceId())
-                .timestamp(dto.getTimestamp())
-                .build();
-
-        // Broadcast to all active emitters
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event().name("log").data(responseDto));
-            } catch (IOException e) {
-                emitters.remove(emitter);
-            }
+        if (liveKafkaProperties.isEnabled()) {
+            return ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Ignored: live feed is consumed from Kafka").data(null).build());
         }
+        liveLogFeed.accept(dto);
         return ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Pushed").data(null).build());
     }
 
     /**
-     * Optional: range query by timestamp (ISO-8601 strings)
+     * Optional: range query by timestamp (ISO-8601 strings); both bounds are exclusive,
+     * paged or keyset
      */
     @GetMapping("/range")
     public ResponseEntity<ApiResponse<?>> range(
             @RequestParam("from") String fromIso,
             @RequestParam("to") String toIso,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = listFormat(format, fields);
 
         Instant from = Instant.parse(fromIso);
         Instant to = Instant.parse(toIso);
+        if (cursor != null) {
+            return slice(LogQuery.between(from, to), cursor, size, approxTotal, "Logs in range", listFormat);
+        }
         var result = queryService.findBetween(new LogQueryService.InstantRange(from, to), page, size);
-        var resp = ApiResponse.<Object>builder().success(true).message("Logs in range").data(result).build();
-        return ResponseEntity.ok(resp);
+        var resp = ApiResponse.<Object>builder().success(true).message("Logs in range").data(listFormat.apply(result)).build();
+        return ok(resp.getData()).body(resp);
+    }
+
+    private ResponseEntity<ApiResponse<?>> slice(LogQuery query, String cursor, int size, boolean approxTotal,
+                                                 String message, LogListFormat listFormat) {
+        try {
+            Object data = listFormat.apply(queryService.findSlice(query, cursor, size, approxTotal));
+            return ok(data).body(ApiResponse.<Object>builder().success(true).message(message).data(data).build());
+        } catch (InvalidCursorException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.<Object>builder().success(false).message("Invalid cursor").build());
+        }
+    }
+
+    /**
+     * 200 response, with the X-Query-Tier header when the data reports the tier that answered.
+     */
+    static ResponseEntity.BodyBuilder ok(Object data) {
+        String tier = data instanceof TieredPage<?> page ? page.getTier().label()
+                : data instanceof LogSliceDto slice ? slice.getTier()
+                : data instanceof LogColumnsDto columns ? columns.getTier() : null;
+        return tier != null ? ResponseEntity.ok().header(QueryTier.HEADER, tier) : ResponseEntity.ok();
+    }
+
+    static LogListFormat listFormat(String format, String fields) {
+        try {
+            return LogListFormat.of(format, fields);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
     }
 }
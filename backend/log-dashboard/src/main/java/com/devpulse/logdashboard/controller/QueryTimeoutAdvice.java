@@ -0,0 +1,41 @@
+package com.devpulse.logdashboard.controller;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns queries that ran into their time limit (app.limits.*.maxTime) into a 503 the
+ * client may retry with a narrower query; other storage errors are left to the default
+ * handling.
+ */
+@RestControllerAdvice
+public class QueryTimeoutAdvice {
+
+    @ExceptionHandler({DataAccessException.class, MongoExecutionTimeoutException.class, MongoOperationTimeoutException.class})
+    public ResponseEntity<ApiResponse<?>> timedOut(RuntimeException ex) {
+        if (!isTimeout(ex)) {
+            throw ex;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.builder().success(false)
+                        .message("Query exceeded its time limit; narrow the time range or filters")
+                        .build());
+    }
+
+    static boolean isTimeout(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof MongoOperationTimeoutException || t instanceof MongoExecutionTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
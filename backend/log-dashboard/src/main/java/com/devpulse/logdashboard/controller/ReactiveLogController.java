@@ -0,0 +1,305 @@
+package com.devpulse.logdashboard.controller;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.devpulse.common.dto.LogMessageDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.LiveKafkaProperties;
+import com.devpulse.logdashboard.live.LiveLogFeed;
+import com.devpulse.logdashboard.live.LogBroadcaster;
+import com.devpulse.logdashboard.live.ServiceHealthTracker;
+import com.devpulse.logdashboard.live.StreamFilter;
+import com.devpulse.logdashboard.service.LogExportService;
+import com.devpulse.logdashboard.service.LogHistogramService;
+import com.devpulse.logdashboard.service.LogListFormat;
+import com.devpulse.logdashboard.service.LogQueryService;
+import com.devpulse.logdashboard.service.LogSearchService;
+import com.devpulse.logdashboard.service.ReactiveLogQueryService;
+import com.devpulse.logdashboard.store.InvalidCursorException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * ReactiveLogController
+ *
+ * The API of LogController and ExportController for the reactive mode
+ * (spring.main.web-application-type=reactive), on Netty instead of Tomcat:
+ *
+ * - reads return Mono (ReactiveLogQueryService): list and keyset pages of the DOCUMENT
+ *   layout use the reactive MongoDB driver, other reads run on the bounded log-read
+ *   pool, so a slow query holds a pool thread but no connection-serving thread;
+ * - /stream is a Flux of server-sent events fed by the same LogBroadcaster;
+ * - /export is a Flux pulled from the database cursor as the client reads (no gzip:
+ *   enable server.compression instead).
+ *
+ * Parameters, responses and errors are the same as in the servlet mode.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/logs")
+@RequiredArgsConstructor
+public class ReactiveLogController {
+
+    private final LogQueryService queryService;
+    private final ReactiveLogQueryService reactiveQueries;
+    private final LogHistogramService histogramService;
+    private final LogSearchService searchService;
+    private final LogExportService exportService;
+
+    private final LogBroadcaster broadcaster;
+    private final LiveLogFeed liveLogFeed;
+    private final ServiceHealthTracker healthTracker;
+    private final LiveKafkaProperties liveKafkaProperties;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<?>>> getAll(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+
+        if (cursor != null) {
+            return slice(LogQuery.all(), cursor, size, approxTotal, "Logs fetched", listFormat);
+        }
+        return ok("Logs fetched", reactiveQueries.findAll(page, size).map(listFormat::apply));
+    }
+
+    @GetMapping("/service/{serviceName}")
+    public Mono<ResponseEntity<ApiResponse<?>>> getByService(
+            @PathVariable("serviceName") String serviceName,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+
+        if (cursor != null) {
+            return slice(LogQuery.builder().serviceName(serviceName).build(), cursor, size, approxTotal, "Logs for service", listFormat);
+        }
+        return ok("Logs for service", reactiveQueries.findByService(serviceName, page, size).map(listFormat::apply));
+    }
+
+    @GetMapping("/level/{level}")
+    public Mono<ResponseEntity<ApiResponse<?>>> getByLevel(
+            @PathVariable("level") String level,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+
+        if (cursor != null) {
+            return slice(LogQuery.builder().level(level).build(), cursor, size, approxTotal, "Logs by level", listFormat);
+        }
+        return ok("Logs by level", reactiveQueries.findByLevel(level, page, size).map(listFormat::apply));
+    }
+
+    @GetMapping("/recent")
+    public Mono<ResponseEntity<ApiResponse<?>>> recent(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+        return ok("Recent logs", () -> listFormat.apply(queryService.recentTop100()));
+    }
+
+    @GetMapping("/trace/{traceId}")
+    public Mono<ResponseEntity<ApiResponse<?>>> trace(
+            @PathVariable("traceId") String traceId,
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+        return ok("Logs for trace", () -> listFormat.apply(queryService.findTrace(traceId,
+                fromIso != null ? Instant.parse(fromIso) : null,
+                toIso != null ? Instant.parse(toIso) : null)));
+    }
+
+    @GetMapping("/histogram")
+    public Mono<ResponseEntity<ApiResponse<?>>> histogram(
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(value = "serviceName", required = false) String serviceName,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "groupBy", required = false) List<String> groupBy,
+            @RequestParam(value = "interval", required = false) String interval) {
+
+        Instant to = toIso != null ? Instant.parse(toIso) : Instant.now();
+        Instant from = fromIso != null ? Instant.parse(fromIso) : to.minus(Duration.ofHours(1));
+        boolean byService = groupBy != null && groupBy.contains("service");
+        boolean byLevel = groupBy != null && groupBy.contains("level");
+        return ok("Log histogram", () -> histogramService.histogram(from, to, serviceName, level, byService, byLevel, interval))
+                .onErrorResume(IllegalArgumentException.class, ex -> Mono.just(badRequest(ex.getMessage())));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ApiResponse<?>>> search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "serviceName", required = false) String serviceName,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        return ok("Search results", () -> searchService.search(q, serviceName, level,
+                fromIso != null ? Instant.parse(fromIso) : null,
+                toIso != null ? Instant.parse(toIso) : null,
+                limit))
+                .onErrorResume(IllegalArgumentException.class, ex -> Mono.just(badRequest(ex.getMessage())));
+    }
+
+    @GetMapping("/services/health")
+    public Mono<ResponseEntity<ApiResponse<?>>> servicesHealth() {
+        return Mono.just(ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Service health")
+                .data(healthTracker.snapshot()).build()));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String q,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        StreamFilter filter;
+        try {
+            filter = StreamFilter.of(serviceName, level, q);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown level: " + level);
+        }
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        Long resumeId = null;
+        if (resumeFrom != null && !resumeFrom.isBlank()) {
+            try {
+                resumeId = Long.parseLong(resumeFrom.trim());
+            } catch (NumberFormatException ex) {
+                resumeId = -1L; // not one of ours: the client gets a reset
+            }
+        }
+        return broadcaster.subscribeFlux(filter, resumeId);
+    }
+
+    @PostMapping("/push")
+    public Mono<ResponseEntity<ApiResponse<?>>> push(@RequestBody LogMessageDto dto) {
+        if (liveKafkaProperties.isEnabled()) {
+            return Mono.just(ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Ignored: live feed is consumed from Kafka").data(null).build()));
+        }
+        liveLogFeed.accept(dto);
+        return Mono.just(ResponseEntity.ok(ApiResponse.<Object>builder().success(true).message("Pushed").data(null).build()));
+    }
+
+    @GetMapping("/range")
+    public Mono<ResponseEntity<ApiResponse<?>>> range(
+            @RequestParam("from") String fromIso,
+            @RequestParam("to") String toIso,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean approxTotal,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+
+        Instant from = Instant.parse(fromIso);
+        Instant to = Instant.parse(toIso);
+        if (cursor != null) {
+            return slice(LogQuery.between(from, to), cursor, size, approxTotal, "Logs in range", listFormat);
+        }
+        return ok("Logs in range", () -> listFormat.apply(queryService.findBetween(new LogQueryService.InstantRange(from, to), page, size)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<?> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(value = "from", required = false) String fromIso,
+            @RequestParam(value = "to", required = false) String toIso,
+            @RequestParam(value = "serviceName", required = false) String serviceName,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "templateId", required = false) String templateId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        if (gzip) {
+            return badRequest("gzip is not supported in reactive mode; enable server.compression");
+        }
+        LogExportService.Format exportFormat;
+        LogQuery query;
+        try {
+            exportFormat = LogExportService.Format.valueOf(format.toUpperCase());
+            query = LogQuery.builder()
+                    .serviceName(serviceName)
+                    .level(level != null ? LogLevel.valueOf(level.toUpperCase()).name() : null)
+                    .templateId(templateId)
+                    .from(fromIso != null ? Instant.parse(fromIso) : null)
+                    .to(toIso != null ? Instant.parse(toIso) : null)
+                    .build();
+        } catch (RuntimeException ex) {
+            return badRequest("Invalid export request");
+        }
+        if (!exportService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(ApiResponse.<Object>builder().success(false).message("Too many exports running").build());
+        }
+
+        Flux<String> body = Flux.concat(
+                        Mono.just(exportService.header(exportFormat)).filter(header -> !header.isEmpty()),
+                        reactiveQueries.stream(query).<String>handle((logDto, sink) -> {
+                            try {
+                                sink.next(exportService.line(logDto, exportFormat));
+                            } catch (Exception ex) {
+                                sink.error(ex);
+                            }
+                        }))
+                .doFinally(signal -> exportService.release());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"logs." + exportFormat.extension() + "\"")
+                .body(body);
+    }
+
+    private Mono<ResponseEntity<ApiResponse<?>>> slice(LogQuery query, String cursor, int size, boolean approxTotal,
+                                                       String message, LogListFormat listFormat) {
+        return ok(message, reactiveQueries.findSlice(query, cursor, size, approxTotal).map(listFormat::apply))
+                .onErrorResume(InvalidCursorException.class, ex -> Mono.just(badRequest("Invalid cursor")));
+    }
+
+    private Mono<ResponseEntity<ApiResponse<?>>> ok(String message, Callable<?> read) {
+        return ok(message, reactiveQueries.read(read));
+    }
+
+    private Mono<ResponseEntity<ApiResponse<?>>> ok(String message, Mono<?> read) {
+        return read
+                .map(data -> LogController.ok(data).body(ApiResponse.<Object>builder().success(true).message(message).data(data).build()));
+    }
+
+    private static ResponseEntity<ApiResponse<?>> badRequest(String message) {
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.<Object>builder().success(false).message(message).build());
+    }
+}
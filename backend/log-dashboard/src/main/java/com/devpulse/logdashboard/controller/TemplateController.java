@@ -0,0 +1,60 @@
+package com.devpulse.logdashboard.controller;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.devpulse.logdashboard.service.LogListFormat;
+import com.devpulse.logdashboard.service.LogQueryService;
+import com.devpulse.logdashboard.service.LogTemplateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * TemplateController
+ *
+ * - GET /api/logs/templates?service= => template dictionary, most frequent first
+ * - GET /api/logs/templates/stats?from=&to=&service=&limit= => log counts per template in a time range
+ * - GET /api/logs/templates/{templateId}/logs?page=&size=&format=&fields= => logs matching a template
+ */
+@RestController
+@RequestMapping("/api/logs/templates")
+@RequiredArgsConstructor
+public class TemplateController {
+
+    private final LogTemplateService templateService;
+    private final LogQueryService queryService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<?>> list(@RequestParam(value = "service", required = false) String service) {
+        var result = templateService.list(service);
+        var resp = ApiResponse.<Object>builder().success(true).message("Log templates").data(result).build();
+        return ResponseEntity.ok(resp);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<?>> stats(
+            @RequestParam("from") String fromIso,
+            @RequestParam("to") String toIso,
+            @RequestParam(value = "service", required = false) String service,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        var result = templateService.countByTemplate(Instant.parse(fromIso), Instant.parse(toIso), service, limit);
+        var resp = ApiResponse.<Object>builder().success(true).message("Log counts by template").data(result).build();
+        return ResponseEntity.ok(resp);
+    }
+
+    @GetMapping("/{templateId}/logs")
+    public ResponseEntity<ApiResponse<?>> logs(
+            @PathVariable("templateId") String templateId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "fields", required = false) String fields) {
+
+        LogListFormat listFormat = LogController.listFormat(format, fields);
+        var result = queryService.findByTemplate(templateId, page, size);
+        var resp = ApiResponse.<Object>builder().success(true).message("Logs for template").data(listFormat.apply(result)).build();
+        return ResponseEntity.ok(resp);
+    }
+}
@@ -0,0 +1,89 @@
+package com.devpulse.logdashboard.limit;
+
+/**
+ * A concurrency limit adapted to observed latency: a latency gradient with multiplicative
+ * backoff on timeouts.
+ *
+ * A slow moving average of request latency is taken as what the backend needs when it is
+ * not overloaded. After every request the limit moves towards limit * gradient +
+ * sqrt(limit), where the gradient is tolerance * slow average / recent average, capped
+ * to [0.5, 1]: while recent latency stays within the tolerance the limit grows by about
+ * sqrt(limit), and as queueing inflates latency the gradient shrinks it proportionally.
+ * A request that ran into its time limit cuts the limit by 10% at once. The limit grows
+ * only while at least half of it is in use, and stays within [minLimit, maxLimit].
+ */
+public final class AdaptiveLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 500;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    // guarded by this
+    private double limit;
+    private int inFlight;
+    private long samples;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Admits one more request unless the limit is reached; every admitted request must be
+     * {@link #release released}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param rttNanos how long the request took
+     * @param timedOut whether it ran into its time limit
+     */
+    public synchronized void release(long rttNanos, boolean timedOut) {
+        int used = inFlight--;
+        if (timedOut) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        samples++;
+        if (samples == 1) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        } else {
+            shortRtt += (rtt - shortRtt) / Math.min(samples, SHORT_WINDOW);
+            longRtt += (rtt - longRtt) / Math.min(samples, LONG_WINDOW);
+        }
+        if (longRtt > shortRtt * 2) {
+            // load went away faster than the slow average can follow
+            longRtt *= 0.95;
+        }
+        if (used < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,69 @@
+package com.devpulse.logdashboard.limit;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget of the current request's storage reads (app.limits.*.maxTime), which
+ * {@link TimeLimitedMongoTemplate} sends to MongoDB as maxTimeMS.
+ *
+ * Servlet requests read on their own thread. In the reactive mode the deadline travels in
+ * the Reactor context under {@link #CONTEXT_KEY} and is installed on the read pool thread
+ * around each read (see ReactiveLogQueryService), or set as the query's maxTimeMS by the
+ * reactive reader (ReactiveDocumentLogReader).
+ */
+public final class QueryDeadline {
+
+    public static final String CONTEXT_KEY = QueryDeadline.class.getName();
+
+    /** System.nanoTime() by which the current request's reads must finish */
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private QueryDeadline() {
+    }
+
+    public static void set(long deadlineNanos) {
+        DEADLINE.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Milliseconds left (at least 1), or null when the current thread has no deadline.
+     */
+    public static Long remainingMillis() {
+        return remainingMillis(DEADLINE.get());
+    }
+
+    /**
+     * Milliseconds left until the given deadline (at least 1), or null without one; for
+     * reads that take the deadline from the Reactor context rather than the thread.
+     */
+    public static Long remainingMillis(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            return null;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Runs the call with the given deadline (none when null), restoring the previous one after.
+     */
+    public static <T> T call(Long deadlineNanos, Callable<T> call) throws Exception {
+        Long previous = DEADLINE.get();
+        if (deadlineNanos != null) {
+            DEADLINE.set(deadlineNanos);
+        }
+        try {
+            return call.call();
+        } finally {
+            if (previous != null) {
+                DEADLINE.set(previous);
+            } else {
+                DEADLINE.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.devpulse.logdashboard.limit;
+
+import com.devpulse.common.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet mode: admits query requests through the {@link QueryLimiter} and gives them
+ * their class's {@link QueryDeadline}; requests over the limit get a 429 straight away.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLimitFilter extends OncePerRequestFilter {
+
+    private final QueryLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public QueryLimitFilter(QueryLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryLimiter.EndpointClass endpointClass = QueryLimiter.classify(request.getRequestURI());
+        if (endpointClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        QueryLimiter.Permit permit = limiter.tryAcquire(endpointClass);
+        if (permit == null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), rejection(endpointClass));
+            return;
+        }
+        QueryDeadline.set(permit.deadlineNanos());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryDeadline.clear();
+            permit.release();
+        }
+    }
+
+    static ApiResponse<?> rejection(QueryLimiter.EndpointClass endpointClass) {
+        return ApiResponse.builder().success(false)
+                .message("Too many concurrent " + endpointClass.name().toLowerCase() + " queries, retry shortly")
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.devpulse.logdashboard.limit;
+
+import com.devpulse.logdashboard.config.LimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits of the query endpoints, one {@link AdaptiveLimit} per
+ * endpoint class, so a burst of wide historical queries cannot take the MongoDB
+ * connections that paged lists need.
+ *
+ * Live endpoints (/push, /stream, /recent, /services/health) are never limited: they are
+ * served from memory and must keep flowing whatever the query load. Exports have their
+ * own app.export.maxConcurrent. A request over its class's limit is rejected at once
+ * (429) rather than queued; an admitted one gets the class's maxTime as its
+ * {@link QueryDeadline}.
+ *
+ * Metrics: logs.limiter.limit{class}, logs.limiter.inflight{class},
+ * logs.limiter.requests{class, result=accepted|rejected|timeout}.
+ */
+@Component
+public class QueryLimiter {
+
+    public enum EndpointClass {
+        INTERACTIVE,
+        HISTORICAL
+    }
+
+    private final Map<EndpointClass, Limiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    private final class Limiter {
+        final AdaptiveLimit limit;
+        final Duration maxTime;
+        final Counter accepted;
+        final Counter rejected;
+        final Counter timedOut;
+
+        Limiter(EndpointClass endpointClass, LimitProperties.Limit props, MeterRegistry registry) {
+            this.limit = new AdaptiveLimit(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit());
+            this.maxTime = props.getMaxTime();
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("logs.limiter.limit", limit, AdaptiveLimit::limit).tag("class", tag).register(registry);
+            Gauge.builder("logs.limiter.inflight", limit, AdaptiveLimit::inFlight).tag("class", tag).register(registry);
+            this.accepted = registry.counter("logs.limiter.requests", "class", tag, "result", "accepted");
+            this.rejected = registry.counter("logs.limiter.requests", "class", tag, "result", "rejected");
+            this.timedOut = registry.counter("logs.limiter.requests", "class", tag, "result", "timeout");
+        }
+    }
+
+    /**
+     * An admitted request; release it exactly once when the request completes.
+     */
+    public final class Permit {
+        private final Limiter limiter;
+        private final long started = System.nanoTime();
+
+        private Permit(Limiter limiter) {
+            this.limiter = limiter;
+        }
+
+        public long deadlineNanos() {
+            return started + limiter.maxTime.toNanos();
+        }
+
+        public void release() {
+            long rtt = System.nanoTime() - started;
+            boolean timedOut = rtt >= limiter.maxTime.toNanos();
+            if (timedOut) {
+                limiter.timedOut.increment();
+            }
+            limiter.limit.release(rtt, timedOut);
+        }
+    }
+
+    public QueryLimiter(LimitProperties props, MeterRegistry meterRegistry) {
+        limiters.put(EndpointClass.INTERACTIVE, new Limiter(EndpointClass.INTERACTIVE, props.getInteractive(), meterRegistry));
+        limiters.put(EndpointClass.HISTORICAL, new Limiter(EndpointClass.HISTORICAL, props.getHistorical(), meterRegistry));
+    }
+
+    /**
+     * Class of a request path, or null for paths that are not limited.
+     */
+    public static EndpointClass classify(String path) {
+        if (!path.startsWith("/api/logs")) {
+            return null;
+        }
+        String rest = path.substring("/api/logs".length());
+        if (!rest.isEmpty() && !rest.startsWith("/")) {
+            return null;
+        }
+        if (rest.equals("/push") || rest.equals("/stream") || rest.equals("/recent")
+                || rest.equals("/services/health") || rest.equals("/export")) {
+            return null;
+        }
+        if (rest.equals("/range") || rest.equals("/histogram") || rest.equals("/search")
+                || rest.equals("/templates/stats")) {
+            return EndpointClass.HISTORICAL;
+        }
+        return EndpointClass.INTERACTIVE;
+    }
+
+    /**
+     * Admits a request of the class, or returns null when its limit is reached.
+     */
+    public Permit tryAcquire(EndpointClass endpointClass) {
+        Limiter limiter = limiters.get(endpointClass);
+        if (!limiter.limit.tryAcquire()) {
+            limiter.rejected.increment();
+            return null;
+        }
+        limiter.accepted.increment();
+        return new Permit(limiter);
+    }
+
+    public int limit(EndpointClass endpointClass) {
+        return limiters.get(endpointClass).limit.limit();
+    }
+}
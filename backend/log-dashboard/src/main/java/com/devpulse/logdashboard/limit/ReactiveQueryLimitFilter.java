@@ -0,0 +1,61 @@
+package com.devpulse.logdashboard.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive mode counterpart of {@link QueryLimitFilter}: the permit is released when the
+ * response completes, and the deadline is passed to the reads through the Reactor context.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "app.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveQueryLimitFilter implements WebFilter {
+
+    private final QueryLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveQueryLimitFilter(QueryLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        QueryLimiter.EndpointClass endpointClass = QueryLimiter.classify(exchange.getRequest().getPath().value());
+        if (endpointClass == null) {
+            return chain.filter(exchange);
+        }
+        QueryLimiter.Permit permit = limiter.tryAcquire(endpointClass);
+        if (permit == null) {
+            return reject(exchange.getResponse(), endpointClass);
+        }
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(QueryDeadline.CONTEXT_KEY, permit.deadlineNanos()))
+                .doFinally(signal -> permit.release());
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, QueryLimiter.EndpointClass endpointClass) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(QueryLimitFilter.rejection(endpointClass));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
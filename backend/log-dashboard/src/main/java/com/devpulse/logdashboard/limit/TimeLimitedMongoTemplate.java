@@ -0,0 +1,39 @@
+package com.devpulse.logdashboard.limit;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoTemplate bounding every operation by the current request's {@link QueryDeadline}.
+ *
+ * Collections are handed out with the remaining budget as their operation timeout, which
+ * the driver sends as maxTimeMS, so the server abandons a query the client no longer
+ * waits for; cursors must be exhausted within the same budget. Threads without a deadline
+ * (index provisioning, exports, pushes) are not limited.
+ */
+public class TimeLimitedMongoTemplate extends MongoTemplate {
+
+    public TimeLimitedMongoTemplate(MongoDatabaseFactory databaseFactory, MongoConverter converter) {
+        super(databaseFactory, converter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        return withDeadline(super.prepareCollection(collection));
+    }
+
+    @Override
+    public MongoCollection<Document> getCollection(String collectionName) {
+        return withDeadline(super.getCollection(collectionName));
+    }
+
+    private static MongoCollection<Document> withDeadline(MongoCollection<Document> collection) {
+        Long remaining = QueryDeadline.remainingMillis();
+        return remaining == null ? collection : collection.withTimeout(remaining, TimeUnit.MILLISECONDS);
+    }
+}
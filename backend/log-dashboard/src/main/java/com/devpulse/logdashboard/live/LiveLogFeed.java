@@ -0,0 +1,42 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.dto.LogMessageDto;
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.logdashboard.service.LogQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Entry point of live logs into this instance, whether pushed by log-collector
+ * (/api/logs/push) or consumed from Kafka ({@link LiveLogKafkaListener}): updates the
+ * in-memory read paths (hot tail, query cache, search index) and the service health
+ * summary, and fans the log out to SSE clients.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveLogFeed {
+
+    private final LogQueryService queryService;
+    private final LogBroadcaster broadcaster;
+    private final ServiceHealthTracker healthTracker;
+
+    public LogResponseDto accept(LogMessageDto dto) {
+        // Convert to ResponseDto for frontend (add ID)
+        LogResponseDto responseDto = LogResponseDto.builder()
+                .id(UUID.randomUUID().toString())
+                .serviceName(dto.getServiceName())
+                .level(dto.getLevel())
+                .message(dto.getMessage())
+                .traceId(dto.getTraceId())
+                .timestamp(dto.getTimestamp())
+                .count(1L)
+                .build();
+
+        queryService.onLogPushed(responseDto);
+        healthTracker.record(responseDto);
+        broadcaster.publish(responseDto);
+        return responseDto;
+    }
+}
@@ -0,0 +1,43 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.constants.KafkaTopics;
+import com.devpulse.common.dto.LogMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the live stream from devpulse-logs when app.live-kafka.enabled is set.
+ *
+ * Every instance joins its own consumer group (prefix plus a random id) starting at
+ * the latest offset, so each replica streams every new log without a round trip
+ * through log-collector, and a restarted instance does not replay history it never
+ * showed. Records are raw JSON like for log-collector; invalid ones are skipped here
+ * because log-collector already keeps them in "logs_errors".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.live-kafka.enabled", havingValue = "true")
+public class LiveLogKafkaListener {
+
+    private final LiveLogFeed feed;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = KafkaTopics.LOG_TOPIC,
+            groupId = "${app.live-kafka.group-prefix:log-dashboard-live}-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void consume(String rawMessage) {
+        LogMessageDto dto;
+        try {
+            dto = objectMapper.readValue(rawMessage, LogMessageDto.class);
+        } catch (Exception ex) {
+            log.debug("Skipping invalid log from Kafka: {}", ex.getMessage());
+            return;
+        }
+        feed.accept(dto);
+    }
+}
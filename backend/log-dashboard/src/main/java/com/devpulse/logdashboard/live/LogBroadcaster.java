@@ -0,0 +1,589 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.logdashboard.config.StreamProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans pushed logs out to the SSE clients of /api/logs/stream without ever blocking
+ * the publisher.
+ *
+ * Clients with equal {@link StreamFilter}s form one group, and groups are indexed by
+ * their service, so a log is only matched against the groups of its own service plus
+ * the service-agnostic ones, once per group rather than once per client. It is
+ * serialized once, when the first group matches, and offered to the bounded queue of
+ * every client in each matching group. A client
+ * with queued events gets a drain task on a shared cached pool, which writes up to
+ * app.stream.batchSize events as one frame; an idle client holds no thread, and a
+ * client stuck on a slow socket only blocks its own task. When a queue is full the
+ * event is dropped for that client (it receives a "dropped" event with the count once
+ * it catches up); after app.stream.maxDropped drops in a row the client is
+ * disconnected and left to reconnect.
+ *
+ * Every published log gets the next id of a monotonic sequence, sent as the SSE event
+ * id, and is kept in a ring of the last app.stream.replayCapacity logs. A client
+ * reconnecting with Last-Event-ID receives the retained logs after that id that match
+ * its filter and pass its group's rate cap before any live one, so a network flap
+ * loses nothing it would have been sent; if the id has already left the ring (or
+ * comes from another instance) it receives a "reset" event instead and should reload
+ * what it shows. The sequence is seeded from the clock, so
+ * ids keep increasing across restarts. Id assignment and the ring share one lock with
+ * group membership; a publisher only copies the matching groups under it and samples,
+ * serializes and fans out after releasing it, so subscribing and leaving never wait
+ * for a fan-out. A client skips live logs with ids up to the last one at its
+ * registration (which its replay already covers), so a resuming client never sees a
+ * gap or a duplicate between replayed and live logs. Publishers take a second lock
+ * among themselves, so clients receive logs in id order; the fan-out only offers to
+ * queues and never waits on a client.
+ *
+ * Each group is also rate capped by a {@link StreamSampler} (app.stream.maxPerSecond)
+ * before anything is serialized: ERROR logs always go out, INFO/DEBUG are sampled,
+ * and every app.stream.summary-interval-ms the group's clients get a "sampled" event
+ * with the number of skipped logs per service.
+ *
+ * In the reactive mode clients subscribe through {@link #subscribeFlux}; everything
+ * above applies unchanged, except that the drain task writes no more events than the
+ * client has requested and then ends, and the client's next request schedules it
+ * again, so a slow reactive client holds no thread either.
+ *
+ * Metrics: logs.sse.subscribers, logs.sse.events{result=sent|dropped|sampled},
+ * logs.sse.disconnects{reason}, logs.sse.resumes{result=replayed|reset}.
+ */
+@Slf4j
+@Component
+public class LogBroadcaster implements DisposableBean {
+
+    /**
+     * An SSE event with pre-serialized data; id 0 means the event carries no id.
+     */
+    record Event(long id, String name, String data) {
+    }
+
+    private final StreamProperties props;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter sampledOut;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /** Key of groups without a service filter in groupsByService */
+    private static final String ANY_SERVICE = "";
+
+    /** Guards group membership, the sequence and the replay ring */
+    private final Object groupLock = new Object();
+
+    /** Orders publishers, so logs are fanned out in id order */
+    private final Object publishLock = new Object();
+    private final Map<StreamFilter, Group> groups = new ConcurrentHashMap<>();
+    private final Map<String, Set<Group>> groupsByService = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+
+    /** Last retained logs, the one with id i at index i % length */
+    private final LogResponseDto[] replay;
+    private final long firstId;
+    private long lastId;
+
+    public LogBroadcaster(StreamProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.sent = meterRegistry.counter("logs.sse.events", "result", "sent");
+        this.dropped = meterRegistry.counter("logs.sse.events", "result", "dropped");
+        this.sampledOut = meterRegistry.counter("logs.sse.events", "result", "sampled");
+        meterRegistry.gaugeCollectionSize("logs.sse.subscribers", List.of(), subscribers);
+        this.replay = new LogResponseDto[Math.max(0, props.getReplayCapacity())];
+        this.firstId = System.currentTimeMillis() * 1000;
+        this.lastId = firstId - 1;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "sse-sender-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @param lastEventId id of the last event the client saw (Last-Event-ID), or null for a fresh stream
+     */
+    public SseEmitter subscribe(StreamFilter filter, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L); // no timeout
+        register(emitter, filter, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Reactive mode: the same subscription as a Flux, ended by cancelling it.
+     */
+    public Flux<ServerSentEvent<String>> subscribeFlux(StreamFilter filter, Long lastEventId) {
+        return Flux.create(sink -> {
+            Subscriber subscriber = register(new FluxChannel(sink), filter, lastEventId);
+            sink.onRequest(n -> subscriber.resume());
+            sink.onDispose(() -> subscriber.close(null));
+        });
+    }
+
+    void register(SseEmitter emitter, StreamFilter filter, Long lastEventId) {
+        Subscriber subscriber = register(new EmitterChannel(emitter), filter, lastEventId);
+        emitter.onCompletion(() -> leave(subscriber));
+        emitter.onTimeout(() -> leave(subscriber));
+        emitter.onError(ex -> leave(subscriber));
+    }
+
+    private Subscriber register(Channel channel, StreamFilter filter, Long lastEventId) {
+        Subscriber subscriber;
+        synchronized (groupLock) {
+            Group group = group(filter);
+            List<Event> missed = lastEventId != null ? missedSince(lastEventId, group) : List.of();
+            subscriber = new Subscriber(channel, missed == null ? 0 : missed.size(), lastId);
+            subscribers.add(subscriber);
+
+            // Send initial event to establish connection immediately
+            subscriber.offer(new Event(0, "init", "Connected"));
+            if (missed == null) {
+                meterRegistry.counter("logs.sse.resumes", "result", "reset").increment();
+                subscriber.offer(new Event(0, "reset", Long.toString(lastId)));
+            } else if (lastEventId != null) {
+                meterRegistry.counter("logs.sse.resumes", "result", "replayed").increment();
+                missed.forEach(subscriber::offer);
+            }
+            group.members.add(subscriber);
+            subscriber.group = group;
+        }
+        return subscriber;
+    }
+
+    public void publish(LogResponseDto logDto) {
+        synchronized (publishLock) {
+            long id;
+            List<Group> candidates = new ArrayList<>();
+            synchronized (groupLock) {
+                id = ++lastId;
+                if (replay.length > 0) {
+                    replay[(int) (id % replay.length)] = logDto;
+                }
+                if (subscribers.isEmpty()) {
+                    return;
+                }
+                String service = logDto.getServiceName();
+                for (String key : service == null || service.equals(ANY_SERVICE) ? List.of(ANY_SERVICE) : List.of(service, ANY_SERVICE)) {
+                    Set<Group> groupsOfKey = groupsByService.get(key);
+                    if (groupsOfKey != null) {
+                        candidates.addAll(groupsOfKey);
+                    }
+                }
+            }
+
+            Event event = null;
+            long now = System.nanoTime();
+            for (Group group : candidates) {
+                if (!group.filter.matches(logDto)) {
+                    continue;
+                }
+                if (!group.sampler.admit(logDto, now)) {
+                    sampledOut.increment();
+                    continue;
+                }
+                if (event == null) {
+                    event = toEvent(id, logDto);
+                    if (event == null) {
+                        return;
+                    }
+                }
+                for (Subscriber subscriber : group.members) {
+                    if (id > subscriber.joinedAfter) {
+                        subscriber.offer(event);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends a non-log event to every client, whatever its filter, without an id or rate cap.
+     */
+    public void broadcast(String name, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Event event;
+        try {
+            event = new Event(0, name, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            log.warn("Failed to serialize {} event: {}", name, ex.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Tells the clients of every group that skipped logs how many, per service.
+     */
+    @Scheduled(fixedDelayString = "${app.stream.summary-interval-ms:5000}")
+    public void publishSummaries() {
+        List<Group> current;
+        synchronized (groupLock) {
+            current = List.copyOf(groups.values());
+        }
+        for (Group group : current) {
+            Map<String, Long> skipped = group.sampler.drainSkipped();
+            if (skipped == null) {
+                continue;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("skipped", skipped);
+            summary.put("total", skipped.values().stream().mapToLong(Long::longValue).sum());
+            summary.put("sampleRate", group.sampler.probability());
+            Event event;
+            try {
+                event = new Event(0, "sampled", objectMapper.writeValueAsString(summary));
+            } catch (JsonProcessingException ex) {
+                log.warn("Failed to serialize stream summary: {}", ex.getMessage());
+                continue;
+            }
+            for (Subscriber subscriber : group.members) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Retained logs after lastEventId matching the group's filter and admitted by its
+     * sampler, oldest first, or null when the ring no longer covers that id. Called
+     * holding groupLock.
+     */
+    private List<Event> missedSince(long lastEventId, Group group) {
+        long oldest = Math.max(firstId, lastId - replay.length + 1);
+        if (lastEventId < oldest - 1 || lastEventId > lastId) {
+            return null;
+        }
+        List<Event> missed = new ArrayList<>();
+        long now = System.nanoTime();
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            LogResponseDto logDto = replay[(int) (id % replay.length)];
+            if (!group.filter.matches(logDto)) {
+                continue;
+            }
+            // a replay burst counts against the same rate cap as live logs
+            if (!group.sampler.admit(logDto, now)) {
+                sampledOut.increment();
+                continue;
+            }
+            Event event = toEvent(id, logDto);
+            if (event != null) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    private Event toEvent(long id, LogResponseDto logDto) {
+        try {
+            return new Event(id, "log", objectMapper.writeValueAsString(logDto));
+        } catch (JsonProcessingException ex) {
+            log.warn("Failed to serialize log for streaming: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    long lastEventId() {
+        synchronized (groupLock) {
+            return lastId;
+        }
+    }
+
+    /**
+     * The group of the filter, created when it has none. Called holding groupLock.
+     */
+    private Group group(StreamFilter filter) {
+        return groups.computeIfAbsent(filter, f -> {
+            Group created = new Group(f, new StreamSampler(props.getMaxPerSecond(), System.nanoTime()));
+            groupsByService.computeIfAbsent(serviceKey(f), k -> ConcurrentHashMap.newKeySet()).add(created);
+            return created;
+        });
+    }
+
+    private void leave(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        synchronized (groupLock) {
+            Group group = subscriber.group;
+            if (group == null || !group.members.remove(subscriber) || !group.members.isEmpty()) {
+                return;
+            }
+            groups.remove(group.filter);
+            Set<Group> siblings = groupsByService.get(serviceKey(group.filter));
+            if (siblings != null) {
+                siblings.remove(group);
+                if (siblings.isEmpty()) {
+                    groupsByService.remove(serviceKey(group.filter));
+                }
+            }
+        }
+    }
+
+    private static String serviceKey(StreamFilter filter) {
+        return filter.serviceName() != null ? filter.serviceName() : ANY_SERVICE;
+    }
+
+    /**
+     * Clients sharing one filter, and their rate cap.
+     */
+    static final class Group {
+        final StreamFilter filter;
+        final StreamSampler sampler;
+        final Set<Subscriber> members = ConcurrentHashMap.newKeySet();
+
+        Group(StreamFilter filter, StreamSampler sampler) {
+            this.filter = filter;
+            this.sampler = sampler;
+        }
+    }
+
+    /**
+     * Ends every stream as soon as shutdown starts; an open stream would otherwise hold
+     * the web server's graceful shutdown until its timeout.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        subscribers.forEach(s -> s.close(null));
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+        subscribers.forEach(s -> s.close(null));
+    }
+
+    /**
+     * Where a client's frames are written.
+     */
+    interface Channel {
+
+        /**
+         * Events the client accepts right now; unbounded when {@link #send} blocks instead.
+         */
+        default long demand() {
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Writes one frame: a "dropped" event when dropped > 0, then the events. May block
+         * while the client is slow.
+         */
+        void send(long dropped, List<Event> events) throws Exception;
+
+        void complete();
+    }
+
+    /**
+     * Servlet mode: one emitter write (and flush) per frame.
+     */
+    private record EmitterChannel(SseEmitter emitter) implements Channel {
+
+        @Override
+        public void send(long dropped, List<Event> events) throws Exception {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = new LinkedHashSet<>();
+            if (dropped > 0) {
+                frame.addAll(SseEmitter.event().name("dropped").data(dropped).build());
+            }
+            for (Event event : events) {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name());
+                if (event.id() != 0) {
+                    builder.id(Long.toString(event.id()));
+                }
+                frame.addAll(builder.data(event.data(), MediaType.TEXT_PLAIN).build());
+            }
+            emitter.send(frame);
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Reactive mode: never blocks, the drain task sends no more than {@link #demand}.
+     */
+    private record FluxChannel(FluxSink<ServerSentEvent<String>> sink) implements Channel {
+
+        @Override
+        public long demand() {
+            return sink.requestedFromDownstream();
+        }
+
+        @Override
+        public void send(long dropped, List<Event> events) {
+            if (dropped > 0) {
+                sink.next(ServerSentEvent.builder(Long.toString(dropped)).event("dropped").build());
+            }
+            for (Event event : events) {
+                ServerSentEvent.Builder<String> builder = ServerSentEvent.builder(event.data()).event(event.name());
+                if (event.id() != 0) {
+                    builder.id(Long.toString(event.id()));
+                }
+                sink.next(builder.build());
+            }
+        }
+
+        @Override
+        public void complete() {
+            sink.complete();
+        }
+    }
+
+    /**
+     * One client: a bounded queue plus a drain task that is scheduled at most once at a time.
+     */
+    final class Subscriber implements Runnable {
+
+        private final Channel channel;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /** Events dropped since the last frame was written */
+        private final AtomicLong missed = new AtomicLong();
+        private volatile boolean closed;
+        private Group group;
+
+        /** Last log id at registration; later ones come live, earlier ones only by replay */
+        private final long joinedAfter;
+
+        /**
+         * @param replayed    events about to be replayed; the queue is grown to hold them on top of live ones
+         * @param joinedAfter last log id at registration
+         */
+        Subscriber(Channel channel, int replayed, long joinedAfter) {
+            this.channel = channel;
+            this.joinedAfter = joinedAfter;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, props.getQueueCapacity()) + replayed);
+        }
+
+        void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                dropped.increment();
+                if (missed.incrementAndGet() >= props.getMaxDropped()) {
+                    close("slow");
+                }
+                return;
+            }
+            schedule();
+        }
+
+        /**
+         * Called when the client requests more, to send what queued up while it had no demand.
+         */
+        void resume() {
+            if (!closed && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RuntimeException ex) {
+                    // executor shut down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<Event> batch = new ArrayList<>(props.getBatchSize());
+                while (!closed) {
+                    long skipped = missed.getAndSet(0);
+                    // a "dropped" event takes one unit of the client's demand too
+                    long room = Math.min(props.getBatchSize(), channel.demand() - (skipped > 0 ? 1 : 0));
+                    if (room <= 0 || queue.drainTo(batch, (int) room) == 0) {
+                        missed.addAndGet(skipped);
+                        break;
+                    }
+                    channel.send(skipped, batch);
+                    sent.increment(batch.size());
+                    batch.clear();
+                }
+            } catch (Exception ex) {
+                close("error");
+            } finally {
+                scheduled.set(false);
+                if (!closed && !queue.isEmpty() && channel.demand() > 0) {
+                    schedule();
+                }
+            }
+        }
+
+        void close(String reason) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            leave(this);
+            queue.clear();
+            if (reason != null) {
+                meterRegistry.counter("logs.sse.disconnects", "reason", reason).increment();
+            }
+            // completing waits for a write in progress; never do that on the publisher's thread
+            try {
+                senders.execute(this::complete);
+            } catch (RuntimeException ex) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                channel.complete();
+            } catch (Exception ignored) {
+                // already completed by the container
+            }
+        }
+    }
+}
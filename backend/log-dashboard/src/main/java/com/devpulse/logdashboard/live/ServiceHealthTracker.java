@@ -0,0 +1,138 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.ServiceHealthDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.logdashboard.config.HealthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-service health summary maintained from the live feed, so the overview page never
+ * queries MongoDB.
+ *
+ * Each service keeps exponentially decaying counts of all logs and of ERROR logs with
+ * time constants of 1, 5 and 15 minutes (like load averages). A log decays the counts
+ * by the time since the previous one and adds one, which is O(1) and needs no ticking
+ * thread; at a steady rate r a count settles at r * tau, so the rate is count / tau and
+ * the error rate is errors / count. Reads decay a copy to the current time.
+ *
+ * The summary is served by /api/logs/services/health and sent to every live stream
+ * client as a "health" event every app.health.publish-interval-ms.
+ */
+@Slf4j
+@Component
+public class ServiceHealthTracker {
+
+    private static final double[] TAU_MILLIS = {60_000, 300_000, 900_000};
+
+    private final HealthProperties props;
+    private final LogBroadcaster broadcaster;
+    private final Clock clock;
+    private final Map<String, Health> services = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceHealthTracker(HealthProperties props, LogBroadcaster broadcaster) {
+        this(props, broadcaster, Clock.systemUTC());
+    }
+
+    ServiceHealthTracker(HealthProperties props, LogBroadcaster broadcaster, Clock clock) {
+        this.props = props;
+        this.broadcaster = broadcaster;
+        this.clock = clock;
+    }
+
+    public void record(LogResponseDto logDto) {
+        String service = logDto.getServiceName() != null ? logDto.getServiceName() : "unknown";
+        Health health = services.get(service);
+        if (health == null) {
+            if (services.size() >= props.getMaxServices()) {
+                return;
+            }
+            health = services.computeIfAbsent(service, Health::new);
+        }
+        health.record(logDto, clock.millis());
+    }
+
+    /**
+     * Current summary of every service, by name.
+     */
+    public List<ServiceHealthDto> snapshot() {
+        long now = clock.millis();
+        return services.values().stream()
+                .map(h -> h.snapshot(now))
+                .sorted(Comparator.comparing(ServiceHealthDto::getServiceName))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.health.publish-interval-ms:5000}")
+    public void publish() {
+        if (!services.isEmpty()) {
+            broadcaster.broadcast("health", snapshot());
+        }
+    }
+
+    private static final class Health {
+        private final String serviceName;
+        private final double[] all = new double[TAU_MILLIS.length];
+        private final double[] errors = new double[TAU_MILLIS.length];
+        private long updatedAt;
+        private long total;
+        private long errorTotal;
+        private Instant lastErrorAt;
+        private String lastErrorMessage;
+
+        Health(String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        synchronized void record(LogResponseDto logDto, long now) {
+            boolean error = logDto.getLevel() == LogLevel.ERROR;
+            for (int i = 0; i < TAU_MILLIS.length; i++) {
+                double decay = decay(i, now);
+                all[i] = all[i] * decay + 1;
+                errors[i] = errors[i] * decay + (error ? 1 : 0);
+            }
+            updatedAt = now;
+            total++;
+            if (error) {
+                errorTotal++;
+                lastErrorAt = Instant.ofEpochMilli(now);
+                lastErrorMessage = logDto.getMessage();
+            }
+        }
+
+        synchronized ServiceHealthDto snapshot(long now) {
+            double[] rate = new double[TAU_MILLIS.length];
+            double[] errorRate = new double[TAU_MILLIS.length];
+            for (int i = 0; i < TAU_MILLIS.length; i++) {
+                double count = all[i] * decay(i, now);
+                rate[i] = count / (TAU_MILLIS[i] / 1000);
+                errorRate[i] = all[i] > 0 ? errors[i] / all[i] : 0;
+            }
+            return ServiceHealthDto.builder()
+                    .serviceName(serviceName)
+                    .lastSeen(Instant.ofEpochMilli(updatedAt))
+                    .rate1m(rate[0]).rate5m(rate[1]).rate15m(rate[2])
+                    .errorRate1m(errorRate[0]).errorRate5m(errorRate[1]).errorRate15m(errorRate[2])
+                    .lastErrorAt(lastErrorAt)
+                    .lastErrorMessage(lastErrorMessage)
+                    .total(total)
+                    .errors(errorTotal)
+                    .build();
+        }
+
+        private double decay(int window, long now) {
+            return Math.exp(-Math.max(0, now - updatedAt) / TAU_MILLIS[window]);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * What a live stream client asked for: one service, a set of levels and a
+ * case-insensitive message substring (null = any). Equal filters share one
+ * subscription group in {@link LogBroadcaster}.
+ */
+public record StreamFilter(String serviceName, Set<LogLevel> levels, String contains) {
+
+    public static final StreamFilter ALL = new StreamFilter(null, null, null);
+
+    /**
+     * Normalizes request parameters: blanks mean "any", levels are comma-separated.
+     *
+     * @throws IllegalArgumentException for an unknown level
+     */
+    public static StreamFilter of(String serviceName, String levels, String contains) {
+        Set<LogLevel> levelSet = null;
+        if (levels != null && !levels.isBlank()) {
+            levelSet = EnumSet.noneOf(LogLevel.class);
+            for (String level : levels.split(",")) {
+                if (!level.isBlank()) {
+                    levelSet.add(LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT)));
+                }
+            }
+        }
+        return new StreamFilter(
+                serviceName == null || serviceName.isBlank() ? null : serviceName,
+                levelSet == null || levelSet.isEmpty() || levelSet.size() == LogLevel.values().length ? null : levelSet,
+                contains == null || contains.isBlank() ? null : contains.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean matches(LogResponseDto log) {
+        if (serviceName != null && !serviceName.equals(log.getServiceName())) return false;
+        if (levels != null && (log.getLevel() == null || !levels.contains(log.getLevel()))) return false;
+        return contains == null
+                || log.getMessage() != null && log.getMessage().toLowerCase(Locale.ROOT).contains(contains);
+    }
+}
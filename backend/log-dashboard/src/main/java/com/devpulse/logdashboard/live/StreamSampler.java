@@ -0,0 +1,104 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rate cap of one subscription group, so a log flood cannot freeze browsers or keep the
+ * dashboard busy serializing logs nobody can read.
+ *
+ * Time is cut into one-second windows. ERROR logs always pass. WARN logs pass while the
+ * window has delivered fewer than maxPerSecond logs. DEBUG and INFO logs also need to
+ * win a draw against the sampling probability, which every window is set from the
+ * previous one: the budget left after ERROR and WARN logs divided by the DEBUG/INFO
+ * rate. A flood is thus thinned evenly across the second (a representative sample)
+ * rather than cut off after its first maxPerSecond logs. Skipped logs are counted per
+ * service until the next {@link #drainSkipped()}.
+ *
+ * Thread-safe: the publisher admits logs while the summary task drains the counts.
+ */
+final class StreamSampler {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int maxPerSecond;
+
+    private long windowStart;
+    private int delivered;
+    private int priority;
+    private int sampleable;
+    private double probability = 1.0;
+
+    private final Map<String, Long> skipped = new TreeMap<>();
+
+    /**
+     * @param maxPerSecond logs delivered per second at most, apart from ERROR logs (0 = unlimited)
+     */
+    StreamSampler(int maxPerSecond, long nowNanos) {
+        this.maxPerSecond = maxPerSecond;
+        this.windowStart = nowNanos;
+    }
+
+    /**
+     * Whether the log goes out to the group; otherwise it is counted as skipped.
+     */
+    synchronized boolean admit(LogResponseDto log, long nowNanos) {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        if (nowNanos - windowStart >= WINDOW_NANOS) {
+            roll(nowNanos);
+        }
+        LogLevel level = log.getLevel();
+        if (level == LogLevel.ERROR) {
+            priority++;
+            delivered++;
+            return true;
+        }
+        boolean sampled = level != LogLevel.WARN;
+        if (sampled) {
+            sampleable++;
+        } else {
+            priority++;
+        }
+        if (delivered < maxPerSecond
+                && (!sampled || probability >= 1.0 || ThreadLocalRandom.current().nextDouble() < probability)) {
+            delivered++;
+            return true;
+        }
+        skipped.merge(log.getServiceName() != null ? log.getServiceName() : "unknown", 1L, Long::sum);
+        return false;
+    }
+
+    synchronized double probability() {
+        return probability;
+    }
+
+    /**
+     * Logs skipped per service since the last call, or null when none were.
+     */
+    synchronized Map<String, Long> drainSkipped() {
+        if (skipped.isEmpty()) {
+            return null;
+        }
+        Map<String, Long> drained = new TreeMap<>(skipped);
+        skipped.clear();
+        return drained;
+    }
+
+    private void roll(long nowNanos) {
+        double seconds = (double) (nowNanos - windowStart) / WINDOW_NANOS;
+        double rate = sampleable / seconds;
+        // keep a tenth of the budget for DEBUG/INFO even when ERROR and WARN use it all
+        int budget = Math.max(maxPerSecond - (int) (priority / seconds), maxPerSecond / 10);
+        probability = rate <= budget ? 1.0 : budget / rate;
+        windowStart = nowNanos;
+        delivered = 0;
+        priority = 0;
+        sampleable = 0;
+    }
+}
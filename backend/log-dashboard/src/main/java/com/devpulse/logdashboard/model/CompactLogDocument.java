@@ -0,0 +1,69 @@
+package com.devpulse.logdashboard.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Compact, dictionary-encoded log document. Matches log-collector's "logs_c" schema;
+ * decoded into {@link LogDocument} by CompactLogReader. The compound indexes match
+ * every query shape of CompactLogReader and are created at startup by IndexProvisioner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "logs_c")
+@CompoundIndexes({
+        @CompoundIndex(name = "t_id", def = "{'t': -1, '_id': -1}"),
+        @CompoundIndex(name = "s_t_id", def = "{'s': 1, 't': -1, '_id': -1}"),
+        @CompoundIndex(name = "l_t_id", def = "{'l': 1, 't': -1, '_id': -1}"),
+        @CompoundIndex(name = "ti_t_id", def = "{'ti': 1, 't': -1, '_id': -1}")
+})
+public class CompactLogDocument {
+
+    @Id
+    private String id;
+
+    @Field("s")
+    private Integer serviceId;
+
+    @Field("l")
+    private Integer level;
+
+    @Field("t")
+    private Instant timestamp;
+
+    @Field("m")
+    private String message;
+
+    @Field("x")
+    private byte[] traceId;
+
+    @Field("c")
+    private Long count;
+
+    @Field("f")
+    private Instant firstSeen;
+
+    @Field("e")
+    private Instant lastSeen;
+
+    @Field("xs")
+    private List<byte[]> sampleTraceIds;
+
+    @Field("ti")
+    private String templateId;
+
+    @Field("tv")
+    private Integer templateVersion;
+
+    @Field("tp")
+    private List<String> templateParams;
+}
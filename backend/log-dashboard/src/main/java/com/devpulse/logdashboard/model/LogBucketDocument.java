@@ -0,0 +1,63 @@
+package com.devpulse.logdashboard.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bucket of logs of one service within one minute. Matches log-collector's
+ * "log_buckets" schema; unpacked into {@link LogDocument} by BucketLogReader.
+ *
+ * Buckets are bounded: once a bucket holds the configured maximum number of logs
+ * further logs of the same minute go into an overflow bucket (same service and
+ * minute, new document). minTimestamp/maxTimestamp let readers skip buckets
+ * outside a time range without unpacking them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "log_buckets")
+public class LogBucketDocument {
+
+    @Id
+    private String id;
+
+    private String serviceName;
+
+    /** Start of the minute this bucket covers */
+    private Instant minute;
+
+    /** Number of logs in this bucket */
+    private int size;
+
+    private Instant minTimestamp;
+    private Instant maxTimestamp;
+
+    private List<Entry> logs;
+
+    /**
+     * One log inside a bucket; same fields as {@link LogDocument} minus the service name.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        private String id;
+        private String level;
+        private Instant timestamp;
+        private String message;
+        private String traceId;
+        private Long count;
+        private Instant firstSeen;
+        private Instant lastSeen;
+        private List<String> sampleTraceIds;
+        private String templateId;
+        private Integer templateVersion;
+        private List<String> templateParams;
+    }
+}
@@ -3,18 +3,30 @@ package com.devpulse.logdashboard.model;
 import com.devpulse.common.enums.LogLevel;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * MongoDB document for collected logs. Matches log-collector's persisted schema.
+ * The compound indexes match every query shape of DocumentLogReader (equality filter,
+ * then timestamp and _id newest first) and are created at startup by IndexProvisioner.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Document(collection = "logs")
+@CompoundIndexes({
+        @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "service_timestamp_id", def = "{'serviceName': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "level_timestamp_id", def = "{'level': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "service_level_timestamp_id", def = "{'serviceName': 1, 'level': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "template_timestamp_id", def = "{'templateId': 1, 'timestamp': -1, '_id': -1}")
+})
 public class LogDocument {
 
     @Id
@@ -25,4 +37,15 @@ public class LogDocument {
     private String message;
     private Instant timestamp;
     private String traceId;
+
+    /** Collapsed repeat count written by log-collector's dedup stage (null = 1) */
+    private Long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+    private List<String> sampleTraceIds;
+
+    /** Template dictionary reference written by log-collector's template miner */
+    private String templateId;
+    private Integer templateVersion;
+    private List<String> templateParams;
 }
@@ -0,0 +1,30 @@
+package com.devpulse.logdashboard.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * MongoDB document for the log template dictionary. Matches log-collector's persisted schema.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "log_templates")
+public class LogTemplateDocument {
+
+    @Id
+    private String id;
+
+    private String serviceName;
+    private String template;
+    private List<String> tokens;
+    private List<List<String>> versions;
+    private Long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+}
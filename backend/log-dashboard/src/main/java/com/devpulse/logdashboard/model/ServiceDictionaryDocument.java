@@ -0,0 +1,21 @@
+package com.devpulse.logdashboard.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * MongoDB document mapping a service name to the small integer id used by compact logs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "service_dict")
+public class ServiceDictionaryDocument {
+
+    @Id
+    private Integer id;
+
+    private String name;
+}
@@ -0,0 +1,49 @@
+package com.devpulse.logdashboard.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Log measurement in the native time-series collection "logs_ts"
+ * (app.storage.mode=TIMESERIES).
+ *
+ * timestamp is the timeField and meta (service + level) the metaField, so MongoDB
+ * groups logs of one service and level into compressed internal buckets and can
+ * expire them per level.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "logs_ts")
+public class TimeSeriesLogDocument {
+
+    @Id
+    private String id;
+
+    private Instant timestamp;
+
+    private Meta meta;
+
+    private String message;
+    private String traceId;
+    private Long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+    private List<String> sampleTraceIds;
+    private String templateId;
+    private Integer templateVersion;
+    private List<String> templateParams;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Meta {
+        private String serviceName;
+        private String level;
+    }
+}
@@ -0,0 +1,22 @@
+package com.devpulse.logdashboard.repository;
+
+import com.devpulse.logdashboard.model.CompactLogDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CompactLogRepository extends MongoRepository<CompactLogDocument, String> {
+
+    Page<CompactLogDocument> findByServiceId(Integer serviceId, Pageable pageable);
+
+    Page<CompactLogDocument> findByLevel(Integer level, Pageable pageable);
+
+    Page<CompactLogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable);
+
+    Page<CompactLogDocument> findByTemplateId(String templateId, Pageable pageable);
+
+    List<CompactLogDocument> findTop100ByOrderByTimestampDesc();
+}
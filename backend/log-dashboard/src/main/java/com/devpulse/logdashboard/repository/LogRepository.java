@@ -19,6 +19,8 @@ public interface LogRepository extends MongoRepository<LogDocument, String> {
 
     Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable);
 
+    Page<LogDocument> findByTemplateId(String templateId, Pageable pageable);
+
     // Convenience
     List<LogDocument> findTop100ByOrderByTimestampDesc();
 }
@@ -0,0 +1,13 @@
+package com.devpulse.logdashboard.repository;
+
+import com.devpulse.logdashboard.model.LogTemplateDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface LogTemplateRepository extends MongoRepository<LogTemplateDocument, String> {
+
+    List<LogTemplateDocument> findByServiceNameOrderByCountDesc(String serviceName);
+
+    List<LogTemplateDocument> findAllByOrderByCountDesc();
+}
@@ -0,0 +1,188 @@
+package com.devpulse.logdashboard.search;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.SearchProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the messages of pushed logs, partitioned by log
+ * timestamp (app.search.partition).
+ *
+ * Each partition maps words to compressed {@link PostingList}s of the partition's
+ * logs. A search intersects the postings of all query words, newest partition first,
+ * and verifies phrases and filters on the candidates only. Partitions older than
+ * app.search.retention, or beyond app.search.maxDocs, are dropped whole, and
+ * {@link #coveredFrom()} moves forward accordingly: ranges before it must be searched
+ * in the database.
+ */
+@Component
+public class LogSearchIndex {
+
+    private static final class Partition {
+        final List<LogResponseDto> logs = new ArrayList<>();
+        final Map<String, PostingList> postings = new HashMap<>();
+    }
+
+    private final SearchProperties props;
+    private final Clock clock;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Partition start millis -> partition; guarded by lock */
+    private final NavigableMap<Long, Partition> partitions = new TreeMap<>();
+    private int docs;
+
+    /** Partitions starting before this were dropped and are not recreated by late logs */
+    private long droppedBefore = Long.MIN_VALUE;
+
+    /** Start of the first partition filled since startup; earlier logs were never pushed to this instance */
+    private Instant startedAt;
+
+    @Autowired
+    public LogSearchIndex(SearchProperties props) {
+        this(props, Clock.systemUTC());
+    }
+
+    LogSearchIndex(SearchProperties props, Clock clock) {
+        this.props = props;
+        this.clock = clock;
+    }
+
+    public void add(LogResponseDto log) {
+        if (!props.isEnabled() || log.getMessage() == null) {
+            return;
+        }
+        long partitionMillis = props.getPartition().toMillis();
+        Instant now = clock.instant();
+        Instant timestamp = log.getTimestamp() != null ? log.getTimestamp() : now;
+        long start = Math.floorDiv(timestamp.toEpochMilli(), partitionMillis) * partitionMillis;
+        List<String> words = Tokenizer.tokens(log.getMessage());
+
+        lock.writeLock().lock();
+        try {
+            if (startedAt == null) {
+                startedAt = Instant.ofEpochMilli(Math.floorDiv(now.toEpochMilli(), partitionMillis) * partitionMillis)
+                        .plusMillis(partitionMillis);
+            }
+            evict(now);
+            if (start < droppedBefore || start + partitionMillis <= now.minus(props.getRetention()).toEpochMilli()) {
+                return;
+            }
+            Partition partition = partitions.computeIfAbsent(start, s -> new Partition());
+            int ordinal = partition.logs.size();
+            partition.logs.add(log);
+            docs++;
+            for (String word : words) {
+                partition.postings.computeIfAbsent(word, w -> new PostingList()).add(ordinal);
+            }
+            while (docs > props.getMaxDocs() && partitions.size() > 1) {
+                drop();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Start of the range the index answers completely: nothing before it was indexed
+     * or it was dropped. Null when the index holds nothing.
+     */
+    public Instant coveredFrom() {
+        lock.readLock().lock();
+        try {
+            if (partitions.isEmpty()) {
+                return null;
+            }
+            Instant oldest = Instant.ofEpochMilli(partitions.firstKey());
+            // the first partition filled after startup is only complete from its end on
+            return oldest.isAfter(startedAt) ? oldest : startedAt;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit indexed logs matching the search and filters, newest first.
+     */
+    public List<LogResponseDto> search(SearchQuery search, LogQuery filter, int limit) {
+        List<LogResponseDto> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long partitionMillis = props.getPartition().toMillis();
+            for (Map.Entry<Long, Partition> entry : partitions.descendingMap().entrySet()) {
+                if (found.size() >= limit) {
+                    break;
+                }
+                if (!filter.overlaps(entry.getKey(), entry.getKey() + partitionMillis - 1)) {
+                    continue;
+                }
+                Partition partition = entry.getValue();
+                List<LogResponseDto> matches = new ArrayList<>();
+                for (int ordinal : candidates(partition, search)) {
+                    LogResponseDto log = partition.logs.get(ordinal);
+                    if (matchesFilter(filter, log) && search.matches(log.getMessage())) {
+                        matches.add(log);
+                    }
+                }
+                matches.sort(Comparator.comparing(LogResponseDto::getTimestamp,
+                        Comparator.nullsLast(Comparator.reverseOrder())));
+                found.addAll(matches);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private static int[] candidates(Partition partition, SearchQuery search) {
+        List<int[]> lists = new ArrayList<>();
+        for (String word : search.words()) {
+            PostingList list = partition.postings.get(word);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list.decode());
+        }
+        lists.sort(Comparator.comparingInt(a -> a.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = PostingList.intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static boolean matchesFilter(LogQuery filter, LogResponseDto log) {
+        if (filter.serviceName() != null && !filter.serviceName().equals(log.getServiceName())) return false;
+        if (filter.level() != null && (log.getLevel() == null || !filter.level().equals(log.getLevel().name()))) return false;
+        if (log.getTimestamp() == null) return filter.from() == null && filter.to() == null;
+        return filter.overlaps(log.getTimestamp().toEpochMilli(), log.getTimestamp().toEpochMilli());
+    }
+
+    private void evict(Instant now) {
+        long cutoff = now.minus(props.getRetention()).toEpochMilli();
+        long partitionMillis = props.getPartition().toMillis();
+        while (!partitions.isEmpty() && partitions.firstKey() + partitionMillis <= cutoff) {
+            drop();
+        }
+    }
+
+    private void drop() {
+        Map.Entry<Long, Partition> oldest = partitions.pollFirstEntry();
+        docs -= oldest.getValue().logs.size();
+        droppedBefore = oldest.getKey() + props.getPartition().toMillis();
+    }
+}
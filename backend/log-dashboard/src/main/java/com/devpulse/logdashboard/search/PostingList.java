@@ -0,0 +1,83 @@
+package com.devpulse.logdashboard.search;
+
+import java.util.Arrays;
+
+/**
+ * Ascending document ordinals of one term, stored as varint-encoded gaps. Ordinals
+ * are assigned in arrival order, so appending keeps the list sorted and gaps small
+ * (typically one or two bytes per posting).
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private int last = -1;
+
+    /**
+     * Appends an ordinal larger than every one added before; repeats of the last one are ignored.
+     */
+    void add(int ordinal) {
+        if (ordinal <= last) {
+            return;
+        }
+        int gap = ordinal - last;
+        last = ordinal;
+        size++;
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        while ((gap & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        bytes[length++] = (byte) gap;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int encodedBytes() {
+        return length;
+    }
+
+    int[] decode() {
+        int[] out = new int[size];
+        int value = -1;
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[pos++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            out[i] = value;
+        }
+        return out;
+    }
+
+    /**
+     * Ordinals present in both sorted arrays.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,59 @@
+package com.devpulse.logdashboard.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A parsed search: words that must all occur, and phrases ("double-quoted") whose
+ * words must also occur consecutively. Matching is on {@link Tokenizer} words, so it
+ * is case-insensitive and ignores punctuation.
+ */
+public record SearchQuery(List<String> terms, List<List<String>> phrases) {
+
+    /**
+     * @throws IllegalArgumentException when the text contains no word
+     */
+    public static SearchQuery parse(String text) {
+        List<String> terms = new ArrayList<>();
+        List<List<String>> phrases = new ArrayList<>();
+        String[] parts = (text == null ? "" : text).split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = Tokenizer.tokens(parts[i]);
+            // odd parts are inside quotes (an unbalanced quote runs to the end)
+            if (i % 2 == 1 && tokens.size() > 1) {
+                phrases.add(tokens);
+            } else {
+                terms.addAll(tokens);
+            }
+        }
+        if (terms.isEmpty() && phrases.isEmpty()) {
+            throw new IllegalArgumentException("Search text contains no words");
+        }
+        return new SearchQuery(terms, phrases);
+    }
+
+    /**
+     * Every distinct word of the query, terms and phrase words alike.
+     */
+    public Set<String> words() {
+        Set<String> words = new LinkedHashSet<>(terms);
+        phrases.forEach(words::addAll);
+        return words;
+    }
+
+    public boolean matches(String message) {
+        List<String> tokens = Tokenizer.tokens(message);
+        if (!tokens.containsAll(terms)) {
+            return false;
+        }
+        for (List<String> phrase : phrases) {
+            if (Collections.indexOfSubList(tokens, phrase) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.devpulse.logdashboard.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits log messages into lower-case words: runs of letters and digits, so
+ * "Connection refused: db-1:5432" gives [connection, refused, db, 1, 5432].
+ */
+public final class Tokenizer {
+
+    /** Longer runs (hashes, payload dumps) are cut to this length */
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,142 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.ExportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+/**
+ * LogExportService
+ *
+ * Writes every log matching a query to an output stream as NDJSON or CSV, straight
+ * from a database cursor (LogReader.stream) and then the archive. Nothing is collected
+ * in memory: a slow client blocks the write, which in turn stops the cursor from
+ * being advanced, so an export of any size runs in constant memory.
+ */
+@Slf4j
+@Service
+public class LogExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    static final String CSV_HEADER = "timestamp,serviceName,level,traceId,count,templateId,message\n";
+
+    private final LogQueryService queryService;
+    private final ObjectWriter jsonWriter;
+    private final Semaphore running;
+
+    public LogExportService(LogQueryService queryService, ObjectMapper objectMapper, ExportProperties props) {
+        this.queryService = queryService;
+        this.jsonWriter = objectMapper.writerFor(LogResponseDto.class);
+        this.running = new Semaphore(Math.max(1, props.getMaxConcurrent()));
+    }
+
+    /**
+     * Reserves one of the app.export.maxConcurrent export slots; release it with
+     * {@link #release()} once the export is written.
+     */
+    public boolean tryAcquire() {
+        return running.tryAcquire();
+    }
+
+    public void release() {
+        running.release();
+    }
+
+    /**
+     * Writes the matching logs, newest first. Returns the number of logs written.
+     */
+    public long export(LogQuery query, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long[] rows = {0};
+        try {
+            if (format == Format.CSV) {
+                out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+            queryService.forEachMatching(query, logDto -> {
+                try {
+                    if (format == Format.CSV) {
+                        out.write(csvLine(logDto).getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        out.write(jsonWriter.writeValueAsBytes(logDto));
+                        out.write('\n');
+                    }
+                    rows[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            log.info("Export aborted after {} logs: {}", rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        log.info("Exported {} logs as {} in {} ms", rows[0], format, (System.nanoTime() - started) / 1_000_000);
+        return rows[0];
+    }
+
+    /**
+     * What precedes the rows of a format ("" when nothing).
+     */
+    public String header(Format format) {
+        return format == Format.CSV ? CSV_HEADER : "";
+    }
+
+    /**
+     * One log as a row of the format, line break included.
+     */
+    public String line(LogResponseDto logDto, Format format) throws IOException {
+        return format == Format.CSV ? csvLine(logDto) : jsonWriter.writeValueAsString(logDto) + "\n";
+    }
+
+    static String csvLine(LogResponseDto log) {
+        return String.join(",",
+                csv(log.getTimestamp() != null ? log.getTimestamp().toString() : null),
+                csv(log.getServiceName()),
+                csv(log.getLevel() != null ? log.getLevel().name() : null),
+                csv(log.getTraceId()),
+                Long.toString(log.getCount()),
+                csv(log.getTemplateId()),
+                csv(log.getMessage())) + "\n";
+    }
+
+    /**
+     * RFC 4180 field: quoted when it contains a separator, quote or line break.
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
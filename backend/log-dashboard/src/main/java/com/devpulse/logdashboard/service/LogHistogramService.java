@@ -0,0 +1,155 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogHistogramDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.RollupResolution;
+import com.devpulse.logdashboard.config.RollupProperties;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * LogHistogramService
+ *
+ * Log counts per time bucket, read only from the rollups log-collector maintains at
+ * ingest time (never from raw logs). The finest interval that keeps the histogram
+ * within app.rollup.maxBuckets and whose rollups still cover "from" is used unless
+ * one is requested. Buckets are aligned to the interval, so the first and last
+ * bucket may extend beyond the requested range.
+ */
+@Service
+@RequiredArgsConstructor
+public class LogHistogramService {
+
+    private final MongoTemplate mongoTemplate;
+    private final RollupProperties props;
+
+    /**
+     * @param interval 1m, 1h, 1d or null for automatic
+     * @throws IllegalArgumentException for an empty range, unknown level or interval, or too many buckets
+     */
+    public LogHistogramDto histogram(Instant from, Instant to, String serviceName, String level,
+                                     boolean byService, boolean byLevel, String interval) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' is before 'from'");
+        }
+        String normalizedLevel = null;
+        if (level != null) {
+            try {
+                normalizedLevel = LogLevel.valueOf(level.toUpperCase()).name();
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown level: " + level);
+            }
+        }
+        RollupResolution resolution = choose(from, to, Instant.now(),
+                interval != null ? RollupResolution.ofLabel(interval) : null);
+        Instant start = resolution.bucketStart(from);
+        int buckets = buckets(resolution, start, to);
+
+        Document match = new Document("bucket", new Document("$gte", Date.from(start)).append("$lte", Date.from(to)));
+        if (serviceName != null) {
+            match.append("serviceName", serviceName);
+        }
+        if (normalizedLevel != null) {
+            match.append("level", normalizedLevel);
+        }
+        Document group = new Document("bucket", "$bucket");
+        if (byService) {
+            group.append("serviceName", "$serviceName");
+        }
+        if (byLevel) {
+            group.append("level", "$level");
+        }
+        List<Document> rows = mongoTemplate.getCollection(resolution.collection()).aggregate(List.of(
+                        new Document("$match", match),
+                        new Document("$group", new Document("_id", group).append("count", new Document("$sum", "$count")))))
+                .into(new ArrayList<>());
+
+        List<LogHistogramDto.Series> series = series(rows, resolution, start, buckets);
+        if (series.isEmpty() && !byService && !byLevel) {
+            series = List.of(LogHistogramDto.Series.builder().serviceName(serviceName).level(normalizedLevel)
+                    .counts(new long[buckets]).build());
+        }
+        return LogHistogramDto.builder()
+                .interval(resolution.label())
+                .from(start)
+                .to(to)
+                .series(series)
+                .build();
+    }
+
+    /**
+     * The requested resolution if it fits maxBuckets, otherwise the finest one that fits
+     * and still has rollups reaching back to "from".
+     */
+    RollupResolution choose(Instant from, Instant to, Instant now, RollupResolution requested) {
+        if (requested != null) {
+            if (buckets(requested, requested.bucketStart(from), to) > props.getMaxBuckets()) {
+                throw new IllegalArgumentException("Too many buckets for interval " + requested.label());
+            }
+            return requested;
+        }
+        for (RollupResolution r : RollupResolution.values()) {
+            Duration ttl = ttlFor(r);
+            boolean retained = ttl == null || !from.isBefore(now.minus(ttl));
+            if (retained && buckets(r, r.bucketStart(from), to) <= props.getMaxBuckets()) {
+                return r;
+            }
+        }
+        return RollupResolution.DAY;
+    }
+
+    /**
+     * Aggregation rows ({_id: {bucket, serviceName?, level?}, count}) as zero-filled
+     * series, largest total first.
+     */
+    static List<LogHistogramDto.Series> series(List<Document> rows, RollupResolution resolution, Instant start, int buckets) {
+        long stepMillis = resolution.step().toMillis();
+        Map<List<String>, LogHistogramDto.Series> byGroup = new LinkedHashMap<>();
+        for (Document row : rows) {
+            Document id = row.get("_id", Document.class);
+            String serviceName = id.getString("serviceName");
+            String level = id.getString("level");
+            int index = (int) ((id.getDate("bucket").getTime() - start.toEpochMilli()) / stepMillis);
+            if (index < 0 || index >= buckets) {
+                continue;
+            }
+            LogHistogramDto.Series series = byGroup.computeIfAbsent(Arrays.asList(serviceName, level),
+                    k -> LogHistogramDto.Series.builder().serviceName(serviceName).level(level).counts(new long[buckets]).build());
+            long count = ((Number) row.get("count")).longValue();
+            series.getCounts()[index] += count;
+            series.setTotal(series.getTotal() + count);
+        }
+        List<LogHistogramDto.Series> series = new ArrayList<>(byGroup.values());
+        series.sort(Comparator.comparingLong(LogHistogramDto.Series::getTotal).reversed()
+                .thenComparing(s -> Objects.toString(s.getServiceName(), ""))
+                .thenComparing(s -> Objects.toString(s.getLevel(), "")));
+        return series;
+    }
+
+    private static int buckets(RollupResolution resolution, Instant start, Instant to) {
+        long span = resolution.bucketStart(to).toEpochMilli() - start.toEpochMilli();
+        return (int) Math.min(Integer.MAX_VALUE, span / resolution.step().toMillis() + 1);
+    }
+
+    private Duration ttlFor(RollupResolution resolution) {
+        Duration ttl = switch (resolution) {
+            case MINUTE -> props.getMinuteTtl();
+            case HOUR -> props.getHourTtl();
+            case DAY -> null;
+        };
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+}
@@ -0,0 +1,181 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogColumnsDto;
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSliceDto;
+import org.springframework.data.domain.Page;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Response format of the log list endpoints: format=objects (the default, LogResponseDto
+ * rows) or format=columnar ({@link LogColumnsDto}), optionally projected to the
+ * comma-separated fields= columns.
+ *
+ * Columns are built as plain arrays in one pass per field, so Jackson writes them without
+ * per-row field names or bean introspection; a page of thousands of logs serializes in a
+ * fraction of the object form's size.
+ */
+public record LogListFormat(boolean columnar, List<String> fields) {
+
+    public static final LogListFormat OBJECTS = new LogListFormat(false, List.of());
+
+    /**
+     * Encodes one field of every row; dictionary-encoded fields also register their values.
+     */
+    private interface Column {
+        Object encode(List<LogResponseDto> logs, Map<String, List<String>> dictionaries);
+    }
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", strings(LogResponseDto::getId));
+        COLUMNS.put("timestamp", millis(LogResponseDto::getTimestamp));
+        COLUMNS.put("serviceName", dictionary("serviceName", LogResponseDto::getServiceName));
+        COLUMNS.put("level", dictionary("level", log -> log.getLevel() != null ? log.getLevel().name() : null));
+        COLUMNS.put("message", strings(LogResponseDto::getMessage));
+        COLUMNS.put("traceId", strings(LogResponseDto::getTraceId));
+        COLUMNS.put("count", (logs, dictionaries) -> logs.stream().mapToLong(LogResponseDto::getCount).toArray());
+        COLUMNS.put("firstSeen", millis(LogResponseDto::getFirstSeen));
+        COLUMNS.put("lastSeen", millis(LogResponseDto::getLastSeen));
+        COLUMNS.put("sampleTraceIds", values(LogResponseDto::getSampleTraceIds));
+        COLUMNS.put("templateId", strings(LogResponseDto::getTemplateId));
+        COLUMNS.put("templateParams", values(LogResponseDto::getTemplateParams));
+        COLUMNS.put("metadata", values(LogResponseDto::getMetadata));
+        COLUMNS.put("sourceType", dictionary("sourceType", LogResponseDto::getSourceType));
+    }
+
+    /**
+     * @param format "objects" (or null) or "columnar", case-insensitive
+     * @param fields comma-separated column names; null or blank for all of them
+     * @throws IllegalArgumentException for an unknown format or field, or fields without format=columnar
+     */
+    public static LogListFormat of(String format, String fields) {
+        boolean hasFields = fields != null && !fields.isBlank();
+        if (format == null || format.equalsIgnoreCase("objects")) {
+            if (hasFields) {
+                throw new IllegalArgumentException("fields requires format=columnar");
+            }
+            return OBJECTS;
+        }
+        if (!format.equalsIgnoreCase("columnar")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        if (!hasFields) {
+            return new LogListFormat(true, List.copyOf(COLUMNS.keySet()));
+        }
+        Set<String> projected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!COLUMNS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            projected.add(name);
+        }
+        return new LogListFormat(true, List.copyOf(projected));
+    }
+
+    public Object apply(Page<LogResponseDto> page) {
+        if (!columnar) {
+            return page;
+        }
+        LogColumnsDto dto = encode(page.getContent());
+        dto.setTotalElements(page.getTotalElements());
+        dto.setPage(page.getNumber());
+        dto.setSize(page.getSize());
+        if (page instanceof TieredPage<?> tiered) {
+            dto.setTier(tiered.getTier().label());
+        }
+        return dto;
+    }
+
+    public Object apply(LogSliceDto slice) {
+        if (!columnar) {
+            return slice;
+        }
+        LogColumnsDto dto = encode(slice.getContent());
+        dto.setNextCursor(slice.getNextCursor());
+        dto.setHasNext(slice.isHasNext());
+        dto.setApproximateTotal(slice.getApproximateTotal());
+        dto.setTier(slice.getTier());
+        return dto;
+    }
+
+    public Object apply(List<LogResponseDto> logs) {
+        return columnar ? encode(logs) : logs;
+    }
+
+    LogColumnsDto encode(List<LogResponseDto> logs) {
+        Map<String, List<String>> dictionaries = new LinkedHashMap<>();
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (String field : fields) {
+            columns.put(field, COLUMNS.get(field).encode(logs, dictionaries));
+        }
+        return LogColumnsDto.builder()
+                .rows(logs.size())
+                .fields(fields)
+                .dictionaries(dictionaries)
+                .columns(columns)
+                .build();
+    }
+
+    private static Column strings(Function<LogResponseDto, String> getter) {
+        return (logs, dictionaries) -> {
+            String[] out = new String[logs.size()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = getter.apply(logs.get(i));
+            }
+            return out;
+        };
+    }
+
+    private static Column values(Function<LogResponseDto, ?> getter) {
+        return (logs, dictionaries) -> {
+            Object[] out = new Object[logs.size()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = getter.apply(logs.get(i));
+            }
+            return out;
+        };
+    }
+
+    private static Column millis(Function<LogResponseDto, Instant> getter) {
+        return (logs, dictionaries) -> {
+            Long[] out = new Long[logs.size()];
+            for (int i = 0; i < out.length; i++) {
+                Instant value = getter.apply(logs.get(i));
+                out[i] = value != null ? value.toEpochMilli() : null;
+            }
+            return out;
+        };
+    }
+
+    private static Column dictionary(String name, Function<LogResponseDto, String> getter) {
+        return (logs, dictionaries) -> {
+            List<String> values = new ArrayList<>();
+            Map<String, Integer> codes = new HashMap<>();
+            int[] out = new int[logs.size()];
+            for (int i = 0; i < out.length; i++) {
+                String value = getter.apply(logs.get(i));
+                out[i] = value == null ? -1 : codes.computeIfAbsent(value, v -> {
+                    values.add(v);
+                    return values.size() - 1;
+                });
+            }
+            dictionaries.put(name, values);
+            return out;
+        };
+    }
+}
@@ -1,72 +1,400 @@
 package com.devpulse.logdashboard.service;
 
 import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSliceDto;
 import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.TraceProperties;
 import com.devpulse.logdashboard.model.LogDocument;
-import com.devpulse.logdashboard.repository.LogRepository;
+import com.devpulse.logdashboard.search.LogSearchIndex;
+import com.devpulse.logdashboard.store.ArchiveLogReader;
+import com.devpulse.logdashboard.store.HotTail;
+import com.devpulse.logdashboard.store.InvalidCursorException;
+import com.devpulse.logdashboard.store.LogCursor;
+import com.devpulse.logdashboard.store.LogReader;
+import com.devpulse.logdashboard.store.TraceBloomReader;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * LogQueryService
  *
  * Encapsulates DB read logic and maps documents to LogResponseDto used by the API.
+ * The storage layout is hidden behind LogReader (app.storage.mode); time-range
+ * queries also reach into the cold tier (ArchiveLogReader) when it is enabled.
+ * /recent is served from the in-memory tail of pushed logs (HotTail) when it can
+ * answer it; paged and keyset results go through a QueryCache that pushed logs
+ * invalidate.
+ *
+ * Range and keyset queries are federated when the hot tail's time index is on: the
+ * part from HotTail.coveredFrom() on is answered from memory, and the database only
+ * completes the page with older logs (or provides the total), see TieredQuery. The
+ * answering tier is reported on the result and in logs.federation.requests{query, tier}.
  */
 @Service
 @RequiredArgsConstructor
 public class LogQueryService {
 
-    private final LogRepository repository;
+    /** Id placed in cursors holding a stream id, which is not a database id: the next page resumes by timestamp */
+    private static final String MAX_ID = "ffffffffffffffffffffffff";
+
+    private final LogReader logReader;
+    private final ArchiveLogReader archiveReader;
+    private final TraceBloomReader traceBloomReader;
+    private final TraceProperties traceProps;
+    private final HotTail hotTail;
+    private final QueryCache queryCache;
+    private final LogSearchIndex searchIndex;
+    private final LogTemplateService templateService;
+    private final MeterRegistry meterRegistry;
 
     public Page<LogResponseDto> findAll(int page, int size) {
-        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), Sort.by(Sort.Direction.DESC, "timestamp"));
-        Page<LogDocument> docs = repository.findAll(pageable);
-        return docs.map(this::toDto);
+        Pageable pageable = pageable(page, size);
+        return queryCache.get(QueryCache.Key.paged("all", LogQuery.all(), pageable.getPageNumber(), pageable.getPageSize()),
+                () -> logReader.findAll(pageable).map(this::toDto));
     }
 
     public Page<LogResponseDto> findByService(String serviceName, int page, int size) {
-        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), Sort.by(Sort.Direction.DESC, "timestamp"));
-        Page<LogDocument> docs = repository.findByServiceName(serviceName, pageable);
-        return docs.map(this::toDto);
+        Pageable pageable = pageable(page, size);
+        LogQuery query = LogQuery.builder().serviceName(serviceName).build();
+        return queryCache.get(QueryCache.Key.paged("service", query, pageable.getPageNumber(), pageable.getPageSize()),
+                () -> logReader.findByServiceName(serviceName, pageable).map(this::toDto));
     }
 
     public Page<LogResponseDto> findByLevel(String levelStr, int page, int size) {
-        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), Sort.by(Sort.Direction.DESC, "timestamp"));
+        Pageable pageable = pageable(page, size);
         try {
             var level = LogLevel.valueOf(levelStr.toUpperCase());
-            Page<LogDocument> docs = repository.findByLevel(level, pageable);
-            return docs.map(this::toDto);
+            LogQuery query = LogQuery.builder().level(level.name()).build();
+            return queryCache.get(QueryCache.Key.paged("level", query, pageable.getPageNumber(), pageable.getPageSize()),
+                    () -> logReader.findByLevel(level, pageable).map(this::toDto));
         } catch (IllegalArgumentException ex) {
             return new PageImpl<>(List.of(), pageable, 0);
         }
     }
 
     public Page<LogResponseDto> findBetween(InstantRange range, int page, int size) {
-        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), Sort.by(Sort.Direction.DESC, "timestamp"));
-        Page<LogDocument> docs = repository.findByTimestampBetween(range.from(), range.to(), pageable);
-        return docs.map(this::toDto);
+        Pageable pageable = pageable(page, size);
+        LogQuery query = LogQuery.between(range.from(), range.to());
+        TieredQuery tiers = TieredQuery.split(query, hotTail.coveredFrom());
+        if (tiers.memory() != null && tiers.database() == null) {
+            Page<LogResponseDto> recent = federatedRange(tiers, range, pageable);
+            if (recent != null) {
+                return recent;
+            }
+        }
+        return queryCache.get(QueryCache.Key.paged("range", query, pageable.getPageNumber(), pageable.getPageSize()), () -> {
+            Page<LogResponseDto> federated = tiers.memory() != null ? federatedRange(tiers, range, pageable) : null;
+            if (federated != null) {
+                return federated;
+            }
+            Page<LogDocument> docs = archiveReader.withArchived(
+                    logReader.findByTimestampBetween(range.from(), range.to(), pageable), range.from(), range.to());
+            return tiered(docs.map(this::toDto), QueryTier.DATABASE, "range");
+        });
+    }
+
+    /**
+     * A range page filled newest first from the window, then from the database for the
+     * part of the range before it; null when the window moved past the range meanwhile.
+     */
+    private Page<LogResponseDto> federatedRange(TieredQuery tiers, InstantRange range, Pageable pageable) {
+        long recentTotal = hotTail.count(tiers.memory());
+        List<LogResponseDto> recent = recentTotal < 0 ? null
+                : hotTail.page(tiers.memory(), pageable.getOffset(), pageable.getPageSize());
+        if (recent == null) {
+            return null;
+        }
+        if (tiers.database() == null) {
+            return tiered(new PageImpl<>(recent, pageable, recentTotal), QueryTier.MEMORY, "range");
+        }
+
+        // the older part as a range query again: exclusive bounds, pages of the same size
+        Instant boundary = tiers.database().to().plusMillis(1);
+        int size = pageable.getPageSize();
+        long offset = Math.max(0, pageable.getOffset() - recentTotal);
+        List<LogResponseDto> content = new ArrayList<>(recent);
+        // a full page from memory only needs the older total
+        Pageable olderPage = content.size() < size ? PageRequest.of((int) (offset / size), size, pageable.getSort())
+                : PageRequest.of(0, 1, pageable.getSort());
+        Page<LogDocument> older = archiveReader.withArchived(
+                logReader.findByTimestampBetween(range.from(), boundary, olderPage), range.from(), boundary);
+        int skip = content.size() < size ? (int) (offset % size) : 0;
+        older.getContent().stream().skip(skip).limit(size - content.size()).forEach(doc -> content.add(toDto(doc)));
+        if (content.size() < size && skip > 0 && older.hasNext()) {
+            archiveReader.withArchived(logReader.findByTimestampBetween(range.from(), boundary, older.nextPageable()),
+                            range.from(), boundary).getContent().stream()
+                    .limit(size - content.size())
+                    .forEach(doc -> content.add(toDto(doc)));
+        }
+        return tiered(new PageImpl<>(content, pageable, recentTotal + older.getTotalElements()), QueryTier.FEDERATED, "range");
+    }
+
+    void countTier(String queryName, QueryTier tier) {
+        meterRegistry.counter("logs.federation.requests", "query", queryName, "tier", tier.label()).increment();
+    }
+
+    static Pageable pageable(int page, int size) {
+        return PageRequest.of(Math.max(0, page), Math.max(1, size), Sort.by(Sort.Direction.DESC, "timestamp"));
+    }
+
+    private TieredPage<LogResponseDto> tiered(Page<LogResponseDto> page, QueryTier tier, String queryName) {
+        countTier(queryName, tier);
+        return new TieredPage<>(page.getContent(), page.getPageable(), page.getTotalElements(), tier);
+    }
+
+    /**
+     * Keyset alternative to the paged finders: logs matching the query after the given
+     * cursor (null or blank = newest first), without a count query. The total is only
+     * estimated when asked for.
+     *
+     * @throws InvalidCursorException for a cursor not issued by this service
+     */
+    public LogSliceDto findSlice(LogQuery query, String cursor, int size, boolean approximateTotal) {
+        SliceRequest request = sliceRequest(query, cursor, size);
+        if (request.query() == null) {
+            return emptySlice(approximateTotal);
+        }
+        if (federates(request)) {
+            LogSliceDto federated = federatedSlice(TieredQuery.split(request.query(), hotTail.coveredFrom()),
+                    request.after(), request.limit(), approximateTotal);
+            if (federated != null) {
+                return federated;
+            }
+        }
+
+        SliceRequest database = request.fromDatabase();
+        return queryCache.get(database.cacheKey(approximateTotal), () -> {
+            countTier("slice", QueryTier.DATABASE);
+            List<LogDocument> docs = logReader.seek(database.query(), database.after(), database.limit() + 1);
+            return slice(docs.stream().map(this::toDto).toList(), database.limit(),
+                    approximateTotal ? logReader.approximateCount(database.query()) : null);
+        });
+    }
+
+    /**
+     * A keyset request with its cursor decoded and its level normalized; query is null
+     * when the level is unknown, so nothing matches.
+     */
+    record SliceRequest(LogQuery query, LogCursor after, int limit) {
+
+        /**
+         * The request as the database sees it: a cursor holding a stream id (the window
+         * moved past it) resumes by timestamp, repeating rather than skipping.
+         */
+        SliceRequest fromDatabase() {
+            return after != null && isStreamId(after.id())
+                    ? new SliceRequest(query, new LogCursor(after.timestamp(), MAX_ID), limit)
+                    : this;
+        }
+
+        QueryCache.Key cacheKey(boolean approximateTotal) {
+            return QueryCache.Key.slice(query, after, limit, approximateTotal);
+        }
+    }
+
+    /**
+     * @throws InvalidCursorException for a cursor not issued by this service
+     */
+    SliceRequest sliceRequest(LogQuery query, String cursor, int size) {
+        LogCursor after = cursor == null || cursor.isBlank() ? null : LogCursor.decode(cursor);
+        if (query.level() != null) {
+            try {
+                query = query.toBuilder().level(LogLevel.valueOf(query.level().toUpperCase()).name()).build();
+            } catch (IllegalArgumentException ex) {
+                query = null;
+            }
+        }
+        return new SliceRequest(query, after, Math.max(1, size));
+    }
+
+    /**
+     * Whether the request starts inside the in-memory window, so it is answered by
+     * {@link #findSlice} from memory first.
+     */
+    boolean federates(SliceRequest request) {
+        TieredQuery tiers = TieredQuery.split(request.query(), hotTail.coveredFrom());
+        return tiers.memory() != null && (request.after() == null || !request.after().timestamp().isBefore(tiers.memory().from()));
+    }
+
+    static LogSliceDto emptySlice(boolean approximateTotal) {
+        return LogSliceDto.builder().content(List.of()).hasNext(false)
+                .approximateTotal(approximateTotal ? 0L : null).build();
+    }
+
+    /**
+     * A database keyset page from up to limit + 1 logs read after the cursor.
+     */
+    static LogSliceDto slice(List<LogResponseDto> logs, int limit, Long approximateTotal) {
+        boolean hasNext = logs.size() > limit;
+        List<LogResponseDto> content = hasNext ? logs.subList(0, limit) : logs;
+        LogResponseDto last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return LogSliceDto.builder()
+                .content(content)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new LogCursor(last.getTimestamp(), last.getId()).encode() : null)
+                .approximateTotal(approximateTotal)
+                .tier(QueryTier.DATABASE.label())
+                .build();
+    }
+
+    /**
+     * A keyset page from the window, completed from the database when the window runs
+     * out; null when the window moved past the query meanwhile. Cursors of window logs
+     * carry their stream ids, so window pages resume exactly.
+     */
+    private LogSliceDto federatedSlice(TieredQuery tiers, LogCursor after, int limit, boolean approximateTotal) {
+        List<LogResponseDto> recent = hotTail.seek(tiers.memory(), after, limit + 1);
+        long recentTotal = recent != null && approximateTotal ? hotTail.count(tiers.memory()) : 0;
+        if (recent == null || recentTotal < 0) {
+            return null;
+        }
+        List<LogResponseDto> content = new ArrayList<>(recent);
+        boolean readDatabase = false;
+        if (content.size() <= limit && tiers.database() != null) {
+            // all older than the cursor, which is inside the window
+            logReader.seek(tiers.database(), null, limit + 1 - content.size()).forEach(doc -> content.add(toDto(doc)));
+            readDatabase = true;
+        }
+        Long total = null;
+        if (approximateTotal) {
+            total = recentTotal + (tiers.database() != null ? logReader.approximateCount(tiers.database()) : 0);
+            readDatabase |= tiers.database() != null;
+        }
+
+        boolean hasNext = content.size() > limit;
+        List<LogResponseDto> page = hasNext ? List.copyOf(content.subList(0, limit)) : content;
+        LogResponseDto last = page.isEmpty() ? null : page.get(page.size() - 1);
+        QueryTier tier = QueryTier.of(true, readDatabase);
+        countTier("slice", tier);
+        return LogSliceDto.builder()
+                .content(page)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new LogCursor(last.getTimestamp(), last.getId()).encode() : null)
+                .approximateTotal(total)
+                .tier(tier.label())
+                .build();
+    }
+
+    private static boolean isStreamId(String id) {
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    public Page<LogResponseDto> findByTemplate(String templateId, int page, int size) {
+        Pageable pageable = pageable(page, size);
+        LogQuery query = LogQuery.builder().templateId(templateId).build();
+        return queryCache.get(QueryCache.Key.paged("template", query, pageable.getPageNumber(), pageable.getPageSize()),
+                () -> logReader.findByTemplateId(templateId, pageable).map(this::toDto));
+    }
+
+    /**
+     * All logs of a trace across services, oldest first. Only time buckets whose Bloom
+     * filter may contain the traceId are read; consecutive ones are read as one range.
+     */
+    public List<LogResponseDto> findTrace(String traceId, Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(traceProps.getLookback());
+        List<LogDocument> docs = new ArrayList<>();
+
+        Instant rangeStart = null;
+        Instant rangeEnd = null;
+        for (Instant bucket : traceBloomReader.candidateBuckets(traceId, start, end)) {
+            if (rangeEnd != null && !bucket.equals(rangeEnd)) {
+                docs.addAll(logReader.findByTraceId(traceId, max(rangeStart, start), min(rangeEnd, end)));
+                rangeStart = null;
+            }
+            if (rangeStart == null) {
+                rangeStart = bucket;
+            }
+            rangeEnd = bucket.plus(traceProps.getBucket());
+        }
+        if (rangeStart != null) {
+            docs.addAll(logReader.findByTraceId(traceId, max(rangeStart, start), min(rangeEnd, end)));
+        }
+
+        return docs.stream()
+                .sorted(Comparator.comparing(LogDocument::getTimestamp, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Visits every log matching the query newest first, hot tier then archive, without
+     * materializing the result or going through the cache.
+     */
+    public void forEachMatching(LogQuery query, Consumer<LogResponseDto> action) {
+        try (Stream<LogResponseDto> logs = streamMatching(query)) {
+            logs.forEach(action);
+        }
+    }
+
+    /**
+     * Every log matching the query newest first, hot tier then archive, read lazily as
+     * the stream is consumed; closing it closes the database cursor.
+     */
+    public Stream<LogResponseDto> streamMatching(LogQuery query) {
+        Stream<LogDocument> archived = archiveReader.stream(query);
+        return Stream.concat(logReader.stream(query), archived).map(this::toDto);
+    }
+
+    /**
+     * A log pushed by log-collector for live streaming.
+     */
+    public void onLogPushed(LogResponseDto log) {
+        hotTail.record(log);
+        queryCache.invalidate(log);
+        searchIndex.add(log);
     }
 
     public List<LogResponseDto> recentTop100() {
-        return repository.findTop100ByOrderByTimestampDesc().stream().map(this::toDto).collect(Collectors.toList());
+        List<LogResponseDto> tail = hotTail.newest(100);
+        if (tail != null) {
+            return tail;
+        }
+        return logReader.findTop100Recent().stream().map(this::toDto).collect(Collectors.toList());
     }
 
-    private LogResponseDto toDto(LogDocument doc) {
+    LogResponseDto toDto(LogDocument doc) {
         return LogResponseDto.builder()
                 .id(doc.getId())
                 .serviceName(doc.getServiceName())
                 .level(doc.getLevel())
-                .message(doc.getMessage())
+                .message(templateService.messageOf(doc))
                 .timestamp(doc.getTimestamp())
                 .traceId(doc.getTraceId())
+                .count(doc.getCount() != null ? doc.getCount() : 1L)
+                .firstSeen(doc.getFirstSeen() != null ? doc.getFirstSeen() : doc.getTimestamp())
+                .lastSeen(doc.getLastSeen() != null ? doc.getLastSeen() : doc.getTimestamp())
+                .sampleTraceIds(doc.getSampleTraceIds())
+                .templateId(doc.getTemplateId())
+                .templateParams(doc.getTemplateParams())
                 .build();
     }
 
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
     /**
      * small helper for timestamp range
      */
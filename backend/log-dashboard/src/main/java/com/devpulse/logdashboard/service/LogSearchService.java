@@ -0,0 +1,108 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSearchDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.SearchProperties;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.search.LogSearchIndex;
+import com.devpulse.logdashboard.search.SearchQuery;
+import com.devpulse.logdashboard.store.LogReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * LogSearchService
+ *
+ * Full-text search over log messages (all words, plus "quoted phrases") combined with
+ * service, level and time filters. The recent part of the range is answered by the
+ * in-memory LogSearchIndex; the part before its coverage goes to MongoDB, through the
+ * text index where the layout has one and otherwise as a scan capped at
+ * app.search.scanLimit logs. Database candidates are verified against the rendered
+ * message, so both paths match exactly the same way.
+ *
+ * Metrics: logs.search.requests{fallback=none|text-index|scan}.
+ */
+@Service
+@RequiredArgsConstructor
+public class LogSearchService {
+
+    private final LogSearchIndex index;
+    private final LogReader logReader;
+    private final LogQueryService queryService;
+    private final LogTemplateService templateService;
+    private final SearchProperties props;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @throws IllegalArgumentException for text without words, an unknown level or to before from
+     */
+    public LogSearchDto search(String text, String serviceName, String level, Instant from, Instant to, int limit) {
+        SearchQuery search = SearchQuery.parse(text);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(props.getLookback());
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("'to' is before 'from'");
+        }
+        String normalizedLevel = null;
+        if (level != null) {
+            try {
+                normalizedLevel = LogLevel.valueOf(level.toUpperCase()).name();
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown level: " + level);
+            }
+        }
+        LogQuery filter = LogQuery.builder()
+                .serviceName(serviceName)
+                .level(normalizedLevel)
+                .from(start)
+                .to(end)
+                .build();
+        int max = Math.max(1, Math.min(limit, props.getMaxResults()));
+
+        List<LogResponseDto> found = new ArrayList<>();
+        Instant covered = props.isEnabled() ? index.coveredFrom() : null;
+        if (covered != null && !end.isBefore(covered)) {
+            found.addAll(index.search(search, filter, max));
+        }
+
+        String fallback = null;
+        boolean truncated = false;
+        if (found.size() < max && (covered == null || start.isBefore(covered))) {
+            LogQuery older = covered == null ? filter : filter.toBuilder().to(min(end, covered.minusMillis(1))).build();
+            Stream<LogDocument> indexed = logReader.streamText(older, search.words());
+            fallback = indexed != null ? "text-index" : "scan";
+            long[] examined = {0};
+            try (Stream<LogDocument> candidates = indexed != null ? indexed : logReader.stream(older).limit(props.getScanLimit())) {
+                Iterator<LogDocument> it = candidates.peek(d -> examined[0]++).iterator();
+                while (it.hasNext() && found.size() < max) {
+                    LogDocument doc = it.next();
+                    if (search.matches(templateService.messageOf(doc))) {
+                        found.add(queryService.toDto(doc));
+                    }
+                }
+            }
+            truncated = indexed == null && found.size() < max && examined[0] >= props.getScanLimit();
+        }
+        meterRegistry.counter("logs.search.requests", "fallback", fallback != null ? fallback : "none").increment();
+
+        return LogSearchDto.builder()
+                .content(found)
+                .indexedFrom(covered)
+                .fallback(fallback)
+                .truncated(truncated)
+                .build();
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,141 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogTemplateDto;
+import com.devpulse.common.util.LogTemplates;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.model.LogTemplateDocument;
+import com.devpulse.logdashboard.repository.LogTemplateRepository;
+import com.devpulse.logdashboard.store.LogReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * LogTemplateService
+ *
+ * Read side of the template dictionary maintained by log-collector:
+ * - renders messages of logs stored as template id + params
+ * - lists templates and aggregates log counts per template over a time range
+ *
+ * Templates are cached in memory; versions only ever grow, so a cached entry is
+ * refreshed only when a log references a version it does not know yet. Lookups that
+ * find no template (or not the version) are remembered for a few seconds, so a page
+ * of logs whose templates the collector has not flushed yet costs one query per id.
+ */
+@Service
+@RequiredArgsConstructor
+public class LogTemplateService {
+
+    private static final long MISS_TTL_NANOS = Duration.ofSeconds(5).toNanos();
+    private static final int MAX_MISSES = 10_000;
+
+    private final LogTemplateRepository repository;
+    private final LogReader logReader;
+
+    private final Map<String, LogTemplateDocument> cache = new ConcurrentHashMap<>();
+
+    /** Template id -> System.nanoTime() of the lookup that found no usable template */
+    private final Map<String, Long> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the stored message, or renders it from the template dictionary when the
+     * collector dropped it. Falls back to the raw params when the template is unknown.
+     */
+    public String messageOf(LogDocument doc) {
+        if (doc.getMessage() != null || doc.getTemplateId() == null) {
+            return doc.getMessage();
+        }
+        int version = doc.getTemplateVersion() != null ? doc.getTemplateVersion() : 0;
+        LogTemplateDocument template = lookup(doc.getTemplateId(), version);
+        if (template == null) {
+            return doc.getTemplateParams() == null ? null : String.join(" ", doc.getTemplateParams());
+        }
+        List<String> tokens = template.getVersions() != null && version < template.getVersions().size()
+                ? template.getVersions().get(version)
+                : template.getTokens();
+        return LogTemplates.render(tokens, doc.getTemplateParams());
+    }
+
+    /**
+     * Whether {@link #messageOf} answers without a repository lookup.
+     */
+    public boolean rendersFromMemory(LogDocument doc) {
+        if (doc.getMessage() != null || doc.getTemplateId() == null) {
+            return true;
+        }
+        int version = doc.getTemplateVersion() != null ? doc.getTemplateVersion() : 0;
+        Long missed = misses.get(doc.getTemplateId());
+        return knows(cache.get(doc.getTemplateId()), version)
+                || missed != null && System.nanoTime() - missed < MISS_TTL_NANOS;
+    }
+
+    public List<LogTemplateDto> list(String serviceName) {
+        List<LogTemplateDocument> docs = serviceName == null || serviceName.isBlank()
+                ? repository.findAllByOrderByCountDesc()
+                : repository.findByServiceNameOrderByCountDesc(serviceName);
+        docs.forEach(d -> cache.put(d.getId(), d));
+        return docs.stream().map(d -> toDto(d, d.getCount() != null ? d.getCount() : 0L)).collect(Collectors.toList());
+    }
+
+    /**
+     * Counts logs per template within [from, to], honouring collapsed repeat counts.
+     */
+    public List<LogTemplateDto> countByTemplate(Instant from, Instant to, String serviceName, int limit) {
+        return logReader.countByTemplate(from, to, serviceName, limit).stream()
+                .map(row -> {
+                    String id = row.templateId();
+                    long count = row.count();
+                    LogTemplateDocument template = lookup(id, 0);
+                    return template != null
+                            ? toDto(template, count)
+                            : LogTemplateDto.builder().templateId(id).count(count).build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private LogTemplateDocument lookup(String id, int version) {
+        LogTemplateDocument cached = cache.get(id);
+        if (knows(cached, version)) {
+            return cached;
+        }
+        long now = System.nanoTime();
+        Long missed = misses.get(id);
+        if (missed != null && now - missed < MISS_TTL_NANOS) {
+            return cached;
+        }
+        LogTemplateDocument found = repository.findById(id).orElse(null);
+        if (found != null) {
+            cache.put(id, found);
+        }
+        if (knows(found, version)) {
+            misses.remove(id);
+            return found;
+        }
+        if (misses.size() >= MAX_MISSES) {
+            misses.values().removeIf(at -> now - at >= MISS_TTL_NANOS);
+        }
+        misses.put(id, now);
+        return found != null ? found : cached;
+    }
+
+    private static boolean knows(LogTemplateDocument template, int version) {
+        return template != null && template.getVersions() != null && version < template.getVersions().size();
+    }
+
+    private static LogTemplateDto toDto(LogTemplateDocument doc, long count) {
+        return LogTemplateDto.builder()
+                .templateId(doc.getId())
+                .serviceName(doc.getServiceName())
+                .template(doc.getTemplate())
+                .count(count)
+                .firstSeen(doc.getFirstSeen())
+                .lastSeen(doc.getLastSeen())
+                .build();
+    }
+}
@@ -0,0 +1,288 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.QueryCacheProperties;
+import com.devpulse.logdashboard.store.LogCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of query results for LogQueryService, keyed by the normalized query
+ * and page position.
+ *
+ * Concurrent requests for the same key share one load: the first caller runs it and
+ * the others wait for its result. A log pushed to the dashboard drops exactly the
+ * entries whose result it could change (matching filters, and for keyset pages a
+ * timestamp at or before the cursor); the TTL bounds staleness for everything else.
+ * Keys are indexed by their service and level filters, so a push only visits the
+ * keys of the (at most four) filter combinations it can match.
+ *
+ * Metrics: logs.querycache.requests{result=hit|miss|coalesced}, logs.querycache.invalidations.
+ */
+@Component
+public class QueryCache {
+
+    /**
+     * A cacheable request: the query plus either an offset page or a keyset cursor.
+     */
+    public record Key(String shape, LogQuery query, int page, LogCursor after, int size, boolean approximateTotal) {
+
+        static Key paged(String shape, LogQuery query, int page, int size) {
+            return new Key(shape, query, page, null, size, false);
+        }
+
+        static Key slice(LogQuery query, LogCursor after, int size, boolean approximateTotal) {
+            return new Key("slice", query, 0, after, size, approximateTotal);
+        }
+
+        /**
+         * Whether the log could appear in, or shift, the result for this key. Unknown
+         * fields of the log count as matching.
+         */
+        boolean affectedBy(LogResponseDto log) {
+            String level = log.getLevel() != null ? log.getLevel().name() : null;
+            Instant ts = log.getTimestamp();
+            if (!matches(query.serviceName(), log.getServiceName())
+                    || !matches(query.level(), level)
+                    || !matches(query.templateId(), log.getTemplateId())) {
+                return false;
+            }
+            if (ts != null && (query.from() != null && ts.isBefore(query.from())
+                    || query.to() != null && ts.isAfter(query.to()))) {
+                return false;
+            }
+            // a newer log only changes keyset pages below the cursor through their total
+            return after == null || approximateTotal || ts == null || !ts.isAfter(after.timestamp());
+        }
+
+        private static boolean matches(String filter, String value) {
+            return filter == null || value == null || filter.equals(value);
+        }
+
+        Filter filter() {
+            return new Filter(query.serviceName(), query.level());
+        }
+    }
+
+    /**
+     * The service and level filters of a key, null when it does not filter on them.
+     */
+    private record Filter(String serviceName, String level) {
+    }
+
+    private static final class Entry {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final long expiresAt;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final QueryCacheProperties props;
+    private final MeterRegistry meterRegistry;
+
+    /** Guarded by itself; access-ordered for LRU eviction */
+    private final Map<Key, Entry> entries;
+
+    /** Keys of entries by their filters; guarded by entries */
+    private final Map<Filter, Set<Key>> keysByFilter = new HashMap<>();
+
+    public QueryCache(QueryCacheProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= props.getMaxEntries()) {
+                    return false;
+                }
+                unindex(eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * The cached result for the key, or the loader's result, shared with concurrent
+     * callers of the same key. A failed load is not cached and fails its waiters too.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (!props.isEnabled()) {
+            return loader.get();
+        }
+        Claim claim = claim(key);
+        Entry entry = claim.entry();
+
+        if (claim.owner()) {
+            count("miss");
+            try {
+                T value = loader.get();
+                entry.result.complete(value);
+                return value;
+            } catch (Throwable ex) {
+                // errors too, or waiters coalesced on this entry would never complete
+                remove(key, entry);
+                entry.result.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        count(entry.result.isDone() ? "hit" : "coalesced");
+        try {
+            return (T) entry.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex.getCause() instanceof RuntimeException re ? re : ex;
+        }
+    }
+
+    /**
+     * Non-blocking form of {@link #get} for loaders that return a Mono; blocking and
+     * non-blocking callers of a key share one load. A load whose subscriber cancels is
+     * dropped and fails its waiters, like a failed one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getAsync(Key key, Supplier<Mono<T>> loader) {
+        if (!props.isEnabled()) {
+            return Mono.defer(loader);
+        }
+        return Mono.defer(() -> {
+            Claim claim = claim(key);
+            Entry entry = claim.entry();
+
+            if (claim.owner()) {
+                count("miss");
+                return loader.get()
+                        .doOnSuccess(entry.result::complete)
+                        .doOnError(ex -> {
+                            remove(key, entry);
+                            entry.result.completeExceptionally(ex);
+                        })
+                        .doOnCancel(() -> {
+                            remove(key, entry);
+                            entry.result.completeExceptionally(new CancellationException());
+                        });
+            }
+
+            count(entry.result.isDone() ? "hit" : "coalesced");
+            // a waiter leaving does not cancel the shared load
+            return Mono.fromFuture(entry.result, true).map(value -> (T) value);
+        });
+    }
+
+    private record Claim(Entry entry, boolean owner) {
+    }
+
+    /**
+     * The live entry for the key, or a new one the caller must complete.
+     */
+    private Claim claim(Key key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt <= 0) {
+                return new Claim(entry, false);
+            }
+            entry = new Entry(now + props.getTtl().toNanos());
+            keysByFilter.computeIfAbsent(key.filter(), f -> new HashSet<>()).add(key);
+            entries.put(key, entry);
+            return new Claim(entry, true);
+        }
+    }
+
+    /**
+     * Drops the entries whose result the pushed log may change. Loads already running
+     * complete for their waiters but are not served afterwards.
+     */
+    public void invalidate(LogResponseDto log) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        String service = log.getServiceName();
+        String level = log.getLevel() != null ? log.getLevel().name() : null;
+        int dropped = 0;
+        synchronized (entries) {
+            if (service == null || level == null) {
+                // unknown fields match every filter on them
+                for (Set<Key> keys : keysByFilter.values()) {
+                    dropped += drop(keys, log);
+                }
+                keysByFilter.values().removeIf(Set::isEmpty);
+            } else {
+                for (Filter filter : List.of(new Filter(null, null), new Filter(service, null),
+                        new Filter(null, level), new Filter(service, level))) {
+                    Set<Key> keys = keysByFilter.get(filter);
+                    if (keys != null) {
+                        dropped += drop(keys, log);
+                        if (keys.isEmpty()) {
+                            keysByFilter.remove(filter);
+                        }
+                    }
+                }
+            }
+        }
+        if (dropped > 0) {
+            meterRegistry.counter("logs.querycache.invalidations").increment(dropped);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Drops the entries of the keys the log affects; the caller holds the entries lock.
+     */
+    private int drop(Set<Key> keys, LogResponseDto log) {
+        int dropped = 0;
+        for (Iterator<Key> it = keys.iterator(); it.hasNext(); ) {
+            Key key = it.next();
+            if (key.affectedBy(log)) {
+                it.remove();
+                entries.remove(key);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private void remove(Key key, Entry entry) {
+        synchronized (entries) {
+            if (entries.remove(key, entry)) {
+                unindex(key);
+            }
+        }
+    }
+
+    private void unindex(Key key) {
+        Set<Key> keys = keysByFilter.get(key.filter());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByFilter.remove(key.filter());
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("logs.querycache.requests", "result", result).increment();
+    }
+}
@@ -0,0 +1,175 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.logdashboard.config.StorageProperties;
+import com.mongodb.ExplainVerbosity;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * QueryPlanService
+ *
+ * Explains every query shape the active LogReader issues (filter + sort, with
+ * placeholder values) and reports whether MongoDB serves it from an index without a
+ * blocking in-memory sort. Meant to catch a missing or dropped index before it shows
+ * up as latency.
+ */
+@Service
+@RequiredArgsConstructor
+public class QueryPlanService {
+
+    private static final int LIMIT = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties props;
+
+    public record QueryShape(String name, String collection, Document filter, Document sort) {
+    }
+
+    /**
+     * @param indexed      an index scan selects the documents (no collection scan)
+     * @param blockingSort the result is sorted in memory
+     * @param ok           indexed and not sorted in memory
+     */
+    public record QueryPlanReport(String shape, String collection, String filter, String sort,
+                                  List<String> stages, List<String> indexes, boolean indexed,
+                                  boolean blockingSort, boolean ok, Long keysExamined, Long docsExamined,
+                                  Long returned, Long millis, String error) {
+    }
+
+    public List<QueryPlanReport> explainAll() {
+        return shapes().stream().map(this::explain).toList();
+    }
+
+    public List<QueryShape> shapes() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Date to = Date.from(now);
+        Date from = Date.from(now.minus(1, ChronoUnit.HOURS));
+        return switch (props.getMode()) {
+            case DOCUMENT -> logShapes("logs", "serviceName", "level", "templateId", "timestamp",
+                    "traceId", "sampleTraceIds", "sample-service", "ERROR", from, to);
+            case COMPACT -> logShapes("logs_c", "s", "l", "ti", "t", "x", "xs", 1, 3, from, to);
+            case TIMESERIES -> logShapes("logs_ts", "meta.serviceName", "meta.level", "templateId", "timestamp",
+                    "traceId", "sampleTraceIds", "sample-service", "ERROR", from, to);
+            case BUCKET -> List.of(
+                    new QueryShape("findAll", "log_buckets", new Document(), new Document("minute", -1)),
+                    new QueryShape("findByServiceName", "log_buckets",
+                            new Document("serviceName", "sample-service"), new Document("minute", -1)),
+                    new QueryShape("findByLevel", "log_buckets",
+                            new Document("logs.level", "ERROR"), new Document("minute", -1)),
+                    new QueryShape("findByTimestampBetween", "log_buckets",
+                            new Document("minute", new Document("$gte", from).append("$lte", to)),
+                            new Document("minute", -1)));
+            case SEGMENT -> List.of();
+        };
+    }
+
+    private static List<QueryShape> logShapes(String collection, String service, String level, String template,
+                                              String ts, String trace, String sampleTraces,
+                                              Object serviceValue, Object levelValue, Date from, Date to) {
+        Document newest = new Document(ts, -1);
+        Document keysetSort = new Document(ts, -1).append("_id", -1);
+        Document afterCursor = new Document("$or", List.of(
+                new Document(ts, new Document("$lt", to)),
+                new Document(ts, to).append("_id", new Document("$lt", new ObjectId()))));
+        Document range = new Document("$gt", from).append("$lt", to);
+
+        List<QueryShape> shapes = new ArrayList<>();
+        shapes.add(new QueryShape("findAll", collection, new Document(), newest));
+        shapes.add(new QueryShape("findByServiceName", collection, new Document(service, serviceValue), newest));
+        shapes.add(new QueryShape("findByLevel", collection, new Document(level, levelValue), newest));
+        shapes.add(new QueryShape("findByServiceNameAndLevel", collection,
+                new Document(service, serviceValue).append(level, levelValue), newest));
+        shapes.add(new QueryShape("findByTimestampBetween", collection, new Document(ts, range), newest));
+        shapes.add(new QueryShape("findByTemplateId", collection, new Document(template, "sample-template"), newest));
+        shapes.add(new QueryShape("seek", collection, new Document("$and", List.of(afterCursor)), keysetSort));
+        shapes.add(new QueryShape("seekByServiceName", collection,
+                new Document("$and", List.of(new Document(service, serviceValue), afterCursor)), keysetSort));
+        shapes.add(new QueryShape("seekByLevel", collection,
+                new Document("$and", List.of(new Document(level, levelValue), afterCursor)), keysetSort));
+        shapes.add(new QueryShape("findByTraceId", collection, new Document(ts, range)
+                .append("$or", List.of(new Document(trace, "sample-trace"), new Document(sampleTraces, "sample-trace"))),
+                new Document()));
+        return shapes;
+    }
+
+    private QueryPlanReport explain(QueryShape shape) {
+        try {
+            Document explain = mongoTemplate.getCollection(shape.collection())
+                    .find(shape.filter())
+                    .sort(shape.sort())
+                    .limit(LIMIT)
+                    .explain(Document.class, ExplainVerbosity.EXECUTION_STATS);
+            Document planned = planned(explain);
+            Document planner = planned.get("queryPlanner", Document.class);
+            Document stats = planned.get("executionStats", Document.class);
+
+            List<String> stages = new ArrayList<>();
+            List<String> indexes = new ArrayList<>();
+            collect(planner != null ? planner.get("winningPlan", Document.class) : null, stages, indexes);
+            boolean indexed = stages.stream().anyMatch(s -> s.contains("IXSCAN") || s.equals("DISTINCT_SCAN"))
+                    && !stages.contains("COLLSCAN");
+            boolean blockingSort = stages.contains("SORT");
+
+            return new QueryPlanReport(shape.name(), shape.collection(), shape.filter().toJson(), shape.sort().toJson(),
+                    stages, indexes, indexed, blockingSort, indexed && !blockingSort,
+                    number(stats, "totalKeysExamined"), number(stats, "totalDocsExamined"),
+                    number(stats, "nReturned"), number(stats, "executionTimeMillis"), null);
+        } catch (Exception ex) {
+            return new QueryPlanReport(shape.name(), shape.collection(), shape.filter().toJson(), shape.sort().toJson(),
+                    List.of(), List.of(), false, false, false, null, null, null, null, ex.getMessage());
+        }
+    }
+
+    /**
+     * Time-series finds are explained as an aggregation over the bucket collection:
+     * the plan sits in the $cursor stage.
+     */
+    private static Document planned(Document explain) {
+        if (explain.containsKey("queryPlanner")) {
+            return explain;
+        }
+        List<?> stages = explain.get("stages", List.class);
+        if (stages != null && !stages.isEmpty() && stages.get(0) instanceof Document first
+                && first.get("$cursor") instanceof Document cursor) {
+            return cursor;
+        }
+        return explain;
+    }
+
+    /**
+     * Walks a plan tree depth first (classic inputStage/inputStages and SBE queryPlan nodes).
+     */
+    private static void collect(Document node, List<String> stages, List<String> indexes) {
+        if (node == null) {
+            return;
+        }
+        if (node.getString("stage") != null) {
+            stages.add(node.getString("stage"));
+        }
+        if (node.getString("indexName") != null && !indexes.contains(node.getString("indexName"))) {
+            indexes.add(node.getString("indexName"));
+        }
+        collect(node.get("queryPlan", Document.class), stages, indexes);
+        collect(node.get("inputStage", Document.class), stages, indexes);
+        List<?> children = node.get("inputStages", List.class);
+        if (children != null) {
+            for (Object child : children) {
+                if (child instanceof Document d) collect(d, stages, indexes);
+            }
+        }
+    }
+
+    private static Long number(Document doc, String key) {
+        Object value = doc != null ? doc.get(key) : null;
+        return value instanceof Number n ? n.longValue() : null;
+    }
+}
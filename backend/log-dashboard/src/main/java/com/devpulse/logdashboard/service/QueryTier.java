@@ -0,0 +1,28 @@
+package com.devpulse.logdashboard.service;
+
+/**
+ * Which storage answered a log list query: the in-memory window of recent logs, the
+ * database (with the archive), or both. Reported as LogSliceDto.tier, in the
+ * X-Query-Tier response header and in logs.federation.requests{tier}.
+ */
+public enum QueryTier {
+    MEMORY("memory"),
+    DATABASE("database"),
+    FEDERATED("memory+database");
+
+    public static final String HEADER = "X-Query-Tier";
+
+    private final String label;
+
+    QueryTier(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static QueryTier of(boolean readMemory, boolean readDatabase) {
+        return readMemory ? (readDatabase ? FEDERATED : MEMORY) : DATABASE;
+    }
+}
@@ -0,0 +1,151 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSliceDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.limit.QueryDeadline;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.store.ArchiveLogReader;
+import com.devpulse.logdashboard.store.ReactiveDocumentLogReader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking face of {@link LogQueryService} for the reactive mode.
+ *
+ * In the DOCUMENT layout, list pages, keyset pages and exports are read through the
+ * reactive MongoDB driver (ReactiveDocumentLogReader) and wait for the database without
+ * holding a thread; they share the QueryCache entries and metrics of the blocking reads.
+ * Everything else, and every read of the other layouts, runs the blocking
+ * LogQueryService call on the bounded log-read pool, so a slow query holds one pool
+ * thread rather than a connection-serving thread. So do keyset pages starting in the
+ * in-memory window (federated with the database), archived logs, and logs whose
+ * template is not cached yet, which are rendered after a blocking lookup.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLogQueryService {
+
+    private final LogQueryService queryService;
+    private final LogTemplateService templateService;
+    private final QueryCache queryCache;
+    private final ArchiveLogReader archiveReader;
+    /** Null outside the DOCUMENT layout */
+    private final ReactiveDocumentLogReader documents;
+    private final Scheduler reads;
+
+    public ReactiveLogQueryService(LogQueryService queryService, LogTemplateService templateService, QueryCache queryCache,
+                                   ArchiveLogReader archiveReader, ObjectProvider<ReactiveDocumentLogReader> documents,
+                                   ThreadPoolTaskExecutor logReadExecutor) {
+        this.queryService = queryService;
+        this.templateService = templateService;
+        this.queryCache = queryCache;
+        this.archiveReader = archiveReader;
+        this.documents = documents.getIfAvailable();
+        this.reads = Schedulers.fromExecutor(logReadExecutor);
+    }
+
+    /**
+     * Runs a blocking read (typically a LogQueryService call) on the read pool, within the
+     * request's {@link QueryDeadline} when it has one.
+     */
+    public <T> Mono<T> read(Callable<T> query) {
+        return Mono.deferContextual(context -> {
+            Long deadline = context.getOrDefault(QueryDeadline.CONTEXT_KEY, null);
+            return Mono.fromCallable(() -> QueryDeadline.call(deadline, query));
+        }).subscribeOn(reads);
+    }
+
+    public Mono<Page<LogResponseDto>> findAll(int page, int size) {
+        return page("all", LogQuery.all(), page, size, () -> queryService.findAll(page, size));
+    }
+
+    public Mono<Page<LogResponseDto>> findByService(String serviceName, int page, int size) {
+        return page("service", LogQuery.builder().serviceName(serviceName).build(), page, size,
+                () -> queryService.findByService(serviceName, page, size));
+    }
+
+    public Mono<Page<LogResponseDto>> findByLevel(String level, int page, int size) {
+        LogLevel parsed;
+        try {
+            parsed = LogLevel.valueOf(level.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return Mono.just(new PageImpl<>(List.of(), LogQueryService.pageable(page, size), 0));
+        }
+        return page("level", LogQuery.builder().level(parsed.name()).build(), page, size,
+                () -> queryService.findByLevel(level, page, size));
+    }
+
+    /**
+     * As {@link LogQueryService#findSlice}.
+     */
+    public Mono<LogSliceDto> findSlice(LogQuery query, String cursor, int size, boolean approximateTotal) {
+        if (documents == null) {
+            return read(() -> queryService.findSlice(query, cursor, size, approximateTotal));
+        }
+        return Mono.defer(() -> {
+            LogQueryService.SliceRequest request = queryService.sliceRequest(query, cursor, size);
+            if (request.query() == null) {
+                return Mono.just(LogQueryService.emptySlice(approximateTotal));
+            }
+            if (queryService.federates(request)) {
+                return read(() -> queryService.findSlice(query, cursor, size, approximateTotal));
+            }
+            LogQueryService.SliceRequest database = request.fromDatabase();
+            return queryCache.getAsync(database.cacheKey(approximateTotal), () -> {
+                queryService.countTier("slice", QueryTier.DATABASE);
+                Mono<Long> total = approximateTotal ? documents.approximateCount(database.query()) : Mono.just(-1L);
+                return toDtos(documents.seek(database.query(), database.after(), database.limit() + 1)).collectList()
+                        .zipWith(total)
+                        .map(page -> LogQueryService.slice(page.getT1(), database.limit(), page.getT2() >= 0 ? page.getT2() : null));
+            });
+        });
+    }
+
+    /**
+     * Every log matching the query, newest first, hot tier then archive, pulled from the
+     * cursor as the subscriber requests them. Between requests no thread is held;
+     * cancelling closes the cursor.
+     */
+    public Flux<LogResponseDto> stream(LogQuery query) {
+        if (documents == null) {
+            return Flux.fromStream(() -> queryService.streamMatching(query)).subscribeOn(reads);
+        }
+        return toDtos(Flux.concat(documents.stream(query),
+                Flux.fromStream(() -> archiveReader.stream(query)).subscribeOn(reads)));
+    }
+
+    private Mono<Page<LogResponseDto>> page(String shape, LogQuery query, int page, int size,
+                                            Callable<Page<LogResponseDto>> blocking) {
+        if (documents == null) {
+            return read(blocking);
+        }
+        Pageable pageable = LogQueryService.pageable(page, size);
+        return queryCache.getAsync(QueryCache.Key.paged(shape, query, pageable.getPageNumber(), pageable.getPageSize()),
+                () -> documents.page(query, pageable).flatMap(docs -> toDtos(Flux.fromIterable(docs.getContent()))
+                        .collectList()
+                        .<Page<LogResponseDto>>map(content -> new PageImpl<>(content, pageable, docs.getTotalElements()))));
+    }
+
+    /**
+     * Maps in order; a log whose template needs a repository lookup is rendered on the read pool.
+     */
+    private Flux<LogResponseDto> toDtos(Flux<LogDocument> docs) {
+        return docs.concatMap(doc -> templateService.rendersFromMemory(doc)
+                ? Mono.just(queryService.toDto(doc))
+                : Mono.fromCallable(() -> queryService.toDto(doc)).subscribeOn(reads));
+    }
+}
@@ -0,0 +1,23 @@
+package com.devpulse.logdashboard.service;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of results that records which tier answered it (see QueryTier).
+ */
+public class TieredPage<T> extends PageImpl<T> {
+
+    private final QueryTier tier;
+
+    public TieredPage(List<T> content, Pageable pageable, long total, QueryTier tier) {
+        super(content, pageable, total);
+        this.tier = tier;
+    }
+
+    public QueryTier getTier() {
+        return tier;
+    }
+}
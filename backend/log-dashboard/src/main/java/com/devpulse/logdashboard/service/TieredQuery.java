@@ -0,0 +1,32 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.store.LogQuery;
+
+import java.time.Instant;
+
+/**
+ * A log query split at the start of the hot tail's time index (HotTail.coveredFrom):
+ * memory holds the logs from that instant on, database the older ones. Either part is
+ * null when the query does not reach into it; bounds are inclusive, like LogQuery's.
+ *
+ * Newest first, every memory result precedes every database result, so a page is
+ * filled from memory and only completed from the database.
+ */
+public record TieredQuery(LogQuery memory, LogQuery database) {
+
+    /**
+     * @param coveredFrom start of the in-memory window, or null when there is none
+     */
+    public static TieredQuery split(LogQuery query, Instant coveredFrom) {
+        // pushed logs carry no template yet
+        if (coveredFrom == null || query.templateId() != null
+                || (query.to() != null && query.to().isBefore(coveredFrom))) {
+            return new TieredQuery(null, query);
+        }
+        if (query.from() != null && !query.from().isBefore(coveredFrom)) {
+            return new TieredQuery(query, null);
+        }
+        return new TieredQuery(query.toBuilder().from(coveredFrom).build(),
+                query.toBuilder().to(coveredFrom.minusMillis(1)).build());
+    }
+}
@@ -0,0 +1,69 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.store.LogPage;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.store.archive.ColumnarArchive;
+import com.devpulse.logdashboard.config.ArchiveProperties;
+import com.devpulse.logdashboard.model.LogDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier: archived logs in the columnar files written by log-collector
+ * (app.archive), appended to time-range results of the hot tier.
+ *
+ * Archived logs are older than everything left in MongoDB, so a newest-first
+ * range is the hot matches followed by the archived ones and a page is filled
+ * from the archive once the hot matches are exhausted.
+ */
+@Component
+public class ArchiveLogReader {
+
+    private final ArchiveProperties props;
+    private final ColumnarArchive archive;
+
+    public ArchiveLogReader(ArchiveProperties props) {
+        this.props = props;
+        this.archive = new ColumnarArchive(Path.of(props.getDirectory()));
+    }
+
+    /**
+     * Archived logs matching the query newest first, read one chunk at a time as the
+     * stream is consumed (empty when the archive is disabled).
+     */
+    public Stream<LogDocument> stream(LogQuery query) {
+        if (!props.isEnabled() || !archive.overlaps(query.from(), query.to())) {
+            return Stream.empty();
+        }
+        return archive.stream(query).map(SegmentLogReader::decode);
+    }
+
+    /**
+     * Completes a hot-tier page of logs with timestamps in (from, to) with archived logs.
+     */
+    public Page<LogDocument> withArchived(Page<LogDocument> hot, Instant from, Instant to) {
+        if (!props.isEnabled() || !archive.overlaps(from, to)) {
+            return hot;
+        }
+        long offset = hot.getPageable().getOffset();
+        int size = hot.getPageable().getPageSize();
+        long hotTotal = hot.getTotalElements();
+
+        // hot bounds are exclusive, archive bounds inclusive
+        LogQuery range = LogQuery.builder()
+                .from(from != null ? from.plusMillis(1) : null)
+                .to(to != null ? to.minusMillis(1) : null)
+                .build();
+        List<LogDocument> content = new ArrayList<>(hot.getContent());
+        LogPage cold = archive.find(range, Math.max(0, offset - hotTotal), size - content.size());
+        cold.content().forEach(r -> content.add(SegmentLogReader.decode(r)));
+        return new PageImpl<>(content, hot.getPageable(), hotTotal + cold.total());
+    }
+}
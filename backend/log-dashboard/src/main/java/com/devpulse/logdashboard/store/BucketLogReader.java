@@ -0,0 +1,277 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.model.LogBucketDocument;
+import com.devpulse.logdashboard.model.LogDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Bucket storage (app.storage.mode=BUCKET): unpacks per-service, per-minute buckets
+ * from "log_buckets" into individual logs.
+ *
+ * Pages are produced by streaming buckets newest minute first: buckets of one minute
+ * (several services, overflow buckets) are merged and sorted, then skipped/collected
+ * until the page is full, so reads are sequential over the minute index and stop as
+ * soon as the requested page is complete. Totals are computed by aggregation only
+ * when the page itself cannot determine them.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "bucket")
+public class BucketLogReader implements LogReader {
+
+    private static final String COLLECTION = "log_buckets";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<LogDocument> findAll(Pageable pageable) {
+        return page(new Criteria(), e -> true, null, pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByServiceName(String serviceName, Pageable pageable) {
+        return page(Criteria.where("serviceName").is(serviceName), e -> true, null, pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByLevel(LogLevel level, Pageable pageable) {
+        return page(Criteria.where("logs.level").is(level.name()),
+                e -> level.name().equals(e.getLevel()),
+                Criteria.where("logs.level").is(level.name()),
+                pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable) {
+        return page(Criteria.where("minute").gte(from.truncatedTo(ChronoUnit.MINUTES)).lte(to)
+                        .and("maxTimestamp").gt(from)
+                        .and("minTimestamp").lt(to),
+                e -> e.getTimestamp() != null && e.getTimestamp().isAfter(from) && e.getTimestamp().isBefore(to),
+                Criteria.where("logs.timestamp").gt(from).lt(to),
+                pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTemplateId(String templateId, Pageable pageable) {
+        return page(Criteria.where("logs.templateId").is(templateId),
+                e -> templateId.equals(e.getTemplateId()),
+                Criteria.where("logs.templateId").is(templateId),
+                pageable);
+    }
+
+    @Override
+    public List<LogDocument> findTop100Recent() {
+        return collect(new Criteria(), e -> true, 0, 100);
+    }
+
+    @Override
+    public List<LogDocument> seek(LogQuery query, LogCursor after, int limit) {
+        Criteria buckets = buckets(query);
+        if (after != null) {
+            buckets = buckets.and("minute").lte(after.timestamp());
+        }
+        Predicate<LogBucketDocument.Entry> filter = e -> matches(e, query)
+                && (after == null || after.precedes(e.getTimestamp(), e.getId()));
+        return collect(buckets, filter, 0, limit);
+    }
+
+    @Override
+    public long approximateCount(LogQuery query) {
+        Criteria entries = new Criteria();
+        if (query.level() != null) entries = entries.and("logs.level").is(query.level());
+        if (query.templateId() != null) entries = entries.and("logs.templateId").is(query.templateId());
+        if (query.from() != null || query.to() != null) {
+            Criteria time = entries.and("logs.timestamp");
+            if (query.from() != null) time = time.gte(query.from());
+            if (query.to() != null) time = time.lte(query.to());
+        }
+        boolean entryFilter = query.level() != null || query.templateId() != null || query.from() != null || query.to() != null;
+        return count(buckets(query), entryFilter ? entries : null);
+    }
+
+    /**
+     * Buckets that may hold logs matching the query.
+     */
+    private static Criteria buckets(LogQuery query) {
+        Criteria buckets = new Criteria();
+        if (query.serviceName() != null) buckets = buckets.and("serviceName").is(query.serviceName());
+        if (query.level() != null) buckets = buckets.and("logs.level").is(query.level());
+        if (query.templateId() != null) buckets = buckets.and("logs.templateId").is(query.templateId());
+        if (query.from() != null) buckets = buckets.and("maxTimestamp").gte(query.from());
+        if (query.to() != null) buckets = buckets.and("minTimestamp").lte(query.to());
+        return buckets;
+    }
+
+    private static boolean matches(LogBucketDocument.Entry e, LogQuery query) {
+        if (e.getTimestamp() == null) return false;
+        if (query.level() != null && !query.level().equals(e.getLevel())) return false;
+        if (query.templateId() != null && !query.templateId().equals(e.getTemplateId())) return false;
+        if (query.from() != null && e.getTimestamp().isBefore(query.from())) return false;
+        return query.to() == null || !e.getTimestamp().isAfter(query.to());
+    }
+
+    @Override
+    public List<LogDocument> findByTraceId(String traceId, Instant from, Instant to) {
+        Criteria buckets = Criteria.where("minute").gte(from.truncatedTo(ChronoUnit.MINUTES)).lt(to)
+                .orOperator(Criteria.where("logs.traceId").is(traceId), Criteria.where("logs.sampleTraceIds").is(traceId));
+        List<LogDocument> out = new ArrayList<>();
+        for (LogBucketDocument bucket : mongoTemplate.find(Query.query(buckets), LogBucketDocument.class)) {
+            if (bucket.getLogs() == null) continue;
+            for (LogBucketDocument.Entry e : bucket.getLogs()) {
+                boolean inRange = e.getTimestamp() != null && !e.getTimestamp().isBefore(from) && e.getTimestamp().isBefore(to);
+                boolean sampled = e.getSampleTraceIds() != null && e.getSampleTraceIds().contains(traceId);
+                if (inRange && (traceId.equals(e.getTraceId()) || sampled)) {
+                    out.add(decode(bucket, e));
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public List<TemplateCount> countByTemplate(Instant from, Instant to, String serviceName, int limit) {
+        Criteria buckets = Criteria.where("minute").gte(from.truncatedTo(ChronoUnit.MINUTES)).lte(to);
+        if (serviceName != null && !serviceName.isBlank()) {
+            buckets = buckets.and("serviceName").is(serviceName);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(buckets),
+                Aggregation.unwind("logs"),
+                Aggregation.match(Criteria.where("logs.timestamp").gte(from).lte(to).and("logs.templateId").ne(null)),
+                Aggregation.group("logs.templateId")
+                        .sum(ConditionalOperators.ifNull("logs.count").then(1)).as("count"),
+                Aggregation.sort(Sort.Direction.DESC, "count"),
+                Aggregation.limit(Math.max(1, limit)));
+
+        return mongoTemplate.aggregate(aggregation, COLLECTION, Document.class).getMappedResults().stream()
+                .map(row -> new TemplateCount(row.getString("_id"), ((Number) row.get("count")).longValue()))
+                .toList();
+    }
+
+    /**
+     * @param buckets        selects candidate buckets (must not reject buckets holding matching logs)
+     * @param entryFilter    exact per-log filter applied while unpacking
+     * @param entryCriteria  per-log criteria for counting, or null when every log of a matching bucket counts
+     */
+    private Page<LogDocument> page(Criteria buckets, Predicate<LogBucketDocument.Entry> entryFilter,
+                                   Criteria entryCriteria, Pageable pageable) {
+        List<LogDocument> content = collect(buckets, entryFilter, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(buckets, entryCriteria));
+    }
+
+    private List<LogDocument> collect(Criteria buckets, Predicate<LogBucketDocument.Entry> entryFilter,
+                                      long offset, int size) {
+        Query query = Query.query(buckets).with(Sort.by(Sort.Direction.DESC, "minute"));
+        List<LogDocument> out = new ArrayList<>(size);
+        List<LogDocument> minuteGroup = new ArrayList<>();
+        long[] toSkip = {offset};
+        Instant currentMinute = null;
+
+        try (Stream<LogBucketDocument> stream = mongoTemplate.stream(query, LogBucketDocument.class)) {
+            Iterator<LogBucketDocument> it = stream.iterator();
+            while (it.hasNext() && out.size() < size) {
+                LogBucketDocument bucket = it.next();
+                if (!bucket.getMinute().equals(currentMinute)) {
+                    drain(minuteGroup, toSkip, size, out);
+                    currentMinute = bucket.getMinute();
+                }
+                if (bucket.getLogs() == null) continue;
+                for (LogBucketDocument.Entry e : bucket.getLogs()) {
+                    if (entryFilter.test(e)) {
+                        minuteGroup.add(decode(bucket, e));
+                    }
+                }
+            }
+        }
+        drain(minuteGroup, toSkip, size, out);
+        return out;
+    }
+
+    /**
+     * Emits one complete minute (newest first) into the page, consuming the offset first.
+     */
+    private static void drain(List<LogDocument> minuteGroup, long[] toSkip, int size, List<LogDocument> out) {
+        if (minuteGroup.isEmpty()) return;
+        if (toSkip[0] >= minuteGroup.size()) {
+            toSkip[0] -= minuteGroup.size();
+            minuteGroup.clear();
+            return;
+        }
+        minuteGroup.sort(Comparator.comparing(LogDocument::getTimestamp, Comparator.nullsLast(Comparator.<Instant>reverseOrder()))
+                .thenComparing(LogDocument::getId, Comparator.nullsLast(Comparator.<String>reverseOrder())));
+        for (LogDocument doc : minuteGroup) {
+            if (toSkip[0] > 0) {
+                toSkip[0]--;
+            } else if (out.size() < size) {
+                out.add(doc);
+            }
+        }
+        minuteGroup.clear();
+    }
+
+    private long count(Criteria buckets, Criteria entryCriteria) {
+        List<AggregationOperation> ops = new ArrayList<>();
+        ops.add(Aggregation.match(buckets));
+        if (entryCriteria == null) {
+            ops.add(Aggregation.group().sum("size").as("total"));
+        } else {
+            ops.add(Aggregation.unwind("logs"));
+            ops.add(Aggregation.match(entryCriteria));
+            ops.add(Aggregation.count().as("total"));
+        }
+        Document row = mongoTemplate.aggregate(Aggregation.newAggregation(ops), COLLECTION, Document.class)
+                .getUniqueMappedResult();
+        return row == null ? 0 : ((Number) row.get("total")).longValue();
+    }
+
+    private static LogDocument decode(LogBucketDocument bucket, LogBucketDocument.Entry e) {
+        return LogDocument.builder()
+                .id(e.getId())
+                .serviceName(bucket.getServiceName())
+                .level(parseLevel(e.getLevel()))
+                .message(e.getMessage())
+                .timestamp(e.getTimestamp())
+                .traceId(e.getTraceId())
+                .count(e.getCount())
+                .firstSeen(e.getFirstSeen())
+                .lastSeen(e.getLastSeen())
+                .sampleTraceIds(e.getSampleTraceIds())
+                .templateId(e.getTemplateId())
+                .templateVersion(e.getTemplateVersion())
+                .templateParams(e.getTemplateParams())
+                .build();
+    }
+
+    private static LogLevel parseLevel(String level) {
+        if (level == null) return null;
+        try {
+            return LogLevel.valueOf(level);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
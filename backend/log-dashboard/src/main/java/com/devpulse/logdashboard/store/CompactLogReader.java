@@ -0,0 +1,185 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.util.TraceIdCodec;
+import com.devpulse.logdashboard.model.CompactLogDocument;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.repository.CompactLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compact storage (app.storage.mode=COMPACT): decodes dictionary-encoded documents
+ * from "logs_c" back into {@link LogDocument}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "compact")
+public class CompactLogReader implements LogReader {
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final CompactLogRepository repository;
+    private final ServiceDictionary serviceDictionary;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<LogDocument> findAll(Pageable pageable) {
+        return repository.findAll(pageable).map(this::decode);
+    }
+
+    @Override
+    public Page<LogDocument> findByServiceName(String serviceName, Pageable pageable) {
+        Integer serviceId = serviceDictionary.idOf(serviceName);
+        if (serviceId == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        return repository.findByServiceId(serviceId, pageable).map(this::decode);
+    }
+
+    @Override
+    public Page<LogDocument> findByLevel(LogLevel level, Pageable pageable) {
+        return repository.findByLevel(level.ordinal(), pageable).map(this::decode);
+    }
+
+    @Override
+    public Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable) {
+        return repository.findByTimestampBetween(from, to, pageable).map(this::decode);
+    }
+
+    @Override
+    public Page<LogDocument> findByTemplateId(String templateId, Pageable pageable) {
+        return repository.findByTemplateId(templateId, pageable).map(this::decode);
+    }
+
+    @Override
+    public List<LogDocument> findTop100Recent() {
+        return repository.findTop100ByOrderByTimestampDesc().stream().map(this::decode).toList();
+    }
+
+    @Override
+    public List<LogDocument> seek(LogQuery query, LogCursor after, int limit) {
+        List<Criteria> filters = filters(query);
+        if (filters == null) {
+            return List.of();
+        }
+        Query q = Query.query(Keyset.criteria(filters, "t", query, after))
+                .with(Sort.by(Sort.Direction.DESC, "t", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(q, CompactLogDocument.class).stream().map(this::decode).toList();
+    }
+
+    @Override
+    public Stream<LogDocument> stream(LogQuery query) {
+        List<Criteria> filters = filters(query);
+        if (filters == null) {
+            return Stream.empty();
+        }
+        Query q = Query.query(Keyset.criteria(filters, "t", query, null))
+                .with(Sort.by(Sort.Direction.DESC, "t", "_id"))
+                .cursorBatchSize(STREAM_BATCH);
+        return mongoTemplate.stream(q, CompactLogDocument.class).map(this::decode);
+    }
+
+    @Override
+    public long approximateCount(LogQuery query) {
+        List<Criteria> filters = filters(query);
+        if (filters == null) {
+            return 0;
+        }
+        if (filters.isEmpty() && query.from() == null && query.to() == null) {
+            return mongoTemplate.estimatedCount(CompactLogDocument.class);
+        }
+        Query q = Query.query(Keyset.criteria(filters, "t", query, null)).limit(APPROXIMATE_COUNT_CAP);
+        return mongoTemplate.count(q, CompactLogDocument.class);
+    }
+
+    /**
+     * Encoded field filters, or null when a filter value cannot match (unknown service or level).
+     */
+    private List<Criteria> filters(LogQuery query) {
+        List<Criteria> filters = new ArrayList<>();
+        if (query.serviceName() != null) {
+            Integer serviceId = serviceDictionary.idOf(query.serviceName());
+            if (serviceId == null) return null;
+            filters.add(Criteria.where("s").is(serviceId));
+        }
+        if (query.level() != null) {
+            try {
+                filters.add(Criteria.where("l").is(LogLevel.valueOf(query.level()).ordinal()));
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+        if (query.templateId() != null) {
+            filters.add(Criteria.where("ti").is(query.templateId()));
+        }
+        return filters;
+    }
+
+    @Override
+    public List<LogDocument> findByTraceId(String traceId, Instant from, Instant to) {
+        byte[] encoded = TraceIdCodec.encode(traceId);
+        Criteria criteria = Criteria.where("t").gte(from).lt(to)
+                .orOperator(Criteria.where("x").is(encoded), Criteria.where("xs").is(encoded));
+        return mongoTemplate.find(Query.query(criteria), CompactLogDocument.class).stream().map(this::decode).toList();
+    }
+
+    @Override
+    public List<TemplateCount> countByTemplate(Instant from, Instant to, String serviceName, int limit) {
+        Criteria criteria = Criteria.where("t").gte(from).lte(to).and("ti").ne(null);
+        if (serviceName != null && !serviceName.isBlank()) {
+            Integer serviceId = serviceDictionary.idOf(serviceName);
+            if (serviceId == null) {
+                return List.of();
+            }
+            criteria = criteria.and("s").is(serviceId);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("ti").sum(ConditionalOperators.ifNull("c").then(1)).as("count"),
+                Aggregation.sort(Sort.Direction.DESC, "count"),
+                Aggregation.limit(Math.max(1, limit)));
+
+        return mongoTemplate.aggregate(aggregation, "logs_c", Document.class).getMappedResults().stream()
+                .map(row -> new TemplateCount(row.getString("_id"), ((Number) row.get("count")).longValue()))
+                .toList();
+    }
+
+    LogDocument decode(CompactLogDocument c) {
+        Integer level = c.getLevel();
+        return LogDocument.builder()
+                .id(c.getId())
+                .serviceName(serviceDictionary.nameOf(c.getServiceId()))
+                .level(level != null && level >= 0 && level < LEVELS.length ? LEVELS[level] : null)
+                .message(c.getMessage())
+                .timestamp(c.getTimestamp())
+                .traceId(TraceIdCodec.decode(c.getTraceId()))
+                .count(c.getCount())
+                .firstSeen(c.getFirstSeen() != null ? c.getFirstSeen() : c.getTimestamp())
+                .lastSeen(c.getLastSeen() != null ? c.getLastSeen() : c.getTimestamp())
+                .sampleTraceIds(c.getSampleTraceIds() == null ? null
+                        : c.getSampleTraceIds().stream().map(TraceIdCodec::decode).toList())
+                .templateId(c.getTemplateId())
+                .templateVersion(c.getTemplateVersion())
+                .templateParams(c.getTemplateParams())
+                .build();
+    }
+}
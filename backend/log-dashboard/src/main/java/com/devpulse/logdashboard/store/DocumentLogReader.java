@@ -0,0 +1,143 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.SearchProperties;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.repository.LogRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Default storage: readable documents in the "logs" collection.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "document", matchIfMissing = true)
+public class DocumentLogReader implements LogReader {
+
+    private final LogRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final SearchProperties searchProps;
+
+    @Override
+    public Page<LogDocument> findAll(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByServiceName(String serviceName, Pageable pageable) {
+        return repository.findByServiceName(serviceName, pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByLevel(LogLevel level, Pageable pageable) {
+        return repository.findByLevel(level, pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable) {
+        return repository.findByTimestampBetween(from, to, pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTemplateId(String templateId, Pageable pageable) {
+        return repository.findByTemplateId(templateId, pageable);
+    }
+
+    @Override
+    public List<LogDocument> findTop100Recent() {
+        return repository.findTop100ByOrderByTimestampDesc();
+    }
+
+    @Override
+    public List<LogDocument> seek(LogQuery query, LogCursor after, int limit) {
+        Query q = Query.query(Keyset.criteria(filters(query), "timestamp", query, after))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(q, LogDocument.class);
+    }
+
+    @Override
+    public Stream<LogDocument> stream(LogQuery query) {
+        Query q = Query.query(Keyset.criteria(filters(query), "timestamp", query, null))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .cursorBatchSize(STREAM_BATCH);
+        return mongoTemplate.stream(q, LogDocument.class);
+    }
+
+    /**
+     * Served by the "message_text" index IndexProvisioner creates when app.search.mongoTextIndex is set.
+     */
+    @Override
+    public Stream<LogDocument> streamText(LogQuery query, Collection<String> words) {
+        if (!searchProps.isMongoTextIndex()) {
+            return null;
+        }
+        Document filter = new Document(Keyset.criteria(filters(query), "timestamp", query, null).getCriteriaObject())
+                .append("$text", new Document("$search", String.join(" ", words)));
+        Query q = new BasicQuery(filter)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .cursorBatchSize(STREAM_BATCH);
+        return mongoTemplate.stream(q, LogDocument.class);
+    }
+
+    @Override
+    public long approximateCount(LogQuery query) {
+        if (!query.hasFieldFilter() && query.from() == null && query.to() == null) {
+            return mongoTemplate.estimatedCount(LogDocument.class);
+        }
+        Query q = Query.query(Keyset.criteria(filters(query), "timestamp", query, null)).limit(APPROXIMATE_COUNT_CAP);
+        return mongoTemplate.count(q, LogDocument.class);
+    }
+
+    static List<Criteria> filters(LogQuery query) {
+        List<Criteria> filters = new ArrayList<>();
+        if (query.serviceName() != null) filters.add(Criteria.where("serviceName").is(query.serviceName()));
+        if (query.level() != null) filters.add(Criteria.where("level").is(query.level()));
+        if (query.templateId() != null) filters.add(Criteria.where("templateId").is(query.templateId()));
+        return filters;
+    }
+
+    @Override
+    public List<LogDocument> findByTraceId(String traceId, Instant from, Instant to) {
+        Criteria criteria = Criteria.where("timestamp").gte(from).lt(to)
+                .orOperator(Criteria.where("traceId").is(traceId), Criteria.where("sampleTraceIds").is(traceId));
+        return mongoTemplate.find(Query.query(criteria), LogDocument.class);
+    }
+
+    @Override
+    public List<TemplateCount> countByTemplate(Instant from, Instant to, String serviceName, int limit) {
+        Criteria criteria = Criteria.where("timestamp").gte(from).lte(to).and("templateId").ne(null);
+        if (serviceName != null && !serviceName.isBlank()) {
+            criteria = criteria.and("serviceName").is(serviceName);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("templateId")
+                        .sum(ConditionalOperators.ifNull("count").then(1)).as("count"),
+                Aggregation.sort(Sort.Direction.DESC, "count"),
+                Aggregation.limit(Math.max(1, limit)));
+
+        return mongoTemplate.aggregate(aggregation, LogDocument.class, Document.class).getMappedResults().stream()
+                .map(row -> new TemplateCount(row.getString("_id"), ((Number) row.get("count")).longValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,390 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.HotTailProperties;
+import com.devpulse.logdashboard.config.LiveKafkaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory tail of the logs pushed by log-collector (/api/logs/push) or consumed
+ * from Kafka: the newest logs in a lock-free ring, serving /api/logs/recent, and,
+ * when app.hot-tail.index is enabled, every log of the last index.window partitioned
+ * by timestamp second, answering the recent part of range and keyset queries (see
+ * LogQueryService and TieredQuery).
+ *
+ * A ring lookup is answered only when the ring holds more logs than requested, i.e.
+ * when the answer is certain not to reach back past what was pushed since startup;
+ * otherwise the caller falls back to the database.
+ *
+ * Tail entries are the logs as streamed: repeats not collapsed, stream ids. The index
+ * is therefore only trusted when it holds exactly what storage holds: every stored log
+ * reaches this instance (app.live-kafka.enabled) and log-collector stores repeats
+ * uncollapsed (index.repeatsCollapsed=false). Otherwise it stays off and
+ * {@link #coveredFrom()} is null.
+ *
+ * Metrics: logs.hottail.requests{result=hit|miss}.
+ */
+@Slf4j
+@Component
+public class HotTail {
+
+    private static final Comparator<LogResponseDto> NEWEST_FIRST = Comparator
+            .comparing(LogResponseDto::getTimestamp, Comparator.reverseOrder())
+            .thenComparing(LogResponseDto::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final HotTailProperties props;
+    private final MeterRegistry meterRegistry;
+
+    private final Ring all;
+
+    /** Null unless the index can be trusted */
+    private final TimeIndex index;
+
+    @Autowired
+    public HotTail(HotTailProperties props, LiveKafkaProperties liveKafkaProps, MeterRegistry meterRegistry) {
+        this(props, liveKafkaProps, meterRegistry, Clock.systemUTC());
+    }
+
+    HotTail(HotTailProperties props, LiveKafkaProperties liveKafkaProps, MeterRegistry meterRegistry, Clock clock) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.all = new Ring(props.getCapacity());
+        HotTailProperties.Index indexProps = props.getIndex();
+        boolean trusted = liveKafkaProps.isEnabled() && !indexProps.isRepeatsCollapsed();
+        if (props.isEnabled() && indexProps.isEnabled() && !trusted) {
+            log.warn("app.hot-tail.index stays off: it needs app.live-kafka.enabled and index.repeatsCollapsed=false");
+        }
+        this.index = props.isEnabled() && indexProps.isEnabled() && trusted ? new TimeIndex(indexProps, clock) : null;
+    }
+
+    public void record(LogResponseDto log) {
+        if (props.isEnabled()) {
+            all.add(log);
+            if (index != null && log.getTimestamp() != null) {
+                index.add(log);
+            }
+        }
+    }
+
+    /**
+     * The newest limit pushed logs, newest first, or null when the tail cannot answer
+     * with certainty.
+     */
+    public List<LogResponseDto> newest(int limit) {
+        List<LogResponseDto> result = props.isEnabled() ? all.newest(limit) : null;
+        meterRegistry.counter("logs.hottail.requests", "result", result != null ? "hit" : "miss").increment();
+        if (result != null) {
+            // arrival order can differ slightly from timestamp order
+            result.sort(Comparator.comparing(LogResponseDto::getTimestamp, Comparator.nullsLast(Comparator.<Instant>reverseOrder())));
+        }
+        return result;
+    }
+
+    /**
+     * Start of the range the index answers completely, or null when it is off or holds
+     * nothing yet.
+     */
+    public Instant coveredFrom() {
+        return index != null ? index.coveredFrom() : null;
+    }
+
+    /**
+     * Number of logs matching the query, whose from must be set, or -1 when the index
+     * does not cover it (any more).
+     */
+    public long count(LogQuery query) {
+        return index != null ? index.count(query) : -1;
+    }
+
+    /**
+     * Up to limit logs matching the query after skipping offset of them, newest first, or
+     * null when the index does not cover the query (any more).
+     */
+    public List<LogResponseDto> page(LogQuery query, long offset, int limit) {
+        return index != null ? index.page(query, offset, limit) : null;
+    }
+
+    /**
+     * Up to limit logs matching the query that come after the cursor (null = start at the
+     * newest), newest first, or null when the index does not cover the query (any more).
+     */
+    public List<LogResponseDto> seek(LogQuery query, LogCursor after, int limit) {
+        return index != null ? index.seek(query, after, limit) : null;
+    }
+
+    /**
+     * Fixed-size multi-writer ring. A writer claims a sequence number and publishes
+     * (sequence, log) into its slot; readers skip slots whose sequence does not match
+     * the one they expect (not published yet, or already overwritten).
+     */
+    static final class Ring {
+
+        private record Slot(long sequence, LogResponseDto log) {
+        }
+
+        private final AtomicLong next = new AtomicLong();
+        private final AtomicReferenceArray<Slot> slots;
+        private final int mask;
+
+        Ring(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        void add(LogResponseDto log) {
+            long sequence = next.getAndIncrement();
+            slots.set((int) (sequence & mask), new Slot(sequence, log));
+        }
+
+        /**
+         * The newest limit logs, newest first, or null when the ring holds fewer than limit
+         * logs (older matches may exist outside it) or limit exceeds its capacity.
+         */
+        List<LogResponseDto> newest(int limit) {
+            long head = next.get();
+            if (limit > slots.length() || head < limit) {
+                return null;
+            }
+            List<LogResponseDto> out = new ArrayList<>(limit);
+            for (long s = head - 1; s >= 0 && s > head - 1 - slots.length() && out.size() < limit; s--) {
+                Slot slot = slots.get((int) (s & mask));
+                if (slot != null && slot.sequence() == s) {
+                    out.add(slot.log());
+                }
+            }
+            return out.size() == limit ? out : null;
+        }
+    }
+
+    /**
+     * Logs by timestamp second, each second with its own lock, so pushes to different
+     * seconds never contend and a read only holds one second at a time. Each second keeps
+     * its logs in order (pushes arrive nearly in timestamp order, so inserting is mostly
+     * an append) plus match counts per service, level and both, so a count or an offset
+     * only scans the two seconds at the ends of the range.
+     *
+     * Seconds older than the window, or beyond maxLogs, are dropped whole, and coveredFrom
+     * moves past them before they go. Reads check coverage again when done and return
+     * null once it moved past the query, so a concurrent drop never turns into a silently
+     * short answer.
+     */
+    static final class TimeIndex {
+
+        private static final class Second {
+            /** Oldest first; guarded by this */
+            final List<LogResponseDto> logs = new ArrayList<>();
+            final Map<String, Integer> counts = new HashMap<>();
+            boolean dropped;
+
+            void add(LogResponseDto log) {
+                int i = logs.size();
+                while (i > 0 && NEWEST_FIRST.compare(logs.get(i - 1), log) < 0) {
+                    i--;
+                }
+                logs.add(i, log);
+                String service = log.getServiceName();
+                String level = log.getLevel() != null ? log.getLevel().name() : null;
+                counts.merge(countKey(null, null), 1, Integer::sum);
+                if (service != null) {
+                    counts.merge(countKey(service, null), 1, Integer::sum);
+                }
+                if (level != null) {
+                    counts.merge(countKey(null, level), 1, Integer::sum);
+                }
+                if (service != null && level != null) {
+                    counts.merge(countKey(service, level), 1, Integer::sum);
+                }
+            }
+        }
+
+        private final HotTailProperties.Index props;
+        private final Clock clock;
+
+        /** Epoch second -> logs with timestamps in it */
+        private final ConcurrentSkipListMap<Long, Second> seconds = new ConcurrentSkipListMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /** Millis since which every log is held; Long.MIN_VALUE until the first one */
+        private final AtomicLong coveredFrom = new AtomicLong(Long.MIN_VALUE);
+
+        TimeIndex(HotTailProperties.Index props, Clock clock) {
+            this.props = props;
+            this.clock = clock;
+        }
+
+        void add(LogResponseDto log) {
+            long now = clock.millis();
+            // logs of the current second may have been stored before this instance saw them
+            coveredFrom.compareAndSet(Long.MIN_VALUE, (Math.floorDiv(now, 1000) + 1) * 1000);
+            dropBefore(Math.floorDiv(now - props.getWindow().toMillis(), 1000) * 1000);
+
+            long timestamp = log.getTimestamp().toEpochMilli();
+            if (timestamp < coveredFrom.get()) {
+                return;
+            }
+            Second second = seconds.computeIfAbsent(Math.floorDiv(timestamp, 1000), s -> new Second());
+            synchronized (second) {
+                if (second.dropped) {
+                    // coverage moved past it meanwhile
+                    return;
+                }
+                second.add(log);
+            }
+            if (size.incrementAndGet() > props.getMaxLogs()) {
+                Map.Entry<Long, Second> oldest = seconds.firstEntry();
+                if (oldest != null) {
+                    dropBefore((oldest.getKey() + 1) * 1000);
+                }
+            }
+        }
+
+        Instant coveredFrom() {
+            long from = coveredFrom.get();
+            return from != Long.MIN_VALUE ? Instant.ofEpochMilli(from) : null;
+        }
+
+        long count(LogQuery query) {
+            if (!covers(query)) {
+                return -1;
+            }
+            long count = 0;
+            for (Map.Entry<Long, Second> entry : range(query, null).entrySet()) {
+                synchronized (entry.getValue()) {
+                    count += count(entry.getKey(), entry.getValue(), query);
+                }
+            }
+            return covers(query) ? count : -1;
+        }
+
+        List<LogResponseDto> page(LogQuery query, long offset, int limit) {
+            if (!covers(query)) {
+                return null;
+            }
+            List<LogResponseDto> out = new ArrayList<>(Math.min(limit, 1024));
+            long skip = offset;
+            for (Map.Entry<Long, Second> entry : range(query, null).descendingMap().entrySet()) {
+                if (out.size() >= limit) {
+                    break;
+                }
+                Second second = entry.getValue();
+                synchronized (second) {
+                    if (wholeSecond(entry.getKey(), query)) {
+                        int matching = count(entry.getKey(), second, query);
+                        if (skip >= matching) {
+                            skip -= matching;
+                            continue;
+                        }
+                    }
+                    for (int i = second.logs.size() - 1; i >= 0 && out.size() < limit; i--) {
+                        if (matches(query, second.logs.get(i))) {
+                            if (skip > 0) {
+                                skip--;
+                            } else {
+                                out.add(second.logs.get(i));
+                            }
+                        }
+                    }
+                }
+            }
+            return covers(query) ? out : null;
+        }
+
+        List<LogResponseDto> seek(LogQuery query, LogCursor after, int limit) {
+            if (!covers(query)) {
+                return null;
+            }
+            List<LogResponseDto> out = new ArrayList<>(Math.min(limit, 1024));
+            for (Second second : range(query, after).descendingMap().values()) {
+                synchronized (second) {
+                    for (int i = second.logs.size() - 1; i >= 0 && out.size() < limit; i--) {
+                        LogResponseDto log = second.logs.get(i);
+                        if (matches(query, log) && (after == null || after.precedes(log.getTimestamp(), log.getId()))) {
+                            out.add(log);
+                        }
+                    }
+                }
+                if (out.size() >= limit) {
+                    break;
+                }
+            }
+            return covers(query) ? out : null;
+        }
+
+        /**
+         * Moves coverage to at least cutoff, then drops the seconds before it.
+         */
+        private void dropBefore(long cutoff) {
+            long covered = coveredFrom.accumulateAndGet(cutoff, Math::max);
+            Map.Entry<Long, Second> oldest;
+            while ((oldest = seconds.firstEntry()) != null && oldest.getKey() * 1000 < covered) {
+                if (seconds.remove(oldest.getKey(), oldest.getValue())) {
+                    Second second = oldest.getValue();
+                    synchronized (second) {
+                        second.dropped = true;
+                        size.addAndGet(-second.logs.size());
+                    }
+                }
+            }
+        }
+
+        private boolean covers(LogQuery query) {
+            long from = coveredFrom.get();
+            return from != Long.MIN_VALUE && query.from() != null && query.from().toEpochMilli() >= from;
+        }
+
+        private NavigableMap<Long, Second> range(LogQuery query, LogCursor after) {
+            long last = query.to() != null ? Math.floorDiv(query.to().toEpochMilli(), 1000) : Long.MAX_VALUE;
+            if (after != null) {
+                last = Math.min(last, Math.floorDiv(after.timestamp().toEpochMilli(), 1000));
+            }
+            long first = Math.floorDiv(query.from().toEpochMilli(), 1000);
+            return first > last ? new ConcurrentSkipListMap<>() : seconds.subMap(first, true, last, true);
+        }
+
+        private static boolean wholeSecond(long second, LogQuery query) {
+            return query.templateId() == null && query.covers(second * 1000, second * 1000 + 999);
+        }
+
+        private static int count(long second, Second logs, LogQuery query) {
+            if (wholeSecond(second, query)) {
+                return logs.counts.getOrDefault(countKey(query.serviceName(), query.level()), 0);
+            }
+            int count = 0;
+            for (LogResponseDto log : logs.logs) {
+                if (matches(query, log)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static boolean matches(LogQuery query, LogResponseDto log) {
+            if (query.serviceName() != null && !query.serviceName().equals(log.getServiceName())) return false;
+            if (query.level() != null && (log.getLevel() == null || !query.level().equals(log.getLevel().name()))) return false;
+            if (query.templateId() != null && !query.templateId().equals(log.getTemplateId())) return false;
+            return query.overlaps(log.getTimestamp().toEpochMilli(), log.getTimestamp().toEpochMilli());
+        }
+
+        private static String countKey(String serviceName, String level) {
+            return (serviceName != null ? "s:" + serviceName : "") + '\u0000' + (level != null ? level : "");
+        }
+    }
+}
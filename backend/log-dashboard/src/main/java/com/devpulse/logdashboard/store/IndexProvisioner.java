@@ -0,0 +1,85 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.logdashboard.config.SearchProperties;
+import com.devpulse.logdashboard.config.StorageProperties;
+import com.devpulse.logdashboard.model.CompactLogDocument;
+import com.devpulse.logdashboard.model.LogDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates the compound indexes declared on the log model of the active storage layout
+ * (see {@link LogDocument}, {@link CompactLogDocument}) once the application is ready.
+ *
+ * Runs in the background so an unreachable database does not hold up startup; creating
+ * an index that already exists is a no-op. Bucket and time-series indexes are
+ * provisioned by log-collector together with their collections. In DOCUMENT mode the
+ * text index behind full-text search of older ranges is added unless
+ * app.search.mongoTextIndex is off.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexProvisioner {
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties props;
+    private final SearchProperties searchProps;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!props.isProvisionIndexes()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                List<String> indexes = provision();
+                if (!indexes.isEmpty()) {
+                    log.info("Ensured log indexes {}", indexes);
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to provision log indexes: {}", ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Creates the declared indexes of the active layout and returns their names.
+     */
+    public List<String> provision() {
+        Class<?> model = switch (props.getMode()) {
+            case DOCUMENT -> LogDocument.class;
+            case COMPACT -> CompactLogDocument.class;
+            default -> null;
+        };
+        if (model == null) {
+            return List.of();
+        }
+        var resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        List<String> names = new ArrayList<>();
+        for (IndexDefinition index : resolver.resolveIndexFor(model)) {
+            names.add(mongoTemplate.indexOps(model).createIndex(index));
+        }
+        if (model == LogDocument.class && searchProps.isMongoTextIndex()) {
+            // language "none": no stemming or stop words, log text is not prose
+            names.add(mongoTemplate.indexOps(model).createIndex(new TextIndexDefinition.TextIndexDefinitionBuilder()
+                    .named("message_text")
+                    .onField("message")
+                    .onField("templateParams")
+                    .withDefaultLanguage("none")
+                    .build()));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,11 @@
+package com.devpulse.logdashboard.store;
+
+/**
+ * A keyset cursor that was not produced by {@link LogCursor#encode()}.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
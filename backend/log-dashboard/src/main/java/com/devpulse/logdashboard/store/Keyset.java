@@ -0,0 +1,36 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.store.LogQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria helpers shared by the MongoDB readers for keyset pagination.
+ */
+final class Keyset {
+
+    private Keyset() {
+    }
+
+    /**
+     * Field filters plus the query's (inclusive) time bounds plus "after the cursor" in
+     * (timestamp desc, _id desc) order.
+     */
+    static Criteria criteria(List<Criteria> filters, String timestampField, LogQuery query, LogCursor after) {
+        List<Criteria> all = new ArrayList<>(filters);
+        if (query.from() != null) {
+            all.add(Criteria.where(timestampField).gte(query.from()));
+        }
+        if (query.to() != null) {
+            all.add(Criteria.where(timestampField).lte(query.to()));
+        }
+        if (after != null) {
+            all.add(new Criteria().orOperator(
+                    Criteria.where(timestampField).lt(after.timestamp()),
+                    Criteria.where(timestampField).is(after.timestamp()).and("_id").lt(after.id())));
+        }
+        return all.isEmpty() ? new Criteria() : new Criteria().andOperator(all);
+    }
+}
@@ -0,0 +1,48 @@
+package com.devpulse.logdashboard.store;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of a keyset page: the (timestamp, id) of the last log returned. Logs are
+ * ordered by timestamp, then id, both descending, so the pair is unique and stable
+ * while new logs arrive. Clients only see the opaque URL-safe encoding.
+ */
+public record LogCursor(Instant timestamp, String id) {
+
+    public String encode() {
+        String raw = timestamp.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidCursorException when the cursor was not produced by {@link #encode()}
+     */
+    public static LogCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor", ex);
+        }
+        int separator = raw.indexOf(':');
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new InvalidCursorException("Malformed cursor", null);
+        }
+        try {
+            return new LogCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                    raw.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Malformed cursor", ex);
+        }
+    }
+
+    /**
+     * Whether a log at (timestamp, id) comes after this cursor in newest-first order.
+     */
+    public boolean precedes(Instant otherTimestamp, String otherId) {
+        int byTime = otherTimestamp.compareTo(timestamp);
+        return byTime < 0 || (byTime == 0 && otherId != null && otherId.compareTo(id) < 0);
+    }
+}
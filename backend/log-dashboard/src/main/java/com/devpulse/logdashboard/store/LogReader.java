@@ -0,0 +1,115 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.model.LogDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read side of log storage. The active implementation is selected by app.storage.mode
+ * and always returns the readable {@link LogDocument} model, so services and
+ * controllers never see the physical layout.
+ */
+public interface LogReader {
+
+    /**
+     * Upper bound of filtered {@link #approximateCount} results.
+     */
+    int APPROXIMATE_COUNT_CAP = 10_000;
+
+    /**
+     * Logs fetched per database round trip by {@link #stream}.
+     */
+    int STREAM_BATCH = 1000;
+
+    Page<LogDocument> findAll(Pageable pageable);
+
+    Page<LogDocument> findByServiceName(String serviceName, Pageable pageable);
+
+    Page<LogDocument> findByLevel(LogLevel level, Pageable pageable);
+
+    Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable);
+
+    Page<LogDocument> findByTemplateId(String templateId, Pageable pageable);
+
+    List<LogDocument> findTop100Recent();
+
+    /**
+     * Keyset page: up to limit logs matching the query (service, level, inclusive time
+     * bounds) that come after the cursor (null = start at the newest), ordered by
+     * timestamp, then id, both descending. No count is taken.
+     */
+    List<LogDocument> seek(LogQuery query, LogCursor after, int limit);
+
+    /**
+     * All logs matching the query in {@link #seek} order, read lazily so memory use does
+     * not grow with the number of matches. Close the stream to release its cursor. The
+     * default walks keyset pages; the MongoDB readers iterate a single cursor instead.
+     */
+    default Stream<LogDocument> stream(LogQuery query) {
+        Iterator<LogDocument> logs = new Iterator<>() {
+            private List<LogDocument> page;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (page == null) {
+                    page = seek(query, null, STREAM_BATCH);
+                } else if (next == page.size() && page.size() == STREAM_BATCH) {
+                    LogDocument last = page.get(page.size() - 1);
+                    page = seek(query, new LogCursor(last.getTimestamp(), last.getId()), STREAM_BATCH);
+                    next = 0;
+                }
+                return next < page.size();
+            }
+
+            @Override
+            public LogDocument next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(next++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(logs, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Logs matching the query whose message or template parameters contain at least one
+     * of the words, newest first, read lazily through a text index. Null when the layout
+     * has none; callers then scan {@link #stream} instead.
+     */
+    default Stream<LogDocument> streamText(LogQuery query, Collection<String> words) {
+        return null;
+    }
+
+    /**
+     * Cheap estimate of the number of logs matching the query: unfiltered counts come from
+     * collection metadata, filtered ones stop at {@link #APPROXIMATE_COUNT_CAP}.
+     */
+    long approximateCount(LogQuery query);
+
+    /**
+     * Logs in [from, to) whose traceId or sampled traceIds contain the given traceId, in any order.
+     */
+    List<LogDocument> findByTraceId(String traceId, Instant from, Instant to);
+
+    /**
+     * Counts logs per template within [from, to] (collapsed repeats included), most frequent first.
+     */
+    List<TemplateCount> countByTemplate(Instant from, Instant to, String serviceName, int limit);
+
+    record TemplateCount(String templateId, long count) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.limit.QueryDeadline;
+import com.devpulse.logdashboard.model.LogDocument;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Non-blocking reads of the DOCUMENT layout for the reactive mode, through the reactive
+ * MongoDB driver: list pages, keyset pages, approximate counts and export cursors wait
+ * for the database without holding a thread, so the bounded read pool is left to the
+ * other layouts and to the reads with no reactive form (archive, traces, histograms).
+ *
+ * Queries are the ones DocumentLogReader sends. The request's {@link QueryDeadline} is
+ * taken from the Reactor context and sent as maxTimeMS; export streams, like their
+ * blocking counterpart, are not limited.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "document", matchIfMissing = true)
+public class ReactiveDocumentLogReader {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Offset page of logs matching the query (service, level, template, inclusive time
+     * bounds) in the pageable's order, with the exact number of matches.
+     */
+    public Mono<Page<LogDocument>> page(LogQuery query, Pageable pageable) {
+        Query find = Query.query(Keyset.criteria(DocumentLogReader.filters(query), "timestamp", query, null))
+                .with(pageable);
+        Query count = Query.query(Keyset.criteria(DocumentLogReader.filters(query), "timestamp", query, null));
+        return limited(find, q -> mongoTemplate.find(q, LogDocument.class)).collectList()
+                .zipWith(limited(count, q -> mongoTemplate.count(q, LogDocument.class)).single())
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    /**
+     * Keyset page, as {@link LogReader#seek}.
+     */
+    public Flux<LogDocument> seek(LogQuery query, LogCursor after, int limit) {
+        Query q = Query.query(Keyset.criteria(DocumentLogReader.filters(query), "timestamp", query, after))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .limit(limit);
+        return limited(q, limitedQuery -> mongoTemplate.find(limitedQuery, LogDocument.class));
+    }
+
+    /**
+     * All logs matching the query in seek order; the driver fetches the next batch only
+     * as the subscriber requests more, and cancelling closes the cursor.
+     */
+    public Flux<LogDocument> stream(LogQuery query) {
+        Query q = Query.query(Keyset.criteria(DocumentLogReader.filters(query), "timestamp", query, null))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .cursorBatchSize(LogReader.STREAM_BATCH);
+        return mongoTemplate.find(q, LogDocument.class);
+    }
+
+    /**
+     * As {@link LogReader#approximateCount}.
+     */
+    public Mono<Long> approximateCount(LogQuery query) {
+        if (!query.hasFieldFilter() && query.from() == null && query.to() == null) {
+            return mongoTemplate.estimatedCount(LogDocument.class);
+        }
+        Query q = Query.query(Keyset.criteria(DocumentLogReader.filters(query), "timestamp", query, null))
+                .limit(LogReader.APPROXIMATE_COUNT_CAP);
+        return limited(q, limitedQuery -> mongoTemplate.count(limitedQuery, LogDocument.class)).single();
+    }
+
+    private static <T> Flux<T> limited(Query query, Function<Query, ? extends Publisher<T>> read) {
+        return Flux.deferContextual(context -> {
+            Long remaining = QueryDeadline.remainingMillis(context.getOrDefault(QueryDeadline.CONTEXT_KEY, null));
+            if (remaining != null) {
+                query.maxTimeMsec(remaining);
+            }
+            return read.apply(query);
+        });
+    }
+}
@@ -0,0 +1,177 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogPage;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.LogStore;
+import com.devpulse.common.store.segment.SegmentLogStore;
+import com.devpulse.logdashboard.config.StorageProperties;
+import com.devpulse.logdashboard.model.LogDocument;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment storage (app.storage.mode=SEGMENT): reads the append-only segment files
+ * written by log-collector through the shared {@link SegmentLogStore} engine.
+ *
+ * Results are newest first in arrival order; the requested sort is not applied.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "segment")
+public class SegmentLogReader implements LogReader {
+
+    private static final Duration SEEK_WINDOW = Duration.ofMinutes(10);
+
+    private final LogStore store;
+
+    public SegmentLogReader(StorageProperties props) {
+        this.store = SegmentLogStore.openReadOnly(Path.of(props.getSegment().getDirectory()));
+    }
+
+    @Override
+    public Page<LogDocument> findAll(Pageable pageable) {
+        return page(LogQuery.all(), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByServiceName(String serviceName, Pageable pageable) {
+        return page(LogQuery.builder().serviceName(serviceName).build(), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByLevel(LogLevel level, Pageable pageable) {
+        return page(LogQuery.builder().level(level.name()).build(), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable) {
+        return page(LogQuery.builder().from(from).to(to).build(), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTemplateId(String templateId, Pageable pageable) {
+        return page(LogQuery.builder().templateId(templateId).build(), pageable);
+    }
+
+    @Override
+    public List<LogDocument> findTop100Recent() {
+        return store.recent(100).stream().map(SegmentLogReader::decode).toList();
+    }
+
+    /**
+     * Segments are ordered by arrival, not by timestamp, so a keyset page is taken from a
+     * time window below the cursor that doubles until it holds enough logs (or reaches
+     * the query's lower bound); the sparse block index keeps each window read local.
+     */
+    @Override
+    public List<LogDocument> seek(LogQuery query, LogCursor after, int limit) {
+        Instant upper = after != null ? after.timestamp() : null;
+        if (query.to() != null && (upper == null || query.to().isBefore(upper))) {
+            upper = query.to();
+        }
+        Instant anchor = upper != null ? upper : Instant.now();
+        Comparator<LogRecord> newestFirst = Comparator.comparing(LogRecord::getTimestamp)
+                .thenComparing(LogRecord::getId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .reversed();
+        List<LogRecord> found = List.of();
+        for (Duration window = SEEK_WINDOW; ; window = window.multipliedBy(2)) {
+            Instant lower = anchor.minus(window);
+            boolean exhausted = lower.isBefore(Instant.EPOCH) || (query.from() != null && !lower.isAfter(query.from()));
+            LogQuery range = new LogQuery(query.serviceName(), query.level(), query.templateId(),
+                    exhausted ? query.from() : lower, upper);
+            List<LogRecord> candidates = new ArrayList<>();
+            store.scan(range, r -> {
+                if (after == null || after.precedes(r.getTimestamp(), r.getId())) {
+                    candidates.add(r);
+                }
+            });
+            found = candidates;
+            if (found.size() >= limit || exhausted) {
+                break;
+            }
+        }
+        return found.stream().sorted(newestFirst).limit(limit).map(SegmentLogReader::decode).toList();
+    }
+
+    @Override
+    public long approximateCount(LogQuery query) {
+        return store.find(query, 0, 0).total();
+    }
+
+    @Override
+    public List<LogDocument> findByTraceId(String traceId, Instant from, Instant to) {
+        List<LogDocument> out = new ArrayList<>();
+        store.scan(LogQuery.builder().from(from).to(to.minusMillis(1)).build(), r -> {
+            boolean sampled = r.getSampleTraceIds() != null && r.getSampleTraceIds().contains(traceId);
+            if (traceId.equals(r.getTraceId()) || sampled) {
+                out.add(decode(r));
+            }
+        });
+        return out;
+    }
+
+    @Override
+    public List<TemplateCount> countByTemplate(Instant from, Instant to, String serviceName, int limit) {
+        LogQuery query = LogQuery.builder()
+                .serviceName(serviceName == null || serviceName.isBlank() ? null : serviceName)
+                .from(from)
+                .to(to)
+                .build();
+        Map<String, Long> counts = new HashMap<>();
+        store.scan(query, r -> {
+            if (r.getTemplateId() != null) {
+                counts.merge(r.getTemplateId(), r.getCount() != null ? r.getCount() : 1L, Long::sum);
+            }
+        });
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(Math.max(1, limit))
+                .map(e -> new TemplateCount(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    private Page<LogDocument> page(LogQuery query, Pageable pageable) {
+        LogPage page = store.find(query, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(page.content().stream().map(SegmentLogReader::decode).toList(), pageable, page.total());
+    }
+
+    static LogDocument decode(LogRecord r) {
+        return LogDocument.builder()
+                .id(r.getId())
+                .serviceName(r.getServiceName())
+                .level(parseLevel(r.getLevel()))
+                .message(r.getMessage())
+                .timestamp(r.getTimestamp())
+                .traceId(r.getTraceId())
+                .count(r.getCount())
+                .firstSeen(r.getFirstSeen())
+                .lastSeen(r.getLastSeen())
+                .sampleTraceIds(r.getSampleTraceIds())
+                .templateId(r.getTemplateId())
+                .templateVersion(r.getTemplateVersion())
+                .templateParams(r.getTemplateParams())
+                .build();
+    }
+
+    private static LogLevel parseLevel(String level) {
+        if (level == null) return null;
+        try {
+            return LogLevel.valueOf(level);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.logdashboard.model.ServiceDictionaryDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ServiceDictionary
+ *
+ * Read-only, in-memory copy of the service_dict collection maintained by log-collector.
+ * An unknown id always triggers a reload (stored logs only reference registered ids);
+ * reloads for unknown names are throttled so queries for services that do not exist
+ * cannot hammer the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceDictionary {
+
+    private static final long RELOAD_INTERVAL_MS = 5_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private volatile long lastReload;
+
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = namesById.get(id);
+        if (name == null && reload(true)) {
+            name = namesById.get(id);
+        }
+        return name;
+    }
+
+    public Integer idOf(String serviceName) {
+        if (serviceName == null) {
+            return null;
+        }
+        Integer id = idsByName.get(serviceName);
+        if (id == null && reload(false)) {
+            id = idsByName.get(serviceName);
+        }
+        return id;
+    }
+
+    private synchronized boolean reload(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now - lastReload < RELOAD_INTERVAL_MS) {
+            return false;
+        }
+        lastReload = now;
+        for (ServiceDictionaryDocument entry : mongoTemplate.findAll(ServiceDictionaryDocument.class)) {
+            namesById.put(entry.getId(), entry.getName());
+            idsByName.put(entry.getName(), entry.getId());
+        }
+        return true;
+    }
+}
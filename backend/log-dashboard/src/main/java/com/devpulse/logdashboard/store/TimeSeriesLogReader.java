@@ -0,0 +1,184 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.model.TimeSeriesLogDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Time-series storage (app.storage.mode=TIMESERIES): reads log measurements from
+ * "logs_ts", where service and level live in the meta field.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "timeseries")
+public class TimeSeriesLogReader implements LogReader {
+
+    private static final String COLLECTION = "logs_ts";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<LogDocument> findAll(Pageable pageable) {
+        return page(new Criteria(), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByServiceName(String serviceName, Pageable pageable) {
+        return page(Criteria.where("meta.serviceName").is(serviceName), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByLevel(LogLevel level, Pageable pageable) {
+        return page(Criteria.where("meta.level").is(level.name()), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTimestampBetween(Instant from, Instant to, Pageable pageable) {
+        return page(Criteria.where("timestamp").gt(from).lt(to), pageable);
+    }
+
+    @Override
+    public Page<LogDocument> findByTemplateId(String templateId, Pageable pageable) {
+        return page(Criteria.where("templateId").is(templateId), pageable);
+    }
+
+    @Override
+    public List<LogDocument> findTop100Recent() {
+        return findAll(PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "timestamp"))).getContent();
+    }
+
+    /**
+     * Served by the (meta field, timestamp) indexes log-collector provisions; equal
+     * timestamps are ordered by _id within the index range.
+     */
+    @Override
+    public List<LogDocument> seek(LogQuery query, LogCursor after, int limit) {
+        Query q = Query.query(Keyset.criteria(filters(query), "timestamp", query, after))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(q, TimeSeriesLogDocument.class).stream()
+                .map(TimeSeriesLogReader::decode)
+                .toList();
+    }
+
+    @Override
+    public Stream<LogDocument> stream(LogQuery query) {
+        Query q = Query.query(Keyset.criteria(filters(query), "timestamp", query, null))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .cursorBatchSize(STREAM_BATCH);
+        return mongoTemplate.stream(q, TimeSeriesLogDocument.class).map(TimeSeriesLogReader::decode);
+    }
+
+    @Override
+    public long approximateCount(LogQuery query) {
+        if (!query.hasFieldFilter() && query.from() == null && query.to() == null) {
+            return mongoTemplate.estimatedCount(COLLECTION);
+        }
+        Query q = Query.query(Keyset.criteria(filters(query), "timestamp", query, null)).limit(APPROXIMATE_COUNT_CAP);
+        return mongoTemplate.count(q, TimeSeriesLogDocument.class);
+    }
+
+    private static List<Criteria> filters(LogQuery query) {
+        List<Criteria> filters = new ArrayList<>();
+        if (query.serviceName() != null) filters.add(Criteria.where("meta.serviceName").is(query.serviceName()));
+        if (query.level() != null) filters.add(Criteria.where("meta.level").is(query.level()));
+        if (query.templateId() != null) filters.add(Criteria.where("templateId").is(query.templateId()));
+        return filters;
+    }
+
+    @Override
+    public List<LogDocument> findByTraceId(String traceId, Instant from, Instant to) {
+        Criteria criteria = Criteria.where("timestamp").gte(from).lt(to)
+                .orOperator(Criteria.where("traceId").is(traceId), Criteria.where("sampleTraceIds").is(traceId));
+        return mongoTemplate.find(Query.query(criteria), TimeSeriesLogDocument.class).stream()
+                .map(TimeSeriesLogReader::decode)
+                .toList();
+    }
+
+    @Override
+    public List<TemplateCount> countByTemplate(Instant from, Instant to, String serviceName, int limit) {
+        Criteria criteria = Criteria.where("timestamp").gte(from).lte(to).and("templateId").ne(null);
+        if (serviceName != null && !serviceName.isBlank()) {
+            criteria = criteria.and("meta.serviceName").is(serviceName);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("templateId").sum(ConditionalOperators.ifNull("count").then(1)).as("count"),
+                Aggregation.sort(Sort.Direction.DESC, "count"),
+                Aggregation.limit(Math.max(1, limit)));
+
+        return mongoTemplate.aggregate(aggregation, COLLECTION, Document.class).getMappedResults().stream()
+                .map(row -> new TemplateCount(row.getString("_id"), ((Number) row.get("count")).longValue()))
+                .toList();
+    }
+
+    private Page<LogDocument> page(Criteria criteria, Pageable pageable) {
+        Query query = Query.query(criteria)
+                .with(Sort.by(pageable.getSort().stream().map(TimeSeriesLogReader::toMeta).toList()))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        List<LogDocument> content = mongoTemplate.find(query, TimeSeriesLogDocument.class).stream()
+                .map(TimeSeriesLogReader::decode)
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.query(criteria), TimeSeriesLogDocument.class));
+    }
+
+    /**
+     * Sort keys are exposed with the readable field names; service and level are nested in meta.
+     */
+    private static Sort.Order toMeta(Sort.Order order) {
+        return switch (order.getProperty()) {
+            case "serviceName", "level" -> order.withProperty("meta." + order.getProperty());
+            default -> order;
+        };
+    }
+
+    private static LogDocument decode(TimeSeriesLogDocument t) {
+        TimeSeriesLogDocument.Meta meta = t.getMeta();
+        return LogDocument.builder()
+                .id(t.getId())
+                .serviceName(meta != null ? meta.getServiceName() : null)
+                .level(meta != null ? parseLevel(meta.getLevel()) : null)
+                .message(t.getMessage())
+                .timestamp(t.getTimestamp())
+                .traceId(t.getTraceId())
+                .count(t.getCount())
+                .firstSeen(t.getFirstSeen())
+                .lastSeen(t.getLastSeen())
+                .sampleTraceIds(t.getSampleTraceIds())
+                .templateId(t.getTemplateId())
+                .templateVersion(t.getTemplateVersion())
+                .templateParams(t.getTemplateParams())
+                .build();
+    }
+
+    private static LogLevel parseLevel(String level) {
+        if (level == null) return null;
+        try {
+            return LogLevel.valueOf(level);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.util.TraceBloom;
+import com.devpulse.logdashboard.config.TraceProperties;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Probes log-collector's per-bucket Bloom filters of traceIds ("trace_blooms").
+ *
+ * Only the words holding the traceId's bits are projected, so a probe over a week
+ * of hourly buckets reads a few hundred small documents instead of the filters.
+ */
+@Component
+@RequiredArgsConstructor
+public class TraceBloomReader {
+
+    private static final String COLLECTION = "trace_blooms";
+
+    private final MongoTemplate mongoTemplate;
+    private final TraceProperties props;
+
+    /**
+     * Start of every bucket overlapping [from, to) that may contain the traceId, oldest first.
+     */
+    public List<Instant> candidateBuckets(String traceId, Instant from, Instant to) {
+        long bucketMillis = props.getBucket().toMillis();
+        long first = Math.floorDiv(from.toEpochMilli(), bucketMillis) * bucketMillis;
+        int[] positions = TraceBloom.positions(traceId, props.getBits(), props.getHashes());
+
+        Document projection = new Document("bucket", 1).append("bits", 1).append("hashes", 1);
+        for (int p : positions) {
+            projection.append("w." + TraceBloom.word(p), 1);
+        }
+        Document filter = new Document("bucket", new Document("$gte", new Date(first)).append("$lt", Date.from(to)));
+
+        List<Instant> candidates = new ArrayList<>();
+        for (Document doc : mongoTemplate.getCollection(COLLECTION).find(filter).projection(projection)
+                .sort(new Document("bucket", 1))) {
+            if (mayContain(doc, positions)) {
+                candidates.add(doc.getDate("bucket").toInstant());
+            }
+        }
+        return candidates;
+    }
+
+    private boolean mayContain(Document doc, int[] positions) {
+        Number bits = doc.get("bits", Number.class);
+        Number hashes = doc.get("hashes", Number.class);
+        if (bits == null || hashes == null || bits.intValue() != props.getBits() || hashes.intValue() != props.getHashes()) {
+            return true; // written with other parameters: cannot be ruled out
+        }
+        Document words = doc.get("w", Document.class);
+        if (words == null) {
+            return false;
+        }
+        for (int p : positions) {
+            Number word = words.get(String.valueOf(TraceBloom.word(p)), Number.class);
+            if (word == null || (word.longValue() & TraceBloom.mask(p)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
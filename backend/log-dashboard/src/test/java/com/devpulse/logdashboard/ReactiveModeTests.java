@@ -0,0 +1,72 @@
+package com.devpulse.logdashboard;
+
+import com.devpulse.common.dto.LogMessageDto;
+import com.devpulse.common.enums.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive mode boots on Netty and serves the live endpoints through ReactiveLogController.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveModeTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void streamsPushedLogsAndServesHealth() {
+        Flux<ServerSentEvent<String>> events = client.get().uri("/api/logs/stream?serviceName=order")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody();
+
+        List<ServerSentEvent<String>> received = events
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(event -> {
+                    if ("init".equals(event.event())) {
+                        push("product", "ignored");
+                        push("order", "payment accepted");
+                    }
+                })
+                .filter(event -> "log".equals(event.event()))
+                .take(1)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertNotNull(received);
+        assertTrue(received.get(0).data().contains("payment accepted"));
+        assertNotNull(received.get(0).id());
+
+        client.get().uri("/api/logs/services/health").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data[?(@.serviceName == 'order')].total").isEqualTo(1);
+        client.get().uri("/api/logs/stream?level=FATAL").exchange().expectStatus().isBadRequest();
+    }
+
+    private void push(String service, String message) {
+        LogMessageDto dto = new LogMessageDto();
+        dto.setServiceName(service);
+        dto.setLevel(LogLevel.INFO);
+        dto.setMessage(message);
+        dto.setTimestamp(Instant.now());
+        client.post().uri("/api/logs/push").bodyValue(dto).exchange().expectStatus().isOk();
+    }
+}
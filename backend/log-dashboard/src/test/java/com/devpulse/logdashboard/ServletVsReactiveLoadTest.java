@@ -0,0 +1,222 @@
+package com.devpulse.logdashboard;
+
+import com.devpulse.common.store.LogRecord;
+import com.devpulse.common.store.segment.SegmentLogStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the servlet mode against the reactive mode, both serving the same segment
+ * files with the query cache and hot tail off, so every query reads storage.
+ *
+ * For each mode it holds loadtest.streams SSE clients open, then runs loadtest.clients
+ * concurrent clients issuing loadtest.requests paged queries each (latency percentiles,
+ * throughput, failures), then pushes loadtest.pushes logs and measures how long until
+ * every stream received all of them. Opt-in, as it runs for minutes:
+ *
+ * mvn -pl log-dashboard test -Dtest=ServletVsReactiveLoadTest -Dloadtest=true [-Dloadtest.streams=2000 ...]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ServletVsReactiveLoadTest {
+
+    private static final int RECORDS = Integer.getInteger("loadtest.records", 100_000);
+    private static final int STREAMS = Integer.getInteger("loadtest.streams", 2_000);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20);
+    private static final int PUSHES = Integer.getInteger("loadtest.pushes", 50);
+    private static final int SERVICES = 20;
+
+    @TempDir
+    Path segments;
+
+    record Result(String mode, int connected, long p50, long p99, long max, double throughput, int failures,
+                  long fanOutMillis, int complete) {
+    }
+
+    @Test
+    void compareServletAndReactive() throws Exception {
+        seed();
+        List<Result> results = List.of(run("servlet"), run("reactive"));
+
+        System.out.printf("%n%d records, %d streams, %d query clients x %d requests, %d pushes, %d cpus%n",
+                RECORDS, STREAMS, CLIENTS, REQUESTS, PUSHES, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-9s %9s %8s %8s %8s %9s %8s %11s %9s%n",
+                "mode", "streams", "p50 ms", "p99 ms", "max ms", "req/s", "failed", "fan-out ms", "complete");
+        for (Result r : results) {
+            System.out.printf("%-9s %9d %8d %8d %8d %9.1f %8d %11d %9d%n", r.mode(), r.connected(), r.p50(),
+                    r.p99(), r.max(), r.throughput(), r.failures(), r.fanOutMillis(), r.complete());
+        }
+        results.forEach(r -> assertEquals(STREAMS, r.connected(), r.mode() + " accepted every stream"));
+    }
+
+    private void seed() {
+        SegmentLogStore store = SegmentLogStore.open(segments, new SegmentLogStore.Options(64L << 20, 128, null));
+        Instant start = Instant.now().minus(Duration.ofHours(1));
+        for (int i = 0; i < RECORDS; i++) {
+            store.append(LogRecord.builder()
+                    .id("log-" + i)
+                    .serviceName("svc-" + (i % SERVICES))
+                    .level(i % 50 == 0 ? "ERROR" : "INFO")
+                    .message("request " + i + " handled in " + (i % 300) + " ms")
+                    .timestamp(start.plusMillis(i * 30L))
+                    .build());
+        }
+        store.close();
+    }
+
+    private Result run(String mode) throws Exception {
+        // command-line arguments, as builder properties would not override application.yaml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LogDashboardApplication.class).run(
+                "--server.port=0",
+                "--server.shutdown=immediate",
+                "--spring.main.web-application-type=" + mode,
+                "--app.storage.mode=segment",
+                "--app.storage.provisionIndexes=false",
+                "--app.storage.segment.directory=" + segments,
+                "--app.query-cache.enabled=false",
+                "--app.hot-tail.enabled=false",
+                "--app.stream.maxPerSecond=0",
+                "--app.limits.enabled=false",
+                "--app.stream.queueCapacity=" + Math.max(1024, PUSHES * 2));
+        String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/logs";
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30)).build();
+        List<StreamClient> streams = new ArrayList<>();
+        try {
+            for (int i = 0; i < STREAMS; i++) {
+                StreamClient stream = new StreamClient();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/stream"))
+                        .header("Accept", "text/event-stream").build();
+                stream.response = http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(stream));
+                streams.add(stream);
+            }
+            long connected = awaitCount(() -> streams.stream().filter(s -> s.connected).count(), STREAMS, 60);
+
+            long[] latencies = new long[CLIENTS * REQUESTS];
+            AtomicInteger failures = new AtomicInteger();
+            AtomicInteger next = new AtomicInteger();
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            long started = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.execute(() -> {
+                    for (int r = 0; r < REQUESTS; r++) {
+                        String uri = base + "/service/svc-" + ((client + r) % SERVICES) + "?page=" + (r % 5) + "&size=50";
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(uri))
+                                    .timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - t0;
+                    }
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(30, TimeUnit.MINUTES));
+            double seconds = (System.nanoTime() - started) / 1e9;
+            Arrays.sort(latencies);
+
+            long pushed = System.nanoTime();
+            for (int i = 0; i < PUSHES; i++) {
+                String body = "{\"serviceName\":\"svc-0\",\"level\":\"INFO\",\"message\":\"live " + i + "\"}";
+                http.send(HttpRequest.newBuilder(URI.create(base + "/push"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+            }
+            long complete = awaitCount(() -> streams.stream().filter(s -> s.logs.get() >= PUSHES).count(), STREAMS, 60);
+            long fanOut = streams.stream().mapToLong(s -> s.lastLogAt.get()).max().orElse(pushed) - pushed;
+
+            return new Result(mode, (int) connected, millis(latencies, 0.50), millis(latencies, 0.99),
+                    millis(latencies, 1.0), latencies.length / seconds, failures.get(),
+                    TimeUnit.NANOSECONDS.toMillis(Math.max(0, fanOut)), (int) complete);
+        } finally {
+            streams.forEach(StreamClient::cancel);
+            context.close();
+        }
+    }
+
+    private static long millis(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(sorted.length - 1, index))]);
+    }
+
+    private static long awaitCount(java.util.function.LongSupplier count, long expected, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (count.getAsLong() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return count.getAsLong();
+    }
+
+    /**
+     * Counts the log events of one SSE connection without holding a thread.
+     */
+    static final class StreamClient implements Flow.Subscriber<String> {
+        final AtomicLong logs = new AtomicLong();
+        final AtomicLong lastLogAt = new AtomicLong();
+        volatile boolean connected;
+        volatile Flow.Subscription subscription;
+        CompletableFuture<HttpResponse<Void>> response;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:init")) {
+                connected = true;
+            } else if (line.startsWith("event:log")) {
+                logs.incrementAndGet();
+                lastLogAt.set(System.nanoTime());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            response.cancel(true);
+        }
+    }
+}
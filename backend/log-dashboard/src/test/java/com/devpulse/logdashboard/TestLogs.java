@@ -0,0 +1,41 @@
+package com.devpulse.logdashboard;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+
+import java.time.Instant;
+
+/**
+ * Logs as log-collector pushes them, for tests of the stores, caches and streams fed
+ * by /api/logs/push. Fields a test does not care about are passed as null.
+ */
+public final class TestLogs {
+
+    public static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private TestLogs() {
+    }
+
+    public static LogResponseDto log(String id, String service, LogLevel level, Instant timestamp, String message) {
+        return LogResponseDto.builder().id(id).serviceName(service).level(level).timestamp(timestamp).message(message).build();
+    }
+
+    /**
+     * Log i of a stream of order INFO logs: id "id" + i, i seconds after T0.
+     */
+    public static LogResponseDto log(int i) {
+        return log("id" + i, "order", LogLevel.INFO, T0.plusSeconds(i), "m" + i);
+    }
+
+    public static LogResponseDto log(String service, LogLevel level, String message) {
+        return log(null, service, level, null, message);
+    }
+
+    /**
+     * The log standing for count identical ones, as collapsed by log-collector's dedup stage.
+     */
+    public static LogResponseDto collapsed(LogResponseDto log, long count) {
+        log.setCount(count);
+        return log;
+    }
+}
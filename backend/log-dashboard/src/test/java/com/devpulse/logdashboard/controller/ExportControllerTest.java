@@ -0,0 +1,62 @@
+package com.devpulse.logdashboard.controller;
+
+import com.devpulse.logdashboard.config.ExportProperties;
+import com.devpulse.logdashboard.service.LogExportService;
+import com.devpulse.logdashboard.service.LogQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ExportControllerTest {
+
+    private final ExportController controller;
+
+    ExportControllerTest() {
+        ExportProperties props = new ExportProperties();
+        props.setMaxConcurrent(1);
+        controller = new ExportController(new LogExportService(mock(LogQueryService.class), new ObjectMapper(), props));
+    }
+
+    private ResponseEntity<?> export(MockHttpServletRequest request) {
+        return controller.export("ndjson", null, null, null, null, null, false, request);
+    }
+
+    private static void complete(MockHttpServletRequest request) throws Exception {
+        CallableProcessingInterceptor interceptor = WebAsyncUtils.getAsyncManager(request)
+                .getCallableInterceptor(ExportController.class.getName());
+        interceptor.afterCompletion(null, null);
+    }
+
+    @Test
+    void aBodyThatNeverRunsStillReleasesItsSlot() throws Exception {
+        MockHttpServletRequest abandoned = new MockHttpServletRequest();
+        assertEquals(HttpStatus.OK, export(abandoned).getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, export(new MockHttpServletRequest()).getStatusCode());
+
+        // e.g. the async executor rejected the body
+        complete(abandoned);
+        assertEquals(HttpStatus.OK, export(new MockHttpServletRequest()).getStatusCode());
+    }
+
+    @Test
+    void theSlotIsReleasedOnlyOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        StreamingResponseBody body = (StreamingResponseBody) export(request).getBody();
+        body.writeTo(new ByteArrayOutputStream());
+        complete(request);
+
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        assertEquals(HttpStatus.OK, export(next).getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, export(new MockHttpServletRequest()).getStatusCode());
+    }
+}
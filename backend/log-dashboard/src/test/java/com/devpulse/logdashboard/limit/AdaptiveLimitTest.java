@@ -0,0 +1,79 @@
+package com.devpulse.logdashboard.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Keeps the limit saturated: fills it, then completes and replaces one request at a time.
+     */
+    private static void saturate(AdaptiveLimit limit, int requests, long rttNanos) {
+        while (limit.tryAcquire()) {
+        }
+        for (int i = 0; i < requests; i++) {
+            limit.release(rttNanos, false);
+            while (limit.tryAcquire()) {
+            }
+        }
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 100);
+        saturate(limit, 500, 20 * MS);
+        assertEquals(100, limit.limit(), "steady latency: grows to the maximum");
+
+        saturate(limit, 200, 200 * MS);
+        assertTrue(limit.limit() < 20, "ten times slower: backs off, was " + limit.limit());
+
+        saturate(limit, 2000, 20 * MS);
+        assertEquals(100, limit.limit(), "recovers once latency is back");
+    }
+
+    @Test
+    void rejectsAtTheLimitAndBacksOffOnTimeouts() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 4, 100);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        assertEquals(10, limit.inFlight());
+
+        for (int i = 0; i < 10; i++) {
+            limit.release(5_000 * MS, true);
+        }
+        assertEquals(4, limit.limit(), "timeouts cut the limit down to the minimum");
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void doesNotGrowWhenTheLimitIsNotUsed() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 100);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(10 * MS, false);
+        }
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void classifiesEndpoints() {
+        assertNull(QueryLimiter.classify("/api/logs/push"));
+        assertNull(QueryLimiter.classify("/api/logs/stream"));
+        assertNull(QueryLimiter.classify("/api/logs/recent"));
+        assertNull(QueryLimiter.classify("/api/logs/export"));
+        assertNull(QueryLimiter.classify("/api/diagnostics/query-plans"));
+        assertNull(QueryLimiter.classify("/api/logsx"));
+        assertEquals(QueryLimiter.EndpointClass.HISTORICAL, QueryLimiter.classify("/api/logs/range"));
+        assertEquals(QueryLimiter.EndpointClass.HISTORICAL, QueryLimiter.classify("/api/logs/templates/stats"));
+        assertEquals(QueryLimiter.EndpointClass.INTERACTIVE, QueryLimiter.classify("/api/logs"));
+        assertEquals(QueryLimiter.EndpointClass.INTERACTIVE, QueryLimiter.classify("/api/logs/service/order"));
+        assertEquals(QueryLimiter.EndpointClass.INTERACTIVE, QueryLimiter.classify("/api/logs/templates/t1/logs"));
+    }
+}
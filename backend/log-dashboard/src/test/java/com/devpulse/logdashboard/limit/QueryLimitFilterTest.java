@@ -0,0 +1,69 @@
+package com.devpulse.logdashboard.limit;
+
+import com.devpulse.logdashboard.config.LimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private QueryLimiter limiter() {
+        LimitProperties props = new LimitProperties();
+        props.setInteractive(new LimitProperties.Limit(1, 1, 1, Duration.ofSeconds(5)));
+        props.setHistorical(new LimitProperties.Limit(1, 1, 1, Duration.ofSeconds(20)));
+        return new QueryLimiter(props, registry);
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    @Test
+    void rejectsRequestsOverTheLimitWith429() throws Exception {
+        QueryLimiter limiter = limiter();
+        QueryLimitFilter filter = new QueryLimitFilter(limiter, new ObjectMapper());
+        QueryLimiter.Permit held = limiter.tryAcquire(QueryLimiter.EndpointClass.INTERACTIVE);
+        AtomicBoolean served = new AtomicBoolean();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get("/api/logs/service/order"), response, (req, res) -> served.set(true));
+
+        assertFalse(served.get());
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many concurrent interactive queries"));
+        assertEquals(1, registry.counter("logs.limiter.requests", "class", "interactive", "result", "rejected").count());
+
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(get("/api/logs/range"), other, (req, res) -> served.set(true));
+        assertTrue(served.get(), "classes are limited separately");
+        held.release();
+    }
+
+    @Test
+    void admittedRequestsReadWithinTheirClassDeadline() throws Exception {
+        QueryLimiter limiter = limiter();
+        QueryLimitFilter filter = new QueryLimitFilter(limiter, new ObjectMapper());
+        AtomicReference<Long> remaining = new AtomicReference<>();
+
+        filter.doFilter(get("/api/logs/range"), new MockHttpServletResponse(),
+                (req, res) -> remaining.set(QueryDeadline.remainingMillis()));
+        assertTrue(remaining.get() > 19_000 && remaining.get() <= 20_000, "historical maxTime, was " + remaining.get());
+        assertNull(QueryDeadline.remainingMillis(), "cleared after the request");
+        assertNotNull(limiter.tryAcquire(QueryLimiter.EndpointClass.HISTORICAL), "permit released");
+
+        filter.doFilter(get("/api/logs/stream"), new MockHttpServletResponse(),
+                (req, res) -> remaining.set(QueryDeadline.remainingMillis()));
+        assertNull(remaining.get(), "live endpoints are not limited");
+    }
+}
@@ -0,0 +1,64 @@
+package com.devpulse.logdashboard.limit;
+
+import com.devpulse.logdashboard.config.LimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveQueryLimitFilterTest {
+
+    private final QueryLimiter limiter;
+    private final ReactiveQueryLimitFilter filter;
+
+    ReactiveQueryLimitFilterTest() {
+        LimitProperties props = new LimitProperties();
+        props.setInteractive(new LimitProperties.Limit(1, 1, 1, Duration.ofSeconds(5)));
+        limiter = new QueryLimiter(props, new SimpleMeterRegistry());
+        filter = new ReactiveQueryLimitFilter(limiter, new ObjectMapper());
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    @Test
+    void rejectsRequestsOverTheLimitWith429() {
+        QueryLimiter.Permit held = limiter.tryAcquire(QueryLimiter.EndpointClass.INTERACTIVE);
+        AtomicBoolean served = new AtomicBoolean();
+        MockServerWebExchange exchange = get("/api/logs");
+
+        filter.filter(exchange, e -> Mono.fromRunnable(() -> served.set(true))).block();
+
+        assertFalse(served.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("1", exchange.getResponse().getHeaders().getFirst("Retry-After"));
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("Too many concurrent interactive queries"));
+        held.release();
+    }
+
+    @Test
+    void passesTheDeadlineToReadsThroughTheContextAndReleasesOnCompletion() {
+        AtomicReference<Long> deadline = new AtomicReference<>();
+        long before = System.nanoTime();
+
+        filter.filter(get("/api/logs/service/order"), e -> Mono.deferContextual(context -> {
+            deadline.set(context.getOrDefault(QueryDeadline.CONTEXT_KEY, null));
+            return Mono.empty();
+        })).block();
+
+        assertNotNull(deadline.get());
+        long budget = deadline.get() - before;
+        assertTrue(budget > Duration.ofSeconds(4).toNanos() && budget <= Duration.ofSeconds(6).toNanos());
+        assertNotNull(limiter.tryAcquire(QueryLimiter.EndpointClass.INTERACTIVE), "permit released");
+    }
+}
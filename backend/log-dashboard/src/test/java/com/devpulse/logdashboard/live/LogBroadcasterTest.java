@@ -0,0 +1,316 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.logdashboard.config.StreamProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogBroadcasterTest {
+
+    /**
+     * Records frames as text; optionally blocks every write until released, like a client that stopped reading.
+     */
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            super(0L);
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        long count(String event) {
+            return frames.stream().mapToLong(f -> f.split("event:" + event + "\n", -1).length - 1).sum();
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LogBroadcaster broadcaster;
+
+    private LogBroadcaster broadcaster(int queueCapacity, int batchSize, int maxDropped) {
+        return broadcaster(queueCapacity, batchSize, maxDropped, 100);
+    }
+
+    private LogBroadcaster broadcaster(int queueCapacity, int batchSize, int maxDropped, int replayCapacity) {
+        return broadcaster(queueCapacity, batchSize, maxDropped, replayCapacity, 0);
+    }
+
+    private LogBroadcaster broadcaster(int queueCapacity, int batchSize, int maxDropped, int replayCapacity, int maxPerSecond) {
+        StreamProperties props = new StreamProperties();
+        props.setMaxPerSecond(maxPerSecond);
+        props.setReplayCapacity(replayCapacity);
+        props.setQueueCapacity(queueCapacity);
+        props.setBatchSize(batchSize);
+        props.setMaxDropped(maxDropped);
+        broadcaster = new LogBroadcaster(props, new ObjectMapper().findAndRegisterModules(), registry);
+        return broadcaster;
+    }
+
+    @AfterEach
+    void shutdown() {
+        broadcaster.destroy();
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void slowClientLosesEventsWithoutHoldingUpOthersOrThePublisher() throws InterruptedException {
+        LogBroadcaster b = broadcaster(10, 4, 1000);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        b.register(fast, StreamFilter.ALL, null);
+        b.register(slow, StreamFilter.ALL, null);
+
+        long publishing = 0;
+        for (int i = 0; i < 100; i++) {
+            long started = System.nanoTime();
+            b.publish(log(i));
+            publishing += System.nanoTime() - started;
+            int expected = i + 1;
+            // pace the publisher to the fast client so only the stuck one overflows
+            await(() -> fast.count("log") == expected);
+        }
+        assertTrue(publishing < TimeUnit.SECONDS.toNanos(2), "publisher never waits for clients");
+        assertTrue(fast.frames.stream().allMatch(f -> f.split("event:log\n", -1).length - 1 <= 4), "frames hold at most batchSize events");
+        assertTrue(fast.frames.get(fast.frames.size() - 1).contains("\"id\":\"id99\""));
+
+        unblock.countDown();
+        await(() -> slow.frames.stream().anyMatch(f -> f.contains("event:dropped")));
+        assertTrue(slow.count("log") < 100);
+        assertTrue(registry.counter("logs.sse.events", "result", "dropped").count() > 0);
+        assertFalse(slow.completed);
+    }
+
+    @Test
+    void disconnectsClientsThatKeepFallingBehind() throws InterruptedException {
+        LogBroadcaster b = broadcaster(2, 1, 5);
+        CountDownLatch never = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(never);
+        b.register(stuck, StreamFilter.ALL, null);
+
+        for (int i = 0; i < 20; i++) {
+            b.publish(log(i));
+        }
+        await(() -> stuck.completed);
+        assertEquals(0, b.subscriberCount());
+        assertEquals(0, b.groupCount(), "empty groups are dropped");
+        assertEquals(1, registry.counter("logs.sse.disconnects", "reason", "slow").count());
+        never.countDown();
+    }
+
+    @Test
+    void clientsJoinWithoutWaitingForAFanOutAndGetEachLogOnce() throws InterruptedException {
+        CountDownLatch serializing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ObjectMapper slowOnPublisher = new ObjectMapper() {
+            @Override
+            public String writeValueAsString(Object value) throws JsonProcessingException {
+                if (Thread.currentThread().getName().equals("publisher")) {
+                    serializing.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.writeValueAsString(value);
+            }
+        };
+        slowOnPublisher.findAndRegisterModules();
+        StreamProperties props = new StreamProperties();
+        props.setMaxPerSecond(0);
+        broadcaster = new LogBroadcaster(props, slowOnPublisher, registry);
+        RecordingEmitter early = new RecordingEmitter(new CountDownLatch(0));
+        broadcaster.register(early, StreamFilter.ALL, null);
+        long before = broadcaster.lastEventId();
+
+        Thread publisher = new Thread(() -> broadcaster.publish(log(1)), "publisher");
+        publisher.start();
+        assertTrue(serializing.await(5, TimeUnit.SECONDS));
+
+        // both join while the log is being serialized for the early client
+        long started = System.nanoTime();
+        RecordingEmitter resumed = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter fresh = new RecordingEmitter(new CountDownLatch(0));
+        broadcaster.register(resumed, StreamFilter.ALL, before);
+        broadcaster.register(fresh, StreamFilter.ALL, null);
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2), "joining never waits for the fan-out");
+
+        release.countDown();
+        publisher.join(5000);
+        await(() -> early.count("log") == 1 && resumed.count("log") == 1);
+        Thread.sleep(100);
+        assertEquals(1, resumed.count("log"), "replayed, not also sent live");
+        assertEquals(0, fresh.count("log"), "published before it joined");
+    }
+
+    @Test
+    void filteredClientsShareGroupsAndOnlyReceiveMatchingLogs() throws InterruptedException {
+        LogBroadcaster b = broadcaster(100, 100, 1000);
+        RecordingEmitter orderErrors1 = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter orderErrors2 = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter timeouts = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter all = new RecordingEmitter(new CountDownLatch(0));
+        b.register(orderErrors1, StreamFilter.of("order", "error", null), null);
+        b.register(orderErrors2, StreamFilter.of("order", "ERROR", ""), null);
+        b.register(timeouts, StreamFilter.of(null, "WARN,ERROR", "Timeout"), null);
+        b.register(all, StreamFilter.of("", null, null), null);
+        assertEquals(3, b.groupCount());
+
+        b.publish(log("order", LogLevel.ERROR, "db timeout"));
+        b.publish(log("order", LogLevel.INFO, "timeout"));
+        b.publish(log("product", LogLevel.WARN, "TIMEOUT calling order"));
+        b.publish(log("product", LogLevel.ERROR, "boom"));
+
+        await(() -> all.count("log") == 4);
+        await(() -> timeouts.count("log") == 2);
+        await(() -> orderErrors1.count("log") == 1 && orderErrors2.count("log") == 1);
+        Thread.sleep(50);
+        assertEquals(2, timeouts.count("log"));
+        assertEquals(1, orderErrors1.count("log"));
+
+        assertThrows(IllegalArgumentException.class, () -> StreamFilter.of(null, "FATAL", null));
+    }
+
+    @Test
+    void resumingClientsGetExactlyTheMissedLogsOrAReset() throws InterruptedException {
+        LogBroadcaster b = broadcaster(100, 100, 1000, 10);
+        for (int i = 0; i < 5; i++) {
+            b.publish(log(i));
+        }
+        long seen = b.lastEventId() - 3; // saw id0 and id1
+        b.publish(log("other", "product", LogLevel.INFO, null, "x"));
+
+        RecordingEmitter resumed = new RecordingEmitter(new CountDownLatch(0));
+        b.register(resumed, StreamFilter.of("order", null, null), seen);
+        b.publish(log(5));
+        await(() -> resumed.count("log") == 4);
+        String received = String.join("", resumed.frames);
+        assertTrue(received.indexOf("\"id2\"") < received.indexOf("\"id3\"")
+                && received.indexOf("\"id4\"") < received.indexOf("\"id5\""), "replayed in order before live logs");
+        assertFalse(received.contains("\"other\""), "replay applies the filter");
+        assertTrue(received.contains("id:" + (seen + 1) + "\n"));
+        assertTrue(received.contains("id:" + b.lastEventId() + "\n"));
+        assertEquals(0, resumed.count("reset"));
+
+        RecordingEmitter current = new RecordingEmitter(new CountDownLatch(0));
+        b.register(current, StreamFilter.ALL, b.lastEventId());
+        for (int i = 6; i < 20; i++) {
+            b.publish(log(i));
+        }
+        RecordingEmitter stale = new RecordingEmitter(new CountDownLatch(0));
+        b.register(stale, StreamFilter.ALL, seen);
+        await(() -> current.count("log") == 14 && stale.count("reset") == 1);
+        assertEquals(0, stale.count("log"));
+        assertEquals(1, registry.counter("logs.sse.resumes", "result", "reset").count());
+    }
+
+    @Test
+    void rateCappedGroupsReportSkippedLogsInSummaries() throws InterruptedException {
+        LogBroadcaster b = broadcaster(100, 100, 1000, 10, 5);
+        RecordingEmitter capped = new RecordingEmitter(new CountDownLatch(0));
+        b.register(capped, StreamFilter.ALL, null);
+        for (int i = 0; i < 20; i++) {
+            b.publish(log(i));
+        }
+        b.publish(log("order", LogLevel.ERROR, "boom"));
+        b.publishSummaries();
+
+        await(() -> capped.count("sampled") == 1);
+        assertEquals(6, capped.count("log"));
+        assertTrue(String.join("", capped.frames).contains("\"skipped\":{\"order\":15}"));
+        assertEquals(15, registry.counter("logs.sse.events", "result", "sampled").count());
+    }
+
+    @Test
+    void replayedLogsPassTheGroupRateCap() throws InterruptedException {
+        LogBroadcaster b = broadcaster(100, 100, 1000, 50, 5);
+        long seen = b.lastEventId();
+        for (int i = 0; i < 20; i++) {
+            b.publish(log(i));
+        }
+        b.publish(log("order", LogLevel.ERROR, "boom"));
+
+        RecordingEmitter resumed = new RecordingEmitter(new CountDownLatch(0));
+        b.register(resumed, StreamFilter.ALL, seen);
+        b.publishSummaries();
+
+        await(() -> resumed.count("sampled") == 1);
+        assertEquals(6, resumed.count("log"), "five INFO logs plus the ERROR one");
+        assertTrue(String.join("", resumed.frames).contains("\"skipped\":{\"order\":15}"));
+    }
+
+    @Test
+    void reactiveClientsAreSentOnlyWhatTheyRequested() throws InterruptedException {
+        LogBroadcaster b = broadcaster(100, 4, 1000);
+        List<ServerSentEvent<String>> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<ServerSentEvent<String>> client = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(3);
+            }
+
+            @Override
+            protected void hookOnNext(ServerSentEvent<String> event) {
+                received.add(event);
+            }
+        };
+        b.subscribeFlux(StreamFilter.ALL, null).subscribe(client);
+
+        for (int i = 0; i < 10; i++) {
+            b.publish(log(i));
+        }
+        await(() -> received.size() == 3);
+        Thread.sleep(50);
+        assertEquals(3, received.size(), "nothing beyond the client's demand");
+        assertEquals("init", received.get(0).event());
+
+        client.request(8);
+        await(() -> received.size() == 11);
+        assertEquals("log", received.get(10).event());
+        assertTrue(received.get(10).data().contains("\"id\":\"id9\""));
+        client.cancel();
+        await(() -> b.subscriberCount() == 0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.dto.ServiceHealthDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.logdashboard.config.HealthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.devpulse.logdashboard.TestLogs.T0;
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceHealthTrackerTest {
+
+    private static final class MutableClock extends Clock {
+        Instant now = T0;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+
+    private ServiceHealthTracker tracker(int maxServices) {
+        HealthProperties props = new HealthProperties();
+        props.setMaxServices(maxServices);
+        return new ServiceHealthTracker(props, null, clock);
+    }
+
+    @Test
+    void decayingRatesFollowTheStream() {
+        ServiceHealthTracker tracker = tracker(10);
+        // 10 logs/s for 10 minutes, every tenth an error
+        for (int ms = 0; ms < 600_000; ms += 100) {
+            clock.now = T0.plusMillis(ms);
+            boolean error = ms % 1000 == 0;
+            tracker.record(log("order", error ? LogLevel.ERROR : LogLevel.INFO, error ? "failed at " + ms : "ok"));
+        }
+        ServiceHealthDto busy = tracker.snapshot().get(0);
+        assertEquals(10, busy.getRate1m(), 0.1);
+        assertEquals(10 * (1 - Math.exp(-2)), busy.getRate5m(), 0.1);
+        assertEquals(0.1, busy.getErrorRate1m(), 0.01);
+        assertEquals(0.1, busy.getErrorRate15m(), 0.01);
+        assertEquals("failed at 599000", busy.getLastErrorMessage());
+        assertEquals(6000, busy.getTotal());
+        assertEquals(600, busy.getErrors());
+
+        // two quiet minutes: the 1-minute rate falls by e^-2, the 15-minute one barely moves
+        clock.now = clock.now.plusSeconds(120);
+        ServiceHealthDto quiet = tracker.snapshot().get(0);
+        assertEquals(busy.getRate1m() * Math.exp(-2), quiet.getRate1m(), 0.01);
+        assertEquals(busy.getRate15m() * Math.exp(-120.0 / 900), quiet.getRate15m(), 0.01);
+        assertEquals(busy.getLastSeen(), quiet.getLastSeen());
+    }
+
+    @Test
+    void tracksServicesUpToTheLimit() {
+        ServiceHealthTracker tracker = tracker(2);
+        tracker.record(log("product", LogLevel.INFO, "a"));
+        tracker.record(log("order", LogLevel.WARN, "b"));
+        tracker.record(log("payment", LogLevel.ERROR, "c"));
+        tracker.record(log("order", LogLevel.INFO, "d"));
+
+        List<ServiceHealthDto> services = tracker.snapshot();
+        assertEquals(List.of("order", "product"), services.stream().map(ServiceHealthDto::getServiceName).toList());
+        assertEquals(2, services.get(0).getTotal());
+        assertNull(services.get(0).getLastErrorMessage());
+    }
+}
@@ -0,0 +1,56 @@
+package com.devpulse.logdashboard.live;
+
+import com.devpulse.common.enums.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamSamplerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void capsEachSecondButAlwaysDeliversErrors() {
+        StreamSampler sampler = new StreamSampler(100, 0);
+        int info = 0;
+        int errors = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sampler.admit(log("order", LogLevel.INFO, "m"), i)) info++;
+            if (sampler.admit(log("order", LogLevel.ERROR, "m"), i)) errors++;
+        }
+        assertEquals(50, info, "ERROR logs use up the budget too");
+        assertEquals(1000, errors);
+        assertEquals(Map.of("order", 950L), sampler.drainSkipped());
+        assertNull(sampler.drainSkipped());
+    }
+
+    @Test
+    void samplesFloodsEvenlyAcrossTheNextSeconds() {
+        StreamSampler sampler = new StreamSampler(100, 0);
+        for (int i = 0; i < 1000; i++) {
+            sampler.admit(log("order", LogLevel.INFO, "m"), i * (SECOND / 1000));
+        }
+        sampler.drainSkipped();
+
+        // same flood, now sampled at ~10%: deliveries spread over the whole second
+        int firstHalf = 0;
+        int secondHalf = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sampler.admit(log(i % 2 == 0 ? "order" : "product", LogLevel.INFO, "m"), SECOND + i * (SECOND / 1000))) {
+                if (i < 500) firstHalf++; else secondHalf++;
+            }
+        }
+        assertEquals(0.1, sampler.probability(), 1e-9);
+        assertTrue(firstHalf > 20 && secondHalf > 20, firstHalf + "/" + secondHalf);
+        Map<String, Long> skipped = sampler.drainSkipped();
+        assertEquals(1000 - firstHalf - secondHalf, skipped.get("order") + skipped.get("product"));
+
+        // WARN is not sampled, only capped; quiet seconds bring the rate back to 1
+        assertTrue(sampler.admit(log("order", LogLevel.WARN, "m"), 2 * SECOND + 1));
+        sampler.admit(log("order", LogLevel.INFO, "m"), 10 * SECOND);
+        assertEquals(1.0, sampler.probability());
+    }
+}
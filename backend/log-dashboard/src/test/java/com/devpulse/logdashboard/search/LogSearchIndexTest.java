@@ -0,0 +1,126 @@
+package com.devpulse.logdashboard.search;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.SearchProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.devpulse.logdashboard.TestLogs.T0;
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSearchIndexTest {
+
+    private static final class MutableClock extends Clock {
+        Instant now = T0;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+
+    private LogSearchIndex index(int maxDocs) {
+        SearchProperties props = new SearchProperties();
+        props.setPartition(Duration.ofMinutes(5));
+        props.setRetention(Duration.ofMinutes(30));
+        props.setMaxDocs(maxDocs);
+        return new LogSearchIndex(props, clock);
+    }
+
+    private static List<String> ids(List<LogResponseDto> logs) {
+        return logs.stream().map(LogResponseDto::getId).toList();
+    }
+
+    @Test
+    void parsesTermsAndPhrases() {
+        SearchQuery q = SearchQuery.parse("Timeout \"connection refused\" db-1");
+        assertEquals(List.of("timeout", "db", "1"), q.terms());
+        assertEquals(List.of(List.of("connection", "refused")), q.phrases());
+        assertTrue(q.matches("DB-1: Connection refused (timeout=30s)"));
+        assertFalse(q.matches("db-1 timeout: refused connection"));
+        assertThrows(IllegalArgumentException.class, () -> SearchQuery.parse(" \"\" -- "));
+    }
+
+    @Test
+    void compressesPostingsAsGaps() {
+        PostingList list = new PostingList();
+        for (int i = 0; i < 1000; i += 3) {
+            list.add(i);
+        }
+        list.add(100_000);
+        int[] decoded = list.decode();
+        assertEquals(335, decoded.length);
+        assertEquals(999, decoded[333]);
+        assertEquals(100_000, decoded[334]);
+        assertTrue(list.encodedBytes() < 340, "one byte per small gap");
+        assertArrayEquals(new int[]{3, 9}, PostingList.intersect(new int[]{1, 3, 5, 9}, new int[]{2, 3, 9, 10}));
+    }
+
+    @Test
+    void matchesAllWordsWithFiltersNewestFirst() {
+        LogSearchIndex index = index(1000);
+        index.add(log("a", "order", LogLevel.ERROR, T0.plusSeconds(1), "Connection refused to db-1"));
+        index.add(log("b", "order", LogLevel.WARN, T0.plusSeconds(400), "connection to db-1 refused after retry"));
+        index.add(log("c", "product", LogLevel.ERROR, T0.plusSeconds(700), "Connection refused to cache"));
+        index.add(log("d", "order", LogLevel.INFO, T0.plusSeconds(800), "request served"));
+
+        LogQuery all = LogQuery.all();
+        assertEquals(List.of("c", "b", "a"), ids(index.search(SearchQuery.parse("connection refused"), all, 10)));
+        assertEquals(List.of("c", "a"), ids(index.search(SearchQuery.parse("\"connection refused\""), all, 10)));
+        assertEquals(List.of("c"), ids(index.search(SearchQuery.parse("\"connection refused\""), all, 1)));
+        assertEquals(List.of("a"), ids(index.search(SearchQuery.parse("refused"),
+                LogQuery.builder().serviceName("order").level("ERROR").build(), 10)));
+        assertEquals(List.of("b"), ids(index.search(SearchQuery.parse("refused"),
+                LogQuery.builder().from(T0.plusSeconds(300)).to(T0.plusSeconds(600)).build(), 10)));
+        assertTrue(index.search(SearchQuery.parse("refused missing"), all, 10).isEmpty());
+    }
+
+    @Test
+    void dropsOldPartitionsAndReportsCoverage() {
+        LogSearchIndex index = index(3);
+        assertNull(index.coveredFrom());
+
+        clock.now = T0.plusSeconds(60);
+        index.add(log("a", "order", LogLevel.INFO, T0.plusSeconds(60), "alpha"));
+        // logs before startup were never pushed: coverage starts with the next partition
+        assertEquals(T0.plus(Duration.ofMinutes(5)), index.coveredFrom());
+
+        clock.now = T0.plus(Duration.ofMinutes(12));
+        index.add(log("b", "order", LogLevel.INFO, clock.now, "alpha"));
+        index.add(log("c", "order", LogLevel.INFO, clock.now, "alpha"));
+        index.add(log("d", "order", LogLevel.INFO, clock.now, "alpha"));
+        // maxDocs reached: the oldest partition went away
+        assertEquals(List.of("b", "c", "d"), ids(index.search(SearchQuery.parse("alpha"), LogQuery.all(), 10)).stream().sorted().toList());
+        assertEquals(T0.plus(Duration.ofMinutes(10)), index.coveredFrom());
+
+        // a late log for a dropped partition is not indexed
+        index.add(log("late", "order", LogLevel.INFO, T0.plusSeconds(30), "alpha"));
+        assertEquals(3, index.search(SearchQuery.parse("alpha"), LogQuery.all(), 10).size());
+
+        clock.now = T0.plus(Duration.ofMinutes(50));
+        index.add(log("e", "order", LogLevel.INFO, clock.now, "alpha"));
+        assertEquals(List.of("e"), ids(index.search(SearchQuery.parse("alpha"), LogQuery.all(), 10)));
+        assertEquals(T0.plus(Duration.ofMinutes(50)), index.coveredFrom());
+    }
+}
@@ -0,0 +1,57 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.ExportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static com.devpulse.logdashboard.TestLogs.T0;
+import static com.devpulse.logdashboard.TestLogs.collapsed;
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class LogExportServiceTest {
+
+    private LogExportService service() {
+        LogQueryService queryService = mock(LogQueryService.class);
+        doAnswer(inv -> {
+            Consumer<LogResponseDto> action = inv.getArgument(1);
+            action.accept(collapsed(log("a", "order", LogLevel.WARN, T0, "plain"), 2));
+            action.accept(collapsed(log("b", "order", LogLevel.WARN, T0, "said \"hi\", then\nleft"), 2));
+            return null;
+        }).when(queryService).forEachMatching(any(), any());
+        return new LogExportService(queryService, new ObjectMapper().registerModule(new JavaTimeModule()), new ExportProperties());
+    }
+
+    @Test
+    void writesCsvWithQuotedFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, service().export(LogQuery.all(), LogExportService.Format.CSV, out));
+        assertEquals(LogExportService.CSV_HEADER
+                        + "2026-01-01T00:00:00Z,order,WARN,,2,,plain\n"
+                        + "2026-01-01T00:00:00Z,order,WARN,,2,,\"said \"\"hi\"\", then\nleft\"\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service().export(LogQuery.all(), LogExportService.Format.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("a", mapper.readTree(lines[0]).get("id").asText());
+        assertEquals("said \"hi\", then\nleft", mapper.readTree(lines[1]).get("message").asText());
+    }
+}
@@ -0,0 +1,59 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogHistogramDto;
+import com.devpulse.common.store.RollupResolution;
+import com.devpulse.logdashboard.config.RollupProperties;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogHistogramServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-01T12:00:00Z");
+
+    private final LogHistogramService service = new LogHistogramService(null, new RollupProperties());
+
+    @Test
+    void picksTheFinestRetainedIntervalWithinMaxBuckets() {
+        assertEquals(RollupResolution.MINUTE, service.choose(NOW.minus(Duration.ofHours(6)), NOW, NOW, null));
+        assertEquals(RollupResolution.HOUR, service.choose(NOW.minus(Duration.ofDays(7)), NOW, NOW, null));
+        assertEquals(RollupResolution.DAY, service.choose(NOW.minus(Duration.ofDays(90)), NOW, NOW, null));
+        // short range, but older than the minute rollups are kept
+        assertEquals(RollupResolution.HOUR,
+                service.choose(NOW.minus(Duration.ofDays(40)), NOW.minus(Duration.ofDays(39)), NOW, null));
+
+        assertEquals(RollupResolution.DAY, service.choose(NOW.minus(Duration.ofHours(1)), NOW, NOW, RollupResolution.DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.choose(NOW.minus(Duration.ofDays(7)), NOW, NOW, RollupResolution.MINUTE));
+    }
+
+    @Test
+    void zeroFillsSeriesAndOrdersThemByTotal() {
+        Instant start = Instant.parse("2026-06-01T10:00:00Z");
+        List<Document> rows = List.of(
+                row(start, "order", 2),
+                row(start.plus(Duration.ofHours(2)), "order", 3),
+                row(start.plus(Duration.ofHours(1)), "product", 10),
+                row(start.plus(Duration.ofHours(5)), "product", 99));
+
+        List<LogHistogramDto.Series> series = LogHistogramService.series(rows, RollupResolution.HOUR, start, 3);
+
+        assertEquals(2, series.size());
+        assertEquals("product", series.get(0).getServiceName());
+        assertArrayEquals(new long[]{0, 10, 0}, series.get(0).getCounts());
+        assertEquals(10, series.get(0).getTotal());
+        assertArrayEquals(new long[]{2, 0, 3}, series.get(1).getCounts());
+        assertNull(series.get(1).getLevel());
+    }
+
+    private static Document row(Instant bucket, String serviceName, long count) {
+        return new Document("_id", new Document("bucket", Date.from(bucket)).append("serviceName", serviceName))
+                .append("count", count);
+    }
+}
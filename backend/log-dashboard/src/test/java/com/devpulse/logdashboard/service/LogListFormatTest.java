@@ -0,0 +1,91 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogColumnsDto;
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSliceDto;
+import com.devpulse.common.enums.LogLevel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogListFormatTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static List<LogResponseDto> logs(int n) {
+        List<LogResponseDto> logs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            logs.add(LogResponseDto.builder()
+                    .id("65a1f0c2e4b0a1b2c3d4" + String.format("%04d", i))
+                    .serviceName(i % 3 == 0 ? "order-service" : "product-service")
+                    .level(i % 10 == 0 ? LogLevel.ERROR : LogLevel.INFO)
+                    .message("GET /api/orders/" + i + " -> 200")
+                    .traceId("trace-" + i)
+                    .timestamp(T0.plusMillis(i))
+                    .count(1)
+                    .build());
+        }
+        return logs;
+    }
+
+    @Test
+    void encodesDictionariesAndEpochMillisAndKeepsPaging() throws Exception {
+        List<LogResponseDto> logs = logs(3);
+        logs.get(2).setServiceName(null);
+        LogListFormat format = LogListFormat.of("columnar", "timestamp, serviceName,level,message");
+
+        Object page = format.apply(new PageImpl<>(logs, PageRequest.of(2, 3), 100));
+        JsonNode json = mapper.valueToTree(page);
+        assertEquals(3, json.get("rows").asInt());
+        assertEquals(List.of("timestamp", "serviceName", "level", "message"),
+                mapper.convertValue(json.get("fields"), List.class));
+        assertEquals("[\"order-service\",\"product-service\"]", json.at("/dictionaries/serviceName").toString());
+        assertEquals("[0,1,-1]", json.at("/columns/serviceName").toString());
+        assertEquals("[1767225600000,1767225600001,1767225600002]", json.at("/columns/timestamp").toString());
+        assertEquals("[\"ERROR\",\"INFO\"]", json.at("/dictionaries/level").toString());
+        assertEquals(100, json.get("totalElements").asLong());
+        assertEquals(2, json.get("page").asInt());
+        assertFalse(json.has("nextCursor"));
+        assertFalse(json.at("/columns").has("traceId"), "projection drops unrequested columns");
+
+        LogColumnsDto slice = (LogColumnsDto) format.apply(LogSliceDto.builder().content(logs).nextCursor("next").hasNext(true).build());
+        assertEquals("next", slice.getNextCursor());
+        assertNull(slice.getTotalElements());
+    }
+
+    @Test
+    void defaultsToObjectsAndRejectsUnknownFormatsAndFields() {
+        List<LogResponseDto> logs = logs(2);
+        assertSame(logs, LogListFormat.of(null, null).apply(logs));
+        assertSame(logs, LogListFormat.of("OBJECTS", "").apply(logs));
+        assertEquals(14, LogListFormat.of("columnar", null).fields().size());
+
+        assertThrows(IllegalArgumentException.class, () -> LogListFormat.of("csv", null));
+        assertThrows(IllegalArgumentException.class, () -> LogListFormat.of("columnar", "message,password"));
+        assertThrows(IllegalArgumentException.class, () -> LogListFormat.of(null, "message"));
+    }
+
+    @Test
+    void columnarPagesAreMuchSmallerThanObjectPages() throws Exception {
+        List<LogResponseDto> logs = logs(5000);
+        int objects = mapper.writeValueAsBytes(logs).length;
+        int columnar = mapper.writeValueAsBytes(LogListFormat.of("columnar", null).apply(logs)).length;
+        int projected = mapper.writeValueAsBytes(LogListFormat.of("columnar", "timestamp,serviceName,level,message").apply(logs)).length;
+
+        assertTrue(columnar < objects * 0.6, columnar + " vs " + objects);
+        assertTrue(projected < objects * 0.4, projected + " vs " + objects);
+    }
+}
@@ -0,0 +1,46 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.model.LogTemplateDocument;
+import com.devpulse.logdashboard.repository.LogTemplateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogTemplateServiceTest {
+
+    private static LogDocument doc(String templateId, int version, String... params) {
+        return LogDocument.builder().templateId(templateId).templateVersion(version).templateParams(List.of(params)).build();
+    }
+
+    @Test
+    void rendersStoredParamsAgainstTheirVersion() {
+        LogTemplateRepository repository = mock(LogTemplateRepository.class);
+        when(repository.findById("t1")).thenReturn(Optional.of(LogTemplateDocument.builder().id("t1")
+                .versions(List.of(List.of("Order", " ", "<*>"), List.of("<*>", " ", "<*>"))).build()));
+        LogTemplateService service = new LogTemplateService(repository, null);
+
+        assertEquals("Order a1", service.messageOf(doc("t1", 0, "a1")));
+        assertEquals("Refund b2", service.messageOf(doc("t1", 1, "Refund", "b2")));
+        verify(repository, times(1)).findById("t1");
+    }
+
+    @Test
+    void remembersTemplatesThatAreNotFound() {
+        LogTemplateRepository repository = mock(LogTemplateRepository.class);
+        when(repository.findById("unknown")).thenReturn(Optional.empty());
+        LogTemplateService service = new LogTemplateService(repository, null);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("x " + i, service.messageOf(doc("unknown", 0, "x", String.valueOf(i))));
+        }
+        verify(repository, times(1)).findById("unknown");
+    }
+}
@@ -0,0 +1,184 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.QueryCacheProperties;
+import com.devpulse.logdashboard.store.LogCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.devpulse.logdashboard.TestLogs.T0;
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private QueryCache cache(int maxEntries, Duration ttl) {
+        QueryCacheProperties props = new QueryCacheProperties();
+        props.setMaxEntries(maxEntries);
+        props.setTtl(ttl);
+        return new QueryCache(props, registry);
+    }
+
+    private static QueryCache.Key service(String name) {
+        return QueryCache.Key.paged("service", LogQuery.builder().serviceName(name).build(), 0, 20);
+    }
+
+    @Test
+    void concurrentIdenticalQueriesShareOneLoad() throws Exception {
+        QueryCache cache = cache(100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(service("order"), () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "page";
+        }));
+        while (cache.size() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get(service("order"), () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals("page", first.get(5, TimeUnit.SECONDS));
+        assertEquals("page", second.get(5, TimeUnit.SECONDS));
+        assertEquals("page", cache.get(service("order"), () -> "fresh"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void pushesDropOnlyAffectedEntries() {
+        QueryCache cache = cache(100, Duration.ofMinutes(1));
+        QueryCache.Key order = service("order");
+        QueryCache.Key product = service("product");
+        QueryCache.Key errors = QueryCache.Key.paged("level", LogQuery.builder().level("ERROR").build(), 0, 20);
+        QueryCache.Key range = QueryCache.Key.paged("range", LogQuery.builder().from(T0).to(T0.plusSeconds(60)).build(), 0, 20);
+        QueryCache.Key olderPage = QueryCache.Key.slice(LogQuery.all(), new LogCursor(T0, "id"), 20, false);
+        for (QueryCache.Key key : new QueryCache.Key[]{order, product, errors, range, olderPage}) {
+            cache.get(key, () -> "cached");
+        }
+
+        cache.invalidate(log(null, "order", LogLevel.INFO, T0.plusSeconds(120), null));
+
+        assertEquals("reloaded", cache.get(order, () -> "reloaded"));
+        assertEquals("cached", cache.get(product, () -> "reloaded"));
+        assertEquals("cached", cache.get(errors, () -> "reloaded"));
+        assertEquals("cached", cache.get(range, () -> "reloaded"));
+        assertEquals("cached", cache.get(olderPage, () -> "reloaded"), "newer than the cursor");
+
+        cache.invalidate(log(null, "product", LogLevel.ERROR, T0.minusSeconds(1), null));
+        assertEquals("reloaded", cache.get(product, () -> "reloaded"));
+        assertEquals("reloaded", cache.get(errors, () -> "reloaded"));
+        assertEquals("reloaded", cache.get(olderPage, () -> "reloaded"));
+    }
+
+    @Test
+    void evictsBySizeAndTtlAndDoesNotCacheFailures() throws InterruptedException {
+        QueryCache cache = cache(2, Duration.ofMillis(100));
+        cache.get(service("a"), () -> "a");
+        cache.get(service("b"), () -> "b");
+        cache.get(service("c"), () -> "c");
+        assertEquals(2, cache.size());
+        assertEquals("a2", cache.get(service("a"), () -> "a2"));
+
+        Thread.sleep(150);
+        assertEquals("a3", cache.get(service("a"), () -> "a3"));
+
+        assertThrows(IllegalStateException.class, () -> cache.get(service("d"), () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals("d", cache.get(service("d"), () -> "d"));
+    }
+
+    @Test
+    void pushesWithUnknownFieldsDropEveryMatchingFilter() {
+        QueryCache cache = cache(100, Duration.ofMinutes(1));
+        QueryCache.Key errors = QueryCache.Key.paged("level", LogQuery.builder().level("ERROR").build(), 0, 20);
+        cache.get(service("order"), () -> "cached");
+        cache.get(errors, () -> "cached");
+
+        cache.invalidate(log(null, null, LogLevel.ERROR, T0, null));
+        assertEquals("reloaded", cache.get(service("order"), () -> "reloaded"));
+        assertEquals("reloaded", cache.get(errors, () -> "reloaded"));
+
+        cache.invalidate(log(null, "product", null, T0, null));
+        assertEquals("reloaded", cache.get(service("order"), () -> "reloaded again"));
+        assertEquals("reloaded again", cache.get(errors, () -> "reloaded again"), "an unknown level matches every level");
+    }
+
+    @Test
+    void errorsInTheLoaderFailCoalescedWaiters() throws Exception {
+        QueryCache cache = cache(100, Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(service("order"), () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            throw new OutOfMemoryError("simulated");
+        }));
+        while (cache.size() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get(service("order"), () -> "other"));
+        Thread.sleep(50);
+        release.countDown();
+
+        ExecutionException waiter = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, waiter.getCause());
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals("fresh", cache.get(service("order"), () -> "fresh"));
+    }
+
+    @Test
+    void asyncLoadsAreSharedWithBlockingCallersAndNotCachedWhenCancelled() throws Exception {
+        QueryCache cache = cache(100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> owner = cache.getAsync(service("order"), () -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+
+        CompletableFuture<String> asyncCaller = owner.toFuture();
+        CompletableFuture<String> blockingCaller = CompletableFuture.supplyAsync(() -> cache.get(service("order"), () -> "other"));
+        Thread.sleep(50);
+        assertFalse(blockingCaller.isDone(), "waits for the running async load");
+        result.tryEmitValue("page");
+        assertEquals("page", asyncCaller.get(5, TimeUnit.SECONDS));
+        assertEquals("page", blockingCaller.get(5, TimeUnit.SECONDS));
+        assertEquals("page", cache.getAsync(service("order"), () -> Mono.just("other")).block());
+        assertEquals(1, loads.get());
+
+        CompletableFuture<String> abandoned = cache.getAsync(service("product"), Mono::<String>never).toFuture();
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> cache.get(service("product"), () -> "other"));
+        Thread.sleep(50);
+        abandoned.cancel(true);
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CancellationException.class, failed.getCause());
+        assertEquals("fresh", cache.getAsync(service("product"), () -> Mono.just("fresh")).block());
+    }
+}
@@ -0,0 +1,164 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.dto.LogSliceDto;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.ArchiveProperties;
+import com.devpulse.logdashboard.config.QueryCacheProperties;
+import com.devpulse.logdashboard.limit.QueryDeadline;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.store.ArchiveLogReader;
+import com.devpulse.logdashboard.store.LogCursor;
+import com.devpulse.logdashboard.store.ReactiveDocumentLogReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveLogQueryServiceTest {
+
+    private final ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private ReactiveLogQueryService service(LogQueryService queryService, ReactiveDocumentLogReader documents) {
+        pool.setCorePoolSize(2);
+        pool.initialize();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ReactiveDocumentLogReader> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(documents);
+        LogTemplateService templateService = mock(LogTemplateService.class);
+        when(templateService.rendersFromMemory(any())).thenReturn(true);
+        return new ReactiveLogQueryService(queryService, templateService,
+                new QueryCache(new QueryCacheProperties(), new SimpleMeterRegistry()),
+                new ArchiveLogReader(new ArchiveProperties()), provider, pool);
+    }
+
+    @Test
+    void streamPullsOnlyWhatIsRequestedAndClosesTheCursorOnCancel() throws InterruptedException {
+        LogQuery query = LogQuery.builder().build();
+        AtomicInteger pulled = new AtomicInteger();
+        CountDownLatch closed = new CountDownLatch(1);
+        LogQueryService queryService = mock(LogQueryService.class);
+        when(queryService.streamMatching(query)).thenAnswer(invocation -> IntStream.range(0, 1_000_000)
+                .peek(i -> pulled.incrementAndGet())
+                .mapToObj(i -> LogResponseDto.builder().id("id" + i).build())
+                .onClose(closed::countDown));
+
+        List<LogResponseDto> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<LogResponseDto> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(10);
+            }
+
+            @Override
+            protected void hookOnNext(LogResponseDto log) {
+                received.add(log);
+            }
+        };
+        service(queryService, null).stream(query).subscribe(subscriber);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < 10 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(10, received.size());
+        assertTrue(pulled.get() <= 11, "the cursor is read at most one log ahead of demand");
+        assertEquals(0, pool.getActiveCount(), "no pool thread waits for the client");
+
+        subscriber.cancel();
+        assertTrue(closed.await(5, TimeUnit.SECONDS), "cancelling closes the cursor");
+    }
+
+    @Test
+    void streamPropagatesCompletionAndErrors() {
+        LogQuery ok = LogQuery.builder().serviceName("order").build();
+        LogQuery failing = LogQuery.builder().serviceName("product").build();
+        LogQueryService queryService = mock(LogQueryService.class);
+        when(queryService.streamMatching(ok)).thenAnswer(invocation -> IntStream.range(0, 3)
+                .mapToObj(i -> LogResponseDto.builder().id("id" + i).build()));
+        when(queryService.streamMatching(failing)).thenAnswer(invocation -> IntStream.range(0, 3)
+                .mapToObj(i -> {
+                    if (i == 1) {
+                        throw new IllegalStateException("cursor lost");
+                    }
+                    return LogResponseDto.builder().id("id" + i).build();
+                }));
+        ReactiveLogQueryService service = service(queryService, null);
+
+        assertEquals(List.of("id0", "id1", "id2"),
+                service.stream(ok).map(LogResponseDto::getId).collectList().block());
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> service.stream(failing).blockLast());
+        assertEquals("cursor lost", failure.getMessage());
+    }
+
+    @Test
+    void documentSlicesAreReadThroughTheReactiveReaderAndCached() {
+        Instant t0 = Instant.parse("2026-01-01T00:00:00Z");
+        LogQuery query = LogQuery.builder().serviceName("order").build();
+        LogQueryService queryService = mock(LogQueryService.class);
+        when(queryService.sliceRequest(any(), any(), anyInt())).thenCallRealMethod();
+        when(queryService.toDto(any())).thenAnswer(invocation -> {
+            LogDocument doc = invocation.getArgument(0);
+            return LogResponseDto.builder().id(doc.getId()).timestamp(doc.getTimestamp()).build();
+        });
+        ReactiveDocumentLogReader documents = mock(ReactiveDocumentLogReader.class);
+        when(documents.seek(query, null, 3)).thenReturn(Flux.just(
+                LogDocument.builder().id("c").timestamp(t0.plusSeconds(3)).build(),
+                LogDocument.builder().id("b").timestamp(t0.plusSeconds(2)).build(),
+                LogDocument.builder().id("a").timestamp(t0.plusSeconds(1)).build()));
+        ReactiveLogQueryService service = service(queryService, documents);
+
+        LogSliceDto slice = service.findSlice(query, null, 2, false).block();
+        assertEquals(List.of("c", "b"), slice.getContent().stream().map(LogResponseDto::getId).toList());
+        assertTrue(slice.isHasNext());
+        assertEquals(new LogCursor(t0.plusSeconds(2), "b").encode(), slice.getNextCursor());
+        assertNull(slice.getApproximateTotal());
+
+        service.findSlice(query, null, 2, false).block();
+        verify(documents, times(1)).seek(query, null, 3);
+        assertEquals(0, pool.getThreadPoolExecutor().getTaskCount(), "no read took a pool thread");
+    }
+
+    @Test
+    void blockingReadsRunOnThePoolWithinTheRequestDeadline() {
+        ReactiveLogQueryService service = service(mock(LogQueryService.class), null);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        Long remaining = service.read(QueryDeadline::remainingMillis)
+                .contextWrite(context -> context.put(QueryDeadline.CONTEXT_KEY, deadline))
+                .block();
+        assertTrue(remaining > 4_000 && remaining <= 5_000, "was " + remaining);
+
+        String thread = service.read(() -> Thread.currentThread().getName()).block();
+        assertTrue(thread.startsWith(pool.getThreadNamePrefix()));
+        assertEquals(Boolean.FALSE, service.read(() -> QueryDeadline.remainingMillis() != null).block(),
+                "no deadline outside limited requests");
+    }
+}
@@ -0,0 +1,116 @@
+package com.devpulse.logdashboard.service;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.ArchiveProperties;
+import com.devpulse.logdashboard.config.HotTailProperties;
+import com.devpulse.logdashboard.config.LiveKafkaProperties;
+import com.devpulse.logdashboard.config.QueryCacheProperties;
+import com.devpulse.logdashboard.config.SearchProperties;
+import com.devpulse.logdashboard.model.LogDocument;
+import com.devpulse.logdashboard.search.LogSearchIndex;
+import com.devpulse.logdashboard.store.ArchiveLogReader;
+import com.devpulse.logdashboard.store.HotTail;
+import com.devpulse.logdashboard.store.LogReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TieredQueryTest {
+
+    private static final Instant COVERED = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Test
+    void queriesFromTheWindowOnAreAnsweredFromMemoryOnly() {
+        LogQuery recent = LogQuery.builder().serviceName("order").from(COVERED.plusSeconds(60)).build();
+        assertEquals(new TieredQuery(recent, null), TieredQuery.split(recent, COVERED));
+
+        LogQuery fromStart = LogQuery.builder().from(COVERED).build();
+        assertEquals(new TieredQuery(fromStart, null), TieredQuery.split(fromStart, COVERED));
+    }
+
+    @Test
+    void queriesBeforeTheWindowGoToTheDatabaseOnly() {
+        LogQuery old = LogQuery.builder().level("ERROR").from(COVERED.minusSeconds(600)).to(COVERED.minusMillis(1)).build();
+        assertEquals(new TieredQuery(null, old), TieredQuery.split(old, COVERED));
+    }
+
+    @Test
+    void queriesSpanningTheStartAreSplitWithoutOverlap() {
+        LogQuery spanning = LogQuery.builder().level("ERROR").from(COVERED.minusSeconds(600)).to(COVERED.plusSeconds(60)).build();
+        TieredQuery split = TieredQuery.split(spanning, COVERED);
+        assertEquals(spanning.toBuilder().from(COVERED).build(), split.memory());
+        assertEquals(spanning.toBuilder().to(COVERED.minusMillis(1)).build(), split.database());
+
+        TieredQuery unbounded = TieredQuery.split(LogQuery.all(), COVERED);
+        assertEquals(COVERED, unbounded.memory().from());
+        assertNull(unbounded.memory().to());
+        assertNull(unbounded.database().from());
+        assertEquals(COVERED.minusMillis(1), unbounded.database().to());
+    }
+
+    @Test
+    void withoutAWindowOrForTemplatesEverythingGoesToTheDatabase() {
+        LogQuery recent = LogQuery.builder().serviceName("order").from(COVERED.plusSeconds(60)).build();
+        assertEquals(new TieredQuery(null, recent), TieredQuery.split(recent, null));
+
+        LogQuery byTemplate = LogQuery.builder().templateId("t1").from(COVERED).build();
+        assertEquals(new TieredQuery(null, byTemplate), TieredQuery.split(byTemplate, COVERED), "pushed logs carry no template");
+    }
+
+    @Test
+    void repeatsCollapsedInStorageAreNotCountedFromTheWindow() {
+        Instant at = Instant.now().plusSeconds(5);
+        LogQueryService.InstantRange range = new LogQueryService.InstantRange(at.minusSeconds(1), at.plusSeconds(1));
+        LogReader collapsed = mock(LogReader.class);
+        when(collapsed.findByTimestampBetween(any(), any(), any())).thenAnswer(invocation -> new PageImpl<>(
+                List.of(LogDocument.builder().id("d1").serviceName("order").level(LogLevel.ERROR).timestamp(at).count(3L).build()),
+                invocation.getArgument(2), 1));
+
+        // the window saw three pushes, storage holds one document for them
+        LogQueryService dedup = service(collapsed, true);
+        pushRepeats(dedup, at);
+        Page<LogResponseDto> stored = dedup.findBetween(range, 0, 10);
+        assertEquals(QueryTier.DATABASE, ((TieredPage<LogResponseDto>) stored).getTier());
+        assertEquals(1, stored.getTotalElements());
+        assertEquals(3, stored.getContent().get(0).getCount());
+
+        // uncollapsed storage holds the three pushes as well, so the window may answer
+        LogQueryService uncollapsed = service(mock(LogReader.class), false);
+        pushRepeats(uncollapsed, at);
+        Page<LogResponseDto> recent = uncollapsed.findBetween(range, 0, 10);
+        assertEquals(QueryTier.MEMORY, ((TieredPage<LogResponseDto>) recent).getTier());
+        assertEquals(3, recent.getTotalElements());
+    }
+
+    private static LogQueryService service(LogReader logReader, boolean repeatsCollapsed) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HotTailProperties props = new HotTailProperties();
+        props.getIndex().setEnabled(true);
+        props.getIndex().setRepeatsCollapsed(repeatsCollapsed);
+        LiveKafkaProperties liveKafka = new LiveKafkaProperties();
+        liveKafka.setEnabled(true);
+        LogTemplateService templateService = mock(LogTemplateService.class);
+        when(templateService.messageOf(any())).thenReturn("Payment failed");
+        return new LogQueryService(logReader, new ArchiveLogReader(new ArchiveProperties()), null, null,
+                new HotTail(props, liveKafka, registry), new QueryCache(new QueryCacheProperties(), registry),
+                new LogSearchIndex(new SearchProperties()), templateService, registry);
+    }
+
+    private static void pushRepeats(LogQueryService service, Instant at) {
+        for (int i = 0; i < 3; i++) {
+            service.onLogPushed(log("s" + i, "order", LogLevel.ERROR, at, "Payment failed"));
+        }
+    }
+}
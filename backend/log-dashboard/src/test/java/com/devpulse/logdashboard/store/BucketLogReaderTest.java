@@ -0,0 +1,95 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.model.LogBucketDocument;
+import com.devpulse.logdashboard.model.LogDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BucketLogReaderTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static LogBucketDocument.Entry entry(String id, int second, LogLevel level) {
+        return LogBucketDocument.Entry.builder().id(id).level(level.name()).timestamp(T0.plusSeconds(second)).build();
+    }
+
+    private static LogBucketDocument bucket(String service, int minute, LogBucketDocument.Entry... logs) {
+        return LogBucketDocument.builder().serviceName(service).minute(T0.plusSeconds(minute * 60L))
+                .size(logs.length).logs(List.of(logs)).build();
+    }
+
+    /**
+     * Two minutes; the newer one split over two services and an overflow bucket, each
+     * unsorted relative to the others. Newest first: a6 b5 a4 b2 a3 a2 a1.
+     */
+    private static BucketLogReader reader() {
+        List<LogBucketDocument> buckets = List.of(
+                bucket("a", 1, entry("a3", 61, LogLevel.INFO), entry("a4", 65, LogLevel.ERROR)),
+                bucket("b", 1, entry("b2", 63, LogLevel.ERROR), entry("b5", 65, LogLevel.INFO)),
+                bucket("a", 1, entry("a6", 70, LogLevel.INFO)),
+                bucket("a", 0, entry("a1", 10, LogLevel.ERROR), entry("a2", 20, LogLevel.INFO)));
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(LogBucketDocument.class))).thenAnswer(inv -> buckets.stream());
+        when(mongoTemplate.aggregate(any(Aggregation.class), anyString(), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("total", 7)), new Document()));
+        return new BucketLogReader(mongoTemplate);
+    }
+
+    private static List<String> ids(List<LogDocument> docs) {
+        return docs.stream().map(LogDocument::getId).toList();
+    }
+
+    @Test
+    void pagesMergeBucketsOfAMinuteNewestFirst() {
+        BucketLogReader reader = reader();
+        List<String> seen = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            seen.addAll(ids(reader.findAll(PageRequest.of(page, 3)).getContent()));
+        }
+        assertEquals(List.of("a6", "b5", "a4", "b2", "a3", "a2", "a1"), seen);
+    }
+
+    @Test
+    void offsetsSkipWholeMinutesAndSplitOthers() {
+        Page<LogDocument> page = reader().findAll(PageRequest.of(1, 4));
+        assertEquals(List.of("a3", "a2", "a1"), ids(page.getContent()));
+        assertEquals(7, page.getTotalElements());
+
+        assertEquals(List.of("a3", "a2"), ids(reader().findAll(PageRequest.of(2, 2)).getContent()));
+    }
+
+    @Test
+    void levelPagesFilterEntries() {
+        assertEquals(List.of("a4", "b2", "a1"), ids(reader().findByLevel(LogLevel.ERROR, PageRequest.of(0, 10)).getContent()));
+    }
+
+    @Test
+    void seekResumesAfterTheCursorWithinAMinute() {
+        BucketLogReader reader = reader();
+        List<LogDocument> first = reader.seek(LogQuery.all(), null, 2);
+        assertEquals(List.of("a6", "b5"), ids(first));
+
+        LogDocument last = first.get(first.size() - 1);
+        List<LogDocument> next = reader.seek(LogQuery.all(), new LogCursor(last.getTimestamp(), last.getId()), 3);
+        assertEquals(List.of("a4", "b2", "a3"), ids(next));
+    }
+}
@@ -0,0 +1,80 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.util.TraceIdCodec;
+import com.devpulse.logdashboard.model.CompactLogDocument;
+import com.devpulse.logdashboard.model.LogDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompactLogReaderTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MappingMongoConverter converter = converter();
+
+    /** Maps documents the way MongoTemplate does, without a database */
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static CompactLogReader reader() {
+        ServiceDictionary dictionary = mock(ServiceDictionary.class);
+        when(dictionary.nameOf(3)).thenReturn("producer-order");
+        return new CompactLogReader(null, dictionary, null);
+    }
+
+    @Test
+    void decodesWhatTheCollectorStores() {
+        String traceId = UUID.randomUUID().toString();
+        // the shape CompactLogWriter produces for a collapsed ERROR log
+        Document stored = new Document("_id", "65a000000000000000000001")
+                .append("s", 3)
+                .append("l", LogLevel.ERROR.ordinal())
+                .append("t", Date.from(T0))
+                .append("m", "Order failed")
+                .append("x", TraceIdCodec.encode(traceId))
+                .append("c", 4L)
+                .append("e", Date.from(T0.plusSeconds(5)))
+                .append("xs", List.of(TraceIdCodec.encode(traceId), TraceIdCodec.encode("req-1")));
+
+        LogDocument doc = reader().decode(converter.read(CompactLogDocument.class, stored));
+        assertEquals("65a000000000000000000001", doc.getId());
+        assertEquals("producer-order", doc.getServiceName());
+        assertEquals(LogLevel.ERROR, doc.getLevel());
+        assertEquals(T0, doc.getTimestamp());
+        assertEquals("Order failed", doc.getMessage());
+        assertEquals(traceId, doc.getTraceId());
+        assertEquals(4L, doc.getCount());
+        assertEquals(T0, doc.getFirstSeen(), "omitted firstSeen defaults to the timestamp");
+        assertEquals(T0.plusSeconds(5), doc.getLastSeen());
+        assertEquals(List.of(traceId, "req-1"), doc.getSampleTraceIds());
+    }
+
+    @Test
+    void outOfRangeLevelsDecodeToNull() {
+        LogDocument doc = reader().decode(CompactLogDocument.builder().level(99).timestamp(T0).build());
+        assertNull(doc.getLevel());
+        assertNull(doc.getServiceName());
+        assertNull(doc.getTraceId());
+    }
+}
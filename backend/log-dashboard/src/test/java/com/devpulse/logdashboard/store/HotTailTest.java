@@ -0,0 +1,228 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.dto.LogResponseDto;
+import com.devpulse.common.enums.LogLevel;
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.config.HotTailProperties;
+import com.devpulse.logdashboard.config.LiveKafkaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.devpulse.logdashboard.TestLogs.T0;
+import static com.devpulse.logdashboard.TestLogs.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotTailTest {
+
+    private static final class MutableClock extends Clock {
+        Instant now = T0;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+
+    private HotTail tail(int capacity) {
+        HotTailProperties props = new HotTailProperties();
+        props.setCapacity(capacity);
+        return new HotTail(props, new LiveKafkaProperties(), registry);
+    }
+
+    /**
+     * A tail whose index is on: fed by live Kafka, repeats stored uncollapsed.
+     */
+    private HotTail indexed(Duration window, int maxLogs) {
+        HotTailProperties props = new HotTailProperties();
+        props.getIndex().setEnabled(true);
+        props.getIndex().setRepeatsCollapsed(false);
+        props.getIndex().setWindow(window);
+        props.getIndex().setMaxLogs(maxLogs);
+        LiveKafkaProperties liveKafka = new LiveKafkaProperties();
+        liveKafka.setEnabled(true);
+        return new HotTail(props, liveKafka, registry, clock);
+    }
+
+    /** Log i is at T0 + 1s + i * 500ms, of order (even i) or product, ERROR when i % 5 == 0 */
+    private static LogResponseDto indexedLog(int i) {
+        return log("id" + (char) ('a' + i / 26) + (char) ('a' + i % 26), i % 2 == 0 ? "order" : "product",
+                i % 5 == 0 ? LogLevel.ERROR : LogLevel.INFO, T0.plusMillis(1000 + i * 500L), null);
+    }
+
+    private static List<Integer> indexes(List<LogResponseDto> logs) {
+        return logs.stream().map(l -> (int) ((l.getTimestamp().toEpochMilli() - T0.toEpochMilli() - 1000) / 500)).toList();
+    }
+
+    @Test
+    void answersOnlyWhenTheRingHoldsEnoughLogs() {
+        HotTail tail = tail(16);
+        for (int i = 0; i < 3; i++) {
+            tail.record(log(i));
+        }
+        assertNull(tail.newest(5));
+        assertEquals(List.of("id2", "id1"), ids(tail.newest(2)));
+
+        for (int i = 3; i < 40; i++) {
+            tail.record(log(i));
+        }
+        assertEquals(List.of("id39", "id38", "id37"), ids(tail.newest(3)));
+        assertNull(tail.newest(17), "more than the ring can hold");
+
+        assertEquals(2, registry.counter("logs.hottail.requests", "result", "hit").count());
+        assertEquals(2, registry.counter("logs.hottail.requests", "result", "miss").count());
+    }
+
+    @Test
+    void sortsArrivalsByTimestamp() {
+        HotTail tail = tail(16);
+        tail.record(log(2));
+        tail.record(log(1));
+        tail.record(log(3));
+        assertEquals(List.of("id3", "id2", "id1"), ids(tail.newest(3)));
+    }
+
+    @Test
+    void concurrentWritersNeverExposeTornSlots() throws InterruptedException {
+        HotTail tail = tail(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 100_000;
+            pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    tail.record(log(offset + i));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        List<LogResponseDto> newest = tail.newest(1024);
+        assertNotNull(newest);
+        assertEquals(1024, newest.stream().map(LogResponseDto::getId).distinct().count());
+    }
+
+    @Test
+    void indexStaysOffUnlessItHoldsWhatStorageHolds() {
+        HotTailProperties props = new HotTailProperties();
+        props.getIndex().setEnabled(true);
+        LiveKafkaProperties liveKafka = new LiveKafkaProperties();
+        liveKafka.setEnabled(true);
+        HotTail collapsing = new HotTail(props, liveKafka, registry, clock);
+        collapsing.record(indexedLog(0));
+        assertNull(collapsing.coveredFrom(), "storage collapses repeats");
+
+        props.getIndex().setRepeatsCollapsed(false);
+        HotTail pushed = new HotTail(props, new LiveKafkaProperties(), registry, clock);
+        pushed.record(indexedLog(0));
+        assertNull(pushed.coveredFrom(), "pushes may miss logs");
+        assertEquals(-1, pushed.count(LogQuery.builder().from(T0).build()));
+
+        HotTail off = tail(16);
+        off.record(indexedLog(0));
+        assertNull(off.coveredFrom(), "off by default");
+    }
+
+    @Test
+    void indexAnswersCountsPagesAndCursorsFromTheCoveredRangeOnly() {
+        HotTail tail = indexed(Duration.ofMinutes(15), 10_000);
+        assertNull(tail.coveredFrom());
+
+        clock.now = T0.plusMillis(500);
+        tail.record(log("early", null, null, T0.plusMillis(200), null));
+        for (int i = 0; i < 60; i++) {
+            tail.record(indexedLog(i));
+        }
+        clock.now = T0.plusSeconds(40);
+        Instant covered = tail.coveredFrom();
+        assertEquals(T0.plusSeconds(1), covered, "the second being pushed when the index started is not complete");
+
+        LogQuery all = LogQuery.builder().from(covered).build();
+        assertEquals(60, tail.count(all));
+        assertEquals(6, tail.count(all.toBuilder().serviceName("order").level("ERROR").build()));
+        assertEquals(19, tail.count(all.toBuilder().from(T0.plusMillis(1500)).to(T0.plusMillis(10_999)).build()),
+                "partial seconds at both ends");
+
+        assertEquals(List.of(54, 53, 52), indexes(tail.page(all, 5, 3)));
+        assertEquals(List.of(50, 40, 30), indexes(tail.page(all.toBuilder().serviceName("order").level("ERROR").build(), 0, 3)));
+        assertEquals(List.of(0), indexes(tail.page(all.toBuilder().to(T0.plusMillis(1700)).build(), 1, 5)));
+
+        LogResponseDto cursorLog = indexedLog(57);
+        LogCursor after = new LogCursor(cursorLog.getTimestamp(), cursorLog.getId());
+        assertEquals(List.of(56, 55), indexes(tail.seek(all, after, 2)));
+
+        LogQuery before = LogQuery.builder().from(T0).build();
+        assertEquals(-1, tail.count(before));
+        assertNull(tail.page(before, 0, 10));
+        assertNull(tail.seek(before, null, 10));
+    }
+
+    @Test
+    void droppedSecondsMoveCoverageForward() {
+        HotTail tail = indexed(Duration.ofSeconds(10), 8);
+        for (int i = 0; i < 6; i++) {
+            tail.record(indexedLog(i));
+        }
+        assertEquals(T0.plusSeconds(1), tail.coveredFrom());
+
+        // past maxLogs the oldest second goes whole
+        for (int i = 6; i < 10; i++) {
+            tail.record(indexedLog(i));
+        }
+        assertEquals(T0.plusSeconds(2), tail.coveredFrom());
+        assertEquals(8, tail.count(LogQuery.builder().from(tail.coveredFrom()).build()));
+
+        clock.now = T0.plusSeconds(14);
+        tail.record(indexedLog(20));
+        assertEquals(T0.plusSeconds(4), tail.coveredFrom(), "older than the window");
+        assertEquals(List.of(20, 9, 8, 7, 6), indexes(tail.page(LogQuery.builder().from(T0.plusSeconds(4)).build(), 0, 10)));
+
+        tail.record(indexedLog(0));
+        assertEquals(5, tail.count(LogQuery.builder().from(T0.plusSeconds(4)).build()), "late logs are left to the database");
+    }
+
+    @Test
+    void concurrentPushesToTheIndexAreAllCounted() throws InterruptedException {
+        HotTail tail = indexed(Duration.ofMinutes(15), 1_000_000);
+        clock.now = T0.plusMillis(500);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 1000;
+            pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    tail.record(indexedLog(offset + i));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        LogQuery all = LogQuery.builder().from(tail.coveredFrom()).build();
+        assertEquals(4000, tail.count(all));
+        assertEquals(4000, tail.page(all, 0, 10_000).size());
+    }
+
+    private static List<String> ids(List<LogResponseDto> logs) {
+        return logs.stream().map(LogResponseDto::getId).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.store.LogQuery;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogCursorTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripsThroughTheOpaqueEncoding() {
+        LogCursor cursor = new LogCursor(T0.plusMillis(123), "65a000000000000000000001");
+        String encoded = cursor.encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), "URL-safe without padding");
+        assertEquals(cursor, LogCursor.decode(encoded));
+    }
+
+    @Test
+    void rejectsCursorsItDidNotIssue() {
+        for (String cursor : List.of("not base64!", base64("no-separator"), base64(":id"), base64("123:"),
+                base64("abc:id"))) {
+            assertThrows(InvalidCursorException.class, () -> LogCursor.decode(cursor), cursor);
+        }
+    }
+
+    @Test
+    void precedesFollowsNewestFirstOrder() {
+        LogCursor cursor = new LogCursor(T0, "b");
+        assertTrue(cursor.precedes(T0.minusMillis(1), "z"));
+        assertTrue(cursor.precedes(T0, "a"));
+        assertFalse(cursor.precedes(T0, "b"));
+        assertFalse(cursor.precedes(T0, "c"));
+        assertFalse(cursor.precedes(T0.plusMillis(1), "a"));
+    }
+
+    @Test
+    void keysetCriteriaKeepInclusiveBoundsAndResumeAfterTheCursor() {
+        LogQuery query = LogQuery.builder().from(T0).to(T0.plusSeconds(60)).build();
+        Document criteria = Keyset.criteria(List.of(), "timestamp", query, new LogCursor(T0.plusSeconds(30), "b"))
+                .getCriteriaObject();
+
+        List<?> and = (List<?>) criteria.get("$and");
+        assertEquals(new Document("timestamp", new Document("$gte", T0)), and.get(0));
+        assertEquals(new Document("timestamp", new Document("$lte", T0.plusSeconds(60))), and.get(1));
+        assertEquals(new Document("$or", List.of(
+                        new Document("timestamp", new Document("$lt", T0.plusSeconds(30))),
+                        new Document("timestamp", T0.plusSeconds(30)).append("_id", new Document("$lt", "b")))),
+                and.get(2));
+    }
+
+    @Test
+    void keysetCriteriaWithoutBoundsOrCursorMatchEverything() {
+        assertEquals(new Document(), Keyset.criteria(List.of(), "timestamp", LogQuery.all(), null).getCriteriaObject());
+    }
+}
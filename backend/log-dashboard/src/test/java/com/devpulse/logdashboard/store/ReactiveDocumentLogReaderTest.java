@@ -0,0 +1,43 @@
+package com.devpulse.logdashboard.store;
+
+import com.devpulse.common.store.LogQuery;
+import com.devpulse.logdashboard.limit.QueryDeadline;
+import com.devpulse.logdashboard.model.LogDocument;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveDocumentLogReaderTest {
+
+    @Test
+    void sendsTheRequestDeadlineAsMaxTime() {
+        ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(LogDocument.class))).thenReturn(Flux.empty());
+        ReactiveDocumentLogReader reader = new ReactiveDocumentLogReader(mongoTemplate);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        reader.seek(LogQuery.builder().serviceName("order").build(), null, 20)
+                .contextWrite(context -> context.put(QueryDeadline.CONTEXT_KEY, deadline))
+                .blockLast();
+        reader.seek(LogQuery.all(), null, 20).blockLast();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(LogDocument.class));
+        Long maxTime = queries.getAllValues().get(0).getMeta().getMaxTimeMsec();
+        assertTrue(maxTime > 4_000 && maxTime <= 5_000, "was " + maxTime);
+        assertEquals(20, queries.getAllValues().get(0).getLimit());
+        assertNull(queries.getAllValues().get(1).getMeta().getMaxTimeMsec(), "no deadline, no limit");
+    }
+}
@@ -11,6 +11,7 @@ function LiveLogStream() {
     const [error, setError] = useState(null);
     const [isPaused, setIsPaused] = useState(false);
     const eventSourceRef = useRef(null);
+    const lastEventIdRef = useRef(null); // resume point after pause (EventSource resends it on its own reconnects)
     const maxLogs = 100; // Keep only last 100 logs
 
     useEffect(() => {
@@ -25,7 +26,7 @@ function LiveLogStream() {
 
     function connectToStream() {
         try {
-            const eventSource = createLogStream();
+            const eventSource = createLogStream({ lastEventId: lastEventIdRef.current });
             eventSourceRef.current = eventSource;
 
             eventSource.onopen = () => {
@@ -36,6 +37,7 @@ function LiveLogStream() {
 
             eventSource.addEventListener('log', (event) => {
                 try {
+                    lastEventIdRef.current = event.lastEventId;
                     const logData = JSON.parse(event.data);
                     setLogs(prevLogs => {
                         const newLogs = [logData, ...prevLogs];
@@ -66,6 +66,13 @@ export async function fetchRecentLogs() {
     return apiFetch(config.api.logs, '/api/logs/recent');
 }
 
+/**
+ * Fetch live per-service health (rates, error rates, last error)
+ */
+export async function fetchServiceHealth() {
+    return apiFetch(config.api.logs, '/api/logs/services/health');
+}
+
 /**
  * Fetch logs within a time range
  */
@@ -78,9 +85,15 @@ export async function fetchLogsByRange(fromIso, toIso, page = 0, size = 20) {
 
 /**
  * Create EventSource for real-time log streaming (SSE)
+ * @param {Object} filters - Optional server-side filters: serviceName, level (comma-separated), q
  */
-export function createLogStream() {
-    return new EventSource(`${config.api.logs}/api/logs/stream`);
+export function createLogStream(filters = {}) {
+    const params = new URLSearchParams();
+    Object.entries(filters).forEach(([key, value]) => {
+        if (value) params.append(key, value);
+    });
+    const query = params.toString();
+    return new EventSource(`${config.api.logs}/api/logs/stream${query ? `?${query}` : ''}`);
 }
 
 // ================================================